@@ -180,6 +180,9 @@ public abstract class BaseRouterContext extends RouterContext {
         if (null!=animation && null!=attrs) {
             animation.initialize(attrs);
         }
+        if (null!=animation) {
+            animation.setDispatcher(getDispatcher());
+        }
         return animation;
     }
 
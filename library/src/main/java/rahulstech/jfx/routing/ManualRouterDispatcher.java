@@ -0,0 +1,209 @@
+package rahulstech.jfx.routing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The {@code ManualRouterDispatcher} queues the dispatched work until {@link #runNext()} or
+ * {@link #runAll()} is called. The thread creating the dispatcher is its dispatch thread, so the work
+ * dispatched by that thread runs exactly when the caller decides. This makes the deferred work of
+ * the router deterministic, for example in tests. The {@link #schedule(Runnable, long) scheduled} work
+ * follows a virtual clock, it is queued once the clock is {@link #advance(long) advanced} past its delay.
+ *
+ * <pre>
+ *     ManualRouterDispatcher dispatcher = new ManualRouterDispatcher();
+ *     context.setDispatcher(dispatcher);
+ *     Router router = new Router(context);
+ *     ...
+ *     router.moveto("screen1");
+ *     dispatcher.runAll();
+ * </pre>
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ */
+public class ManualRouterDispatcher extends RouterDispatcher {
+
+    private final Thread owner;
+
+    private final ArrayDeque<Runnable> pending = new ArrayDeque<>();
+
+    private final List<Timed> timed = new ArrayList<>();
+
+    private long now = 0;
+
+    /**
+     * Creates new {@code ManualRouterDispatcher} with the current thread as the dispatch thread
+     */
+    public ManualRouterDispatcher() {
+        this.owner = Thread.currentThread();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isDispatchThread() {
+        return Thread.currentThread()==owner;
+    }
+
+    /**
+     * Queues the action until {@link #runNext()} or {@link #runAll()} is called
+     *
+     * @param action the action to run
+     * @throws NullPointerException if action is null
+     */
+    @Override
+    public void dispatch(Runnable action) {
+        if (null==action) {
+            throw new NullPointerException("action is null");
+        }
+        synchronized (pending) {
+            pending.addLast(action);
+        }
+    }
+
+    /**
+     * Queues the action once the virtual clock is {@link #advance(long) advanced} by the delay
+     *
+     * @param action the action to run
+     * @param delayMillis the delay in milliseconds, {@code 0} or negative queues the action right away
+     * @return non-null {@link Scheduled} to cancel the action
+     * @throws NullPointerException if action is null
+     */
+    @Override
+    public Scheduled schedule(Runnable action, long delayMillis) {
+        if (null==action) {
+            throw new NullPointerException("action is null");
+        }
+        if (delayMillis<=0) {
+            return super.schedule(action,delayMillis);
+        }
+        ScheduledAction scheduled = new ScheduledAction(action);
+        synchronized (pending) {
+            Timed entry = new Timed(now+delayMillis,scheduled);
+            timed.add(entry);
+            scheduled.setCanceller(()->{
+                synchronized (pending) {
+                    timed.remove(entry);
+                }
+            });
+        }
+        return scheduled;
+    }
+
+    /**
+     * Advances the virtual clock and queues the scheduled actions due by then, in the order they are due.
+     * The queued actions are not run.
+     *
+     * @param millis time to advance in milliseconds
+     * @return number of actions queued
+     * @throws IllegalArgumentException if millis is negative
+     */
+    public int advance(long millis) {
+        if (millis<0) {
+            throw new IllegalArgumentException("millis can not be negative");
+        }
+        List<Timed> due = new ArrayList<>();
+        synchronized (pending) {
+            now += millis;
+            for (Iterator<Timed> it = timed.iterator(); it.hasNext();) {
+                Timed entry = it.next();
+                if (entry.time<=now) {
+                    due.add(entry);
+                    it.remove();
+                }
+            }
+            // stable, so the actions due at the same time keep the scheduling order
+            due.sort((a,b)->Long.compare(a.time,b.time));
+            for (Timed entry : due) {
+                pending.addLast(entry.action);
+            }
+        }
+        return due.size();
+    }
+
+    /**
+     * Returns the number of scheduled actions not due yet
+     *
+     * @return number of scheduled actions
+     */
+    public int getScheduledCount() {
+        synchronized (pending) {
+            return timed.size();
+        }
+    }
+
+    /**
+     * Runs the oldest queued action
+     *
+     * @return {@code true} if an action was run, {@code false} if no action was queued
+     * @throws IllegalStateException if not called on the dispatch thread
+     */
+    public boolean runNext() {
+        if (!isDispatchThread()) {
+            throw new IllegalStateException("runNext() must be called on the dispatch thread");
+        }
+        Runnable action;
+        synchronized (pending) {
+            action = pending.pollFirst();
+        }
+        if (null==action) {
+            return false;
+        }
+        action.run();
+        return true;
+    }
+
+    /**
+     * Runs the queued actions including the actions queued while running, until no action is queued
+     *
+     * @return number of actions run
+     * @throws IllegalStateException if not called on the dispatch thread
+     */
+    public int runAll() {
+        int count = 0;
+        while (runNext()) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of queued actions
+     *
+     * @return number of queued actions
+     */
+    public int getPendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Discards all queued and scheduled actions
+     */
+    public void clear() {
+        synchronized (pending) {
+            pending.clear();
+            timed.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ManualRouterDispatcher{pending="+getPendingCount()+", scheduled="+getScheduledCount()+"}";
+    }
+
+    private static final class Timed {
+
+        final long time;
+
+        final Runnable action;
+
+        Timed(long time, Runnable action) {
+            this.time = time;
+            this.action = action;
+        }
+    }
+}
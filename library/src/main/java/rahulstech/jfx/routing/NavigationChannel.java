@@ -0,0 +1,219 @@
+package rahulstech.jfx.routing;
+
+import rahulstech.jfx.routing.element.RouterArgument;
+import rahulstech.jfx.routing.util.Disposable;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * The {@code NavigationChannel} lets any thread navigate a {@link Router}, for example a background
+ * service navigating to the login screen on session timeout. The navigation commands are added to a
+ * lock-free queue and executed in the order they are submitted on the dispatch thread of the
+ * {@link RouterContext#getDispatcher() router dispatcher}, the JavaFx application thread by default.
+ * Submitting never blocks, so worker and virtual threads can submit freely. A command submitted on the
+ * dispatch thread executes immediately after the commands submitted before it.
+ *
+ * <pre>{@code
+ * router.getNavigationChannel().moveTo("login").thenAccept(result -> ...);
+ * }</pre>
+ *
+ * <p>Each command returns a {@link CompletableFuture} completed on the dispatch thread. Use
+ * {@link Router#getNavigationState()} to read the navigation state from other threads.</p>
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ * @see Router#getNavigationChannel()
+ */
+public final class NavigationChannel implements Disposable {
+
+    private final Router router;
+
+    private final RouterDispatcher dispatcher;
+
+    private final Queue<Command<?>> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    private final Runnable drainTask = this::drain;
+
+    private volatile boolean disposed = false;
+
+    NavigationChannel(Router router, RouterDispatcher dispatcher) {
+        this.router = router;
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Moves to the destination with the given id
+     *
+     * @param id the destination id
+     * @return non-null {@link CompletableFuture} of the navigation
+     * @see #moveTo(String, RouterArgument, RouterOptions)
+     */
+    public CompletableFuture<NavigationResult> moveTo(String id) {
+        return moveTo(id,null,null);
+    }
+
+    /**
+     * Moves to the destination with the given id and data
+     *
+     * @param id the destination id
+     * @param data destination data as {@code RouterArgument} or {@code null}
+     * @return non-null {@link CompletableFuture} of the navigation
+     * @see #moveTo(String, RouterArgument, RouterOptions)
+     */
+    public CompletableFuture<NavigationResult> moveTo(String id, RouterArgument data) {
+        return moveTo(id,data,null);
+    }
+
+    /**
+     * Moves to the destination with the given id using {@link Router#moveToAsync(String, RouterArgument, RouterOptions)}
+     * on the dispatch thread. The returned future behaves the same way.
+     *
+     * @param id the destination id
+     * @param data destination data as {@code RouterArgument} or {@code null}
+     * @param options options for navigation or {@code null}
+     * @return non-null {@link CompletableFuture} of the navigation
+     * @throws NullPointerException if id is null
+     */
+    public CompletableFuture<NavigationResult> moveTo(String id, RouterArgument data, RouterOptions options) {
+        if (null==id) {
+            throw new NullPointerException("destination id is null");
+        }
+        return submit(router -> router.moveToAsync(id,data,options));
+    }
+
+    /**
+     * Pops the top backstack entry
+     *
+     * @return non-null {@link CompletableFuture} of the navigation
+     * @see #popBackstack(RouterArgument, RouterOptions)
+     */
+    public CompletableFuture<NavigationResult> popBackstack() {
+        return popBackstack(null,null);
+    }
+
+    /**
+     * Pops the top backstack entry using {@link Router#popBackstackAsync(RouterArgument, RouterOptions)}
+     * on the dispatch thread. The returned future behaves the same way.
+     *
+     * @param result the result to set to the next destination or {@code null}
+     * @param options options for navigation or {@code null}
+     * @return non-null {@link CompletableFuture} of the navigation
+     */
+    public CompletableFuture<NavigationResult> popBackstack(RouterArgument result, RouterOptions options) {
+        return submit(router -> router.popBackstackAsync(result,options));
+    }
+
+    /**
+     * Pops the backstack entries up to the target using {@link Router#popBackstackUpTo(String, boolean)}
+     * on the dispatch thread
+     *
+     * @param targetId the target destination id
+     * @param inclusive {@code true} if target is popped too
+     * @return non-null {@link CompletableFuture} of whether any entry is popped
+     * @throws NullPointerException if targetId is null
+     */
+    public CompletableFuture<Boolean> popBackstackUpTo(String targetId, boolean inclusive) {
+        if (null==targetId) {
+            throw new NullPointerException("target id is null");
+        }
+        return submit(router -> CompletableFuture.completedFuture(router.popBackstackUpTo(targetId,inclusive)));
+    }
+
+    /**
+     * Navigates the path using {@link Router#navigate(String)} on the dispatch thread
+     *
+     * @param path the destination path
+     * @return non-null {@link CompletableFuture} completed when the navigation is started
+     * @throws NullPointerException if path is null
+     */
+    public CompletableFuture<Void> navigate(String path) {
+        if (null==path) {
+            throw new NullPointerException("path is null");
+        }
+        return submit(router -> {
+            router.navigate(path);
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    /**
+     * Returns the number of submitted commands not executed yet
+     *
+     * @return the number of pending commands
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * Fails the pending commands with {@link IllegalStateException}, later commands fail immediately
+     */
+    @Override
+    public void dispose() {
+        disposed = true;
+        for (Command<?> command; null!=(command = queue.poll());) {
+            command.future.completeExceptionally(new IllegalStateException("router is disposed"));
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Function<Router,CompletableFuture<T>> action) {
+        Command<T> command = new Command<>(action);
+        if (disposed) {
+            command.future.completeExceptionally(new IllegalStateException("router is disposed"));
+            return command.future;
+        }
+        queue.offer(command);
+        if (dispatcher.isDispatchThread()) {
+            drain();
+        }
+        else if (scheduled.compareAndSet(false,true)) {
+            dispatcher.dispatch(drainTask);
+        }
+        return command.future;
+    }
+
+    private void drain() {
+        // commands submitted from now on schedule another drain
+        scheduled.set(false);
+        for (Command<?> command; null!=(command = queue.poll());) {
+            if (disposed) {
+                command.future.completeExceptionally(new IllegalStateException("router is disposed"));
+                continue;
+            }
+            command.execute(router);
+        }
+    }
+
+    private static class Command<T> {
+
+        final Function<Router,CompletableFuture<T>> action;
+
+        final CompletableFuture<T> future = new CompletableFuture<>();
+
+        Command(Function<Router,CompletableFuture<T>> action) {
+            this.action = action;
+        }
+
+        void execute(Router router) {
+            try {
+                action.apply(router).whenComplete((value,error)->{
+                    if (null!=error) {
+                        future.completeExceptionally(error);
+                    }
+                    else {
+                        future.complete(value);
+                    }
+                });
+            }
+            catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
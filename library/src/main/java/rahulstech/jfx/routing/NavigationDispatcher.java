@@ -0,0 +1,284 @@
+package rahulstech.jfx.routing;
+
+import rahulstech.jfx.routing.element.Destination;
+import rahulstech.jfx.routing.element.RouterArgument;
+import rahulstech.jfx.routing.util.Disposable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The {@code NavigationDispatcher} queues the navigation requests of a {@link Router} and executes them
+ * together, in the order they are requested, after a short {@link #setWindow(long) window}. A window of
+ * {@code 0} executes the requests requested within the same pulse together. It is disabled by default,
+ * then each request is executed immediately. While queued,
+ * <ul>
+ *     <li>consecutive requests to move to the same destination are coalesced into the last one</li>
+ *     <li>a request to move to a destination followed by a request to pop it are both dropped, unless the
+ *     move changes the backstack below the destination, e.g. pops up to a destination or removes a
+ *     {@link Destination#isRemoveHistory() remove history} destination</li>
+ * </ul>
+ * While executing, a destination hidden right after shown by the next request is added to the backstack
+ * without building its view, see {@link RouterExecutor#deferShow(Destination, RouterOptions)}. Such a
+ * destination with {@link Destination#isRemoveHistory() remove history} is dropped.
+ *
+ * <p>Only the synchronous navigation methods of {@code Router} are queued. The async navigation methods
+ * execute the queued requests first, then themselves.</p>
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ * @see Router#getNavigationDispatcher()
+ */
+public final class NavigationDispatcher implements Disposable {
+
+    private final Router router;
+
+    private final ArrayDeque<Request> queue = new ArrayDeque<>();
+
+    private boolean enabled = false;
+
+    private long window = 0;
+
+    private RouterDispatcher.Scheduled timer;
+
+    private boolean scheduled = false;
+
+    private long coalescedCount = 0;
+
+    private long droppedCount = 0;
+
+    private long deferredCount = 0;
+
+    private boolean disposed = false;
+
+    NavigationDispatcher(Router router) {
+        this.router = router;
+    }
+
+    /**
+     * Sets whether navigation requests are queued. Disabling executes the queued requests immediately.
+     *
+     * @param enabled {@code true} to queue, {@code false} to execute each request immediately
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            flush();
+        }
+    }
+
+    /**
+     * Returns whether navigation requests are queued
+     *
+     * @return {@code true} if queued, {@code false} otherwise
+     */
+    public boolean isEnabled() {
+        return enabled && !disposed;
+    }
+
+    /**
+     * Sets the time to wait for more requests after the first queued request
+     *
+     * @param millis time in milliseconds, {@code 0} means until the end of the current pulse
+     * @throws IllegalArgumentException if millis is negative
+     * @see rahulstech.jfx.routing.parser.Attribute#COALESCE_WINDOW
+     */
+    public void setWindow(long millis) {
+        if (millis<0) {
+            throw new IllegalArgumentException("window can not be negative");
+        }
+        this.window = millis;
+    }
+
+    /**
+     * Returns the time to wait for more requests after the first queued request
+     *
+     * @return time in milliseconds
+     */
+    public long getWindow() {
+        return window;
+    }
+
+    /**
+     * Returns the number of queued requests
+     *
+     * @return the number of queued requests
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * Returns the number of requests coalesced into a later request for the same destination
+     *
+     * @return the coalesced count
+     */
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Returns the number of requests dropped, because their destinations would never be visible
+     *
+     * @return the dropped count
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Returns the number of destinations added to the backstack without building their views
+     *
+     * @return the deferred count
+     */
+    public long getDeferredCount() {
+        return deferredCount;
+    }
+
+    /**
+     * Executes the queued requests immediately
+     */
+    public void flush() {
+        if (null!=timer) {
+            timer.cancel();
+            timer = null;
+        }
+        scheduled = false;
+        if (disposed || queue.isEmpty()) {
+            return;
+        }
+        List<Request> requests = new ArrayList<>(queue);
+        queue.clear();
+        for (int i=0; i<requests.size(); i++) {
+            Request request = requests.get(i);
+            Request next = i+1<requests.size() ? requests.get(i+1) : null;
+            if (request.isPop()) {
+                router.dispatchPop(request.popTargetId,request.inclusive,request.data,request.options);
+                continue;
+            }
+            // the destination is hidden right away if the next request moves forward without popping
+            boolean hiddenNext = null!=next && !next.isPop() && null==next.popTargetId;
+            if (hiddenNext && request.target.isRemoveHistory() && null==request.popTargetId) {
+                // it would be removed from backstack right after shown
+                droppedCount++;
+                continue;
+            }
+            if (router.dispatchMove(request.target,request.data,request.options,request.popTargetId,
+                    request.inclusive,!hiddenNext)) {
+                deferredCount++;
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        if (null!=timer) {
+            timer.cancel();
+            timer = null;
+        }
+        queue.clear();
+        disposed = true;
+    }
+
+    void enqueueMove(Destination target, RouterArgument data, RouterOptions options, String popuptoTargetId, boolean inclusive) {
+        Request request = new Request(target,data,options,popuptoTargetId,inclusive);
+        Request last = queue.peekLast();
+        if (null!=last && !last.isPop() && last.target==target
+                && Objects.equals(last.popTargetId,popuptoTargetId) && last.inclusive==inclusive) {
+            // e.g. double click, only the last one is executed
+            queue.removeLast();
+            coalescedCount++;
+        }
+        queue.addLast(request);
+        schedule();
+    }
+
+    void enqueuePop(String targetId, boolean inclusive, RouterArgument result, RouterOptions options) {
+        Request last = queue.peekLast();
+        boolean popsLast = null==targetId
+                || (null!=last && !last.isPop() && inclusive && targetId.equals(last.target.getId()));
+        if (null!=last && !last.isPop() && popsLast && null==result && !last.target.isSingleTop()
+                && !altersHistory(last)) {
+            // moved forward and popped back before shown, both are no-op
+            queue.removeLast();
+            droppedCount += 2;
+            return;
+        }
+        queue.addLast(new Request(targetId,inclusive,result,options));
+        schedule();
+    }
+
+    /**
+     * Checks whether the queued move changes the backstack below its destination, then popping it
+     * does not undo the move
+     */
+    private boolean altersHistory(Request move) {
+        if (null!=move.popTargetId) {
+            // pops up to its target first
+            return true;
+        }
+        Iterator<Request> it = queue.descendingIterator();
+        it.next();
+        Destination below;
+        if (it.hasNext()) {
+            Request previous = it.next();
+            below = previous.isPop() ? null : previous.target;
+        }
+        else {
+            below = router.getCurrentDestination();
+        }
+        // the destination below is removed from backstack by the move, or is unknown until executed
+        return null==below || below.isRemoveHistory();
+    }
+
+    private void schedule() {
+        if (scheduled) {
+            return;
+        }
+        scheduled = true;
+        RouterDispatcher dispatcher = router.getContext().getDispatcher();
+        if (window==0) {
+            dispatcher.dispatch(this::flush);
+        }
+        else {
+            timer = dispatcher.schedule(this::flush,window);
+        }
+    }
+
+    private static class Request {
+
+        final Destination target;
+
+        final RouterArgument data;
+
+        final RouterOptions options;
+
+        // pop up to target of a move request, or the target of a pop request; null pops the top
+        final String popTargetId;
+
+        final boolean inclusive;
+
+        Request(Destination target, RouterArgument data, RouterOptions options, String popuptoTargetId, boolean inclusive) {
+            this.target = target;
+            this.data = data;
+            this.options = options;
+            this.popTargetId = popuptoTargetId;
+            this.inclusive = inclusive;
+        }
+
+        Request(String targetId, boolean inclusive, RouterArgument result, RouterOptions options) {
+            this(null,result,options,targetId,inclusive);
+        }
+
+        boolean isPop() {
+            return null==target;
+        }
+    }
+}
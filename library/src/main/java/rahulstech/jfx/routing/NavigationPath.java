@@ -0,0 +1,138 @@
+package rahulstech.jfx.routing;
+
+import rahulstech.jfx.routing.element.RouterArgument;
+import rahulstech.jfx.routing.util.StringUtil;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * The {@code NavigationPath} is a parsed deep link path like {@code screen1/sub_screen2?id=42}. Each segment
+ * is a destination id of one level of the router tree, the first segment for the router navigating and
+ * each next segment for a nested router of the previous one. The query parameters are the arguments of the
+ * last destination. A leading {@code /} means the path starts at the root router.
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ * @see Router#navigate(String)
+ */
+final class NavigationPath {
+
+    private final List<String> segments;
+
+    private final RouterArgument arguments;
+
+    private final boolean absolute;
+
+    private NavigationPath(List<String> segments, RouterArgument arguments, boolean absolute) {
+        this.segments = segments;
+        this.arguments = arguments;
+        this.absolute = absolute;
+    }
+
+    /**
+     * Parses the path
+     *
+     * @param path the path to parse
+     * @return non-null {@code NavigationPath}
+     * @throws NullPointerException if path is null
+     * @throws IllegalArgumentException if path has no segment or an empty segment
+     */
+    static NavigationPath parse(String path) {
+        if (null==path) {
+            throw new NullPointerException("path is null");
+        }
+        String value = path.trim();
+        RouterArgument arguments = null;
+        int query = value.indexOf('?');
+        if (query>=0) {
+            arguments = parseQuery(value.substring(query+1));
+            value = value.substring(0,query);
+        }
+        boolean absolute = value.startsWith("/");
+        if (absolute) {
+            value = value.substring(1);
+        }
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("no destination in path '"+path+"'");
+        }
+        List<String> segments = new ArrayList<>();
+        for (String segment : value.split("/",-1)) {
+            if (StringUtil.isEmpty(segment)) {
+                throw new IllegalArgumentException("empty destination in path '"+path+"'");
+            }
+            segments.add(segment);
+        }
+        return new NavigationPath(Collections.unmodifiableList(segments),arguments,absolute);
+    }
+
+    private static RouterArgument parseQuery(String query) {
+        RouterArgument arguments = new RouterArgument();
+        forEachQueryParameter(query,arguments::addArgument);
+        return arguments;
+    }
+
+    /**
+     * Decodes each {@code name=value} parameter of the query
+     *
+     * @param query the query without {@code ?}
+     * @param action called with the decoded name and value of each parameter, value is empty if absent
+     */
+    static void forEachQueryParameter(String query, BiConsumer<String,String> action) {
+        for (String param : query.split("&")) {
+            if (param.isEmpty()) {
+                continue;
+            }
+            int eq = param.indexOf('=');
+            String name = decode(eq<0 ? param : param.substring(0,eq));
+            String value = eq<0 ? "" : decode(param.substring(eq+1));
+            action.accept(name,value);
+        }
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value,"UTF-8");
+        }
+        catch (UnsupportedEncodingException e) {
+            // UTF-8 is always supported
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the destination ids, one for each level
+     *
+     * @return non-null unmodifiable list of destination ids
+     */
+    List<String> getSegments() {
+        return segments;
+    }
+
+    /**
+     * Returns the arguments of the last destination
+     *
+     * @return {@code RouterArgument} or {@code null} if path has no query
+     */
+    RouterArgument getArguments() {
+        return arguments;
+    }
+
+    /**
+     * Returns whether the path starts at the root router
+     *
+     * @return {@code true} if path starts with {@code /}, {@code false} otherwise
+     */
+    boolean isAbsolute() {
+        return absolute;
+    }
+
+    @Override
+    public String toString() {
+        return (absolute ? "/" : "")+String.join("/",segments)+(null==arguments ? "" : "?"+arguments);
+    }
+}
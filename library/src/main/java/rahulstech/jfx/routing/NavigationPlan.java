@@ -0,0 +1,113 @@
+package rahulstech.jfx.routing;
+
+import rahulstech.jfx.routing.element.Destination;
+import rahulstech.jfx.routing.element.RouterArgument;
+
+/**
+ * The {@code NavigationPlan} holds everything a {@link Router} resolves for a forward navigation from
+ * one destination to another, so a repeated navigation of the same shape need not resolve it again.
+ * A plan is compiled for the exiting destination, the target destination and the animations set in the
+ * {@link RouterOptions} of the navigation. It holds the executors of both destinations, the animations
+ * with the router defaults applied, the argument schema of the target and the pop behaviour of the
+ * exiting destination. The options passed to the executors are derived once and
+ * shared by every navigation of the plan.
+ *
+ * <p>Plans are cached by the router and dropped when the destinations, the arguments or the default
+ * animations of the router change, or when the {@link RouterContext#getCacheVersion() cache} of the
+ * context, which holds the executors and the animations, changes.</p>
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ */
+final class NavigationPlan {
+
+    final Destination exiting;
+
+    final Destination target;
+
+    final RouterExecutor exitingExecutor;
+
+    final RouterExecutor targetExecutor;
+
+    /**
+     * {@code true} if the exiting destination is popped instead of hidden
+     */
+    final boolean popExiting;
+
+    final String enterAnimation;
+
+    final String exitAnimation;
+
+    final String popExitAnimation;
+
+    /**
+     * The registered arguments of the target, whose schema the arguments of each navigation share, or {@code null}
+     */
+    final RouterArgument schema;
+
+    /**
+     * The immutable options the plan is compiled for
+     */
+    final RouterOptions options;
+
+    /**
+     * The options to show the target with
+     */
+    final RouterOptions enterOptions;
+
+    /**
+     * The options to hide the exiting destination with
+     */
+    final RouterOptions exitOptions;
+
+    /**
+     * The options to pop the exiting destination with
+     */
+    final RouterOptions popExitOptions;
+
+    private NavigationPlan(Router router, Destination exiting, Destination target, RouterOptions apply, RouterArgument schema) {
+        this.exiting = exiting;
+        this.target = target;
+        this.exitingExecutor = null==exiting ? null : router.getRouterExecutorForNameOrDefault(exiting.getExecutor());
+        this.targetExecutor = router.getRouterExecutorForNameOrDefault(target.getExecutor());
+        this.popExiting = null!=exiting && exiting.isRemoveHistory();
+        this.options = RouterOptions.of(apply);
+        this.enterAnimation = options.getEnterAnimation(router.getDefaultEnterAnimation());
+        this.exitAnimation = options.getExitAnimation(router.getDefaultExitAnimation());
+        this.popExitAnimation = options.getPopExitAnimation(router.getDefaultPopExitAnimation());
+        this.enterOptions = options.with(RouterOptions.ENTER_ANIMATION,enterAnimation);
+        this.exitOptions = options.with(RouterOptions.EXIT_ANIMATION,exitAnimation);
+        this.popExitOptions = options.with(RouterOptions.POP_EXIT_ANIMATION,popExitAnimation);
+        this.schema = schema;
+    }
+
+    /**
+     * Compiles a new plan
+     *
+     * @param router the router navigating
+     * @param exiting the destination on top of the backstack or {@code null} if backstack is empty
+     * @param target the destination to show
+     * @param apply the options of the navigation or {@code null}
+     * @param schema the registered arguments of the target or {@code null}
+     * @return non-null {@code NavigationPlan}
+     */
+    static NavigationPlan compile(Router router, Destination exiting, Destination target, RouterOptions apply, RouterArgument schema) {
+        return new NavigationPlan(router,exiting,target,apply,schema);
+    }
+
+    /**
+     * Checks whether this plan is compiled for the navigation. The options must be equal, since the
+     * plan passes its own derived options to the executors.
+     *
+     * @param exiting the destination on top of the backstack or {@code null} if backstack is empty
+     * @param target the destination to show
+     * @param apply the options of the navigation or {@code null}
+     * @return {@code true} if this plan can be reused, {@code false} otherwise
+     */
+    boolean matches(Destination exiting, Destination target, RouterOptions apply) {
+        if (this.exiting!=exiting || this.target!=target) {
+            return false;
+        }
+        return options.equals(null==apply ? RouterOptions.EMPTY : apply);
+    }
+}
@@ -0,0 +1,72 @@
+package rahulstech.jfx.routing;
+
+import rahulstech.jfx.routing.element.Destination;
+
+/**
+ * The {@code NavigationResult} describes a completed navigation. It is the value of the futures
+ * returned by the async navigation methods of {@link Router}.
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ * @see Router#moveToAsync(String, rahulstech.jfx.routing.element.RouterArgument, RouterOptions)
+ * @see Router#popBackstackAsync(rahulstech.jfx.routing.element.RouterArgument, RouterOptions)
+ */
+public final class NavigationResult {
+
+    private final Router.RouterBackstackEntry entry;
+
+    private final boolean popBackstack;
+
+    private final long duration;
+
+    NavigationResult(Router.RouterBackstackEntry entry, boolean popBackstack, long duration) {
+        this.entry = entry;
+        this.popBackstack = popBackstack;
+        this.duration = duration;
+    }
+
+    /**
+     * Returns the shown {@link Destination}
+     *
+     * @return non-null {@code Destination}
+     */
+    public Destination getDestination() {
+        return entry.getDestination();
+    }
+
+    /**
+     * Returns the backstack entry of the shown destination
+     *
+     * @return non-null backstack entry
+     */
+    public Router.RouterBackstackEntry getBackstackEntry() {
+        return entry;
+    }
+
+    /**
+     * Returns whether the destination is shown by popping backstack
+     *
+     * @return {@code true} if popped backstack, {@code false} if moved forward
+     */
+    public boolean isPopBackstack() {
+        return popBackstack;
+    }
+
+    /**
+     * Returns the time taken from the navigation request until the destination is completely shown
+     *
+     * @return time in nanoseconds
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    @Override
+    public String toString() {
+        return "NavigationResult{" +
+                "destination=" + getDestination().getId() +
+                ", popBackstack=" + popBackstack +
+                ", duration=" + duration +
+                '}';
+    }
+}
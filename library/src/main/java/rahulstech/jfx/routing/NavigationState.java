@@ -0,0 +1,104 @@
+package rahulstech.jfx.routing;
+
+import rahulstech.jfx.routing.backstack.BackstackSnapshot;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@code NavigationState} is an immutable snapshot of the backstack of a {@link Router}. The router
+ * publishes a new snapshot every time its backstack changes, so any thread can read the current
+ * destination and the depth of the backstack without locking and without touching the router.
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ * @see Router#getNavigationState()
+ */
+public final class NavigationState {
+
+    static final NavigationState EMPTY = new NavigationState(Collections.emptyList(),0);
+
+    private final List<String> destinationIds;
+
+    private final long version;
+
+    NavigationState(List<String> destinationIds, long version) {
+        this.destinationIds = destinationIds;
+        this.version = version;
+    }
+
+    /**
+     * Creates the state of the backstack snapshot, sharing the snapshot instead of copying the ids
+     *
+     * @param snapshot the backstack snapshot
+     * @param version the state version
+     * @return non-null {@code NavigationState}
+     */
+    static NavigationState of(BackstackSnapshot<Router.RouterBackstackEntry> snapshot, long version) {
+        return new NavigationState(new DestinationIds(snapshot),version);
+    }
+
+    /**
+     * Returns the id of the current destination
+     *
+     * @return the current destination id or {@code null} if backstack is empty
+     */
+    public String getCurrentDestinationId() {
+        return destinationIds.isEmpty() ? null : destinationIds.get(0);
+    }
+
+    /**
+     * Returns the number of entries in the backstack
+     *
+     * @return the backstack depth
+     */
+    public int getDepth() {
+        return destinationIds.size();
+    }
+
+    /**
+     * Returns the destination ids of the backstack entries, top first
+     *
+     * @return non-null unmodifiable list of destination ids
+     */
+    public List<String> getDestinationIds() {
+        return destinationIds;
+    }
+
+    /**
+     * Returns the version of this snapshot. Each new snapshot of a router has a greater version.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return "NavigationState{" +
+                "destinationIds=" + destinationIds +
+                ", version=" + version +
+                '}';
+    }
+
+    private static class DestinationIds extends AbstractList<String> {
+
+        private final BackstackSnapshot<Router.RouterBackstackEntry> snapshot;
+
+        DestinationIds(BackstackSnapshot<Router.RouterBackstackEntry> snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public String get(int index) {
+            return snapshot.get(index).getDestination().getId();
+        }
+
+        @Override
+        public int size() {
+            return snapshot.size();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package rahulstech.jfx.routing;
+
+import rahulstech.jfx.routing.element.Destination;
+import rahulstech.jfx.routing.element.RouterArgument;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@code NavigationTransaction} collects several navigation operations of a {@link Router} and
+ * executes them as one navigation on {@link #commit()}, for example to handle a deep link. Only the
+ * net change of the backstack is applied:
+ * <ul>
+ *     <li>only the final top destination is shown, with a single transition</li>
+ *     <li>destinations pushed below the final top are added without building their views</li>
+ *     <li>the backstack callbacks are called once for all the popped and once for all the pushed entries</li>
+ * </ul>
+ *
+ * <pre>{@code
+ * router.beginTransaction()
+ *       .popBackstackUpTo("home",false)
+ *       .moveto("products")
+ *       .moveto("product_details",data)
+ *       .commit();
+ * }</pre>
+ *
+ * <p>Like the single navigation methods, popping never removes the bottom-most backstack entry.</p>
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ * @see Router#beginTransaction()
+ */
+public final class NavigationTransaction {
+
+    private final Router router;
+
+    private final List<Operation> operations = new ArrayList<>();
+
+    private RouterOptions options;
+
+    private boolean committed = false;
+
+    NavigationTransaction(Router router) {
+        this.router = router;
+    }
+
+    /**
+     * Adds an operation to move to the destination with the given id
+     *
+     * @param id the destination id
+     * @return this instance
+     * @throws NullPointerException if no destination found for id
+     */
+    public NavigationTransaction moveto(String id) {
+        return moveto(id,null);
+    }
+
+    /**
+     * Adds an operation to move to the destination with the given id and data
+     *
+     * @param id the destination id
+     * @param data destination data as {@code RouterArgument} or {@code null}
+     * @return this instance
+     * @throws NullPointerException if no destination found for id
+     * @throws IllegalStateException if already committed
+     */
+    public NavigationTransaction moveto(String id, RouterArgument data) {
+        checkNotCommitted();
+        Destination destination = router.getDestination(id);
+        if (null==destination) {
+            throw new NullPointerException("no destination found for id '"+id+"'");
+        }
+        operations.add(new Operation(destination,data,null,false));
+        return this;
+    }
+
+    /**
+     * Adds an operation to pop the top backstack entry
+     *
+     * @return this instance
+     * @throws IllegalStateException if already committed
+     */
+    public NavigationTransaction popBackstack() {
+        checkNotCommitted();
+        operations.add(new Operation(null,null,null,true));
+        return this;
+    }
+
+    /**
+     * Adds an operation to pop the backstack entries up to the destination with the given id.
+     * Nothing is popped if the destination is not in backstack when the operation is applied.
+     *
+     * @param targetId the target destination id
+     * @param inclusive {@code true} means pop the target, {@code false} don't pop the target
+     * @return this instance
+     * @throws NullPointerException if targetId is null
+     * @throws IllegalStateException if already committed
+     */
+    public NavigationTransaction popBackstackUpTo(String targetId, boolean inclusive) {
+        checkNotCommitted();
+        if (null==targetId) {
+            throw new NullPointerException("target id is null");
+        }
+        operations.add(new Operation(null,null,targetId,inclusive));
+        return this;
+    }
+
+    /**
+     * Sets the {@link RouterOptions} for the transition of this transaction
+     *
+     * @param options options for navigation or {@code null}
+     * @return this instance
+     */
+    public NavigationTransaction setOptions(RouterOptions options) {
+        this.options = options;
+        return this;
+    }
+
+    /**
+     * Executes the operations as one navigation. Must be called on the JavaFx application thread.
+     *
+     * @return {@code true} if the backstack changed, {@code false} otherwise
+     * @throws IllegalStateException if already committed or the router is disposed
+     */
+    public boolean commit() {
+        checkNotCommitted();
+        committed = true;
+        if (operations.isEmpty()) {
+            return false;
+        }
+        return router.commitTransaction(Collections.unmodifiableList(operations),options);
+    }
+
+    private void checkNotCommitted() {
+        if (committed) {
+            throw new IllegalStateException("transaction is already committed");
+        }
+    }
+
+    /**
+     * A single operation of the transaction, either a move or a pop
+     */
+    static class Operation {
+
+        // non-null for a move
+        final Destination destination;
+
+        final RouterArgument data;
+
+        // null pops the top
+        final String popTargetId;
+
+        final boolean inclusive;
+
+        Operation(Destination destination, RouterArgument data, String popTargetId, boolean inclusive) {
+            this.destination = destination;
+            this.data = data;
+            this.popTargetId = popTargetId;
+            this.inclusive = inclusive;
+        }
+
+        boolean isPop() {
+            return null==destination;
+        }
+    }
+}
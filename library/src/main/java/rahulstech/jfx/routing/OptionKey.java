@@ -0,0 +1,108 @@
+package rahulstech.jfx.routing;
+
+import rahulstech.jfx.routing.util.StringUtil;
+
+/**
+ * The {@code OptionKey} is a typed key of {@link RouterOptions}. A value set with a key is returned with the type
+ * of the key, so no cast is needed at the call site.
+ *
+ * <pre>{@code
+ * static final OptionKey<Duration> DELAY = OptionKey.of("com.example.DELAY",Duration.class);
+ *
+ * RouterOptions options = new RouterOptions().set(DELAY,Duration.millis(200));
+ * Duration delay = options.get(DELAY);
+ * }</pre>
+ *
+ * <p>Keys are equal if their names are equal. The keys of the well-known options, like
+ * {@link RouterOptions#ENTER_ANIMATION}, are declared in {@code RouterOptions}.</p>
+ *
+ * @param <T> type of the value
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ * @see RouterOptions#get(OptionKey)
+ * @see RouterOptions#set(OptionKey, Object)
+ */
+public final class OptionKey<T> {
+
+    private final String name;
+
+    private final Class<T> type;
+
+    /**
+     * Slot of a well-known option or {@code -1} for a custom option
+     */
+    final int slot;
+
+    OptionKey(String name, Class<T> type, int slot) {
+        this.name = name;
+        this.type = type;
+        this.slot = slot;
+    }
+
+    /**
+     * Creates a new {@code OptionKey}. A key with the name of a well-known option refers to that option.
+     *
+     * @param name the key name
+     * @param type the value type
+     * @param <T> type of the value
+     * @return non-null {@code OptionKey}
+     * @throws NullPointerException if type is null
+     * @throws IllegalArgumentException if name is empty or the name of a well-known option of another type
+     */
+    public static <T> OptionKey<T> of(String name, Class<T> type) {
+        if (StringUtil.isEmpty(name)) {
+            throw new IllegalArgumentException("key is empty");
+        }
+        if (null==type) {
+            throw new NullPointerException("null type provided");
+        }
+        OptionKey<?> known = RouterOptions.getKnownKey(name);
+        if (null!=known && known.type!=type) {
+            throw new IllegalArgumentException("option '"+name+"' is of type "+known.type.getName());
+        }
+        return new OptionKey<>(name,type,null==known ? -1 : known.slot);
+    }
+
+    /**
+     * Returns the key name
+     *
+     * @return non-null name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the value type
+     *
+     * @return non-null {@link Class} of the value
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    T cast(Object value) {
+        return type.cast(value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this==o) {
+            return true;
+        }
+        if (!(o instanceof OptionKey)) {
+            return false;
+        }
+        return name.equals(((OptionKey<?>) o).name);
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,50 @@
+package rahulstech.jfx.routing;
+
+import rahulstech.jfx.routing.element.Destination;
+import rahulstech.jfx.routing.element.RouterArgument;
+
+/**
+ * The {@code RouteMatch} is the {@link Destination} matching a path and the arguments taken from the
+ * path and query parameters, converted to the types declared in the argument schema of the destination.
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ * @see Router#matchPath(String)
+ */
+public final class RouteMatch {
+
+    private final Destination destination;
+
+    private final RouterArgument arguments;
+
+    RouteMatch(Destination destination, RouterArgument arguments) {
+        this.destination = destination;
+        this.arguments = arguments;
+    }
+
+    /**
+     * Returns the matched {@link Destination}
+     *
+     * @return non-null {@code Destination}
+     */
+    public Destination getDestination() {
+        return destination;
+    }
+
+    /**
+     * Returns the arguments of the path and query parameters
+     *
+     * @return non-null {@link RouterArgument}
+     */
+    public RouterArgument getArguments() {
+        return arguments;
+    }
+
+    @Override
+    public String toString() {
+        return "RouteMatch{" +
+                "destination=" + destination.getId() +
+                ", arguments=" + arguments +
+                '}';
+    }
+}
@@ -0,0 +1,372 @@
+package rahulstech.jfx.routing;
+
+import rahulstech.jfx.routing.element.ArgKey;
+import rahulstech.jfx.routing.element.ArgumentSchema;
+import rahulstech.jfx.routing.element.Destination;
+import rahulstech.jfx.routing.element.RouterArgument;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The {@code RouteTable} matches paths like {@code /customer/42/order/7} against the
+ * {@link Destination#getPath() path patterns} of destinations like {@code /customer/{id}/order/{orderId}}.
+ * Patterns are compiled into a trie with one node per segment. A static segment is preferred over a
+ * parameter segment at the same level. Matching walks the path once without creating substrings for
+ * static segments, so it takes time proportional to the path length regardless of the number of routes.
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ * @see Router#matchPath(String)
+ */
+final class RouteTable {
+
+    private static final Map<RouterArgument.Type,Function<String,Object>> CONVERTERS = new IdentityHashMap<>();
+
+    static {
+        CONVERTERS.put(RouterArgument.Type.BOOLEAN,Boolean::valueOf);
+        CONVERTERS.put(RouterArgument.Type.CHAR,RouteTable::toChar);
+        CONVERTERS.put(RouterArgument.Type.SHORT,Short::valueOf);
+        CONVERTERS.put(RouterArgument.Type.INT,Integer::valueOf);
+        CONVERTERS.put(RouterArgument.Type.LONG,Long::valueOf);
+        CONVERTERS.put(RouterArgument.Type.FLOAT,Float::valueOf);
+        CONVERTERS.put(RouterArgument.Type.DOUBLE,Double::valueOf);
+    }
+
+    private final Node root = new Node(null);
+
+    private int maxParams = 0;
+
+    /**
+     * Adds the route of the destination
+     *
+     * @param destination the destination with non-null path
+     * @throws IllegalArgumentException if the path has an empty segment or an empty parameter name
+     * @throws IllegalStateException if another destination has the same path
+     */
+    void add(Destination destination) {
+        String pattern = destination.getPath();
+        Node node = root;
+        List<String> params = new ArrayList<>();
+        for (String segment : split(pattern)) {
+            if (segment.startsWith("{") && segment.endsWith("}")) {
+                String name = segment.substring(1,segment.length()-1).trim();
+                if (name.isEmpty()) {
+                    throw new IllegalArgumentException("empty parameter name in path '"+pattern+"'");
+                }
+                params.add(name);
+                if (null==node.param) {
+                    node.param = new Node(null);
+                }
+                node = node.param;
+            }
+            else {
+                node = node.putChild(segment);
+            }
+        }
+        if (null!=node.route) {
+            throw new IllegalStateException("path '"+pattern+"' of destination "+destination.getId()
+                    +" is already used by destination "+node.route.destination.getId());
+        }
+        node.route = new Route(destination,params.toArray(new String[0]));
+        maxParams = Math.max(maxParams,params.size());
+    }
+
+    /**
+     * Finds the route matching the path
+     *
+     * @param path the path without query
+     * @param values array of at least {@link #getMaxParams()} length to receive the parameter values
+     * @return matching {@code Route} or {@code null}
+     */
+    Route match(String path, String[] values) {
+        int start = 0;
+        int end = path.length();
+        while (start<end && path.charAt(start)=='/') {
+            start++;
+        }
+        while (end>start && path.charAt(end-1)=='/') {
+            end--;
+        }
+        return match(root,path,start,end,values,0);
+    }
+
+    /**
+     * Returns the maximum number of parameters of any route
+     *
+     * @return the maximum number of parameters
+     */
+    int getMaxParams() {
+        return maxParams;
+    }
+
+    /**
+     * Converts the value to the type of the argument, using a converter cached for the predefined
+     * {@link RouterArgument.Type types}. Values of other types are kept as string.
+     *
+     * @param type the argument type or {@code null}
+     * @param value the value to convert
+     * @return converted value
+     * @throws IllegalArgumentException if the value can not be converted
+     */
+    static Object convert(RouterArgument.Type type, String value) {
+        Function<String,Object> converter = null==type ? null : CONVERTERS.get(type);
+        if (null==converter) {
+            return value;
+        }
+        try {
+            return converter.apply(value);
+        }
+        catch (RuntimeException e) {
+            throw new IllegalArgumentException("can not convert '"+value+"' to "+type,e);
+        }
+    }
+
+    /**
+     * Sets the value of a parameter converted to the type of the argument. The values of {@code int},
+     * {@code long}, {@code double} and {@code boolean} arguments are parsed and set without boxing.
+     *
+     * @param args the arguments to set the value to
+     * @param name the parameter name
+     * @param key the key of the declared argument or {@code null} to set the value as string by name
+     * @param type the argument type, ignored if key is null
+     * @param value the value to convert
+     * @throws IllegalArgumentException if the value can not be converted
+     */
+    @SuppressWarnings("unchecked")
+    static void set(RouterArgument args, String name, ArgKey<?> key, RouterArgument.Type type, String value) {
+        if (null==key) {
+            args.addArgument(name,value);
+            return;
+        }
+        try {
+            if (RouterArgument.Type.INT.equals(type)) {
+                args.setInt((ArgKey<Integer>) key,Integer.parseInt(value));
+            }
+            else if (RouterArgument.Type.LONG.equals(type)) {
+                args.setLong((ArgKey<Long>) key,Long.parseLong(value));
+            }
+            else if (RouterArgument.Type.DOUBLE.equals(type)) {
+                args.setDouble((ArgKey<Double>) key,Double.parseDouble(value));
+            }
+            else if (RouterArgument.Type.BOOLEAN.equals(type)) {
+                args.setBoolean((ArgKey<Boolean>) key,Boolean.parseBoolean(value));
+            }
+            else {
+                args.set((ArgKey<Object>) key,convert(type,value));
+            }
+        }
+        catch (NumberFormatException e) {
+            throw new IllegalArgumentException("can not convert '"+value+"' to "+type,e);
+        }
+    }
+
+    private static Object toChar(String value) {
+        if (value.length()!=1) {
+            throw new IllegalArgumentException("not a single char");
+        }
+        return value.charAt(0);
+    }
+
+    private Route match(Node node, String path, int start, int end, String[] values, int depth) {
+        if (start>=end) {
+            return node.route;
+        }
+        int slash = path.indexOf('/',start);
+        int segmentEnd = slash<0 || slash>end ? end : slash;
+        int next = segmentEnd+1;
+        Node child = node.getChild(path,start,segmentEnd);
+        if (null!=child) {
+            Route route = match(child,path,next,end,values,depth);
+            if (null!=route) {
+                return route;
+            }
+        }
+        if (null!=node.param && segmentEnd>start) {
+            Route route = match(node.param,path,next,end,values,depth+1);
+            if (null!=route) {
+                values[depth] = path.substring(start,segmentEnd);
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static List<String> split(String pattern) {
+        List<String> segments = new ArrayList<>();
+        String value = pattern.trim();
+        int start = 0;
+        int end = value.length();
+        while (start<end && value.charAt(start)=='/') {
+            start++;
+        }
+        while (end>start && value.charAt(end-1)=='/') {
+            end--;
+        }
+        if (start==end) {
+            return segments;
+        }
+        for (String segment : value.substring(start,end).split("/",-1)) {
+            if (segment.isEmpty()) {
+                throw new IllegalArgumentException("empty segment in path '"+pattern+"'");
+            }
+            segments.add(segment);
+        }
+        return segments;
+    }
+
+    /**
+     * A destination with the parameter names of its path in order
+     */
+    static final class Route {
+
+        final Destination destination;
+
+        final String[] params;
+
+        // the schema the keys and types are resolved for
+        private ArgumentSchema schema;
+
+        // keys of the params by position, null for a param not declared in the schema
+        private ArgKey<?>[] keys;
+
+        private RouterArgument.Type[] types;
+
+        Route(Destination destination, String[] params) {
+            this.destination = destination;
+            this.params = params;
+        }
+
+        /**
+         * Sets the parameter values to the slots of the arguments. The slots of the params are resolved
+         * once per schema, a destination keeps its schema until its arguments are replaced.
+         *
+         * @param args the arguments of the destination
+         * @param values the parameter values by position
+         * @throws IllegalArgumentException if a value can not be converted to the argument type
+         */
+        void setParams(RouterArgument args, String[] values) {
+            ArgumentSchema schema = args.getSchema();
+            if (schema!=this.schema) {
+                resolve(schema);
+            }
+            for (int i=0; i<params.length; i++) {
+                set(args,params[i],keys[i],types[i],values[i]);
+            }
+        }
+
+        private void resolve(ArgumentSchema schema) {
+            ArgKey<?>[] keys = new ArgKey<?>[params.length];
+            RouterArgument.Type[] types = new RouterArgument.Type[params.length];
+            for (int i=0; i<params.length; i++) {
+                int slot = schema.indexOf(params[i]);
+                if (slot>=0) {
+                    types[i] = schema.getType(slot);
+                    keys[i] = schema.key(params[i],keyType(types[i]));
+                }
+            }
+            this.keys = keys;
+            this.types = types;
+            this.schema = schema;
+        }
+
+        private static Class<?> keyType(RouterArgument.Type type) {
+            if (RouterArgument.Type.INT.equals(type)) {
+                return Integer.class;
+            }
+            if (RouterArgument.Type.LONG.equals(type)) {
+                return Long.class;
+            }
+            if (RouterArgument.Type.DOUBLE.equals(type)) {
+                return Double.class;
+            }
+            if (RouterArgument.Type.BOOLEAN.equals(type)) {
+                return Boolean.class;
+            }
+            return Object.class;
+        }
+    }
+
+    private static final class Node {
+
+        final String segment;
+
+        // static children in an open addressing table, looked up by a region of the path
+        Node[] children;
+
+        int count = 0;
+
+        Node param;
+
+        Route route;
+
+        Node(String segment) {
+            this.segment = segment;
+        }
+
+        Node getChild(String path, int start, int end) {
+            if (null==children) {
+                return null;
+            }
+            int length = end-start;
+            int mask = children.length-1;
+            for (int i=hash(path,start,end)&mask; null!=children[i]; i=(i+1)&mask) {
+                String key = children[i].segment;
+                if (key.length()==length && path.regionMatches(start,key,0,length)) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node putChild(String segment) {
+            Node child = getChild(segment,0,segment.length());
+            if (null!=child) {
+                return child;
+            }
+            if (null==children || (count+1)*2>children.length) {
+                resize();
+            }
+            child = new Node(segment);
+            insert(children,child);
+            count++;
+            return child;
+        }
+
+        private void resize() {
+            Node[] old = children;
+            children = new Node[null==old ? 4 : old.length*2];
+            if (null!=old) {
+                for (Node node : old) {
+                    if (null!=node) {
+                        insert(children,node);
+                    }
+                }
+            }
+        }
+
+        private static void insert(Node[] table, Node node) {
+            int mask = table.length-1;
+            int i = hash(node.segment,0,node.segment.length())&mask;
+            while (null!=table[i]) {
+                i = (i+1)&mask;
+            }
+            table[i] = node;
+        }
+
+        private static int hash(String value, int start, int end) {
+            int h = 0;
+            for (int i=start; i<end; i++) {
+                h = 31*h+value.charAt(i);
+            }
+            // spread similar segments like item1, item2 apart, linear probing clusters otherwise
+            h ^= h>>>16;
+            h *= 0x85ebca6b;
+            h ^= h>>>13;
+            return h;
+        }
+    }
+}
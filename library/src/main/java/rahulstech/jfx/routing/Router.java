@@ -2,17 +2,32 @@ package rahulstech.jfx.routing;
 
 import javafx.scene.layout.Pane;
 import rahulstech.jfx.routing.backstack.Backstack;
+import rahulstech.jfx.routing.backstack.BackstackCallback;
 import rahulstech.jfx.routing.backstack.BackstackEntry;
+import rahulstech.jfx.routing.backstack.IndexedBackstack;
+import rahulstech.jfx.routing.backstack.SimpleBackstackCallback;
+import rahulstech.jfx.routing.cache.EvictionPolicy;
+import rahulstech.jfx.routing.cache.ViewCache;
+import rahulstech.jfx.routing.element.ArgumentSchema;
 import rahulstech.jfx.routing.element.Destination;
 import rahulstech.jfx.routing.element.RouterAnimation;
 import rahulstech.jfx.routing.element.RouterArgument;
+import rahulstech.jfx.routing.memory.BackstackOverflowPolicy;
+import rahulstech.jfx.routing.memory.DehydrationPolicy;
+import rahulstech.jfx.routing.memory.MemoryManager;
 import rahulstech.jfx.routing.parser.Attribute;
 import rahulstech.jfx.routing.parser.AttributeSet;
 import rahulstech.jfx.routing.parser.RouterXmlParser;
+import rahulstech.jfx.routing.preload.NavigationPredictor;
+import rahulstech.jfx.routing.preload.ViewPreloader;
 import rahulstech.jfx.routing.util.Disposable;
 
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The {@code Router} class is responsible for handling all navigation requests
@@ -46,6 +61,25 @@ import java.util.*;
  */
 public class Router implements Disposable {
 
+    /**
+     * Default time in milliseconds a hinted destination is kept prepared
+     *
+     * @see #hintIntent(String)
+     * @since 2.1.0
+     */
+    public static final long DEFAULT_INTENT_TIMEOUT = 1500;
+
+    /**
+     * Default number of hidden views kept attached to the content pane
+     *
+     * @see #setKeepAttachedDepth(int)
+     * @since 2.1.0
+     */
+    public static final int DEFAULT_KEEP_ATTACHED_DEPTH = 2;
+
+    private static final long MIN_DEHYDRATION_CHECK_DELAY = 1000;
+
+
     /**
      * Name of the single scene screen {@link RouterExecutor}
      */
@@ -66,14 +100,26 @@ public class Router implements Disposable {
 
     private Map<String,Destination> destinations;
 
+    private RouteTable routes;
+
     private Map<String,RouterArgument> arguments;
 
-    private Backstack<RouterBackstackEntry> backstack;
+    private IndexedBackstack<RouterBackstackEntry> backstack;
+
+    // compiled forward navigations by target id and then by exiting id
+    private Map<String,Map<String,NavigationPlan>> plans;
+
+    // the context cache version the plans are compiled with
+    private long plansVersion;
 
     private Destination homeDestination;
 
     private Router parentRouter;
 
+    private List<Router> childRouters;
+
+    private PendingPath pendingPath;
+
     /**
      * Name or id of the home destination enter animation. if
      * nothing is specified then default enter animation is used
@@ -102,6 +148,70 @@ public class Router implements Disposable {
 
     private RouterContext context;
 
+    private ViewPreloader preloader;
+
+    private ViewCache<Transaction.Target> viewCache;
+
+    private NavigationPredictor predictor;
+
+    private int prefetchCount = 0;
+
+    private Map<String,PendingIntent> intents;
+
+    private long intentTimeout = DEFAULT_INTENT_TIMEOUT;
+
+    private Destination.HideMode hideMode = Destination.HideMode.DETACH;
+
+    private int keepAttachedDepth = DEFAULT_KEEP_ATTACHED_DEPTH;
+
+    private DehydrationPolicy dehydrationPolicy = DehydrationPolicy.NEVER;
+
+    private RouterDispatcher.Scheduled dehydrationTimer;
+
+    private int nodeBudget = 0;
+
+    private int maxBackstack = 0;
+
+    private BackstackOverflowPolicy overflowPolicy = BackstackOverflowPolicy.DROP_OLDEST;
+
+    private NavigationDispatcher dispatcher;
+
+    private NavigationChannel channel;
+
+    private volatile NavigationState state = NavigationState.EMPTY;
+
+    private long stateVersion = 0;
+
+    // held strongly, backstack holds the callbacks weakly
+    private final BackstackCallback<RouterBackstackEntry> stateCallback = new SimpleBackstackCallback<RouterBackstackEntry>() {
+        @Override
+        public void onBackstackTopChanged(Backstack<RouterBackstackEntry> backstack, RouterBackstackEntry entry) {
+            publishState();
+        }
+
+        @Override
+        public void onPushedMultiple(Backstack<RouterBackstackEntry> backstack, List<RouterBackstackEntry> entries) {
+            publishState();
+        }
+
+        @Override
+        public void onPoppedMultiple(Backstack<RouterBackstackEntry> backstack, List<RouterBackstackEntry> entries) {
+            publishState();
+        }
+
+        @Override
+        public void onPoppedSingle(Backstack<RouterBackstackEntry> backstack, RouterBackstackEntry entry) {
+            publishState();
+        }
+    };
+
+    // number of entries being shown or hidden by an executor
+    private int activeEntryCount = 0;
+
+    private PendingNavigation preparingNavigation;
+
+    private PendingNavigation showingNavigation;
+
     private boolean disposed = false;
 
     /////////////////////////////////////////////////////////////
@@ -131,8 +241,20 @@ public class Router implements Disposable {
         this.context = context;
         this.content = content;
         destinations = new HashMap<>();
+        routes = new RouteTable();
         arguments = new HashMap<>();
-        backstack = new Backstack<>();
+        plans = new HashMap<>();
+        backstack = new IndexedBackstack<>(entry->entry.getDestination().getId());
+        backstack.setDispatcher(context.getDispatcher());
+        backstack.registerBackstackCallback(stateCallback);
+        preloader = new ViewPreloader(context.getBackgroundExecutor(),context.getDispatcher());
+        viewCache = new ViewCache<>();
+        predictor = new NavigationPredictor();
+        intents = new HashMap<>();
+        dispatcher = new NavigationDispatcher(this);
+        channel = new NavigationChannel(this,context.getDispatcher());
+        childRouters = new ArrayList<>();
+        MemoryManager.getInstance().register(this);
     }
 
     /////////////////////////////////////////////////////////////
@@ -140,12 +262,24 @@ public class Router implements Disposable {
     ///////////////////////////////////////////////////////////
 
     /**
-     * Sets the parent {@code Router} of this Router, if any
+     * Sets the parent {@code Router} of this Router, if any. This router is added to the
+     * {@link #getChildRouters() child routers} of the parent. If the parent is navigating
+     * a {@link #navigate(String) path} through this router then the rest of the path is
+     * navigated by this router.
      *
      * @param parentRouter the parent {@code Router} instnace or {@code null}
      */
     public void setParentRouter(Router parentRouter) {
+        if (this.parentRouter==parentRouter) {
+            return;
+        }
+        if (null!=this.parentRouter) {
+            this.parentRouter.removeChildRouter(this);
+        }
         this.parentRouter = parentRouter;
+        if (null!=parentRouter) {
+            parentRouter.addChildRouter(this);
+        }
     }
 
     /**
@@ -157,6 +291,17 @@ public class Router implements Disposable {
         return parentRouter;
     }
 
+    /**
+     * Returns the routers whose parent is this router, in the order they are attached
+     *
+     * @return non-null unmodifiable list of child routers
+     * @see #setParentRouter(Router)
+     * @since 2.1.0
+     */
+    public List<Router> getChildRouters() {
+        return null==childRouters ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(childRouters));
+    }
+
     /**
      * Returns {@link RouterContext} instance associated with this {@code Router}
      *
@@ -184,6 +329,312 @@ public class Router implements Disposable {
         this.content = content;
     }
 
+    /**
+     * Returns the {@link ViewPreloader} which holds the destination views prepared in background
+     *
+     * @return non-null {@code ViewPreloader} instance
+     * @since 2.1.0
+     */
+    public ViewPreloader getPreloader() {
+        return preloader;
+    }
+
+    /**
+     * Returns the {@link ViewCache} which holds the views of popped
+     * {@link Destination#isReusable() reusable} destinations
+     *
+     * @return non-null {@code ViewCache} instance
+     * @since 2.1.0
+     */
+    public ViewCache<Transaction.Target> getViewCache() {
+        return viewCache;
+    }
+
+    /**
+     * Returns the {@link NavigationPredictor} which records the navigations of this {@code Router}.
+     * Save and load it to persist the model between runs.
+     *
+     * @return non-null {@code NavigationPredictor} instance
+     * @since 2.1.0
+     */
+    public NavigationPredictor getPredictor() {
+        return predictor;
+    }
+
+    /**
+     * Sets the number of most likely next destinations to prepare speculatively after a destination
+     * is shown. Speculation is limited by the {@link ViewPreloader#setSpeculationBudget(long) speculation budget}
+     * of the {@link #getPreloader() preloader}.
+     *
+     * @param count number of destinations, {@code 0} disables speculation
+     * @throws IllegalArgumentException if count is negative
+     * @see Attribute#PREFETCH
+     * @since 2.1.0
+     */
+    public void setPrefetchCount(int count) {
+        if (count<0) {
+            throw new IllegalArgumentException("prefetch count can not be negative");
+        }
+        this.prefetchCount = count;
+    }
+
+    /**
+     * Returns the number of most likely next destinations prepared speculatively
+     *
+     * @return number of destinations
+     * @since 2.1.0
+     */
+    public int getPrefetchCount() {
+        return prefetchCount;
+    }
+
+    /**
+     * Sets the time in milliseconds a destination prepared by {@link #hintIntent(String)} is kept
+     * if no navigation to it follows
+     *
+     * @param millis the timeout in milliseconds
+     * @throws IllegalArgumentException if millis is not positive
+     * @since 2.1.0
+     */
+    public void setIntentTimeout(long millis) {
+        if (millis<=0) {
+            throw new IllegalArgumentException("intent timeout must be positive");
+        }
+        this.intentTimeout = millis;
+    }
+
+    /**
+     * Returns the time in milliseconds a hinted destination is kept prepared
+     *
+     * @return the timeout in milliseconds
+     * @since 2.1.0
+     */
+    public long getIntentTimeout() {
+        return intentTimeout;
+    }
+
+    /**
+     * Sets the hide mode for destinations with {@link Destination.HideMode#DEFAULT DEFAULT} hide mode
+     *
+     * @param hideMode non-null {@link Destination.HideMode}, {@code DEFAULT} means {@code DETACH}
+     * @throws NullPointerException if hideMode is null
+     * @see Attribute#HIDE_MODE
+     * @since 2.1.0
+     */
+    public void setHideMode(Destination.HideMode hideMode) {
+        if (null==hideMode) {
+            throw new NullPointerException("hide mode is null");
+        }
+        this.hideMode = hideMode==Destination.HideMode.DEFAULT ? Destination.HideMode.DETACH : hideMode;
+    }
+
+    /**
+     * Returns the hide mode for destinations with {@link Destination.HideMode#DEFAULT DEFAULT} hide mode
+     *
+     * @return either {@link Destination.HideMode#DETACH DETACH} or {@link Destination.HideMode#KEEP_ATTACHED KEEP_ATTACHED}
+     * @since 2.1.0
+     */
+    public Destination.HideMode getHideMode() {
+        return hideMode;
+    }
+
+    /**
+     * Returns the effective hide mode of the destination
+     *
+     * @param destination the destination
+     * @return either {@link Destination.HideMode#DETACH DETACH} or {@link Destination.HideMode#KEEP_ATTACHED KEEP_ATTACHED}
+     * @since 2.1.0
+     */
+    public Destination.HideMode getHideModeFor(Destination destination) {
+        Destination.HideMode mode = destination.getHideMode();
+        return mode==Destination.HideMode.DEFAULT ? hideMode : mode;
+    }
+
+    /**
+     * Sets the maximum number of hidden views kept attached to the content pane. Views of
+     * destinations deeper in the backstack are detached.
+     *
+     * @param depth number of views, {@code 0} detaches all hidden views
+     * @throws IllegalArgumentException if depth is negative
+     * @see Attribute#KEEP_ATTACHED_DEPTH
+     * @since 2.1.0
+     */
+    public void setKeepAttachedDepth(int depth) {
+        if (depth<0) {
+            throw new IllegalArgumentException("keep attached depth can not be negative");
+        }
+        this.keepAttachedDepth = depth;
+    }
+
+    /**
+     * Returns the maximum number of hidden views kept attached to the content pane
+     *
+     * @return number of views
+     * @since 2.1.0
+     */
+    public int getKeepAttachedDepth() {
+        return keepAttachedDepth;
+    }
+
+    /**
+     * Sets the {@link DehydrationPolicy} which decides the hidden backstack entries to release
+     * to reclaim memory
+     *
+     * @param policy non-null {@code DehydrationPolicy}
+     * @throws NullPointerException if policy is null
+     * @see Attribute#DEHYDRATE_DEPTH
+     * @see Attribute#DEHYDRATE_AFTER
+     * @since 2.1.0
+     */
+    public void setDehydrationPolicy(DehydrationPolicy policy) {
+        if (null==policy) {
+            throw new NullPointerException("dehydration policy is null");
+        }
+        this.dehydrationPolicy = policy;
+        if (!disposed) {
+            dehydrateEntries();
+        }
+    }
+
+    /**
+     * Returns the {@link DehydrationPolicy}
+     *
+     * @return non-null {@code DehydrationPolicy}
+     * @since 2.1.0
+     */
+    public DehydrationPolicy getDehydrationPolicy() {
+        return dehydrationPolicy;
+    }
+
+    /**
+     * Returns the {@link NavigationDispatcher} which queues and coalesces the navigation requests
+     *
+     * @return non-null {@code NavigationDispatcher}
+     * @see Attribute#COALESCE_WINDOW
+     * @since 2.1.0
+     */
+    public NavigationDispatcher getNavigationDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * Returns the {@link NavigationChannel} which lets any thread navigate this router
+     *
+     * @return non-null {@code NavigationChannel}
+     * @since 2.1.0
+     */
+    public NavigationChannel getNavigationChannel() {
+        return channel;
+    }
+
+    /**
+     * Returns the latest immutable snapshot of the backstack. Unlike the other methods of {@code Router}
+     * this method can be called from any thread.
+     *
+     * @return non-null {@link NavigationState}
+     * @since 2.1.0
+     */
+    public NavigationState getNavigationState() {
+        return state;
+    }
+
+    /**
+     * Sets the maximum number of nodes the views of this router may hold. When a destination is
+     * shown with more nodes, the router is trimmed level by level until it is within budget.
+     *
+     * @param budget the maximum number of nodes, {@code 0} means no budget
+     * @throws IllegalArgumentException if budget is negative
+     * @see Attribute#NODE_BUDGET
+     * @see MemoryManager#trimToBudget(Router)
+     * @since 2.1.0
+     */
+    public void setNodeBudget(int budget) {
+        if (budget<0) {
+            throw new IllegalArgumentException("node budget can not be negative");
+        }
+        this.nodeBudget = budget;
+    }
+
+    /**
+     * Returns the maximum number of nodes the views of this router may hold
+     *
+     * @return the node budget, {@code 0} means no budget
+     * @since 2.1.0
+     */
+    public int getNodeBudget() {
+        return nodeBudget;
+    }
+
+    /**
+     * Sets the maximum number of entries in the backstack. When a forward navigation makes the backstack
+     * deeper, the {@link #setBackstackOverflowPolicy(BackstackOverflowPolicy) overflow policy} is applied.
+     * Dropped entries are removed from the backstack in one change and destroyed.
+     *
+     * @param max the maximum number of entries, {@code 0} means no limit
+     * @throws IllegalArgumentException if max is negative
+     * @see Attribute#MAX_BACKSTACK
+     * @since 2.1.0
+     */
+    public void setMaxBackstack(int max) {
+        if (max<0) {
+            throw new IllegalArgumentException("max backstack can not be negative");
+        }
+        this.maxBackstack = max;
+    }
+
+    /**
+     * Returns the maximum number of entries in the backstack
+     *
+     * @return the maximum number of entries, {@code 0} means no limit
+     * @since 2.1.0
+     */
+    public int getMaxBackstack() {
+        return maxBackstack;
+    }
+
+    /**
+     * Sets what to do when the backstack is deeper than the {@link #getMaxBackstack() max backstack}
+     *
+     * @param policy non-null {@link BackstackOverflowPolicy}
+     * @throws NullPointerException if policy is null
+     * @see Attribute#BACKSTACK_OVERFLOW
+     * @since 2.1.0
+     */
+    public void setBackstackOverflowPolicy(BackstackOverflowPolicy policy) {
+        if (null==policy) {
+            throw new NullPointerException("backstack overflow policy is null");
+        }
+        this.overflowPolicy = policy;
+    }
+
+    /**
+     * Returns what to do when the backstack is deeper than the {@link #getMaxBackstack() max backstack}
+     *
+     * @return non-null {@link BackstackOverflowPolicy}
+     * @since 2.1.0
+     */
+    public BackstackOverflowPolicy getBackstackOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Returns the number of nodes held by the views of this router, i.e. the views in backstack
+     * and in the view cache. The views of nested routers are counted too.
+     *
+     * @return the number of nodes
+     * @since 2.1.0
+     */
+    public int getNodeCount() {
+        if (disposed) {
+            return 0;
+        }
+        int count = viewCache.getNodeCount();
+        for (RouterExecutor executor : getRouterExecutors()) {
+            count += executor.getNodeCount();
+        }
+        return count;
+    }
+
     /**
      * Returns registered {@link RouterExecutor} for given {@code name} from the
      * {@link RouterContext}
@@ -294,6 +745,7 @@ public class Router implements Disposable {
         defaultExitAnimation = exitAnimation;
         defaultPopEnterAnimation = popEnterAnimation;
         defaultPopExitAnimation = popExitAnimation;
+        invalidatePlans();
     }
 
     /**
@@ -334,17 +786,22 @@ public class Router implements Disposable {
 
     /**
      * Register a new {@link  Destination}. Destination id must be unique in this Router
-     * otherwise it will throw an exception.
+     * otherwise it will throw an exception. The {@link Destination#getPath() path} of the
+     * destination, if any, is added to the routes matched by {@link #matchPath(String)}.
      *
      * @param destination the new destination to register
-     * @throws IllegalStateException if any destination already registered for same id
+     * @throws IllegalStateException if any destination already registered for same id or path
      */
     public void addDestination(Destination destination) {
         String id = destination.getId();
         if (destinations.containsKey(id)) {
             throw new IllegalStateException("destination with id "+id+" already added");
         }
+        if (null!=destination.getPath()) {
+            routes.add(destination);
+        }
         destinations.put(id,destination);
+        invalidatePlans();
     }
 
     /**
@@ -368,6 +825,71 @@ public class Router implements Disposable {
         return destinations.get(id);
     }
 
+    /**
+     * Finds the {@link Destination} whose {@link Destination#getPath() path pattern} matches the path,
+     * for example {@code /customer/42/order/7?tab=items} matches {@code /customer/{id}/order/{orderId}}.
+     * The path and query parameters are set to the arguments of the destination, converted to the
+     * types declared in its argument schema. Parameters not declared in the schema are set as string.
+     * A static segment is preferred over a path parameter at the same position.
+     *
+     * @param path the path to match, with optional query
+     * @return the {@link RouteMatch} or {@code null} if no route matches
+     * @throws NullPointerException if path is null
+     * @throws IllegalArgumentException if a parameter value can not be converted to the argument type
+     * @see Attribute#PATH
+     * @since 2.1.0
+     */
+    public RouteMatch matchPath(String path) {
+        if (null==path) {
+            throw new NullPointerException("path is null");
+        }
+        int query = path.indexOf('?');
+        String[] values = new String[routes.getMaxParams()];
+        RouteTable.Route route = routes.match(query<0 ? path : path.substring(0,query),values);
+        if (null==route) {
+            return null;
+        }
+        RouterArgument args = getArgumentForDestination(route.destination.getId());
+        if (null==args) {
+            args = new RouterArgument();
+        }
+        route.setParams(args,values);
+        if (query>=0) {
+            RouterArgument pathArgs = args;
+            NavigationPath.forEachQueryParameter(path.substring(query+1),(name,value)->setPathArgument(pathArgs,name,value));
+        }
+        return new RouteMatch(route.destination,args);
+    }
+
+    /**
+     * Navigates to the destination matching the path with the path and query parameters as data
+     *
+     * @param path the path to navigate
+     * @throws NullPointerException if path is null or no route matches the path
+     * @throws IllegalArgumentException if a parameter value can not be converted to the argument type
+     * @see #matchPath(String)
+     * @since 2.1.0
+     */
+    public void moveToPath(String path) {
+        RouteMatch match = matchPath(path);
+        if (null==match) {
+            throw new NullPointerException("no destination found for path '"+path+"'");
+        }
+        moveto(match.getDestination(),match.getArguments(),null);
+    }
+
+    private static void setPathArgument(RouterArgument args, String name, String value) {
+        // query parameters are not known in advance, so the slot is looked up by name
+        ArgumentSchema schema = args.getSchema();
+        int slot = schema.indexOf(name);
+        if (slot<0) {
+            args.addArgument(name,value);
+        }
+        else {
+            args.addArgument(name,RouteTable.convert(schema.getType(slot),value));
+        }
+    }
+
     /**
      * Register a new destination with its {@link RouterArgument}s
      *
@@ -389,6 +911,7 @@ public class Router implements Disposable {
      * @return the old arguments or null
      */
     public RouterArgument setArgumentForDestination(String destinationId, RouterArgument argument) {
+        invalidatePlans();
         return arguments.put(destinationId,argument);
     }
 
@@ -404,7 +927,12 @@ public class Router implements Disposable {
         if (arguments.containsKey(id)) {
             throw new IllegalStateException("argument with id '"+id+"' is already added");
         }
+        if (null!=argument) {
+            // compile the schema once, copies of the argument share it
+            argument.getSchema();
+        }
         arguments.put(id,argument);
+        invalidatePlans();
     }
 
     /**
@@ -467,11 +995,11 @@ public class Router implements Disposable {
     ///////////////////////////////////////////////////////////
 
     /**
-     * Returns {@link Backstack} used by this {@code Router}
+     * Returns {@link Backstack} used by this {@code Router}, indexed by destination id
      *
      * @return non-null {@code Backstack} instance
      */
-    public Backstack<RouterBackstackEntry> getBackstack() {
+    public IndexedBackstack<RouterBackstackEntry> getBackstack() {
         return backstack;
     }
 
@@ -593,6 +1121,10 @@ public class Router implements Disposable {
      * @param apply an {@link RouterOptions} for navigation options, may be null
      */
     public void moveto(Destination target, RouterArgument data, RouterOptions apply) {
+        if (dispatcher.isEnabled()) {
+            dispatcher.enqueueMove(target,data,apply,null,false);
+            return;
+        }
         moveForward(target,apply,data);
     }
 
@@ -620,9 +1152,15 @@ public class Router implements Disposable {
      *
      * @param result the result to set to the next destination
      * @param options options for navigation
-     * @return {@code true} if backstack popped successfully, {@code false} otherwise
+     * @return {@code true} if backstack popped successfully, {@code false} otherwise. If the
+     *          {@link #getNavigationDispatcher() navigation dispatcher} is enabled then the pop is
+     *          queued and {@code true} is returned
      */
     public boolean popBackstack(RouterArgument result, RouterOptions options) {
+        if (dispatcher.isEnabled()) {
+            dispatcher.enqueuePop(null,true,result,options);
+            return true;
+        }
         String targetId = getCurrentDestination().getId();
         return popBackstackUpTo(targetId,true,result,options);
     }
@@ -671,10 +1209,16 @@ public class Router implements Disposable {
      * @param inclusive {@code true} means pop the target, {@code false} don't pop the target
      * @param result the result for the next destination
      * @param options options for navigation
-     * @return {@code true} if successfully popped, {@code false} otherwise
+     * @return {@code true} if successfully popped, {@code false} otherwise. If the
+     *          {@link #getNavigationDispatcher() navigation dispatcher} is enabled then the pop is
+     *          queued and {@code true} is returned
      */
     public boolean popBackstackUpTo(String targetId,boolean inclusive, RouterArgument result, RouterOptions options) {
-        return moveBackward(targetId,inclusive,result,options);
+        if (dispatcher.isEnabled()) {
+            dispatcher.enqueuePop(targetId,inclusive,result,options);
+            return true;
+        }
+        return moveBackward(targetId,inclusive,result,options,null);
     }
 
     /**
@@ -750,62 +1294,286 @@ public class Router implements Disposable {
      * @param options navigation extras as {@code RouterOptions} or {@code null}
      */
     public void movePoppingUpto(Destination target, String popuptoTargetId, boolean popuptoInclusive, RouterArgument data, RouterOptions options) {
-        moveForwardPoppingUpto(target,data,options,popuptoTargetId,popuptoInclusive);
+        if (dispatcher.isEnabled()) {
+            dispatcher.enqueueMove(target,data,options,popuptoTargetId,popuptoInclusive);
+            return;
+        }
+        moveForwardPoppingUpto(target,data,options,popuptoTargetId,popuptoInclusive,null,true);
     }
 
     /**
-     * Show the home destination.
+     * Moves to the destination with the given id asynchronously
+     *
+     * @param id the destination id
+     * @return non-null {@link CompletableFuture} of the navigation
+     * @see #moveToAsync(String, RouterArgument, RouterOptions)
+     * @since 2.1.0
      */
-    public void begin() {
-        if (null==homeDestination) {
-            throw new IllegalStateException("home not set; use setHomeDestination(String) to set home " +
-                    "or add homeDestination attribute in router configuration xml file");
-        }
-        RouterOptions options = new RouterOptions();
-        options.setEnterAnimation(homeEnterAnimation);
-        moveForward(homeDestination,options,getHomeData());
+    public CompletableFuture<NavigationResult> moveToAsync(String id) {
+        return moveToAsync(id,null,null);
     }
 
-    /////////////////////////////////////////////////////////////
-    //                      Lifecycle Methods                 //
-    ///////////////////////////////////////////////////////////
-
     /**
-     * Shows the backstack top destination again.
+     * Moves to the destination with the given id and data asynchronously
      *
-     * @see #getCurrentDestination()
+     * @param id the destination id
+     * @param data destination data as {@code RouterArgument} or {@code null}
+     * @return non-null {@link CompletableFuture} of the navigation
+     * @see #moveToAsync(String, RouterArgument, RouterOptions)
+     * @since 2.1.0
      */
-    public void doLifecycleShow() {
-        if (backstack.isEmpty()) {
-            return;
-        }
-        Destination destination = getCurrentDestination();
-        RouterExecutor executor = getRouterExecutorForNameOrDefault(destination.getExecutor());
-        executor.doLifecycleShow(destination);
+    public CompletableFuture<NavigationResult> moveToAsync(String id, RouterArgument data) {
+        return moveToAsync(id,data,null);
     }
 
     /**
-     * Hides the backstack top destination
+     * Moves to the destination with the given id like {@link #moveto(String, RouterArgument, RouterOptions)},
+     * but asynchronously. First the {@link RouterExecutor} of the destination
+     * {@link RouterExecutor#prepareAsync(Destination, RouterOptions) prepares} it without blocking the JavaFx
+     * application thread, then the navigation takes place.
      *
-     * @see #getCurrentDestination()
-     */
-    public void doLifecycleHide() {
-        if (backstack.isEmpty()) {
-            return;
+     * <p>The returned future completes on the JavaFx application thread when the destination is completely
+     * shown, i.e. its enter animation is finished and {@code onLifecycleShow} is called. It completes
+     * exceptionally if preparing or showing the destination fails, and with a {@link CancellationException}
+     * if another navigation supersedes it or the router is disposed before it completes. Canceling the future
+     * before the destination is prepared cancels the navigation. This method must be called on the JavaFx
+     * application thread.</p>
+     *
+     * @param id the destination id
+     * @param data destination data as {@code RouterArgument} or {@code null}
+     * @param options options for navigation or {@code null}
+     * @return non-null {@link CompletableFuture} of the navigation
+     * @since 2.1.0
+     */
+    public CompletableFuture<NavigationResult> moveToAsync(String id, RouterArgument data, RouterOptions options) {
+        PendingNavigation navigation = new PendingNavigation(false);
+        if (!disposed) {
+            // keep the order of the queued requests
+            dispatcher.flush();
         }
-        Destination destination = getCurrentDestination();
-        RouterExecutor executor = getRouterExecutorForNameOrDefault(destination.getExecutor());
-        executor.doLifecycleHide(destination);
+        if (disposed) {
+            navigation.future.completeExceptionally(new IllegalStateException("router is disposed"));
+            return navigation.future;
+        }
+        Destination target = getDestination(id);
+        if (null==target) {
+            navigation.future.completeExceptionally(new NullPointerException("no destination found for id '"+id+"'"));
+            return navigation.future;
+        }
+        return navigateAsync(navigation,target,RouterOptions.of(options),
+                ()->moveForwardPoppingUpto(target,data,options,null,false,navigation,true));
     }
 
-    /////////////////////////////////////////////////////////////
-    //                      Other Methods                     //
-    ///////////////////////////////////////////////////////////
-
     /**
-     * Parse the router configuration xml file
+     * Pops the top backstack entry asynchronously
      *
-     * @param xml resource path of the xml file
+     * @return non-null {@link CompletableFuture} of the navigation
+     * @see #popBackstackAsync(RouterArgument, RouterOptions)
+     * @since 2.1.0
+     */
+    public CompletableFuture<NavigationResult> popBackstackAsync() {
+        return popBackstackAsync(null,null);
+    }
+
+    /**
+     * Pops the top backstack entry like {@link #popBackstack(RouterArgument, RouterOptions)}, but asynchronously.
+     * The next destination is {@link RouterExecutor#prepareAsync(Destination, RouterOptions) prepared} first, for
+     * example when it is dehydrated. The returned future behaves like the future returned by
+     * {@link #moveToAsync(String, RouterArgument, RouterOptions)}. It completes exceptionally with
+     * {@link IllegalStateException} if there is no entry to pop. This method must be called on the JavaFx
+     * application thread.
+     *
+     * @param result the result to set to the next destination or {@code null}
+     * @param options options for navigation or {@code null}
+     * @return non-null {@link CompletableFuture} of the navigation
+     * @since 2.1.0
+     */
+    public CompletableFuture<NavigationResult> popBackstackAsync(RouterArgument result, RouterOptions options) {
+        PendingNavigation navigation = new PendingNavigation(true);
+        if (!disposed) {
+            dispatcher.flush();
+        }
+        if (disposed || backstack.size()<2) {
+            navigation.future.completeExceptionally(new IllegalStateException(disposed
+                    ? "router is disposed" : "backstack has no entry to pop"));
+            return navigation.future;
+        }
+        RouterOptions prepareOptions = RouterOptions.of(options).with(RouterOptions.POP_BACKSTACK,true);
+        return navigateAsync(navigation,getBackstackEntries().get(1).getDestination(),prepareOptions,()->{
+            if (backstack.size()<2 || !moveBackward(getCurrentDestination().getId(),true,result,options,navigation)) {
+                throw new IllegalStateException("backstack has no entry to pop");
+            }
+        });
+    }
+
+    /**
+     * Navigates to the destination path across this router and its nested routers, for example
+     * to open a deep link. Each segment of the path is a destination id. The first segment is a
+     * destination of this router, each next segment is a destination of a {@link #getChildRouters() child router}
+     * hosted by the previous destination. The query parameters are the data of the last destination.
+     * A path starting with {@code /} is navigated from the root router.
+     *
+     * <pre>{@code
+     * router.navigate("screen1/sub_screen2?id=42");
+     * }</pre>
+     *
+     * <p>If the destination of a segment is already shown then it is not navigated again. A nested
+     * router not created yet navigates the rest of the path when it is attached to its parent; if not
+     * begun yet, its backstack is built in one step with its home destination below. The destinations
+     * below the shown one are added to the backstack without building their views, they are built when
+     * popped into view. So navigating a path loads about one view per router level.</p>
+     *
+     * @param path the destination path
+     * @throws NullPointerException if path is null or no destination found for a segment of this router
+     * @throws IllegalArgumentException if path has no segment or an empty segment
+     * @throws IllegalStateException if the router is disposed
+     * @see #setParentRouter(Router)
+     * @since 2.1.0
+     */
+    public void navigate(String path) {
+        NavigationPath parsed = NavigationPath.parse(path);
+        Router router = this;
+        if (parsed.isAbsolute()) {
+            while (null!=router.getParentRouter()) {
+                router = router.getParentRouter();
+            }
+        }
+        router.navigatePath(parsed.getSegments(),parsed.getArguments());
+    }
+
+    /**
+     * Begins a {@link NavigationTransaction} to execute several navigation operations as one navigation.
+     * Nothing happens until {@link NavigationTransaction#commit()} is called.
+     *
+     * @return new {@code NavigationTransaction}
+     * @throws IllegalStateException if the router is disposed
+     * @since 2.1.0
+     */
+    public NavigationTransaction beginTransaction() {
+        if (disposed) {
+            throw new IllegalStateException("router is disposed");
+        }
+        return new NavigationTransaction(this);
+    }
+
+    /**
+     * Show the home destination.
+     */
+    public void begin() {
+        if (null==homeDestination) {
+            throw new IllegalStateException("home not set; use setHomeDestination(String) to set home " +
+                    "or add homeDestination attribute in router configuration xml file");
+        }
+        preloadDestinations(Destination.PreloadMode.EAGER);
+        RouterOptions options = RouterOptions.EMPTY.with(RouterOptions.ENTER_ANIMATION,homeEnterAnimation);
+        PendingPath deepLink = pendingPath;
+        pendingPath = null;
+        if (null==deepLink) {
+            moveForward(homeDestination,options,getHomeData());
+        }
+        else {
+            beginPath(deepLink,options);
+        }
+        context.getDispatcher().dispatch(()->{
+            if (!disposed) {
+                preloadDestinations(Destination.PreloadMode.IDLE);
+            }
+        });
+    }
+
+    /**
+     * Starts preparing the view of the destination in background, so that the later navigation
+     * to the destination does not need to load it on the JavaFx application thread. Whether
+     * and how a destination is prepared depends on its {@link RouterExecutor}.
+     *
+     * @param id the destination id
+     * @throws NullPointerException if no destination found for id
+     * @see RouterExecutor#preload(Destination)
+     * @see Destination#getPreload()
+     * @since 2.1.0
+     */
+    public void preload(String id) {
+        Destination destination = getDestinationOrThrow(id);
+        RouterExecutor executor = getRouterExecutorForNameOrDefault(destination.getExecutor());
+        executor.preload(destination);
+    }
+
+    /**
+     * Tells the router that the user is about to navigate to the destination, for example the pointer
+     * hovers over or presses a button that moves to it. The destination is prepared in background
+     * and its argument schema is copied, so the navigation following shortly after consumes the prepared
+     * work. If no navigation to the destination follows within the {@link #getIntentTimeout() intent timeout}
+     * then the prepared work is discarded. Repeated hints for the same destination restart the timeout.
+     *
+     * @param id the destination id
+     * @throws NullPointerException if no destination found for id
+     * @see RouterExecutor#hintIntent(Destination)
+     * @see rahulstech.jfx.routing.preload.NavigationIntent
+     * @since 2.1.0
+     */
+    public void hintIntent(String id) {
+        if (disposed) {
+            return;
+        }
+        Destination destination = getDestinationOrThrow(id);
+        if (destination==getCurrentDestination()
+                || (destination.isSingleTop() && isInBackstack(id))) {
+            // nothing new to prepare
+            return;
+        }
+        PendingIntent intent = intents.get(id);
+        if (null==intent) {
+            intent = new PendingIntent(getArgumentForDestination(id));
+            intents.put(id,intent);
+            RouterExecutor executor = getRouterExecutorForNameOrDefault(destination.getExecutor());
+            executor.hintIntent(destination);
+        }
+        else {
+            intent.timer.cancel();
+        }
+        intent.timer = context.getDispatcher().schedule(()->expireIntent(id),intentTimeout);
+    }
+
+    /////////////////////////////////////////////////////////////
+    //                      Lifecycle Methods                 //
+    ///////////////////////////////////////////////////////////
+
+    /**
+     * Shows the backstack top destination again.
+     *
+     * @see #getCurrentDestination()
+     */
+    public void doLifecycleShow() {
+        if (backstack.isEmpty()) {
+            return;
+        }
+        Destination destination = getCurrentDestination();
+        RouterExecutor executor = getRouterExecutorForNameOrDefault(destination.getExecutor());
+        executor.doLifecycleShow(destination);
+    }
+
+    /**
+     * Hides the backstack top destination
+     *
+     * @see #getCurrentDestination()
+     */
+    public void doLifecycleHide() {
+        if (backstack.isEmpty()) {
+            return;
+        }
+        Destination destination = getCurrentDestination();
+        RouterExecutor executor = getRouterExecutorForNameOrDefault(destination.getExecutor());
+        executor.doLifecycleHide(destination);
+    }
+
+    /////////////////////////////////////////////////////////////
+    //                      Other Methods                     //
+    ///////////////////////////////////////////////////////////
+
+    /**
+     * Parse the router configuration xml file
+     *
+     * @param xml resource path of the xml file
      * @see #parse(InputStream)
      */
     public void parse(String xml) {
@@ -839,11 +1607,82 @@ public class Router implements Disposable {
         setHomeEnterAnimation(homeEnterAnimation);
         setDefaultAnimations(enterAnimation,exitAnimation,popEnterAnimation,popExitAnimation);
 
+        if (routerAttrs.hasAttribute(Attribute.PREFETCH)) {
+            setPrefetchCount(routerAttrs.get(Attribute.PREFETCH).getAsInt());
+        }
+        if (routerAttrs.hasAttribute(Attribute.HIDE_MODE)) {
+            setHideMode(routerAttrs.get(Attribute.HIDE_MODE).getAsEnum(Destination.HideMode.class));
+        }
+        if (routerAttrs.hasAttribute(Attribute.KEEP_ATTACHED_DEPTH)) {
+            setKeepAttachedDepth(routerAttrs.get(Attribute.KEEP_ATTACHED_DEPTH).getAsInt());
+        }
+        if (routerAttrs.hasAttribute(Attribute.DEHYDRATE_DEPTH) || routerAttrs.hasAttribute(Attribute.DEHYDRATE_AFTER)) {
+            int depth = routerAttrs.hasAttribute(Attribute.DEHYDRATE_DEPTH)
+                    ? routerAttrs.get(Attribute.DEHYDRATE_DEPTH).getAsInt() : 0;
+            long after = routerAttrs.hasAttribute(Attribute.DEHYDRATE_AFTER)
+                    ? (long) routerAttrs.get(Attribute.DEHYDRATE_AFTER).getAsDuration().toMillis() : 0;
+            setDehydrationPolicy(new DehydrationPolicy(depth,after));
+        }
+        if (routerAttrs.hasAttribute(Attribute.COALESCE_WINDOW)) {
+            dispatcher.setWindow((long) routerAttrs.get(Attribute.COALESCE_WINDOW).getAsDuration().toMillis());
+            dispatcher.setEnabled(true);
+        }
+        if (routerAttrs.hasAttribute(Attribute.NODE_BUDGET)) {
+            setNodeBudget(routerAttrs.get(Attribute.NODE_BUDGET).getAsInt());
+        }
+        if (routerAttrs.hasAttribute(Attribute.MAX_BACKSTACK)) {
+            setMaxBackstack(routerAttrs.get(Attribute.MAX_BACKSTACK).getAsInt());
+        }
+        if (routerAttrs.hasAttribute(Attribute.BACKSTACK_OVERFLOW)) {
+            setBackstackOverflowPolicy(BackstackOverflowPolicy.forName(routerAttrs.get(Attribute.BACKSTACK_OVERFLOW).getValue()));
+        }
+        if (routerAttrs.hasAttribute(Attribute.VIEW_CACHE_SIZE)) {
+            viewCache.setLimit(routerAttrs.get(Attribute.VIEW_CACHE_SIZE).getAsInt());
+        }
+        if (routerAttrs.hasAttribute(Attribute.VIEW_CACHE_POLICY)) {
+            viewCache.setEvictionPolicy(EvictionPolicy.forName(routerAttrs.get(Attribute.VIEW_CACHE_POLICY).getValue()));
+        }
+
         context.addAllAnimationAttributeSet(animations);
 
         parser.clear();
     }
 
+    /**
+     * Releases the memory of the specified {@link MemoryManager.TrimLevel level}. Backstack
+     * entries are dehydrated regardless of the {@link #getDehydrationPolicy() dehydration policy}.
+     * Usually called by {@link MemoryManager}.
+     *
+     * @param level the level to trim
+     * @return number of released items
+     * @since 2.1.0
+     */
+    public int trimMemory(MemoryManager.TrimLevel level) {
+        if (disposed) {
+            return 0;
+        }
+        int count = 0;
+        switch (level) {
+            case SPECULATIVE: {
+                clearIntents();
+                count += preloader.cancelSpeculative(null);
+            }
+            break;
+            case CACHES: {
+                count += viewCache.trim(0);
+            }
+            break;
+            case BACKSTACK: {
+                count += dehydrateHiddenEntries();
+            }
+            break;
+        }
+        for (RouterExecutor executor : getRouterExecutors()) {
+            count += executor.trimMemory(level);
+        }
+        return count;
+    }
+
     /**
      * Dispose all resources and release memory when this router
      * no longer be used
@@ -854,11 +1693,35 @@ public class Router implements Disposable {
             // it's already disposed
             return;
         }
+        MemoryManager.getInstance().unregister(this);
+        cancelNavigations("router is disposed");
+        setParentRouter(null);
+        for (Router child : new ArrayList<>(childRouters)) {
+            child.parentRouter = null;
+        }
+        childRouters = null;
+        pendingPath = null;
+        dispatcher.dispose();
+        channel.dispose();
+        clearIntents();
+        if (null!=dehydrationTimer) {
+            dehydrationTimer.cancel();
+            dehydrationTimer = null;
+        }
         backstack.dispose();
+        state = new NavigationState(Collections.emptyList(),++stateVersion);
+        preloader.dispose();
+        viewCache.dispose();
         destinations.clear();
         arguments.clear();
+        plans = null;
+        routes = null;
         context.dispose();
         backstack = null;
+        preloader = null;
+        viewCache = null;
+        predictor = null;
+        intents = null;
         destinations = null;
         arguments = null;
         homeDestination = null;
@@ -871,6 +1734,13 @@ public class Router implements Disposable {
     //                Private Related Methods                 //
     ///////////////////////////////////////////////////////////
 
+    private void publishState() {
+        if (disposed) {
+            return;
+        }
+        state = NavigationState.of(backstack.snapshot(),++stateVersion);
+    }
+
     private Destination getDestinationOrThrow(String id) {
         Destination destination = getDestination(id);
         if (null==destination) {
@@ -879,17 +1749,331 @@ public class Router implements Disposable {
         return destination;
     }
 
-    private void moveForward(Destination target, RouterOptions apply, RouterArgument data) {
-        moveForwardPoppingUpto(target,data,apply,null,false);
+    /**
+     * Called by {@link RouterExecutor} when the destination with the id is completely shown
+     *
+     * @param id the id of the shown destination
+     */
+    void onDestinationShown(String id) {
+        if (disposed) {
+            return;
+        }
+        Destination destination = destinations.get(id);
+        if (null!=destination) {
+            onDestinationShown(destination);
+        }
+    }
+
+    /**
+     * Called by {@link RouterExecutor} when a destination is completely shown
+     *
+     * @param destination the shown destination
+     */
+    void onDestinationShown(Destination destination) {
+        if (disposed || destination!=getCurrentDestination()) {
+            // navigated elsewhere before the destination is shown
+            return;
+        }
+        prefetchLikelyDestinations(destination);
+        MemoryManager.getInstance().trimToBudget(this);
+        completeNavigation();
+    }
+
+    /**
+     * Called by {@link RouterExecutor} to attach the target rendered for the entry being shown
+     *
+     * @param target the rendered target
+     */
+    void attachTarget(Transaction.Target target) {
+        if (0==activeEntryCount) {
+            return;
+        }
+        backstack.findFirst(RouterBackstackEntry::isAttaching).ifPresent(entry->entry.target = target);
+    }
+
+    /**
+     * Called by {@link RouterExecutor} to find the target attached to an entry of the destination
+     *
+     * @param id the destination id
+     * @param index index of the entry among the entries of the destination, from top
+     * @return the attached target or {@code null}
+     */
+    Transaction.Target getAttachedTarget(String id, int index) {
+        if (disposed) {
+            return null;
+        }
+        if (0==index && activeEntryCount>0) {
+            // the entry being shown or hidden is the one the executor works on, even if a newer
+            // entry of the same destination is already pushed above it
+            RouterBackstackEntry active = backstack.findFirst(entry->entry.isActive()
+                    && entry.getDestination().getId().equals(id)).orElse(null);
+            if (null!=active) {
+                return active.getTarget();
+            }
+        }
+        RouterBackstackEntry entry = backstack.getById(id,index);
+        return null==entry ? null : entry.getTarget();
+    }
+
+    private void prefetchLikelyDestinations(Destination current) {
+        if (prefetchCount<=0 || !preloader.hasSpeculationBudget()) {
+            return;
+        }
+        for (String id : predictor.predict(current.getId(),prefetchCount)) {
+            Destination destination = getDestination(id);
+            if (null==destination || (destination.isSingleTop() && isInBackstack(id))) {
+                // a single-top destination in backstack is reused, nothing to prepare
+                continue;
+            }
+            RouterExecutor executor = getRouterExecutorForNameOrDefault(destination.getExecutor());
+            executor.prefetch(destination);
+        }
+    }
+
+    private boolean isInBackstack(String id) {
+        return backstack.containsId(id);
+    }
+
+    private void expireIntent(String id) {
+        if (disposed || null==intents.remove(id)) {
+            return;
+        }
+        preloader.discardSpeculative(id);
+    }
+
+    private void clearIntents() {
+        // the prepared views are handled by the preloader
+        intents.values().forEach(intent->intent.timer.cancel());
+        intents.clear();
+    }
+
+    private void dehydrateEntries() {
+        if (null!=dehydrationTimer) {
+            dehydrationTimer.cancel();
+            dehydrationTimer = null;
+        }
+        if (!dehydrationPolicy.isEnabled() || backstack.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        long maxHidden = dehydrationPolicy.getMaxHiddenMillis();
+        long nextCheck = Long.MAX_VALUE;
+        Map<String,Integer> indices = new HashMap<>();
+        int depth = 0;
+        for (RouterBackstackEntry entry : getBackstackEntries()) {
+            Destination destination = entry.getDestination();
+            // index of the entry among the entries of its destination, from top
+            int index = indices.merge(destination.getId(),1,Integer::sum)-1;
+            long hidden = entry.getHiddenMillis(now);
+            if (depth>0 && entry.hasView()) {
+                if (dehydrationPolicy.shouldDehydrate(depth,hidden)) {
+                    dehydrateEntry(entry,index);
+                }
+                if (entry.hasView() && maxHidden>0) {
+                    // check again when it is hidden long enough, or soon if it could not be dehydrated now
+                    nextCheck = Math.min(nextCheck,Math.max(maxHidden-hidden,MIN_DEHYDRATION_CHECK_DELAY));
+                }
+            }
+            depth++;
+        }
+        if (nextCheck!=Long.MAX_VALUE) {
+            dehydrationTimer = context.getDispatcher().schedule(()->{
+                if (!disposed) {
+                    dehydrateEntries();
+                }
+            },nextCheck);
+        }
+    }
+
+    private int dehydrateHiddenEntries() {
+        int count = 0;
+        Map<String,Integer> indices = new HashMap<>();
+        int depth = 0;
+        for (RouterBackstackEntry entry : getBackstackEntries()) {
+            int index = indices.merge(entry.getDestination().getId(),1,Integer::sum)-1;
+            if (depth>0 && entry.hasView() && dehydrateEntry(entry,index)) {
+                count++;
+            }
+            depth++;
+        }
+        return count;
+    }
+
+    private void limitBackstack() {
+        int overflow = backstack.size()-maxBackstack;
+        if (maxBackstack<=0 || overflow<=0) {
+            return;
+        }
+        List<RouterBackstackEntry> entries = getBackstackEntries();
+        if (overflowPolicy==BackstackOverflowPolicy.DEHYDRATE) {
+            Map<String,Integer> indices = new HashMap<>();
+            int depth = 0;
+            for (RouterBackstackEntry entry : entries) {
+                int index = indices.merge(entry.getDestination().getId(),1,Integer::sum)-1;
+                if (depth>=maxBackstack && entry.hasView()) {
+                    dehydrateEntry(entry,index);
+                }
+                depth++;
+            }
+            return;
+        }
+        // the bottom-most home entry is kept
+        RouterBackstackEntry home = null;
+        for (int i=entries.size()-1; i>=0; i--) {
+            if (entries.get(i).getDestination()==homeDestination) {
+                home = entries.get(i);
+                break;
+            }
+        }
+        Set<RouterBackstackEntry> dropped = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (overflowPolicy==BackstackOverflowPolicy.COLLAPSE_DUPLICATES) {
+            // the entry nearest to the top of each destination is kept
+            Set<String> seen = new HashSet<>();
+            List<RouterBackstackEntry> duplicates = new ArrayList<>();
+            for (RouterBackstackEntry entry : entries) {
+                if (!seen.add(entry.getDestination().getId()) && entry!=home) {
+                    duplicates.add(entry);
+                }
+            }
+            for (int i=duplicates.size()-1; i>=0 && dropped.size()<overflow; i--) {
+                dropped.add(duplicates.get(i));
+            }
+        }
+        // the top is never dropped
+        for (int i=entries.size()-1; i>0 && dropped.size()<overflow; i--) {
+            RouterBackstackEntry entry = entries.get(i);
+            if (entry!=home) {
+                dropped.add(entry);
+            }
+        }
+        dropEntries(entries,dropped);
+    }
+
+    private void dropEntries(List<RouterBackstackEntry> entries, Set<RouterBackstackEntry> dropped) {
+        if (dropped.isEmpty()) {
+            return;
+        }
+        // index of each dropped entry among the entries of its destination, from top
+        Map<String,Integer> indices = new HashMap<>();
+        List<RouterBackstackEntry> removed = new ArrayList<>(dropped.size());
+        List<Integer> removedIndices = new ArrayList<>(dropped.size());
+        for (RouterBackstackEntry entry : entries) {
+            int index = indices.merge(entry.getDestination().getId(),1,Integer::sum)-1;
+            if (dropped.contains(entry)) {
+                removed.add(entry);
+                removedIndices.add(index);
+            }
+        }
+        // destroyed while still in backstack, so the executors find the attached targets,
+        // and bottom first, so the indexes of the entries above stay valid
+        for (int i=removed.size()-1; i>=0; i--) {
+            Destination destination = removed.get(i).getDestination();
+            getRouterExecutorForNameOrDefault(destination.getExecutor()).doLifecycleDestroy(destination,removedIndices.get(i));
+        }
+        backstack.removeAll(removed);
+        removed.forEach(RouterBackstackEntry::releaseTarget);
+    }
+
+    private boolean dehydrateEntry(RouterBackstackEntry entry, int index) {
+        Destination destination = entry.getDestination();
+        RouterExecutor executor = getRouterExecutorForNameOrDefault(destination.getExecutor());
+        entry.dehydrated = executor.dehydrate(destination,index);
+        return entry.dehydrated;
+    }
+
+    private Set<RouterExecutor> getRouterExecutors() {
+        Set<RouterExecutor> executors = new LinkedHashSet<>();
+        for (Destination destination : destinations.values()) {
+            executors.add(getRouterExecutorForNameOrDefault(destination.getExecutor()));
+        }
+        return executors;
+    }
+
+    private void rehydrateAhead() {
+        // the entry below the top is the next to show on pop, prepare its view in background
+        if (backstack.size()<2) {
+            return;
+        }
+        RouterBackstackEntry next = getBackstackEntries().get(1);
+        if (!next.hasView()) {
+            Destination destination = next.getDestination();
+            getRouterExecutorForNameOrDefault(destination.getExecutor()).preload(destination);
+        }
+    }
+
+    private List<RouterBackstackEntry> getBackstackEntries() {
+        List<RouterBackstackEntry> entries = new ArrayList<>(backstack.size());
+        backstack.forEach(entries::add);
+        return entries;
     }
 
-    private void moveForwardPoppingUpto(Destination target, RouterArgument data, RouterOptions apply,
-                                        String popuptoTargetId, boolean popuptoInclusive) {
+    private CompletableFuture<NavigationResult> navigateAsync(PendingNavigation navigation, Destination prepare,
+                                                              RouterOptions options, Runnable commit) {
+        if (null!=preparingNavigation) {
+            preparingNavigation.cancel("superseded by another navigation");
+        }
+        preparingNavigation = navigation;
+        RouterExecutor executor = getRouterExecutorForNameOrDefault(prepare.getExecutor());
+        CompletableFuture<Void> prepared;
+        try {
+            prepared = executor.prepareAsync(prepare,options.copyOnWrite());
+        }
+        catch (RuntimeException ex) {
+            prepared = new CompletableFuture<>();
+            prepared.completeExceptionally(ex);
+        }
+        prepared.whenComplete((ignore,error)->context.getDispatcher().execute(()->{
+            if (disposed || preparingNavigation!=navigation || navigation.future.isDone()) {
+                // superseded or canceled by the caller before prepared
+                return;
+            }
+            preparingNavigation = null;
+            if (null!=error) {
+                navigation.future.completeExceptionally(error instanceof CompletionException && null!=error.getCause()
+                        ? error.getCause() : error);
+                return;
+            }
+            try {
+                commit.run();
+            }
+            catch (RuntimeException ex) {
+                if (showingNavigation==navigation) {
+                    showingNavigation = null;
+                }
+                navigation.future.completeExceptionally(ex);
+            }
+        }));
+        return navigation.future;
+    }
+
+    private RouterArgument resolveArguments(Destination target, RouterArgument data, RouterBackstackEntry existing) {
         String targetId = target.getId();
+        PendingIntent intent = intents.remove(targetId);
+        RouterArgument args;
+        if (null!=intent) {
+            intent.timer.cancel();
+            args = intent.arguments;
+        }
+        else {
+            args = getArgumentForDestination(targetId);
+        }
+        return mergeArguments(args,data,existing);
+    }
 
-        Optional<RouterBackstackEntry> optional = backstack.findFirst(e -> e.getDestination().getId().equals(targetId));
+    private RouterArgument resolveArguments(NavigationPlan plan, RouterArgument data, RouterBackstackEntry existing) {
+        PendingIntent intent = intents.remove(plan.target.getId());
+        RouterArgument args;
+        if (null!=intent) {
+            intent.timer.cancel();
+            args = intent.arguments;
+        }
+        else {
+            args = null==plan.schema ? null : plan.schema.copyWithoutValue();
+        }
+        return mergeArguments(args,data,existing);
+    }
 
-        RouterArgument args = getArgumentForDestination(targetId);
+    private RouterArgument mergeArguments(RouterArgument args, RouterArgument data, RouterBackstackEntry existing) {
         if (null!=data) {
             if (null==args) {
                 args = data;
@@ -898,9 +2082,9 @@ public class Router implements Disposable {
                 args.merge(data);
             }
         }
-        else if (optional.isPresent()) {
+        else if (null!=existing) {
             // in case of single top if no data provided then use the old data as saved in the backstack
-            RouterArgument oldData = optional.get().getData();
+            RouterArgument oldData = existing.getData();
             if (null==args) {
                 args = oldData;
             }
@@ -911,29 +2095,364 @@ public class Router implements Disposable {
         if (null!=args) {
             args.accept();
         }
+        return args;
+    }
+
+    private void startNavigation(PendingNavigation navigation, RouterBackstackEntry entry) {
+        if (null!=navigation) {
+            // set before showing, the destination may be shown synchronously
+            navigation.entry = entry;
+            showingNavigation = navigation;
+        }
+    }
+
+    private void completeNavigation() {
+        PendingNavigation navigation = showingNavigation;
+        if (null==navigation || navigation.entry!=getCurrentBackstackEntry()) {
+            return;
+        }
+        showingNavigation = null;
+        navigation.future.complete(new NavigationResult(navigation.entry,navigation.popBackstack,
+                System.nanoTime()-navigation.start));
+    }
+
+    private void supersedeNavigations() {
+        cancelNavigations("superseded by another navigation");
+    }
+
+    private void cancelNavigations(String reason) {
+        if (null!=preparingNavigation) {
+            preparingNavigation.cancel(reason);
+            preparingNavigation = null;
+        }
+        if (null!=showingNavigation) {
+            showingNavigation.cancel(reason);
+            showingNavigation = null;
+        }
+    }
+
+    private void preloadDestinations(Destination.PreloadMode mode) {
+        for (Destination destination : destinations.values()) {
+            if (destination!=homeDestination && destination.getPreload()==mode) {
+                preload(destination.getId());
+            }
+        }
+    }
+
+    private void moveForward(Destination target, RouterOptions apply, RouterArgument data) {
+        moveForwardPoppingUpto(target,data,apply,null,false,null,true);
+    }
+
+    /**
+     * Called by {@link NavigationTransaction} to apply the net change of its operations
+     *
+     * @return {@code true} if the backstack changed, {@code false} otherwise
+     */
+    boolean commitTransaction(List<NavigationTransaction.Operation> operations, RouterOptions apply) {
+        if (disposed) {
+            throw new IllegalStateException("router is disposed");
+        }
+        // keep the order of the queued requests
+        dispatcher.flush();
+
+        // apply the operations on a copy of the backstack, top first
+        List<RouterBackstackEntry> original = getBackstackEntries();
+        LinkedList<RouterBackstackEntry> entries = new LinkedList<>(original);
+        for (NavigationTransaction.Operation operation : operations) {
+            if (operation.isPop()) {
+                if (entries.isEmpty()) {
+                    continue;
+                }
+                String id = null==operation.popTargetId ? entries.getFirst().getDestination().getId() : operation.popTargetId;
+                int index = indexOf(entries,id);
+                if (index<0) {
+                    continue;
+                }
+                // the bottom-most entry is never popped
+                int count = Math.min(operation.inclusive ? index+1 : index,entries.size()-1);
+                for (int i=0; i<count; i++) {
+                    entries.removeFirst();
+                }
+                continue;
+            }
+            Destination target = operation.destination;
+            int index = indexOf(entries,target.getId());
+            RouterBackstackEntry existing = index<0 ? null : entries.get(index);
+            RouterBackstackEntry entry = target.isSingleTop() ? existing : null;
+            if (!entries.isEmpty() && entries.getFirst()!=entry && entries.getFirst().getDestination().isRemoveHistory()) {
+                entries.removeFirst();
+            }
+            RouterArgument args = resolveArguments(target,operation.data,existing);
+            if (null==entry) {
+                entry = new RouterBackstackEntry(target);
+            }
+            else {
+                entries.remove(entry);
+            }
+            entry.setData(args);
+            entries.addFirst(entry);
+        }
+
+        // the entries below the common bottom part are unchanged
+        int common = 0;
+        while (common<original.size() && common<entries.size()
+                && original.get(original.size()-1-common)==entries.get(entries.size()-1-common)) {
+            common++;
+        }
+        List<RouterBackstackEntry> popped = new ArrayList<>(original.subList(0,original.size()-common));
+        List<RouterBackstackEntry> pushed = new ArrayList<>(entries.subList(0,entries.size()-common));
+        // push order is bottom first
+        Collections.reverse(pushed);
+        if (popped.isEmpty() && pushed.isEmpty()) {
+            clearIntents();
+            return false;
+        }
+
+        RouterBackstackEntry oldTop = original.isEmpty() ? null : original.get(0);
+        RouterBackstackEntry newTop = entries.getFirst();
+        boolean forward = !pushed.isEmpty();
+        clearIntents();
+        preloader.cancelSpeculative(forward ? newTop.getDestination().getId() : null);
+        supersedeNavigations();
+        if (forward && null!=oldTop) {
+            predictor.record(oldTop.getDestination().getId(),newTop.getDestination().getId());
+        }
+
+        RouterOptions base = RouterOptions.of(apply);
+
+        // remove the popped entries, only the old top is animated
+        for (RouterBackstackEntry entry : popped) {
+            if (entries.contains(entry)) {
+                // a single-top entry brought to top is not removed
+                continue;
+            }
+            Destination destination = entry.getDestination();
+            RouterOptions options = base.with(RouterOptions.POP_EXIT_ANIMATION,
+                    entry==oldTop ? base.getPopExitAnimation(getDefaultPopExitAnimation()) : RouterAnimation.NO_OP);
+            getRouterExecutorForNameOrDefault(destination.getExecutor()).popBackstack(destination,options.copyOnWrite());
+            entry.releaseTarget();
+        }
+        if (null!=oldTop && oldTop!=newTop && entries.contains(oldTop)) {
+            if (oldTop.hasView()) {
+                Destination destination = oldTop.getDestination();
+                RouterOptions options = base.with(RouterOptions.EXIT_ANIMATION,base.getExitAnimation(getDefaultExitAnimation()));
+                hide(getRouterExecutorForNameOrDefault(destination.getExecutor()),oldTop,options);
+            }
+            oldTop.markHidden();
+        }
+
+        backstack.popAndPushEntries(popped.size(),pushed);
+
+        // the pushed entries below the new top are never visible
+        for (RouterBackstackEntry entry : pushed) {
+            if (entry==newTop) {
+                break;
+            }
+            Destination destination = entry.getDestination();
+            RouterExecutor executor = getRouterExecutorForNameOrDefault(destination.getExecutor());
+            if (!original.contains(entry) && deferShow(executor,entry,base)) {
+                entry.markHidden();
+                entry.deferred = true;
+                continue;
+            }
+            RouterOptions options = base.with(RouterOptions.ENTER_ANIMATION,RouterAnimation.NO_OP)
+                    .with(RouterOptions.EXIT_ANIMATION,RouterAnimation.NO_OP);
+            show(executor,entry,options);
+            hide(executor,entry,options);
+            entry.markHidden();
+        }
+
+        if (newTop!=oldTop || forward) {
+            Destination destination = newTop.getDestination();
+            RouterOptions options;
+            if (forward) {
+                options = base.with(RouterOptions.ENTER_ANIMATION,base.getEnterAnimation(getDefaultEnterAnimation()));
+            }
+            else {
+                options = base.with(RouterOptions.POP_BACKSTACK,true)
+                        .with(RouterOptions.POP_ENTER_ANIMATION,base.getPopEnterAnimation(getDefaultPopEnterAnimation()));
+            }
+            show(getRouterExecutorForNameOrDefault(destination.getExecutor()),newTop,options);
+        }
+        newTop.markShown();
+
+        if (forward) {
+            limitBackstack();
+        }
+        dehydrateEntries();
+        if (!forward) {
+            rehydrateAhead();
+        }
+        return true;
+    }
+
+    private void navigatePath(List<String> segments, RouterArgument data) {
+        if (disposed) {
+            throw new IllegalStateException("router is disposed");
+        }
+        String id = segments.get(0);
+        Destination target = getDestinationOrThrow(id);
+        List<String> rest = segments.subList(1,segments.size());
+        RouterBackstackEntry current = getCurrentBackstackEntry();
+        if (null==current) {
+            // not begun yet, the backstack is built on begin
+            pendingPath = new PendingPath(segments,data);
+            return;
+        }
+        if (!rest.isEmpty() && current.getDestination()==target) {
+            Router child = findChildRouter(rest.get(0));
+            if (null!=child) {
+                child.navigatePath(rest,data);
+            }
+            else {
+                pendingPath = new PendingPath(rest,data);
+                pendingPath.host = current;
+            }
+            return;
+        }
+        commitPath(beginTransaction().moveto(id,rest.isEmpty() ? data : null),rest,data);
+    }
+
+    private void beginPath(PendingPath deepLink, RouterOptions options) {
+        String id = deepLink.segments.get(0);
+        getDestinationOrThrow(id);
+        List<String> rest = deepLink.segments.subList(1,deepLink.segments.size());
+        RouterArgument args = rest.isEmpty() ? deepLink.data : null;
+        NavigationTransaction transaction = beginTransaction().setOptions(options);
+        if (homeDestination.getId().equals(id)) {
+            transaction.moveto(id,null==args ? getHomeData() : args);
+        }
+        else {
+            // home is added below without building its view
+            transaction.moveto(homeDestination.getId(),getHomeData()).moveto(id,args);
+        }
+        commitPath(transaction,rest,deepLink.data);
+    }
+
+    private void commitPath(NavigationTransaction transaction, List<String> rest, RouterArgument data) {
+        // the nested router of the shown destination may attach while showing
+        pendingPath = rest.isEmpty() ? null : new PendingPath(rest,data);
+        try {
+            transaction.commit();
+        }
+        catch (RuntimeException e) {
+            pendingPath = null;
+            throw e;
+        }
+        if (null!=pendingPath) {
+            pendingPath.host = getCurrentBackstackEntry();
+        }
+    }
+
+    private Router findChildRouter(String id) {
+        // the latest attached one belongs to the shown destination
+        for (int i=childRouters.size()-1; i>=0; i--) {
+            Router child = childRouters.get(i);
+            if (!child.disposed && null!=child.getDestination(id)) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    private void addChildRouter(Router child) {
+        if (disposed) {
+            return;
+        }
+        childRouters.add(child);
+        PendingPath pending = pendingPath;
+        if (null==pending || null==child.getDestination(pending.segments.get(0))) {
+            return;
+        }
+        pendingPath = null;
+        if (null==pending.host || pending.host==getCurrentBackstackEntry()) {
+            child.navigatePath(pending.segments,pending.data);
+        }
+    }
+
+    private void removeChildRouter(Router child) {
+        if (null!=childRouters) {
+            childRouters.remove(child);
+        }
+    }
+
+    private static int indexOf(List<RouterBackstackEntry> entries, String id) {
+        int index = 0;
+        for (RouterBackstackEntry entry : entries) {
+            if (entry.getDestination().getId().equals(id)) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    /**
+     * Called by {@link NavigationDispatcher} to execute a queued move request
+     *
+     * @return {@code true} if the target is added to backstack without building its view
+     */
+    boolean dispatchMove(Destination target, RouterArgument data, RouterOptions apply,
+                         String popuptoTargetId, boolean popuptoInclusive, boolean visible) {
+        return moveForwardPoppingUpto(target,data,apply,popuptoTargetId,popuptoInclusive,null,visible);
+    }
+
+    /**
+     * Called by {@link NavigationDispatcher} to execute a queued pop request
+     *
+     * @return {@code true} if popped, {@code false} otherwise
+     */
+    boolean dispatchPop(String targetId, boolean inclusive, RouterArgument result, RouterOptions apply) {
+        if (backstack.isEmpty()) {
+            return false;
+        }
+        // null target id pops the top, which is known only now
+        String id = null==targetId ? getCurrentDestination().getId() : targetId;
+        return moveBackward(id,inclusive,result,apply,null);
+    }
+
+    private boolean moveForwardPoppingUpto(Destination target, RouterArgument data, RouterOptions apply,
+                                           String popuptoTargetId, boolean popuptoInclusive, PendingNavigation navigation,
+                                           boolean visible) {
+        String targetId = target.getId();
+        supersedeNavigations();
+
+        RouterBackstackEntry existing = backstack.getById(targetId);
+
+        Destination current = getCurrentDestination();
+        NavigationPlan plan = getNavigationPlan(current,target,apply);
+        RouterArgument args = resolveArguments(plan,data,existing);
+        clearIntents();
+
+        preloader.cancelSpeculative(targetId);
+        if (null!=current) {
+            predictor.record(current.getId(),targetId);
+        }
 
         if (null!=popuptoTargetId) {
             popBackstackInternal(popuptoTargetId,popuptoInclusive,apply);
         }
         else if (!backstack.isEmpty()) {
             RouterBackstackEntry entry = backstack.peekBackstackEntry();
-            Destination exiting = entry.getDestination();
-            RouterExecutor executor = getRouterExecutorForNameOrDefault(exiting.getExecutor());
-            RouterOptions options = new RouterOptions(apply);
-            if (exiting.isRemoveHistory()) {
+            Destination exiting = plan.exiting;
+            RouterExecutor executor = plan.exitingExecutor;
+            if (plan.popExiting) {
                 backstack.popBackstackEntry();
-                options.setPopExitAnimation(options.getPopExitAnimation(getDefaultPopExitAnimation()));
-                executor.popBackstack(exiting,options);
+                executor.popBackstack(exiting,plan.popExitOptions.copyOnWrite());
+                entry.releaseTarget();
             }
             else {
-                options.setExitAnimation(options.getExitAnimation(getDefaultExitAnimation()));
-                executor.hide(exiting,options);
+                if (entry.hasView()) {
+                    // a deferred or dehydrated entry has nothing to hide
+                    hide(executor,entry,plan.exitOptions);
+                }
+                entry.markHidden();
             }
         }
 
         RouterBackstackEntry entry;
-        if (target.isSingleTop() && optional.isPresent()) {
-            entry = optional.get();
+        if (target.isSingleTop() && null!=existing) {
+            entry = existing;
             backstack.bringToTop(entry);
         }
         else {
@@ -941,14 +2460,26 @@ public class Router implements Disposable {
             backstack.pushBackstackEntry(entry);
         }
         entry.setData(args);
+        startNavigation(navigation,entry);
+
+        RouterExecutor executor = plan.targetExecutor;
+        if (!visible && deferShow(executor,entry,plan.options)) {
+            // another destination is shown right after, build the view when shown again
+            entry.markHidden();
+            entry.deferred = true;
+            limitBackstack();
+            return true;
+        }
+        show(executor,entry,plan.enterOptions);
+        entry.markShown();
 
-        RouterExecutor executor = getRouterExecutorForNameOrDefault(target.getExecutor());
-        RouterOptions options = new RouterOptions(apply);
-        options.setEnterAnimation(options.getEnterAnimation(getDefaultEnterAnimation()));
-        executor.show(target,options);
+        limitBackstack();
+        dehydrateEntries();
+        return false;
     }
 
-    private boolean moveBackward(String targetId, boolean inclusive, RouterArgument result, RouterOptions apply) {
+    private boolean moveBackward(String targetId, boolean inclusive, RouterArgument result, RouterOptions apply,
+                                 PendingNavigation navigation) {
         if (backstack.size()==1) {
             // backstack contains single entry so can not perform pop
             return false;
@@ -958,14 +2489,23 @@ public class Router implements Disposable {
             return false;
         }
 
+        clearIntents();
+        preloader.cancelSpeculative(null);
+        supersedeNavigations();
+
         RouterBackstackEntry next = backstack.peekBackstackEntry();
+        startNavigation(navigation,next);
         Destination showing = next.getDestination();
         RouterExecutor showingExecutor = getRouterExecutorForNameOrDefault(showing.getExecutor());
-        RouterOptions options = new RouterOptions(apply);
-        options.setPopBackstack(true);
-        options.setPopEnterAnimation(options.getPopEnterAnimation(getDefaultPopEnterAnimation()));
+        RouterOptions base = RouterOptions.of(apply);
+        RouterOptions options = base.with(RouterOptions.POP_BACKSTACK,true)
+                .with(RouterOptions.POP_ENTER_ANIMATION,base.getPopEnterAnimation(getDefaultPopEnterAnimation()));
         next.setResult(result);
-        showingExecutor.show(showing,options);
+        show(showingExecutor,next,options);
+        next.markShown();
+
+        dehydrateEntries();
+        rehydrateAhead();
 
         return true;
     }
@@ -975,27 +2515,145 @@ public class Router implements Disposable {
             return false;
         }
 
-        List<RouterBackstackEntry> popEntries = backstack.popBackstackEntriesUpTo(entry->entry.getDestination().getId().equals(targetId),inclusive);
+        List<RouterBackstackEntry> popEntries = backstack.popUpToId(targetId,inclusive);
 
         if (popEntries.isEmpty()) {
             return false;
         }
 
+        RouterOptions base = RouterOptions.of(apply);
+        RouterOptions options = base.with(RouterOptions.POP_EXIT_ANIMATION,base.getPopExitAnimation(getDefaultPopExitAnimation()));
         for (RouterBackstackEntry entry : popEntries) {
             Destination destination = entry.getDestination();
             RouterExecutor executor = getRouterExecutorForNameOrDefault(destination.getExecutor());
-            RouterOptions options = new RouterOptions(apply);
-            options.setPopExitAnimation(options.getPopExitAnimation(getDefaultPopExitAnimation()));
-            executor.popBackstack(destination,options);
+            executor.popBackstack(destination,options.copyOnWrite());
+            entry.releaseTarget();
         }
 
         return true;
     }
 
+    /**
+     * Returns the cached plan for the navigation or compiles a new one. All the plans are dropped when
+     * an executor or an animation is registered to or removed from the context.
+     */
+    NavigationPlan getNavigationPlan(Destination exiting, Destination target, RouterOptions apply) {
+        if (context.getCacheVersion()!=plansVersion) {
+            plans.clear();
+            plansVersion = context.getCacheVersion();
+        }
+        Map<String,NavigationPlan> byExiting = plans.computeIfAbsent(target.getId(),id->new HashMap<>());
+        String exitingId = null==exiting ? null : exiting.getId();
+        NavigationPlan plan = byExiting.get(exitingId);
+        if (null==plan || !plan.matches(exiting,target,apply)) {
+            plan = NavigationPlan.compile(this,exiting,target,apply,getArgumentSchema(target));
+            byExiting.put(exitingId,plan);
+            // the executors created while compiling are cached by the context
+            plansVersion = context.getCacheVersion();
+        }
+        return plan;
+    }
+
+    private RouterArgument getArgumentSchema(Destination target) {
+        String id = target.getId();
+        if (null==getDestination(id)) {
+            throw new IllegalArgumentException("no destination found for id "+id);
+        }
+        RouterArgument schema = arguments.get(id);
+        return null!=schema ? schema : arguments.get(target.getArguments());
+    }
+
+    private void invalidatePlans() {
+        if (null!=plans) {
+            plans.clear();
+        }
+    }
+
+    private void show(RouterExecutor executor, RouterBackstackEntry entry, RouterOptions options) {
+        entry.attaching = true;
+        activeEntryCount++;
+        try {
+            executor.show(entry.getDestination(),options.copyOnWrite());
+        }
+        finally {
+            entry.attaching = false;
+            activeEntryCount--;
+        }
+    }
+
+    private void hide(RouterExecutor executor, RouterBackstackEntry entry, RouterOptions options) {
+        entry.hiding = true;
+        activeEntryCount++;
+        try {
+            executor.hide(entry.getDestination(),options.copyOnWrite());
+        }
+        finally {
+            entry.hiding = false;
+            activeEntryCount--;
+        }
+    }
+
+    private boolean deferShow(RouterExecutor executor, RouterBackstackEntry entry, RouterOptions options) {
+        entry.attaching = true;
+        activeEntryCount++;
+        try {
+            return executor.deferShow(entry.getDestination(),options.copyOnWrite());
+        }
+        finally {
+            entry.attaching = false;
+            activeEntryCount--;
+        }
+    }
+
     /////////////////////////////////////////////////////////////
     //                      Sub Class                         //
     ///////////////////////////////////////////////////////////
 
+    private static class PendingPath {
+
+        final List<String> segments;
+
+        final RouterArgument data;
+
+        // the backstack entry hosting the nested router, null until shown
+        RouterBackstackEntry host;
+
+        PendingPath(List<String> segments, RouterArgument data) {
+            this.segments = new ArrayList<>(segments);
+            this.data = data;
+        }
+    }
+
+    private static class PendingNavigation {
+
+        final CompletableFuture<NavigationResult> future = new CompletableFuture<>();
+
+        final long start = System.nanoTime();
+
+        final boolean popBackstack;
+
+        RouterBackstackEntry entry;
+
+        PendingNavigation(boolean popBackstack) {
+            this.popBackstack = popBackstack;
+        }
+
+        void cancel(String reason) {
+            future.completeExceptionally(new CancellationException(reason));
+        }
+    }
+
+    private static class PendingIntent {
+
+        final RouterArgument arguments;
+
+        RouterDispatcher.Scheduled timer;
+
+        PendingIntent(RouterArgument arguments) {
+            this.arguments = arguments;
+        }
+    }
+
     /**
      * Represents a single entry in backstack
      *
@@ -1017,6 +2675,20 @@ public class Router implements Disposable {
 
         private RouterArgument result;
 
+        private long hiddenSince = 0;
+
+        private boolean dehydrated = false;
+
+        private boolean deferred = false;
+
+        // set while an executor shows the entry, the shown target is attached to it
+        private boolean attaching = false;
+
+        // set while an executor hides the entry
+        private boolean hiding = false;
+
+        private Transaction.Target target;
+
         /**
          * Creates new {@code RouterBackstackEntry} instance for {@link Destination}
          *
@@ -1159,12 +2831,82 @@ public class Router implements Disposable {
             this.result = result;
         }
 
+        /**
+         * Returns whether the view of this entry is released to reclaim memory. A dehydrated entry
+         * keeps only its destination and data, its view is restored when shown again.
+         *
+         * @return {@code true} if dehydrated, {@code false} otherwise
+         * @see rahulstech.jfx.routing.memory.DehydrationPolicy
+         * @since 2.1.0
+         */
+        public boolean isDehydrated() {
+            return dehydrated;
+        }
+
+        /**
+         * Returns whether this entry is added to the backstack without ever building its view, because another
+         * destination was shown right after it. Unlike a {@link #isDehydrated() dehydrated} entry it has no saved
+         * state, its view is built for the first time when shown again.
+         *
+         * @return {@code true} if deferred, {@code false} otherwise
+         * @see RouterExecutor#deferShow(Destination, RouterOptions)
+         * @since 2.1.0
+         */
+        public boolean isDeferred() {
+            return deferred;
+        }
+
+        /**
+         * Returns the target rendered for this entry by the {@link RouterExecutor} of its destination, so the
+         * destination, data, result and view of a navigation are kept in one place. A dehydrated entry keeps its
+         * dehydrated target.
+         *
+         * @return the attached target or {@code null} if the executor attaches no target
+         * @see RouterExecutor#attachTarget(Transaction.Target)
+         * @since 2.1.0
+         */
+        public Transaction.Target getTarget() {
+            return target;
+        }
+
+        void releaseTarget() {
+            target = null;
+        }
+
+        void markHidden() {
+            hiddenSince = System.nanoTime();
+        }
+
+        void markShown() {
+            hiddenSince = 0;
+            dehydrated = false;
+            deferred = false;
+        }
+
+        boolean hasView() {
+            return !dehydrated && !deferred;
+        }
+
+        boolean isAttaching() {
+            return attaching;
+        }
+
+        boolean isActive() {
+            return attaching || hiding;
+        }
+
+        long getHiddenMillis(long now) {
+            return 0==hiddenSince ? 0 : TimeUnit.NANOSECONDS.toMillis(now-hiddenSince);
+        }
+
         @Override
         public String toString() {
             return "RouterBackstackEntry{" +
                     "destination=" + destination +
                     ", data=" + data +
                     ", result=" + result +
+                    ", dehydrated=" + dehydrated +
+                    ", deferred=" + deferred +
                     '}';
         }
     }
@@ -4,6 +4,7 @@ import javafx.fxml.FXMLLoader;
 import rahulstech.jfx.routing.element.RouterAnimation;
 import rahulstech.jfx.routing.element.RouterArgument;
 import rahulstech.jfx.routing.parser.AttributeSet;
+import rahulstech.jfx.routing.preload.ViewPreloader;
 import rahulstech.jfx.routing.util.Disposable;
 import rahulstech.jfx.routing.util.ReflectionUtil;
 
@@ -11,8 +12,12 @@ import java.io.InputStream;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The {@code RouterContext} class serves as the base class for managing the context in which a {@link Router}
@@ -28,6 +33,8 @@ import java.util.ResourceBundle;
  */
 public abstract class RouterContext implements Disposable {
 
+    private RouterDispatcher dispatcher = RouterDispatcher.fx();
+
     /**
      * Creates new {@code RouterContext} instance
      */
@@ -58,7 +65,9 @@ public abstract class RouterContext implements Disposable {
     //                   Cache Related Methods                    //
     ///////////////////////////////////////////////////////////////
 
-    private HashMap<Object,Object> mCache = new HashMap<>();
+    private Map<Object,Object> mCache = Collections.synchronizedMap(new HashMap<>());
+
+    private final AtomicLong mCacheVersion = new AtomicLong();
 
     /**
      * Adds an object to the context cache.
@@ -72,6 +81,19 @@ public abstract class RouterContext implements Disposable {
             throw new NullPointerException("cache key is null");
         }
         mCache.put(key,value);
+        mCacheVersion.incrementAndGet();
+    }
+
+    /**
+     * Returns the version of the context cache, which changes whenever an object is added to or removed
+     * from the cache. The registered animations and the router executors are kept in the cache, so a
+     * {@link Router} drops its compiled navigations when the version changes.
+     *
+     * @return the cache version
+     * @since 2.1.0
+     */
+    public long getCacheVersion() {
+        return mCacheVersion.get();
     }
 
     /**
@@ -91,7 +113,9 @@ public abstract class RouterContext implements Disposable {
      * @return the removed value, or {@code null} if not found
      */
     public Object removeCache(Object key){
-        return mCache.remove(key);
+        Object removed = mCache.remove(key);
+        mCacheVersion.incrementAndGet();
+        return removed;
     }
 
     /**
@@ -99,6 +123,7 @@ public abstract class RouterContext implements Disposable {
      */
     public void clearCache() {
         mCache.clear();
+        mCacheVersion.incrementAndGet();
     }
 
     /**
@@ -155,6 +180,45 @@ public abstract class RouterContext implements Disposable {
      */
     public abstract RouterExecutor getDefaultRouterExecutor(Router router);
 
+    /**
+     * Returns the {@link Executor} used to prepare destinations in background. Override
+     * this method to use an application specific thread pool.
+     *
+     * @return non-null {@code Executor}
+     * @see ViewPreloader#getDefaultExecutor()
+     * @since 2.1.0
+     */
+    public Executor getBackgroundExecutor() {
+        return ViewPreloader.getDefaultExecutor();
+    }
+
+    /**
+     * Sets the {@link RouterDispatcher} running the deferred work of the routers created with this
+     * context. Set the dispatcher before creating any {@link Router}, routers created earlier keep
+     * using the previous dispatcher for their backstack.
+     *
+     * @param dispatcher non-null {@code RouterDispatcher}
+     * @throws NullPointerException if dispatcher is null
+     * @since 2.1.0
+     */
+    public void setDispatcher(RouterDispatcher dispatcher) {
+        if (null==dispatcher) {
+            throw new NullPointerException("dispatcher is null");
+        }
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Returns the {@link RouterDispatcher} running the deferred work of the routers created with this
+     * context, {@link RouterDispatcher#fx()} by default.
+     *
+     * @return non-null {@code RouterDispatcher}
+     * @since 2.1.0
+     */
+    public RouterDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
     /**
      * Returns {@link Transaction} for the name
      *
@@ -0,0 +1,240 @@
+package rahulstech.jfx.routing;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.util.Duration;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code RouterDispatcher} runs the deferred work of the router, like backstack callbacks,
+ * forced hides and destroys and animations. By default the work runs on the JavaFx application
+ * thread, see {@link #fx()}. Routing without the JavaFx toolkit, for example in benchmarks or
+ * services, can use {@link #direct()} to run the work immediately on the calling thread or a
+ * {@link ManualRouterDispatcher} to run the work step by step.
+ *
+ * <p>Set the dispatcher with {@link RouterContext#setDispatcher(RouterDispatcher)} before creating
+ * any {@link Router} with that context.</p>
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ * @see RouterContext#getDispatcher()
+ */
+public abstract class RouterDispatcher {
+
+    private static final RouterDispatcher FX = new FxDispatcher();
+
+    private static final RouterDispatcher DIRECT = new DirectDispatcher();
+
+    /**
+     * A {@link #schedule(Runnable, long) scheduled} action which is not run yet
+     *
+     * @since 2.1.0
+     */
+    public interface Scheduled {
+
+        /**
+         * Cancels the action. Does nothing if the action has already run.
+         */
+        void cancel();
+    }
+
+    /**
+     * Creates new {@code RouterDispatcher} instance
+     */
+    protected RouterDispatcher() {}
+
+    /**
+     * Returns the dispatcher which runs the work on the JavaFx application thread
+     * using {@link Platform#runLater(Runnable)}
+     *
+     * @return non-null {@code RouterDispatcher}
+     */
+    public static RouterDispatcher fx() {
+        return FX;
+    }
+
+    /**
+     * Returns the dispatcher which runs the work immediately on the calling thread.
+     * Every thread is the dispatch thread for this dispatcher.
+     *
+     * @return non-null {@code RouterDispatcher}
+     */
+    public static RouterDispatcher direct() {
+        return DIRECT;
+    }
+
+    /**
+     * Checks if the current thread is the thread this dispatcher runs the work on
+     *
+     * @return {@code true} if current thread is the dispatch thread, {@code false} otherwise
+     */
+    public abstract boolean isDispatchThread();
+
+    /**
+     * Runs the action later on the dispatch thread. Actions run in the order they are dispatched.
+     *
+     * @param action the action to run
+     * @throws NullPointerException if action is null
+     */
+    public abstract void dispatch(Runnable action);
+
+    /**
+     * Runs the action immediately if current thread is the dispatch thread,
+     * otherwise {@link #dispatch(Runnable) dispatches} the action.
+     *
+     * @param action the action to run
+     * @throws NullPointerException if action is null
+     */
+    public void execute(Runnable action) {
+        if (null==action) {
+            throw new NullPointerException("action is null");
+        }
+        if (isDispatchThread()) {
+            action.run();
+        }
+        else {
+            dispatch(action);
+        }
+    }
+
+    /**
+     * Runs the action on the dispatch thread once the delay elapsed. The default implementation waits
+     * on a shared daemon timer thread, then {@link #dispatch(Runnable) dispatches} the action.
+     *
+     * @param action the action to run
+     * @param delayMillis the delay in milliseconds, {@code 0} or negative dispatches the action right away
+     * @return non-null {@link Scheduled} to cancel the action
+     * @throws NullPointerException if action is null
+     */
+    public Scheduled schedule(Runnable action, long delayMillis) {
+        if (null==action) {
+            throw new NullPointerException("action is null");
+        }
+        ScheduledAction scheduled = new ScheduledAction(action);
+        if (delayMillis<=0) {
+            dispatch(scheduled);
+        }
+        else {
+            Future<?> future = TimerHolder.TIMER.schedule(()->dispatch(scheduled),delayMillis,TimeUnit.MILLISECONDS);
+            scheduled.setCanceller(()->future.cancel(false));
+        }
+        return scheduled;
+    }
+
+    private static final class TimerHolder {
+
+        static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(task->{
+            Thread thread = new Thread(task,"router-dispatcher-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    static class ScheduledAction implements Scheduled, Runnable {
+
+        private final Runnable action;
+
+        private volatile boolean cancelled = false;
+
+        private volatile Runnable canceller;
+
+        ScheduledAction(Runnable action) {
+            this.action = action;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        void setCanceller(Runnable canceller) {
+            this.canceller = canceller;
+            if (cancelled) {
+                canceller.run();
+            }
+        }
+
+        @Override
+        public void run() {
+            if (!cancelled) {
+                action.run();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            Runnable canceller = this.canceller;
+            if (null!=canceller) {
+                canceller.run();
+            }
+        }
+    }
+
+    private static final class FxDispatcher extends RouterDispatcher {
+
+        @Override
+        public boolean isDispatchThread() {
+            return Platform.isFxApplicationThread();
+        }
+
+        @Override
+        public void dispatch(Runnable action) {
+            if (null==action) {
+                throw new NullPointerException("action is null");
+            }
+            Platform.runLater(action);
+        }
+
+        @Override
+        public Scheduled schedule(Runnable action, long delayMillis) {
+            if (null==action) {
+                throw new NullPointerException("action is null");
+            }
+            if (delayMillis<=0) {
+                return super.schedule(action,delayMillis);
+            }
+            // the pulse driven timer keeps the action in step with the animations
+            ScheduledAction scheduled = new ScheduledAction(action);
+            execute(()->{
+                if (scheduled.isCancelled()) {
+                    return;
+                }
+                PauseTransition timer = new PauseTransition(Duration.millis(delayMillis));
+                timer.setOnFinished(e->scheduled.run());
+                scheduled.setCanceller(()->execute(timer::stop));
+                timer.play();
+            });
+            return scheduled;
+        }
+
+        @Override
+        public String toString() {
+            return "RouterDispatcher{fx}";
+        }
+    }
+
+    private static final class DirectDispatcher extends RouterDispatcher {
+
+        @Override
+        public boolean isDispatchThread() {
+            return true;
+        }
+
+        @Override
+        public void dispatch(Runnable action) {
+            if (null==action) {
+                throw new NullPointerException("action is null");
+            }
+            action.run();
+        }
+
+        @Override
+        public String toString() {
+            return "RouterDispatcher{direct}";
+        }
+    }
+}
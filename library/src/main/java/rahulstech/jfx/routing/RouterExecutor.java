@@ -1,8 +1,12 @@
 package rahulstech.jfx.routing;
 
 import rahulstech.jfx.routing.element.Destination;
+import rahulstech.jfx.routing.element.RouterArgument;
+import rahulstech.jfx.routing.memory.MemoryManager;
 import rahulstech.jfx.routing.util.Disposable;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * The {@code RouterExecutor} is an abstract class that provides the foundation
  * for executing routing operations within a {@link Router}. It manages
@@ -106,6 +110,188 @@ public abstract class RouterExecutor implements Disposable {
      */
     public abstract void doLifecycleDestroy(Destination destination);
 
+    /**
+     * Destroys a hidden entry of the specified {@link Destination} dropped from the backstack by the {@link Router},
+     * for example by the {@link rahulstech.jfx.routing.memory.BackstackOverflowPolicy backstack overflow policy}.
+     * Like {@link #dehydrate(Destination, int)}, {@code index} selects the entry: {@code 0} is the entry nearest to
+     * the backstack top. The executor must remove the entry from its own backstack without showing another one.
+     * The default implementation calls {@link #doLifecycleDestroy(Destination)} for index {@code 0} only.
+     *
+     * @param destination the destination of the entry
+     * @param index index of the entry among the entries of the destination, from top
+     * @see Router#setMaxBackstack(int)
+     * @since 2.1.0
+     */
+    public void doLifecycleDestroy(Destination destination, int index) {
+        if (index==0) {
+            doLifecycleDestroy(destination);
+        }
+    }
+
+    /**
+     * Starts preparing the specified {@link Destination} in background so that a later
+     * {@link #show(Destination, RouterOptions) show} completes faster. Executors which can
+     * not prepare destinations ahead of time may ignore it. The default implementation does nothing.
+     *
+     * @param destination the destination to prepare
+     * @see Router#preload(String)
+     * @since 2.1.0
+     */
+    public void preload(Destination destination) {}
+
+    /**
+     * Starts preparing the specified {@link Destination} speculatively, because the {@link Router}
+     * predicts it is likely the next destination. Unlike {@link #preload(Destination)}, the work may
+     * be discarded if the user navigates elsewhere. The default implementation does nothing.
+     *
+     * @param destination the destination to prepare
+     * @see rahulstech.jfx.routing.preload.ViewPreloader#prefetch(String, java.util.concurrent.Callable, java.util.function.Consumer)
+     * @since 2.1.0
+     */
+    public void prefetch(Destination destination) {}
+
+    /**
+     * Starts preparing the specified {@link Destination} because the user is about to navigate
+     * there, for example the pointer hovers over a button. The work is discarded if no navigation
+     * to the destination follows. The default implementation calls {@link #prefetch(Destination)}.
+     *
+     * @param destination the destination to prepare
+     * @see Router#hintIntent(String)
+     * @since 2.1.0
+     */
+    public void hintIntent(Destination destination) {
+        prefetch(destination);
+    }
+
+    /**
+     * Adds the specified {@link Destination} to the backstack of this executor hidden, without building its view,
+     * because another destination is shown right after it. The entry must be handled like a
+     * {@link #dehydrate(Destination, int) dehydrated} entry, i.e. its view is built when it is shown again.
+     * The default implementation returns {@code false}, then the destination is shown and hidden as usual.
+     *
+     * @param destination the destination to add
+     * @param options     the options for routing
+     * @return {@code true} if added without view, {@code false} otherwise
+     * @see NavigationDispatcher
+     * @since 2.1.0
+     */
+    public boolean deferShow(Destination destination, RouterOptions options) {
+        return false;
+    }
+
+    /**
+     * Prepares the specified {@link Destination} for the following {@link #show(Destination, RouterOptions) show}
+     * without blocking the JavaFx application thread, for example loads the view on a background thread.
+     * The {@link Router} shows the destination only after the returned future completes, and cancels the
+     * navigation if it completes exceptionally. The default implementation returns a completed future.
+     *
+     * @param destination the destination to prepare
+     * @param options     the options for routing
+     * @return non-null {@link CompletableFuture}
+     * @see Router#moveToAsync(String, RouterArgument, RouterOptions)
+     * @since 2.1.0
+     */
+    public CompletableFuture<Void> prepareAsync(Destination destination, RouterOptions options) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Dehydrates a hidden entry of the specified {@link Destination}, i.e. saves its state and releases its
+     * controller and view. Since a destination may have more than one entry in backstack, {@code index}
+     * selects the entry: {@code 0} is the entry nearest to the backstack top. The executor must rehydrate
+     * the entry transparently when it is shown again. The default implementation does nothing.
+     *
+     * @param destination the destination of the entry
+     * @param index index of the entry among the entries of the destination, from top
+     * @return {@code true} if dehydrated, {@code false} otherwise
+     * @see rahulstech.jfx.routing.memory.DehydrationPolicy
+     * @since 2.1.0
+     */
+    public boolean dehydrate(Destination destination, int index) {
+        return false;
+    }
+
+    /**
+     * Releases the memory of the specified {@link MemoryManager.TrimLevel level} held by this executor,
+     * for example reusable buffers for {@link MemoryManager.TrimLevel#CACHES CACHES}. Backstack entries are
+     * released by the {@link Router} via {@link #dehydrate(Destination, int)}. The default implementation
+     * does nothing.
+     *
+     * @param level the level to trim
+     * @return number of released items
+     * @see MemoryManager
+     * @since 2.1.0
+     */
+    public int trimMemory(MemoryManager.TrimLevel level) {
+        return 0;
+    }
+
+    /**
+     * Returns the number of nodes in the views of the destinations held by this executor, including the
+     * hidden ones. The default implementation returns {@code 0}.
+     *
+     * @return the number of nodes
+     * @see Router#setNodeBudget(int)
+     * @since 2.1.0
+     */
+    public int getNodeCount() {
+        return 0;
+    }
+
+    /**
+     * Attaches the target rendered for the destination to the {@link Router.RouterBackstackEntry backstack entry}
+     * being shown. Call it from {@link #show(Destination, RouterOptions) show} or
+     * {@link #deferShow(Destination, RouterOptions) deferShow}, calls from anywhere else are ignored. The attached
+     * target is returned by {@link #getAttachedTarget(Destination, int)}, so the executor need not search its
+     * own backstack.
+     *
+     * @param target the target rendered for the destination
+     * @see Router.RouterBackstackEntry#getTarget()
+     * @since 2.1.0
+     */
+    protected final void attachTarget(Transaction.Target target) {
+        router.attachTarget(target);
+    }
+
+    /**
+     * Returns the target attached to an entry of the destination in the {@link Router} backstack. Like
+     * {@link #dehydrate(Destination, int)}, {@code index} selects the entry: {@code 0} is the entry nearest
+     * to the backstack top. While an entry is {@link #show(Destination, RouterOptions) shown} or
+     * {@link #hide(Destination, RouterOptions) hidden}, index {@code 0} selects that entry.
+     *
+     * @param destination the destination of the entry
+     * @param index index of the entry among the entries of the destination, from top
+     * @return the attached target or {@code null} if not found or nothing attached
+     * @see #attachTarget(Transaction.Target)
+     * @since 2.1.0
+     */
+    protected final Transaction.Target getAttachedTarget(Destination destination, int index) {
+        return router.getAttachedTarget(destination.getId(),index);
+    }
+
+    /**
+     * Notifies the {@link Router} that the destination is completely shown, i.e. its enter
+     * animation is finished. Executors should call this method after every show, otherwise
+     * the futures returned by the async navigation methods of {@code Router} never complete.
+     *
+     * @param destination the shown destination
+     * @since 2.1.0
+     */
+    protected final void notifyShown(Destination destination) {
+        router.onDestinationShown(destination);
+    }
+
+    /**
+     * Notifies the {@link Router} like {@link #notifyShown(Destination)}, for the destination with the id.
+     * It lets an executor keep a single callback for all destinations.
+     *
+     * @param destinationId the id of the shown destination
+     * @since 2.1.0
+     */
+    protected final void notifyShown(String destinationId) {
+        router.onDestinationShown(destinationId);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void dispose() {}
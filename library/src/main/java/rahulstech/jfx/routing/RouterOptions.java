@@ -3,8 +3,8 @@ package rahulstech.jfx.routing;
 import rahulstech.jfx.routing.util.StringUtil;
 
 import java.nio.charset.Charset;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.ResourceBundle;
 
@@ -21,6 +21,16 @@ import java.util.ResourceBundle;
  * <p>Instances of {@code RouterOptions} can be copied and applied from other instances, allowing
  * for flexible reuse of routing configurations.</p>
  *
+ * <p>The well-known options are kept in fields and the custom options in a small array. A mutable
+ * {@code RouterOptions} works as a builder, {@link #freeze()} returns an immutable one. Options derived
+ * with {@link #with(OptionKey, Object)} are immutable and share the custom options of their source
+ * instead of copying them, so a {@link Router} can keep the same options for many navigations.
+ * Setting an option of an immutable {@code RouterOptions} throws {@link UnsupportedOperationException}.
+ * The options passed to a {@link RouterExecutor} are always mutable, changing them does not change
+ * the options of the navigation. They share the options of the navigation and are copied only when
+ * the executor changes them, so they are valid during the call only, an executor keeping them must
+ * copy them.</p>
+ *
  * @see Router
  * @author Rahul Bagchi
  * @since 1.0
@@ -41,8 +51,103 @@ public class RouterOptions {
 
     private static final String KEY_POP_BACKSTACK = "rahulstech.jfx.routeroptions.POP_BACKSTACK";
 
+    private static final int SLOT_ENTER_ANIMATION = 0;
+
+    private static final int SLOT_EXIT_ANIMATION = 1;
+
+    private static final int SLOT_POP_ENTER_ANIMATION = 2;
+
+    private static final int SLOT_POP_EXIT_ANIMATION = 3;
+
+    private static final int SLOT_RESOURCE_BUNDLE = 4;
+
+    private static final int SLOT_CHARSET = 5;
+
+    private static final int SLOT_POP_BACKSTACK = 6;
+
+    private static final int SLOT_COUNT = 7;
+
+    /**
+     * Key of the name or id of the screen enter animation
+     *
+     * @since 2.1.0
+     */
+    public static final OptionKey<String> ENTER_ANIMATION = new OptionKey<>(KEY_ENTER_ANIMATION,String.class,SLOT_ENTER_ANIMATION);
+
+    /**
+     * Key of the name or id of the screen exit animation
+     *
+     * @since 2.1.0
+     */
+    public static final OptionKey<String> EXIT_ANIMATION = new OptionKey<>(KEY_EXIT_ANIMATION,String.class,SLOT_EXIT_ANIMATION);
+
+    /**
+     * Key of the name or id of the screen pop enter animation
+     *
+     * @since 2.1.0
+     */
+    public static final OptionKey<String> POP_ENTER_ANIMATION = new OptionKey<>(KEY_POP_ENTER_ANIMATION,String.class,SLOT_POP_ENTER_ANIMATION);
+
+    /**
+     * Key of the name or id of the screen pop exit animation
+     *
+     * @since 2.1.0
+     */
+    public static final OptionKey<String> POP_EXIT_ANIMATION = new OptionKey<>(KEY_POP_EXIT_ANIMATION,String.class,SLOT_POP_EXIT_ANIMATION);
+
+    /**
+     * Key of the {@link ResourceBundle} for localization
+     *
+     * @since 2.1.0
+     */
+    public static final OptionKey<ResourceBundle> BUNDLE = new OptionKey<>(KEY_RESOURCE_BUNDLE,ResourceBundle.class,SLOT_RESOURCE_BUNDLE);
+
+    /**
+     * Key of the {@link Charset} for character encoding
+     *
+     * @since 2.1.0
+     */
+    public static final OptionKey<Charset> CHARSET = new OptionKey<>(KEY_CHARSET,Charset.class,SLOT_CHARSET);
+
+    /**
+     * Key of whether it is a popping operation
+     *
+     * @since 2.1.0
+     */
+    public static final OptionKey<Boolean> POP_BACKSTACK = new OptionKey<>(KEY_POP_BACKSTACK,Boolean.class,SLOT_POP_BACKSTACK);
+
+    private static final OptionKey<?>[] KNOWN_KEYS = {
+            ENTER_ANIMATION, EXIT_ANIMATION, POP_ENTER_ANIMATION, POP_EXIT_ANIMATION, BUNDLE, CHARSET, POP_BACKSTACK
+    };
+
+    private static final Object[] NO_EXTRAS = new Object[0];
+
+    /**
+     * An immutable {@code RouterOptions} without any option
+     *
+     * @since 2.1.0
+     */
+    public static final RouterOptions EMPTY = new RouterOptions().freeze();
+
+    // the well-known options, null means not set, shared with the executor view until changed
+    private Object[] known = new Object[SLOT_COUNT];
+
+    private boolean knownShared = false;
+
+    // the custom options as name, value pairs, shared with the derived options until changed
+    private Object[] extras = NO_EXTRAS;
+
+    private int extraCount = 0;
+
+    private boolean extrasShared = false;
+
+    private boolean frozen = false;
+
+    // whether an option is set or removed since created
+    private boolean modified = false;
 
-    final Map<String,Object> map = new HashMap<>();
+    // the mutable view of the immutable options passed to the executors
+    private RouterOptions executorView;
 
     /**
      * Creates a new instance of {@code RouterOptions} with default settings.
@@ -60,6 +165,7 @@ public class RouterOptions {
     public RouterOptions(RouterOptions from) {
         if (null!=from) {
             apply(from);
+            modified = false;
         }
     }
 
@@ -72,25 +178,177 @@ public class RouterOptions {
         if (null==from) {
             throw new NullPointerException("source RouterOptions is null");
         }
-        this.map.putAll(from.map);
+        beforeChange();
+        for (int slot=0; slot<SLOT_COUNT; slot++) {
+            if (null!=from.known[slot]) {
+                known[slot] = from.known[slot];
+            }
+        }
+        if (0==extraCount) {
+            // nothing to merge, share instead
+            extras = from.extras;
+            extraCount = from.extraCount;
+            extrasShared = true;
+            from.extrasShared = true;
+            return;
+        }
+        for (int i=0; i<from.extraCount; i++) {
+            putExtra((String) from.extras[2*i],from.extras[2*i+1]);
+        }
     }
 
     /**
-     * Adds a new key-value pair
+     * Adds a new key-value pair. The value of a well-known option is converted to its type where
+     * possible, like the {@link String} of a {@link Charset} name, otherwise it is ignored.
      *
      * @param key the key
      * @param value the value
      * @return this {@code RouterOptions} instance
+     * @throws UnsupportedOperationException if this {@code RouterOptions} is immutable
      * @since 2.0
      */
     public RouterOptions add(String key, Object value) {
         if (StringUtil.isEmpty(key)) {
             throw new IllegalArgumentException("key is empty");
         }
-        map.put(key,value);
+        beforeChange();
+        OptionKey<?> knownKey = getKnownKey(key);
+        if (null!=knownKey) {
+            Object converted = convert(knownKey,value);
+            if (null!=converted || null==value) {
+                known[knownKey.slot] = converted;
+            }
+        }
+        else {
+            putExtra(key,value);
+        }
         return this;
     }
 
+    /**
+     * Sets the value of the typed key
+     *
+     * @param key the key
+     * @param value the value
+     * @param <T> type of the value
+     * @return this {@code RouterOptions} instance
+     * @throws NullPointerException if key is null
+     * @throws UnsupportedOperationException if this {@code RouterOptions} is immutable
+     * @since 2.1.0
+     */
+    public <T> RouterOptions set(OptionKey<T> key, T value) {
+        if (null==key) {
+            throw new NullPointerException("null key provided");
+        }
+        beforeChange();
+        if (key.slot>=0) {
+            known[key.slot] = value;
+        }
+        else {
+            putExtra(key.getName(),value);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the value of the typed key
+     *
+     * @param key the key
+     * @param <T> type of the value
+     * @return the value or {@code null}
+     * @throws NullPointerException if key is null
+     * @throws ClassCastException if the value is not of the type of the key
+     * @since 2.1.0
+     */
+    public <T> T get(OptionKey<T> key) {
+        return get(key,null);
+    }
+
+    /**
+     * Returns the value of the typed key or the default value if not set
+     *
+     * @param key the key
+     * @param defaultValue the value to return if key is not set
+     * @param <T> type of the value
+     * @return the value or the default value
+     * @throws NullPointerException if key is null
+     * @throws ClassCastException if the value is not of the type of the key
+     * @since 2.1.0
+     */
+    public <T> T get(OptionKey<T> key, T defaultValue) {
+        if (null==key) {
+            throw new NullPointerException("null key provided");
+        }
+        if (key.slot>=0) {
+            Object value = known[key.slot];
+            return null==value ? defaultValue : key.cast(value);
+        }
+        int index = indexOfExtra(key.getName());
+        return index<0 ? defaultValue : key.cast(extras[2*index+1]);
+    }
+
+    /**
+     * Returns an immutable {@code RouterOptions} like this one, except the value of the typed key. This
+     * {@code RouterOptions} is not changed. The custom options are shared, not copied. If this one is
+     * immutable and has the same value then it is returned.
+     *
+     * @param key the key
+     * @param value the value
+     * @param <T> type of the value
+     * @return non-null immutable {@code RouterOptions}
+     * @throws NullPointerException if key is null
+     * @since 2.1.0
+     */
+    public <T> RouterOptions with(OptionKey<T> key, T value) {
+        if (null==key) {
+            throw new NullPointerException("null key provided");
+        }
+        if (frozen && key.slot>=0 && Objects.equals(known[key.slot],value)) {
+            return this;
+        }
+        RouterOptions derived = new RouterOptions(this);
+        derived.set(key,value);
+        derived.frozen = true;
+        return derived;
+    }
+
+    /**
+     * Returns an immutable {@code RouterOptions} with the options of this one. An immutable
+     * {@code RouterOptions} returns itself.
+     *
+     * @return non-null immutable {@code RouterOptions}
+     * @since 2.1.0
+     */
+    public RouterOptions freeze() {
+        if (frozen) {
+            return this;
+        }
+        RouterOptions frozen = new RouterOptions(this);
+        frozen.frozen = true;
+        return frozen;
+    }
+
+    /**
+     * Returns whether this {@code RouterOptions} is immutable
+     *
+     * @return {@code true} if immutable, {@code false} otherwise
+     * @since 2.1.0
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Returns the immutable {@code RouterOptions} for the options
+     *
+     * @param options nullable options
+     * @return {@link #EMPTY} for {@code null}, otherwise the {@link #freeze() frozen} options
+     * @since 2.1.0
+     */
+    public static RouterOptions of(RouterOptions options) {
+        return null==options ? EMPTY : options.freeze();
+    }
+
     /**
      * Return the value associated to the given key
      *
@@ -116,7 +374,13 @@ public class RouterOptions {
      */
     @SuppressWarnings("unchecked")
     public <T> T get(String key, T defaultValue) {
-        return (T) map.getOrDefault(key,defaultValue);
+        OptionKey<?> knownKey = getKnownKey(key);
+        if (null!=knownKey) {
+            Object value = known[knownKey.slot];
+            return null==value ? defaultValue : (T) value;
+        }
+        int index = indexOfExtra(key);
+        return index<0 ? defaultValue : (T) extras[2*index+1];
     }
 
     /**
@@ -140,7 +404,27 @@ public class RouterOptions {
      * @since 2.0
      */
     public Object remove(String key) {
-        return map.remove(key);
+        beforeChange();
+        OptionKey<?> knownKey = getKnownKey(key);
+        if (null!=knownKey) {
+            Object old = known[knownKey.slot];
+            known[knownKey.slot] = null;
+            return old;
+        }
+        int index = indexOfExtra(key);
+        if (index<0) {
+            return null;
+        }
+        unshareExtras();
+        Object old = extras[2*index+1];
+        int last = extraCount-1;
+        // the order of the custom options does not matter, the last pair fills the hole
+        extras[2*index] = extras[2*last];
+        extras[2*index+1] = extras[2*last+1];
+        extras[2*last] = null;
+        extras[2*last+1] = null;
+        extraCount--;
+        return old;
     }
 
     /**
@@ -148,7 +432,11 @@ public class RouterOptions {
      * @since 2.0
      */
     public void clear() {
-        map.clear();
+        beforeChange();
+        Arrays.fill(known,null);
+        extras = NO_EXTRAS;
+        extraCount = 0;
+        extrasShared = false;
     }
 
     /**
@@ -157,7 +445,7 @@ public class RouterOptions {
      * @return the enter animation setting, or {@code null} if not set
      */
     public String getEnterAnimation() {
-        return get(KEY_ENTER_ANIMATION);
+        return get(ENTER_ANIMATION);
     }
 
     /**
@@ -167,7 +455,7 @@ public class RouterOptions {
      * @return the enter animation setting, or {@code defaultValue} if not set
      */
     public String getEnterAnimation(String defaultValue) {
-        return get(KEY_ENTER_ANIMATION,defaultValue);
+        return get(ENTER_ANIMATION,defaultValue);
     }
 
     /**
@@ -177,7 +465,7 @@ public class RouterOptions {
      * @return this {@code RouterOptions} instance for chaining
      */
     public RouterOptions setEnterAnimation(String enterAnimation) {
-        return add(KEY_ENTER_ANIMATION,enterAnimation);
+        return set(ENTER_ANIMATION,enterAnimation);
     }
 
     /**
@@ -186,7 +474,7 @@ public class RouterOptions {
      * @return the exit animation setting, or {@code null} if not set
      */
     public String getExitAnimation() {
-        return get(KEY_EXIT_ANIMATION);
+        return get(EXIT_ANIMATION);
     }
 
     /**
@@ -196,7 +484,7 @@ public class RouterOptions {
      * @return the exit animation setting, or {@code defaultValue} if not set
      */
     public String getExitAnimation(String defaultValue) {
-        return get(KEY_EXIT_ANIMATION,defaultValue);
+        return get(EXIT_ANIMATION,defaultValue);
     }
 
     /**
@@ -206,7 +494,7 @@ public class RouterOptions {
      * @return this {@code RouterOptions} instance for chaining
      */
     public RouterOptions setExitAnimation(String exitAnimation) {
-        return add(KEY_EXIT_ANIMATION,exitAnimation);
+        return set(EXIT_ANIMATION,exitAnimation);
     }
 
     /**
@@ -215,7 +503,7 @@ public class RouterOptions {
      * @return the pop enter animation setting, or {@code null} if not set
      */
     public String getPopEnterAnimation() {
-        return get(KEY_POP_ENTER_ANIMATION);
+        return get(POP_ENTER_ANIMATION);
     }
 
     /**
@@ -225,7 +513,7 @@ public class RouterOptions {
      * @return the pop enter animation setting, or {@code defaultValue} if not set
      */
     public String getPopEnterAnimation(String defaultValue) {
-        return get(KEY_POP_ENTER_ANIMATION,defaultValue);
+        return get(POP_ENTER_ANIMATION,defaultValue);
     }
 
     /**
@@ -235,7 +523,7 @@ public class RouterOptions {
      * @return this {@code RouterOptions} instance for chaining
      */
     public RouterOptions setPopEnterAnimation(String popEnterAnimation) {
-        return add(KEY_POP_ENTER_ANIMATION,popEnterAnimation);
+        return set(POP_ENTER_ANIMATION,popEnterAnimation);
     }
 
     /**
@@ -244,7 +532,7 @@ public class RouterOptions {
      * @return the pop exit animation setting, or {@code null} if not set
      */
     public String getPopExitAnimation() {
-        return get(KEY_POP_EXIT_ANIMATION);
+        return get(POP_EXIT_ANIMATION);
     }
 
     /**
@@ -254,7 +542,7 @@ public class RouterOptions {
      * @return the pop exit animation setting, or {@code defaultValue} if not set
      */
     public String getPopExitAnimation(String defaultValue) {
-        return get(KEY_POP_EXIT_ANIMATION,defaultValue);
+        return get(POP_EXIT_ANIMATION,defaultValue);
     }
 
     /**
@@ -264,7 +552,7 @@ public class RouterOptions {
      * @return this {@code RouterOptions} instance for chaining
      */
     public RouterOptions setPopExitAnimation(String popExitAnimation) {
-        return add(KEY_POP_EXIT_ANIMATION,popExitAnimation);
+        return set(POP_EXIT_ANIMATION,popExitAnimation);
     }
 
     /**
@@ -274,7 +562,7 @@ public class RouterOptions {
      * @return this {@code RouterOptions} instance for chaining
      */
     public RouterOptions setBundle(ResourceBundle bundle) {
-        return add(KEY_RESOURCE_BUNDLE,bundle);
+        return set(BUNDLE,bundle);
     }
 
     /**
@@ -282,7 +570,7 @@ public class RouterOptions {
      * @return the {@link ResourceBundle}, or {@code null} if not set
      */
     public ResourceBundle getBundle() {
-        return get(KEY_RESOURCE_BUNDLE);
+        return get(BUNDLE);
     }
 
     /**
@@ -292,7 +580,7 @@ public class RouterOptions {
      * @return this {@code RouterOptions} instance for chaining
      */
     public RouterOptions setCharset(Charset charset) {
-        return add(KEY_CHARSET,charset);
+        return set(CHARSET,charset);
     }
 
     /**
@@ -301,7 +589,7 @@ public class RouterOptions {
      * @return the {@link Charset}, or {@code null} if not set
      */
     public Charset getCharset() {
-        return get(KEY_CHARSET);
+        return get(CHARSET);
     }
 
     /**
@@ -311,7 +599,7 @@ public class RouterOptions {
      * @return the current {@code RouterOptions} instance
      */
     public RouterOptions setPopBackstack(boolean popping) {
-        return add(KEY_POP_BACKSTACK,popping);
+        return set(POP_BACKSTACK,popping);
     }
 
     /**
@@ -320,6 +608,154 @@ public class RouterOptions {
      * @return {@code true} means popping, {@code false} otherwise
      */
     public boolean getPopBackStack() {
-        return get(KEY_POP_BACKSTACK,false);
+        return get(POP_BACKSTACK,false);
+    }
+
+    /**
+     * Two {@code RouterOptions} are equal if they have the same options, mutable or not
+     *
+     * @param o the other object
+     * @return {@code true} if equal, {@code false} otherwise
+     * @since 2.1.0
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this==o) {
+            return true;
+        }
+        if (!(o instanceof RouterOptions)) {
+            return false;
+        }
+        RouterOptions other = (RouterOptions) o;
+        if (!Arrays.equals(known,other.known) || extraCount!=other.extraCount) {
+            return false;
+        }
+        if (extras==other.extras) {
+            return true;
+        }
+        for (int i=0; i<extraCount; i++) {
+            int index = other.indexOfExtra((String) extras[2*i]);
+            if (index<0 || !Objects.equals(extras[2*i+1],other.extras[2*index+1])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        int hash = Arrays.hashCode(known);
+        for (int i=0; i<extraCount; i++) {
+            // independent of the order of the custom options
+            hash += Objects.hashCode(extras[2*i])^Objects.hashCode(extras[2*i+1]);
+        }
+        return hash;
+    }
+
+    /**
+     * Returns whether an option is set or removed since this {@code RouterOptions} is created
+     *
+     * @return {@code true} if changed, {@code false} otherwise
+     */
+    boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * Returns the mutable options to pass to a {@link RouterExecutor}. Mutable options return themselves.
+     * Immutable options return a mutable view sharing their options until an option of the view is set
+     * or removed. The view is reused for the next call unless it is changed.
+     *
+     * @return non-null mutable {@code RouterOptions}
+     */
+    RouterOptions copyOnWrite() {
+        if (!frozen) {
+            return this;
+        }
+        RouterOptions view = executorView;
+        if (null==view || view.modified) {
+            view = new RouterOptions();
+            view.known = known;
+            view.knownShared = true;
+            view.extras = extras;
+            view.extraCount = extraCount;
+            view.extrasShared = true;
+            extrasShared = true;
+            executorView = view;
+        }
+        return view;
+    }
+
+    static OptionKey<?> getKnownKey(String name) {
+        for (OptionKey<?> key : KNOWN_KEYS) {
+            if (key.getName().equals(name)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private void beforeChange() {
+        if (frozen) {
+            throw new UnsupportedOperationException("RouterOptions is immutable");
+        }
+        if (knownShared) {
+            known = Arrays.copyOf(known,SLOT_COUNT);
+            knownShared = false;
+        }
+        modified = true;
+    }
+
+    private static Object convert(OptionKey<?> key, Object value) {
+        if (null==value || key.getType().isInstance(value)) {
+            return value;
+        }
+        if (key.getType()==String.class) {
+            return value.toString();
+        }
+        if (value instanceof String) {
+            if (key.getType()==Boolean.class) {
+                return Boolean.valueOf((String) value);
+            }
+            if (key.getType()==Charset.class) {
+                try {
+                    return Charset.forName((String) value);
+                }
+                catch (IllegalArgumentException ignore) {}
+            }
+        }
+        return null;
+    }
+
+    private int indexOfExtra(String name) {
+        for (int i=0; i<extraCount; i++) {
+            if (extras[2*i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void putExtra(String name, Object value) {
+        int index = indexOfExtra(name);
+        unshareExtras();
+        if (index>=0) {
+            extras[2*index+1] = value;
+            return;
+        }
+        if (2*extraCount==extras.length) {
+            extras = Arrays.copyOf(extras,Math.max(4,2*extras.length));
+        }
+        extras[2*extraCount] = name;
+        extras[2*extraCount+1] = value;
+        extraCount++;
+    }
+
+    private void unshareExtras() {
+        if (extrasShared) {
+            extras = Arrays.copyOf(extras,Math.max(4,extras.length));
+            extrasShared = false;
+        }
     }
 }
@@ -2,6 +2,8 @@ package rahulstech.jfx.routing;
 
 import rahulstech.jfx.routing.backstack.Backstack;
 import rahulstech.jfx.routing.backstack.BackstackEntry;
+import rahulstech.jfx.routing.backstack.IndexedBackstack;
+import rahulstech.jfx.routing.element.RouterArgument;
 import rahulstech.jfx.routing.util.Disposable;
 import rahulstech.jfx.routing.util.StringUtil;
 
@@ -25,7 +27,7 @@ import java.util.Queue;
  */
 public abstract class Transaction implements Disposable {
 
-    private Backstack<Target> backstack = new Backstack<>();
+    private IndexedBackstack<Target> backstack = new IndexedBackstack<>(Target::getTag);
 
     private ArrayDeque<Runnable> operations = new ArrayDeque<>();
 
@@ -48,6 +50,7 @@ public abstract class Transaction implements Disposable {
             throw new NullPointerException("context is null");
         }
         this.context = context;
+        backstack.setDispatcher(context.getDispatcher());
     }
 
     /**
@@ -63,7 +66,7 @@ public abstract class Transaction implements Disposable {
      * Enqueues an operation to be executed later as part of the transaction.
      *
      * @param operation the operation to be enqueued
-     * @deprecated since 1.1.0
+     * @deprecated since 1.1.0, use {@link Router#beginTransaction()} to execute several navigation operations together
      */
     @Deprecated
     public void enqueueOperation(Runnable operation) {
@@ -74,7 +77,7 @@ public abstract class Transaction implements Disposable {
      * Returns {@link Queue} of {@link Runnable} of operations
      *
      * @return the queue of operations to be executed.
-     * @deprecated since 1.1.0
+     * @deprecated since 1.1.0, use {@link Router#beginTransaction()} to execute several navigation operations together
      */
     @Deprecated
     public Queue<Runnable> getOperationsQueue() {
@@ -86,7 +89,7 @@ public abstract class Transaction implements Disposable {
      * sequentially until the queue is empty.
      *
      * @return {@code true} if any operations were executed, {@code false} otherwise
-     * @deprecated since 1.1.0
+     * @deprecated since 1.1.0, use {@link Router#beginTransaction()} to execute several navigation operations together
      */
     @Deprecated
     public boolean executePendingOperations() {
@@ -100,11 +103,11 @@ public abstract class Transaction implements Disposable {
     }
 
     /**
-     * Returns {@link Backstack} of {@link Target}s handled by this transaction
+     * Returns {@link Backstack} of {@link Target}s handled by this transaction, indexed by {@link Target#getTag() tag}
      *
      * @return the backstack that holds the {@link Target} objects managed by this transaction.
      */
-    public Backstack<Target> getBackstack() {
+    public IndexedBackstack<Target> getBackstack() {
         return backstack;
     }
 
@@ -214,5 +217,31 @@ public abstract class Transaction implements Disposable {
          * to release resources associated with the target.
          */
         public void onDestroy() {}
+
+        /**
+         * Called when a destroyed target is reused instead of creating a new one.
+         * It is called in place of {@link #onCreate()}.
+         *
+         * @since 2.1.0
+         */
+        public void onRevive() {}
+
+        /**
+         * Called before the target is released to reclaim memory. Subclasses can override this
+         * method to save the state required to restore the target later.
+         *
+         * @param state non-null {@link RouterArgument} to save the state into
+         * @since 2.1.0
+         */
+        public void onSaveState(RouterArgument state) {}
+
+        /**
+         * Called after a released target is created again. Subclasses can override this
+         * method to restore the state saved by {@link #onSaveState(RouterArgument)}.
+         *
+         * @param state non-null {@link RouterArgument} with the saved state
+         * @since 2.1.0
+         */
+        public void onRestoreState(RouterArgument state) {}
     }
 }
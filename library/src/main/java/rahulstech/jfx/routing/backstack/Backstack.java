@@ -1,9 +1,9 @@
 package rahulstech.jfx.routing.backstack;
 
-import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import rahulstech.jfx.routing.RouterDispatcher;
 import rahulstech.jfx.routing.util.Disposable;
 
-import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -27,9 +27,19 @@ public class Backstack<E extends BackstackEntry> implements Disposable {
 
     List<E> backstack = new LinkedList<>();
 
-    List<BackstackCallback<E>> callbacks = new LinkedList<>();
+    final BackstackCallbackDispatcher<E> dispatcher = new BackstackCallbackDispatcher<>();
 
-    private final WrappedBackstackCallback wrappedCallback = new WrappedBackstackCallback();
+    // persistent copy of the entries, published as snapshot after each change
+    BackstackSnapshot.Node<E> snapshotRoot;
+
+    long snapshotKey = 0;
+
+    private volatile BackstackSnapshot<E> snapshot = BackstackSnapshot.empty();
+
+    private BackstackObservableList<E> observableList;
+
+    // removals and pushes of the current operation, null if not observed as list
+    List<BackstackObservableList.Op<E>> listChanges;
 
     /**
      * Creates new {@code Backstack} instance
@@ -37,13 +47,63 @@ public class Backstack<E extends BackstackEntry> implements Disposable {
     public Backstack() {}
 
     /**
-     * Registers a {@link BackstackCallback} to this {@code Backstack}
+     * Registers a {@link BackstackCallback} to this {@code Backstack} for all the events.
+     * The callback is held weakly, so the caller must keep a reference to it.
+     * Callbacks are called immediately when the backstack is changed on the dispatch thread, the JavaFx
+     * application thread by default, otherwise all the changes until the dispatch thread runs are delivered
+     * together in order.
      *
      * @param callback the {@code BackstackCallback}
+     * @throws NullPointerException if callback is null
      * @since 2.0
      */
     public void registerBackstackCallback(BackstackCallback<E> callback) {
-        callbacks.add(new WeakBackstackCallback(callback));
+        if (null==callback) {
+            throw new NullPointerException("null BackstackCallback provided");
+        }
+        dispatcher.subscribe(callback,BackstackCallbackDispatcher.ALL_EVENTS);
+    }
+
+    /**
+     * Registers a {@link BackstackCallback} to this {@code Backstack} for the given events only.
+     * Registering an already registered callback replaces its events.
+     *
+     * @param callback the {@code BackstackCallback}
+     * @param events the events to call the callback for
+     * @throws NullPointerException if callback or any event is null
+     * @throws IllegalArgumentException if no event is given
+     * @see #registerBackstackCallback(BackstackCallback)
+     * @since 2.1.0
+     */
+    public void registerBackstackCallback(BackstackCallback<E> callback, BackstackCallback.Event... events) {
+        if (null==callback) {
+            throw new NullPointerException("null BackstackCallback provided");
+        }
+        if (null==events || events.length==0) {
+            throw new IllegalArgumentException("no event provided");
+        }
+        int mask = 0;
+        for (BackstackCallback.Event event : events) {
+            if (null==event) {
+                throw new NullPointerException("null event provided");
+            }
+            mask |= event.mask;
+        }
+        dispatcher.subscribe(callback,mask);
+    }
+
+    /**
+     * Sets the {@link RouterDispatcher} delivering the callbacks, {@link RouterDispatcher#fx()} by default
+     *
+     * @param dispatcher non-null {@code RouterDispatcher}
+     * @throws NullPointerException if dispatcher is null
+     * @since 2.1.0
+     */
+    public void setDispatcher(RouterDispatcher dispatcher) {
+        if (null==dispatcher) {
+            throw new NullPointerException("null RouterDispatcher provided");
+        }
+        this.dispatcher.setDispatcher(dispatcher);
     }
 
     /**
@@ -53,7 +113,7 @@ public class Backstack<E extends BackstackEntry> implements Disposable {
      * @since 2.0
      */
     public void unregisterBackstackCallback(BackstackCallback<E> callback) {
-        callbacks.remove(callback);
+        dispatcher.unsubscribe(callback);
     }
 
     /**
@@ -66,8 +126,9 @@ public class Backstack<E extends BackstackEntry> implements Disposable {
         if (null==entry) {
             throw new NullPointerException("can not add null entry to backstack");
         }
-        backstack.add(0,entry);
-        wrappedCallback.onBackstackTopChanged(this,entry);
+        addTop(entry);
+        publishSnapshot();
+        dispatcher.onBackstackTopChanged(this,entry);
     }
 
     /**
@@ -81,10 +142,18 @@ public class Backstack<E extends BackstackEntry> implements Disposable {
             throw new NullPointerException("can not add null entry to backstack");
         }
         E top = peekBackstackEntry();
-        backstack.remove(entry);
-        backstack.add(0,entry);
+        int index = backstack.indexOf(entry);
+        if (index==0) {
+            // already at top
+            return;
+        }
+        if (index>=0) {
+            removeAt(index);
+        }
+        addTop(entry);
+        publishSnapshot();
         if (top!=entry) {
-            wrappedCallback.onBackstackTopChanged(this,entry);
+            dispatcher.onBackstackTopChanged(this,entry);
         }
     }
 
@@ -111,10 +180,11 @@ public class Backstack<E extends BackstackEntry> implements Disposable {
         if (isEmpty()) {
             throw new NoSuchElementException("can not pop from empty backstack");
         }
-        E entry = backstack.remove(0);
-        wrappedCallback.onPoppedSingle(this,entry);
+        E entry = removeAt(0);
+        publishSnapshot();
+        dispatcher.onPoppedSingle(this,entry);
         if (!isEmpty()) {
-            wrappedCallback.onBackstackTopChanged(this,peekBackstackEntry());
+            dispatcher.onBackstackTopChanged(this,peekBackstackEntry());
         }
         return entry;
     }
@@ -136,24 +206,25 @@ public class Backstack<E extends BackstackEntry> implements Disposable {
             return Optional.empty();
         }
         final E top = peekBackstackEntry();
-        Iterator<E> it = backstack.iterator();
+        int index = 0;
         E entry = null;
-        while (it.hasNext()) {
-            E e = it.next();
+        for (E e : backstack) {
             if (check.test(e)) {
-                it.remove();
                 entry = e;
                 break;
             }
+            index++;
         }
         if (null==entry) {
             return Optional.empty();
         }
-        wrappedCallback.onPoppedSingle(this,entry);
+        removeAt(index);
+        publishSnapshot();
+        dispatcher.onPoppedSingle(this,entry);
         if (!isEmpty()) {
             final E newTop = peekBackstackEntry();
             if (top != newTop) {
-                wrappedCallback.onBackstackTopChanged(this, newTop);
+                dispatcher.onBackstackTopChanged(this, newTop);
             }
         }
         return Optional.of(entry);
@@ -191,32 +262,79 @@ public class Backstack<E extends BackstackEntry> implements Disposable {
             return Collections.emptyList();
         }
         final E top = peekBackstackEntry();
-        ArrayList<E> popentries = new ArrayList<>();
+        int index = 0;
         boolean found = false;
-        ListIterator<E> it = backstack.listIterator();
-        while (it.hasNext()) {
-            E e = it.next();
-            popentries.add(e);
-            it.remove();
+        for (E e : backstack) {
             if (check.test(e)) {
                 found = true;
-                if (!inclusive) {
-                    popentries.remove(popentries.size()-1);
-                    it.add(e);
-                }
                 break;
             }
+            index++;
         }
         if (!found) {
-            backstack.addAll(0,popentries);
-            popentries.clear();
             return Collections.emptyList();
         }
-        wrappedCallback.onPoppedMultiple(this,Collections.unmodifiableList(popentries));
+        int count = inclusive ? index+1 : index;
+        ArrayList<E> popentries = new ArrayList<>(count);
+        for (int i=0; i<count; i++) {
+            popentries.add(removeAt(0));
+        }
+        publishSnapshot();
+        dispatcher.onPoppedMultiple(this,Collections.unmodifiableList(popentries));
         if (!isEmpty()) {
             final E newTop = peekBackstackEntry();
             if (top != newTop) {
-                wrappedCallback.onBackstackTopChanged(this, newTop);
+                dispatcher.onBackstackTopChanged(this, newTop);
+            }
+        }
+        return popentries;
+    }
+
+    /**
+     * Pops {@code count} entries from the top and then pushes the {@code entries} as one change.
+     * Unlike separate pops and pushes, each of {@link BackstackCallback#onPoppedMultiple(Backstack, List)},
+     * {@link BackstackCallback#onPushedMultiple(Backstack, List)} and
+     * {@link BackstackCallback#onBackstackTopChanged(Backstack, BackstackEntry)} is called at most once.
+     *
+     * @param count number of entries to pop from the top
+     * @param entries non-null {@link List} of entries to push, the last entry becomes the top
+     * @return non-null {@link List} of popped entries, top first
+     * @throws IndexOutOfBoundsException if {@code count} is negative or more than the backstack size
+     * @throws NullPointerException if {@code entries} or any entry is null
+     * @since 2.1.0
+     */
+    public List<E> popAndPushEntries(int count, List<E> entries) {
+        if (count<0 || count>size()) {
+            throw new IndexOutOfBoundsException("popping "+count+" entries from a stack of size "+size());
+        }
+        if (null==entries) {
+            throw new NullPointerException("can not add null entry to backstack");
+        }
+        for (E entry : entries) {
+            if (null==entry) {
+                throw new NullPointerException("can not add null entry to backstack");
+            }
+        }
+        final E top = isEmpty() ? null : peekBackstackEntry();
+        List<E> popentries = new ArrayList<>(count);
+        for (int i=0; i<count; i++) {
+            popentries.add(removeAt(0));
+        }
+        List<E> pushentries = new ArrayList<>(entries);
+        for (E entry : pushentries) {
+            addTop(entry);
+        }
+        publishSnapshot();
+        if (!popentries.isEmpty()) {
+            dispatcher.onPoppedMultiple(this,Collections.unmodifiableList(popentries));
+        }
+        if (!pushentries.isEmpty()) {
+            dispatcher.onPushedMultiple(this,Collections.unmodifiableList(pushentries));
+        }
+        if (!isEmpty()) {
+            final E newTop = peekBackstackEntry();
+            if (top != newTop) {
+                dispatcher.onBackstackTopChanged(this, newTop);
             }
         }
         return popentries;
@@ -237,7 +355,8 @@ public class Backstack<E extends BackstackEntry> implements Disposable {
         if (index<0 || index>=size) {
             throw new IndexOutOfBoundsException("popping entry at "+indexFromTop+" from a stack of size "+size);
         }
-        E entry = backstack.remove(index);
+        E entry = removeAt(index);
+        publishSnapshot();
         if (isEmpty()) {
             backstack = null;
         }
@@ -250,9 +369,51 @@ public class Backstack<E extends BackstackEntry> implements Disposable {
      * @param entry the entry to remove
      */
     public void remove(E entry) {
-        if (backstack.remove(entry)) {
-            wrappedCallback.onPoppedSingle(this,entry);
+        int index = backstack.indexOf(entry);
+        if (index>=0) {
+            removeAt(index);
+            publishSnapshot();
+            dispatcher.onPoppedSingle(this,entry);
+        }
+    }
+
+    /**
+     * Removes the entries from anywhere in the backstack as one change. Unlike separate removals,
+     * {@link BackstackCallback#onPoppedMultiple(Backstack, List)} and
+     * {@link BackstackCallback#onBackstackTopChanged(Backstack, BackstackEntry)} are called at most once.
+     * Entries not in the backstack are ignored.
+     *
+     * @param entries non-null {@link Collection} of entries to remove
+     * @return non-null {@link List} of removed entries, top first
+     * @throws NullPointerException if {@code entries} is null
+     * @since 2.1.0
+     */
+    public List<E> removeAll(Collection<E> entries) {
+        if (null==entries) {
+            throw new NullPointerException("null entries provided");
+        }
+        if (entries.isEmpty() || isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<E> targets = Collections.newSetFromMap(new IdentityHashMap<>());
+        targets.addAll(entries);
+        final E top = peekBackstackEntry();
+        List<E> removed = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        int index = 0;
+        for (E entry : backstack) {
+            if (targets.contains(entry)) {
+                removed.add(entry);
+                indexes.add(index);
+            }
+            index++;
         }
+        for (int i=0; i<indexes.size(); i++) {
+            // the entries removed before are above this one
+            removeAt(indexes.get(i)-i);
+        }
+        publishRemoved(top,removed);
+        return removed;
     }
 
     /**
@@ -279,7 +440,43 @@ public class Backstack<E extends BackstackEntry> implements Disposable {
      * entries
      */
     public void clear() {
+        if (null!=listChanges) {
+            for (E entry : backstack) {
+                recordChange(0,entry);
+            }
+        }
         backstack.clear();
+        snapshotRoot = null;
+        publishSnapshot();
+    }
+
+    /**
+     * Returns the immutable snapshot of the entries, top first. A new snapshot is published after each
+     * change, so this method takes constant time and the snapshot can be read from any thread.
+     *
+     * @return non-null {@link BackstackSnapshot}
+     * @since 2.1.0
+     */
+    public BackstackSnapshot<E> snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns the read-only {@link ObservableList} view of the entries, top first. Each backstack operation
+     * fires one {@link javafx.collections.ListChangeListener.Change} with the exact ranges of the pushed and
+     * removed entries, bringing an existing entry to top fires a permutation. So a virtualized list like
+     * {@code ListView} bound to the view updates only the changed cells. The changes are fired on the dispatch
+     * thread, see {@link #setDispatcher(RouterDispatcher)}. Call this method on the thread changing the backstack.
+     *
+     * @return non-null read-only {@code ObservableList}
+     * @since 2.1.0
+     */
+    public ObservableList<E> asObservableList() {
+        if (null==observableList) {
+            observableList = new BackstackObservableList<>(snapshot,dispatcher::getDispatcher);
+            listChanges = new ArrayList<>();
+        }
+        return observableList;
     }
 
     /**
@@ -328,11 +525,10 @@ public class Backstack<E extends BackstackEntry> implements Disposable {
             // it's already disposed
             return;
         }
-        callbacks.clear();
+        dispatcher.clear();
         forEach(Disposable::dispose);
         clear();
         backstack = null;
-        callbacks = null;
     }
 
     @Override
@@ -340,104 +536,62 @@ public class Backstack<E extends BackstackEntry> implements Disposable {
         return null==backstack ? "[]" : backstack.toString();
     }
 
-    private class WrappedBackstackCallback implements  BackstackCallback<E> {
-
-        @Override
-        public void onBackstackTopChanged(Backstack<E> backstack, E entry) {
-            Platform.runLater(() -> {
-                for (BackstackCallback<E> callback : callbacks) {
-                    callback.onBackstackTopChanged(backstack,entry);
-                }
-            });
-
-        }
-
-        @Override
-        public void onPushedMultiple(Backstack<E> backstack, List<E> entries) {
-            Platform.runLater(() -> {
-                for (BackstackCallback<E> callback : callbacks) {
-                    callback.onPushedMultiple(backstack,entries);
-                }
-            });
+    /**
+     * Publishes the snapshot of the entries if changed, call after each change before calling the callbacks
+     */
+    void publishSnapshot() {
+        BackstackSnapshot<E> current = snapshot;
+        if (current.root!=snapshotRoot) {
+            snapshot = new BackstackSnapshot<>(snapshotRoot,current.getVersion()+1);
         }
-
-        @Override
-        public void onPoppedMultiple(Backstack<E> backstack, List<E> entries) {
-            Platform.runLater(() -> {
-                for (BackstackCallback<E> callback : callbacks) {
-                    callback.onPoppedMultiple(backstack,entries);
-                }
-            });
-        }
-
-        @Override
-        public void onPoppedSingle(Backstack<E> backstack, E entry) {
-            Platform.runLater(() -> {
-                for (BackstackCallback<E> callback : callbacks) {
-                    callback.onPoppedSingle(backstack,entry);
-                }
-            });
+        if (null!=listChanges && !listChanges.isEmpty()) {
+            observableList.publish(snapshot,new ArrayList<>(listChanges));
+            listChanges.clear();
         }
     }
 
-    private class WeakBackstackCallback implements BackstackCallback<E> {
-
-        final WeakReference<BackstackCallback<E>> wrapped;
-
-        WeakBackstackCallback(BackstackCallback<E> callback) {
-            wrapped = new WeakReference<>(callback);
-        }
-
-        public BackstackCallback<E> get() {
-            return wrapped.get();
-        }
-
-        @Override
-        public void onBackstackTopChanged(Backstack<E> backstack, E entry) {
-            BackstackCallback<E> callback = get();
-            if (null != callback) {
-                callback.onBackstackTopChanged(backstack,entry);
-            }
-        }
-
-        @Override
-        public void onPushedMultiple(Backstack<E> backstack, List<E> entries) {
-            BackstackCallback<E> callback = get();
-            if (null != callback) {
-                callback.onPushedMultiple(backstack,entries);
-            }
+    /**
+     * Publishes the snapshot and calls the callbacks for the entries removed as one change
+     *
+     * @param oldTop the top entry before the removal
+     * @param removed the removed entries, top first
+     */
+    void publishRemoved(E oldTop, List<E> removed) {
+        if (removed.isEmpty()) {
+            return;
         }
-
-        @Override
-        public void onPoppedMultiple(Backstack<E> backstack, List<E> entries) {
-            BackstackCallback<E> callback = get();
-            if (null != callback) {
-                callback.onPoppedMultiple(backstack,entries);
+        publishSnapshot();
+        dispatcher.onPoppedMultiple(this,Collections.unmodifiableList(removed));
+        if (!isEmpty()) {
+            final E newTop = peekBackstackEntry();
+            if (oldTop!=newTop) {
+                dispatcher.onBackstackTopChanged(this,newTop);
             }
         }
+    }
 
-        @Override
-        public void onPoppedSingle(Backstack<E> backstack, E entry) {
-            BackstackCallback<E> callback = get();
-            if (null != callback) {
-                callback.onPoppedSingle(backstack,entry);
-            }
+    /**
+     * Records a removal or a push for the observable list view
+     *
+     * @param index index from top of the removed entry, -1 for push
+     * @param entry the removed or pushed entry
+     */
+    void recordChange(int index, E entry) {
+        if (null!=listChanges) {
+            listChanges.add(new BackstackObservableList.Op<>(index,entry));
         }
+    }
 
-        @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
-        @Override
-        public boolean equals(Object obj) {
-            BackstackCallback<E> org = get();
-            return Objects.equals(org,obj);
-        }
+    private void addTop(E entry) {
+        recordChange(-1,entry);
+        backstack.add(0,entry);
+        snapshotRoot = BackstackSnapshot.push(snapshotRoot,entry,++snapshotKey);
+    }
 
-        @Override
-        public int hashCode() {
-            BackstackCallback<E> org = get();
-            if (null==org) {
-                return 0;
-            }
-            return org.hashCode();
-        }
+    private E removeAt(int index) {
+        E entry = backstack.remove(index);
+        recordChange(index,entry);
+        snapshotRoot = BackstackSnapshot.removeAt(snapshotRoot,index);
+        return entry;
     }
 }
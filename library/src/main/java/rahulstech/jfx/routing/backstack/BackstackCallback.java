@@ -12,6 +12,38 @@ import java.util.List;
  */
 public interface BackstackCallback<E extends BackstackEntry> {
 
+    /**
+     * The backstack events, one for each method of {@link BackstackCallback}. A callback can be
+     * registered for some of the events only using {@link Backstack#registerBackstackCallback(BackstackCallback, Event...)}.
+     *
+     * @since 2.1.0
+     */
+    enum Event {
+
+        /**
+         * @see #onBackstackTopChanged(Backstack, BackstackEntry)
+         */
+        TOP_CHANGED,
+
+        /**
+         * @see #onPushedMultiple(Backstack, List)
+         */
+        PUSHED_MULTIPLE,
+
+        /**
+         * @see #onPoppedMultiple(Backstack, List)
+         */
+        POPPED_MULTIPLE,
+
+        /**
+         * @see #onPoppedSingle(Backstack, BackstackEntry)
+         */
+        POPPED_SINGLE,
+        ;
+
+        final int mask = 1<<ordinal();
+    }
+
     /**
      * Called when the top entry of the {@link Backstack} changes.
      * This method will be invoked whenever a new {@link BackstackEntry} becomes
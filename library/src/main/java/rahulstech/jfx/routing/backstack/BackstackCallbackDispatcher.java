@@ -0,0 +1,247 @@
+package rahulstech.jfx.routing.backstack;
+
+import rahulstech.jfx.routing.RouterDispatcher;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code BackstackCallbackDispatcher} delivers the events of a {@link Backstack} to the registered
+ * {@link BackstackCallback}s. Events raised on the dispatch thread of the {@link RouterDispatcher}, the JavaFx
+ * application thread by default, are delivered immediately. Events raised on any other thread are queued and
+ * all the events queued until the dispatch thread runs are delivered in order by a single
+ * {@link RouterDispatcher#dispatch(Runnable) dispatch}. Nothing is queued for an event no callback is
+ * registered for.
+ *
+ * <p>Callbacks are held by {@link WeakReference}. Registrations of collected callbacks are removed on the
+ * next delivery or registration.</p>
+ *
+ * @param <E> type of backstack entry
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ */
+final class BackstackCallbackDispatcher<E extends BackstackEntry> implements BackstackCallback<E> {
+
+    static final int ALL_EVENTS = (1<<Event.values().length)-1;
+
+    @SuppressWarnings("unchecked")
+    private volatile Subscription<E>[] subscriptions = new Subscription[0];
+
+    // bitwise or of the masks of all subscriptions
+    private volatile int events = 0;
+
+    private final Object lock = new Object();
+
+    private List<PendingEvent<E>> pending = new ArrayList<>();
+
+    private boolean scheduled = false;
+
+    private final Runnable flushTask = this::flush;
+
+    private volatile RouterDispatcher dispatcher = RouterDispatcher.fx();
+
+    void setDispatcher(RouterDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    RouterDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * Registers the callback for the events, replacing the events of an existing registration
+     *
+     * @param callback the callback
+     * @param mask bitwise or of the {@link Event} masks
+     */
+    void subscribe(BackstackCallback<E> callback, int mask) {
+        synchronized (lock) {
+            List<Subscription<E>> list = alive();
+            boolean found = false;
+            for (int i=0; i<list.size(); i++) {
+                if (list.get(i).get()==callback) {
+                    list.set(i,new Subscription<>(callback,mask));
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                list.add(new Subscription<>(callback,mask));
+            }
+            update(list);
+        }
+    }
+
+    /**
+     * Unregisters the callback
+     *
+     * @param callback the callback
+     * @return {@code true} if the callback was registered, {@code false} otherwise
+     */
+    boolean unsubscribe(BackstackCallback<E> callback) {
+        synchronized (lock) {
+            List<Subscription<E>> list = alive();
+            boolean removed = list.removeIf(subscription -> subscription.get()==callback);
+            update(list);
+            return removed;
+        }
+    }
+
+    /**
+     * Unregisters all callbacks and discards the queued events
+     */
+    void clear() {
+        synchronized (lock) {
+            update(new ArrayList<>());
+            pending.clear();
+        }
+    }
+
+    /**
+     * Returns the number of registered callbacks which are not collected yet
+     *
+     * @return number of registered callbacks
+     */
+    int getSubscriptionCount() {
+        synchronized (lock) {
+            List<Subscription<E>> list = alive();
+            update(list);
+            return list.size();
+        }
+    }
+
+    @Override
+    public void onBackstackTopChanged(Backstack<E> backstack, E entry) {
+        dispatch(Event.TOP_CHANGED,backstack,entry,null);
+    }
+
+    @Override
+    public void onPushedMultiple(Backstack<E> backstack, List<E> entries) {
+        dispatch(Event.PUSHED_MULTIPLE,backstack,null,entries);
+    }
+
+    @Override
+    public void onPoppedMultiple(Backstack<E> backstack, List<E> entries) {
+        dispatch(Event.POPPED_MULTIPLE,backstack,null,entries);
+    }
+
+    @Override
+    public void onPoppedSingle(Backstack<E> backstack, E entry) {
+        dispatch(Event.POPPED_SINGLE,backstack,entry,null);
+    }
+
+    private void dispatch(Event event, Backstack<E> backstack, E entry, List<E> entries) {
+        if (0==(events&event.mask)) {
+            return;
+        }
+        RouterDispatcher dispatcher = this.dispatcher;
+        if (dispatcher.isDispatchThread()) {
+            // events queued by other threads happened before this one
+            flush();
+            deliver(event,backstack,entry,entries);
+            return;
+        }
+        synchronized (lock) {
+            pending.add(new PendingEvent<>(event,backstack,entry,entries));
+            if (!scheduled) {
+                scheduled = true;
+                dispatcher.dispatch(flushTask);
+            }
+        }
+    }
+
+    private void flush() {
+        List<PendingEvent<E>> batch;
+        synchronized (lock) {
+            scheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new ArrayList<>();
+        }
+        for (PendingEvent<E> e : batch) {
+            deliver(e.event,e.backstack,e.entry,e.entries);
+        }
+    }
+
+    private void deliver(Event event, Backstack<E> backstack, E entry, List<E> entries) {
+        boolean collected = false;
+        for (Subscription<E> subscription : subscriptions) {
+            BackstackCallback<E> callback = subscription.get();
+            if (null==callback) {
+                collected = true;
+                continue;
+            }
+            if (0==(subscription.mask&event.mask)) {
+                continue;
+            }
+            switch (event) {
+                case TOP_CHANGED: callback.onBackstackTopChanged(backstack,entry);
+                break;
+                case PUSHED_MULTIPLE: callback.onPushedMultiple(backstack,entries);
+                break;
+                case POPPED_MULTIPLE: callback.onPoppedMultiple(backstack,entries);
+                break;
+                case POPPED_SINGLE: callback.onPoppedSingle(backstack,entry);
+            }
+        }
+        if (collected) {
+            synchronized (lock) {
+                update(alive());
+            }
+        }
+    }
+
+    // must be called holding the lock
+    private List<Subscription<E>> alive() {
+        List<Subscription<E>> list = new ArrayList<>(subscriptions.length);
+        for (Subscription<E> subscription : subscriptions) {
+            if (null!=subscription.get()) {
+                list.add(subscription);
+            }
+        }
+        return list;
+    }
+
+    // must be called holding the lock
+    @SuppressWarnings("unchecked")
+    private void update(List<Subscription<E>> list) {
+        int mask = 0;
+        for (Subscription<E> subscription : list) {
+            mask |= subscription.mask;
+        }
+        subscriptions = list.toArray(new Subscription[0]);
+        events = mask;
+    }
+
+    private static class Subscription<E extends BackstackEntry> extends WeakReference<BackstackCallback<E>> {
+
+        final int mask;
+
+        Subscription(BackstackCallback<E> callback, int mask) {
+            super(callback);
+            this.mask = mask;
+        }
+    }
+
+    private static class PendingEvent<E extends BackstackEntry> {
+
+        final Event event;
+
+        final Backstack<E> backstack;
+
+        final E entry;
+
+        final List<E> entries;
+
+        PendingEvent(Event event, Backstack<E> backstack, E entry, List<E> entries) {
+            this.event = event;
+            this.backstack = backstack;
+            this.entry = entry;
+            this.entries = entries;
+        }
+    }
+}
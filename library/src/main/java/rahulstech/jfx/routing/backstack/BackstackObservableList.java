@@ -0,0 +1,259 @@
+package rahulstech.jfx.routing.backstack;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableListBase;
+import rahulstech.jfx.routing.RouterDispatcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The {@code BackstackObservableList} is the read-only {@link javafx.collections.ObservableList} view of a
+ * {@link Backstack}, top first. The entries pushed and removed by one backstack operation, for example
+ * {@link Backstack#popAndPushEntries(int, List)}, are reported as a single {@link ListChangeListener.Change}
+ * with exact ranges; {@link Backstack#bringToTop(BackstackEntry)} of an existing entry is reported as a
+ * permutation. Changes are fired on the dispatch thread of the backstack {@link RouterDispatcher}, the
+ * view is updated right before its change is fired.
+ *
+ * @param <E> type of backstack entry
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ * @see Backstack#asObservableList()
+ */
+final class BackstackObservableList<E> extends ObservableListBase<E> {
+
+    private static final int[] NO_PERMUTATION = new int[0];
+
+    private volatile BackstackSnapshot<E> current;
+
+    private final Supplier<RouterDispatcher> dispatcher;
+
+    private final Object lock = new Object();
+
+    private List<Runnable> pending = new ArrayList<>();
+
+    private boolean scheduled = false;
+
+    BackstackObservableList(BackstackSnapshot<E> snapshot, Supplier<RouterDispatcher> dispatcher) {
+        this.current = snapshot;
+        this.dispatcher = dispatcher;
+    }
+
+    @Override
+    public E get(int index) {
+        return current.get(index);
+    }
+
+    @Override
+    public int size() {
+        return current.size();
+    }
+
+    /**
+     * Updates the view to the snapshot and fires the change made by the operations
+     *
+     * @param snapshot the snapshot after the operations
+     * @param ops the removals and pushes of one backstack operation in order
+     */
+    void publish(BackstackSnapshot<E> snapshot, List<Op<E>> ops) {
+        Runnable update = () -> apply(snapshot,ops);
+        RouterDispatcher dispatcher = this.dispatcher.get();
+        if (dispatcher.isDispatchThread()) {
+            // changes queued by other threads happened before this one
+            flush();
+            update.run();
+            return;
+        }
+        synchronized (lock) {
+            pending.add(update);
+            if (!scheduled) {
+                scheduled = true;
+                dispatcher.dispatch(this::flush);
+            }
+        }
+    }
+
+    private void flush() {
+        List<Runnable> batch;
+        synchronized (lock) {
+            scheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new ArrayList<>();
+        }
+        batch.forEach(Runnable::run);
+    }
+
+    private void apply(BackstackSnapshot<E> snapshot, List<Op<E>> ops) {
+        current = snapshot;
+        if (!hasListeners()) {
+            return;
+        }
+        List<SubChange<E>> changes = toSubChanges(ops);
+        if (!changes.isEmpty()) {
+            fireChange(new BackstackChange<>(this,changes));
+        }
+    }
+
+    /**
+     * Converts the operations to the sub changes of the final list. The removals of an operation always
+     * come before its pushes, as each backstack operation first pops or removes then pushes.
+     */
+    static <E> List<SubChange<E>> toSubChanges(List<Op<E>> ops) {
+        if (ops.size()==2 && !ops.get(0).isPush() && ops.get(1).isPush() && ops.get(0).entry==ops.get(1).entry) {
+            // brought an existing entry to top
+            int index = ops.get(0).index;
+            if (index==0) {
+                return Collections.emptyList();
+            }
+            int[] permutation = new int[index+1];
+            for (int i=0; i<index; i++) {
+                permutation[i] = i+1;
+            }
+            permutation[index] = 0;
+            return Collections.singletonList(new SubChange<>(0,index+1,Collections.emptyList(),permutation));
+        }
+        // original indexes of the removed entries in ascending order, with the entries
+        List<Integer> removedIndexes = new ArrayList<>();
+        List<E> removedEntries = new ArrayList<>();
+        int pushed = 0;
+        for (Op<E> op : ops) {
+            if (op.isPush()) {
+                pushed++;
+                continue;
+            }
+            if (pushed>0) {
+                throw new IllegalStateException("removal after push in one backstack operation");
+            }
+            int original = op.index;
+            int at = 0;
+            while (at<removedIndexes.size() && removedIndexes.get(at)<=original) {
+                original++;
+                at++;
+            }
+            removedIndexes.add(at,original);
+            removedEntries.add(at,op.entry);
+        }
+        List<SubChange<E>> changes = new ArrayList<>();
+        int i = 0;
+        int removedBefore = 0;
+        if (pushed>0) {
+            // pushed entries replace the removed run starting at the old top
+            List<E> removed = new ArrayList<>();
+            while (i<removedIndexes.size() && removedIndexes.get(i)==i) {
+                removed.add(removedEntries.get(i));
+                i++;
+            }
+            removedBefore = i;
+            changes.add(new SubChange<>(0,pushed,removed,NO_PERMUTATION));
+        }
+        while (i<removedIndexes.size()) {
+            int start = removedIndexes.get(i);
+            List<E> removed = new ArrayList<>();
+            while (i<removedIndexes.size() && removedIndexes.get(i)==start+removed.size()) {
+                removed.add(removedEntries.get(i));
+                i++;
+            }
+            int from = start-removedBefore+pushed;
+            changes.add(new SubChange<>(from,from,removed,NO_PERMUTATION));
+            removedBefore += removed.size();
+        }
+        return changes;
+    }
+
+    /**
+     * A removal at an index or a push to the top of the backstack
+     */
+    static final class Op<E> {
+
+        // index from top of the removed entry, -1 for push
+        final int index;
+
+        final E entry;
+
+        Op(int index, E entry) {
+            this.index = index;
+            this.entry = entry;
+        }
+
+        boolean isPush() {
+            return index<0;
+        }
+    }
+
+    static final class SubChange<E> {
+
+        final int from;
+
+        final int to;
+
+        final List<E> removed;
+
+        final int[] permutation;
+
+        SubChange(int from, int to, List<E> removed, int[] permutation) {
+            this.from = from;
+            this.to = to;
+            this.removed = Collections.unmodifiableList(removed);
+            this.permutation = permutation;
+        }
+    }
+
+    private static class BackstackChange<E> extends ListChangeListener.Change<E> {
+
+        private final List<SubChange<E>> changes;
+
+        private int cursor = -1;
+
+        BackstackChange(BackstackObservableList<E> list, List<SubChange<E>> changes) {
+            super(list);
+            this.changes = changes;
+        }
+
+        @Override
+        public boolean next() {
+            if (cursor+1<changes.size()) {
+                cursor++;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void reset() {
+            cursor = -1;
+        }
+
+        @Override
+        public int getFrom() {
+            return current().from;
+        }
+
+        @Override
+        public int getTo() {
+            return current().to;
+        }
+
+        @Override
+        public List<E> getRemoved() {
+            return current().removed;
+        }
+
+        @Override
+        protected int[] getPermutation() {
+            return current().permutation;
+        }
+
+        private SubChange<E> current() {
+            if (cursor<0) {
+                throw new IllegalStateException("call next() before reading the change");
+            }
+            return changes.get(cursor);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package rahulstech.jfx.routing.backstack;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The {@code BackstackSnapshot} is an immutable {@link java.util.List} of the entries of a {@link Backstack}
+ * at some moment, top first like the backstack. A backstack publishes a new snapshot after each change,
+ * so {@link Backstack#snapshot()} takes constant time and the snapshot can be read from any thread without
+ * copying or locking, for example to show a breadcrumb or a history menu.
+ *
+ * <p>Snapshots are persistent: a new snapshot shares all the unchanged structure of the previous one, so
+ * a push, a pop or a removal from the middle of the backstack creates only a logarithmic number of new
+ * nodes. {@link #get(int)} takes logarithmic time and iteration takes linear time.</p>
+ *
+ * @param <E> type of backstack entry
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ * @see Backstack#snapshot()
+ */
+public final class BackstackSnapshot<E> extends AbstractList<E> {
+
+    @SuppressWarnings("rawtypes")
+    private static final BackstackSnapshot EMPTY = new BackstackSnapshot<>(null,0);
+
+    final Node<E> root;
+
+    private final long version;
+
+    BackstackSnapshot(Node<E> root, long version) {
+        this.root = root;
+        this.version = version;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E> BackstackSnapshot<E> empty() {
+        return (BackstackSnapshot<E>) EMPTY;
+    }
+
+    /**
+     * Returns the entry at the index, the top entry at {@code 0}
+     *
+     * @param index index of the entry from the top
+     * @return the entry
+     * @throws IndexOutOfBoundsException if invalid index provided
+     */
+    @Override
+    public E get(int index) {
+        int size = size();
+        if (index<0 || index>=size) {
+            throw new IndexOutOfBoundsException("index "+index+" of a snapshot of size "+size);
+        }
+        int rank = size-1-index;
+        Node<E> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (rank<leftSize) {
+                node = node.left;
+            }
+            else if (rank==leftSize) {
+                return node.entry;
+            }
+            else {
+                rank -= leftSize+1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of entries
+     *
+     * @return the number of entries
+     */
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Returns an iterator over the entries, top first
+     *
+     * @return non-null {@link Iterator}
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new SnapshotIterator<>(root);
+    }
+
+    /**
+     * Returns the version of this snapshot. Each new snapshot of a backstack has a greater version.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /////////////////////////////////////////////////////////////
+    //                  Persistent Operations                 //
+    ///////////////////////////////////////////////////////////
+
+    // the nodes form a treap ordered by key, the key of the top entry is the greatest
+
+    static <E> Node<E> push(Node<E> root, E entry, long key) {
+        return merge(root,new Node<>(entry,key,priority(key),null,null));
+    }
+
+    static <E> Node<E> removeKey(Node<E> node, long key) {
+        if (null==node) {
+            return null;
+        }
+        if (key<node.key) {
+            return node.withChildren(removeKey(node.left,key),node.right);
+        }
+        if (key>node.key) {
+            return node.withChildren(node.left,removeKey(node.right,key));
+        }
+        return merge(node.left,node.right);
+    }
+
+    static <E> Node<E> removeAt(Node<E> root, int indexFromTop) {
+        int size = size(root);
+        if (indexFromTop<0 || indexFromTop>=size) {
+            return root;
+        }
+        return removeRank(root,size-1-indexFromTop);
+    }
+
+    static <E> Node<E> dropTop(Node<E> root, int count) {
+        int size = size(root);
+        if (count<=0) {
+            return root;
+        }
+        if (count>=size) {
+            return null;
+        }
+        return keepBottom(root,size-count);
+    }
+
+    static int indexOfKey(Node<?> root, long key) {
+        int rank = 0;
+        for (Node<?> node = root; null!=node;) {
+            if (key<node.key) {
+                node = node.left;
+            }
+            else if (key>node.key) {
+                rank += size(node.left)+1;
+                node = node.right;
+            }
+            else {
+                return size(root)-1-(rank+size(node.left));
+            }
+        }
+        return -1;
+    }
+
+    static int size(Node<?> node) {
+        return null==node ? 0 : node.size;
+    }
+
+    private static <E> Node<E> removeRank(Node<E> node, int rank) {
+        int leftSize = size(node.left);
+        if (rank<leftSize) {
+            return node.withChildren(removeRank(node.left,rank),node.right);
+        }
+        if (rank>leftSize) {
+            return node.withChildren(node.left,removeRank(node.right,rank-leftSize-1));
+        }
+        return merge(node.left,node.right);
+    }
+
+    private static <E> Node<E> keepBottom(Node<E> node, int count) {
+        if (null==node || count<=0) {
+            return null;
+        }
+        int leftSize = size(node.left);
+        if (count<=leftSize) {
+            return keepBottom(node.left,count);
+        }
+        return node.withChildren(node.left,keepBottom(node.right,count-leftSize-1));
+    }
+
+    // every key of a is less than every key of b
+    private static <E> Node<E> merge(Node<E> a, Node<E> b) {
+        if (null==a) {
+            return b;
+        }
+        if (null==b) {
+            return a;
+        }
+        if (a.priority>=b.priority) {
+            return a.withChildren(a.left,merge(a.right,b));
+        }
+        return b.withChildren(merge(a,b.left),b.right);
+    }
+
+    private static int priority(long key) {
+        // keys are sequential, mix them to get balanced random like priorities
+        key ^= key>>>33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key>>>33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key>>>33;
+        return (int) key;
+    }
+
+    static final class Node<E> {
+
+        final E entry;
+
+        final long key;
+
+        final int priority;
+
+        final Node<E> left;
+
+        final Node<E> right;
+
+        final int size;
+
+        Node(E entry, long key, int priority, Node<E> left, Node<E> right) {
+            this.entry = entry;
+            this.key = key;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = 1+size(left)+size(right);
+        }
+
+        Node<E> withChildren(Node<E> left, Node<E> right) {
+            if (left==this.left && right==this.right) {
+                return this;
+            }
+            return new Node<>(entry,key,priority,left,right);
+        }
+    }
+
+    private static class SnapshotIterator<E> implements Iterator<E> {
+
+        private final ArrayDeque<Node<E>> stack = new ArrayDeque<>();
+
+        SnapshotIterator(Node<E> root) {
+            pushRightSpine(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public E next() {
+            Node<E> node = stack.pollFirst();
+            if (null==node) {
+                throw new NoSuchElementException();
+            }
+            pushRightSpine(node.left);
+            return node.entry;
+        }
+
+        private void pushRightSpine(Node<E> node) {
+            for (; null!=node; node = node.right) {
+                stack.addFirst(node);
+            }
+        }
+    }
+}
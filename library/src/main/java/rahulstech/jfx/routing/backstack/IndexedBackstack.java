@@ -0,0 +1,582 @@
+package rahulstech.jfx.routing.backstack;
+
+import rahulstech.jfx.routing.util.Disposable;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * IndexedBackstack is a {@link Backstack} which indexes its entries by identity and by an id,
+ * for example the destination id of a router backstack entry or the tag of a transaction target.
+ * Entries are kept in a doubly linked list and entries with the same id are linked among themselves
+ * top first. So finding by id or by identity, bringing an entry to the top and removing an entry take
+ * constant time, and popping up to an id takes time proportional to the number of popped entries.
+ * Predicate based methods still test the entries one by one, from the top.
+ *
+ * <p>The id of an entry must not change while the entry is in the backstack. The same entry can
+ * be added at most once. The callbacks are called the same way as {@link Backstack}.</p>
+ *
+ * <p>Bringing an entry to the top reuses its node, so it allocates nothing but the new snapshot.</p>
+ *
+ * @param <E> type of backstack entry
+ * @see #findById(String)
+ * @see #popUpToId(String, boolean)
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ */
+public class IndexedBackstack<E extends BackstackEntry> extends Backstack<E> {
+
+    private final Function<E,String> idFunction;
+
+    private Map<E,Node<E>> nodes = new IdentityHashMap<>();
+
+    // the top-most node of each id
+    private Map<String,Node<E>> ids = new HashMap<>();
+
+    private Node<E> top;
+
+    private boolean disposed = false;
+
+    /**
+     * Creates new {@code IndexedBackstack} instance
+     *
+     * @param idFunction non-null {@link Function} returning the id of an entry
+     * @throws NullPointerException if idFunction is null
+     */
+    public IndexedBackstack(Function<E,String> idFunction) {
+        if (null==idFunction) {
+            throw new NullPointerException("id function is null");
+        }
+        this.idFunction = idFunction;
+        // entries are stored in the linked nodes
+        backstack = null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void pushBackstackEntry(E entry) {
+        checkNewEntry(entry);
+        linkTop(entry);
+        publishSnapshot();
+        dispatcher.onBackstackTopChanged(this,entry);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void bringToTop(E entry) {
+        if (null==entry) {
+            throw new NullPointerException("can not add null entry to backstack");
+        }
+        Node<E> node = nodes.get(entry);
+        if (null!=node && node==top) {
+            return;
+        }
+        if (null!=node) {
+            moveToTop(node);
+        }
+        else {
+            linkTop(entry);
+        }
+        publishSnapshot();
+        dispatcher.onBackstackTopChanged(this,entry);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E peekBackstackEntry() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("can not peek from empty backstack");
+        }
+        return top.entry;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E popBackstackEntry() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("can not pop from empty backstack");
+        }
+        E entry = top.entry;
+        unlink(top);
+        publishSnapshot();
+        dispatcher.onPoppedSingle(this,entry);
+        if (!isEmpty()) {
+            dispatcher.onBackstackTopChanged(this,top.entry);
+        }
+        return entry;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Optional<E> popBackstackEntryIf(Predicate<E> check) {
+        if (null==check) {
+            throw new NullPointerException("null Predicate provided");
+        }
+        for (Node<E> node = top; null!=node; node = node.below) {
+            if (check.test(node.entry)) {
+                return Optional.of(popNode(node));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Deprecated
+    public E peekBackstackEntry(int indexFromTop) {
+        return nodeAt(indexFromTop).entry;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<E> popBackstackEntriesUpTo(Predicate<E> check, boolean inclusive) {
+        for (Node<E> node = top; null!=node; node = node.below) {
+            if (check.test(node.entry)) {
+                return popUpTo(node,inclusive);
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<E> popAndPushEntries(int count, List<E> entries) {
+        if (count<0 || count>size()) {
+            throw new IndexOutOfBoundsException("popping "+count+" entries from a stack of size "+size());
+        }
+        if (null==entries) {
+            throw new NullPointerException("can not add null entry to backstack");
+        }
+        // validate before changing anything, a popped entry may be pushed again
+        Set<E> popped = Collections.newSetFromMap(new IdentityHashMap<>());
+        Node<E> node = top;
+        for (int i=0; i<count; i++, node = node.below) {
+            popped.add(node.entry);
+        }
+        Set<E> pushed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (E entry : entries) {
+            if (null==entry) {
+                throw new NullPointerException("can not add null entry to backstack");
+            }
+            if (!pushed.add(entry) || (nodes.containsKey(entry) && !popped.contains(entry))) {
+                throw new IllegalStateException("entry is already in backstack");
+            }
+        }
+        final E oldTop = isEmpty() ? null : top.entry;
+        List<E> popentries = new ArrayList<>(count);
+        for (int i=0; i<count; i++) {
+            popentries.add(top.entry);
+            unlink(top);
+        }
+        List<E> pushentries = new ArrayList<>(entries);
+        for (E entry : pushentries) {
+            linkTop(entry);
+        }
+        publishSnapshot();
+        if (!popentries.isEmpty()) {
+            dispatcher.onPoppedMultiple(this,Collections.unmodifiableList(popentries));
+        }
+        if (!pushentries.isEmpty()) {
+            dispatcher.onPushedMultiple(this,Collections.unmodifiableList(pushentries));
+        }
+        if (!isEmpty() && oldTop!=top.entry) {
+            dispatcher.onBackstackTopChanged(this,top.entry);
+        }
+        return popentries;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Deprecated
+    public E popBackstackEntry(int indexFromTop) {
+        Node<E> node = nodeAt(indexFromTop);
+        unlink(node);
+        publishSnapshot();
+        return node.entry;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void remove(E entry) {
+        Node<E> node = null==entry ? null : nodes.get(entry);
+        if (null!=node) {
+            unlink(node);
+            publishSnapshot();
+            dispatcher.onPoppedSingle(this,entry);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<E> removeAll(Collection<E> entries) {
+        if (null==entries) {
+            throw new NullPointerException("null entries provided");
+        }
+        if (entries.isEmpty() || isEmpty()) {
+            return Collections.emptyList();
+        }
+        final E oldTop = top.entry;
+        Set<Node<E>> found = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (E entry : entries) {
+            Node<E> node = null==entry ? null : nodes.get(entry);
+            if (null!=node) {
+                found.add(node);
+            }
+        }
+        List<Node<E>> targets = new ArrayList<>(found);
+        // removed entries are reported top first
+        targets.sort(Comparator.comparingLong((Node<E> node)->node.key).reversed());
+        List<E> removed = new ArrayList<>(targets.size());
+        for (Node<E> node : targets) {
+            removed.add(node.entry);
+            unlink(node);
+        }
+        publishRemoved(oldTop,removed);
+        return removed;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return null==nodes ? 0 : nodes.size();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        if (null==nodes) {
+            return;
+        }
+        if (null!=listChanges) {
+            for (Node<E> node = top; null!=node; node = node.below) {
+                recordChange(0,node.entry);
+            }
+        }
+        nodes.clear();
+        ids.clear();
+        top = null;
+        snapshotRoot = null;
+        publishSnapshot();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void forEach(Consumer<E> consumer) {
+        if (null==consumer) {
+            throw new NullPointerException("null Consumer provided");
+        }
+        for (Node<E> node = top; null!=node; node = node.below) {
+            consumer.accept(node.entry);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Optional<E> findFirst(Predicate<E> predicate) {
+        if (null==predicate) {
+            throw new NullPointerException("null  Predicate provided");
+        }
+        for (Node<E> node = top; null!=node; node = node.below) {
+            if (predicate.test(node.entry)) {
+                return Optional.of(node.entry);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /////////////////////////////////////////////////////////////
+    //                    Id Keyed Methods                    //
+    ///////////////////////////////////////////////////////////
+
+    /**
+     * Checks if the entry is in this backstack, by identity
+     *
+     * @param entry the entry to check
+     * @return {@code true} if the entry is in backstack, {@code false} otherwise
+     */
+    public boolean contains(E entry) {
+        return null!=entry && null!=nodes && nodes.containsKey(entry);
+    }
+
+    /**
+     * Checks if any entry with the id is in this backstack
+     *
+     * @param id the entry id
+     * @return {@code true} if an entry with the id is in backstack, {@code false} otherwise
+     */
+    public boolean containsId(String id) {
+        return null!=ids && ids.containsKey(id);
+    }
+
+    /**
+     * Finds the top-most entry with the id
+     *
+     * @param id the entry id
+     * @return an {@link Optional} containing the entry or an empty {@link Optional} if not found
+     */
+    public Optional<E> findById(String id) {
+        return Optional.ofNullable(getById(id));
+    }
+
+    /**
+     * Returns the top-most entry with the id like {@link #findById(String)}, without wrapping it
+     *
+     * @param id the entry id
+     * @return the entry or {@code null} if not found
+     */
+    public E getById(String id) {
+        Node<E> node = null==ids ? null : ids.get(id);
+        return null==node ? null : node.entry;
+    }
+
+    /**
+     * Finds the entry with the id at the index among the entries with the id, {@code 0} being the
+     * top-most one. It takes time proportional to the index.
+     *
+     * @param id the entry id
+     * @param index index of the entry among the entries with the id, from top
+     * @return an {@link Optional} containing the entry or an empty {@link Optional} if not found
+     */
+    public Optional<E> findById(String id, int index) {
+        return Optional.ofNullable(getById(id,index));
+    }
+
+    /**
+     * Returns the entry with the id at the index like {@link #findById(String, int)}, without wrapping it
+     *
+     * @param id the entry id
+     * @param index index of the entry among the entries with the id, from top
+     * @return the entry or {@code null} if not found
+     */
+    public E getById(String id, int index) {
+        Node<E> node = null==ids || index<0 ? null : ids.get(id);
+        for (int i=0; i<index && null!=node; i++) {
+            node = node.nextSameId;
+        }
+        return null==node ? null : node.entry;
+    }
+
+    /**
+     * Returns the number of entries with the id
+     *
+     * @param id the entry id
+     * @return the number of entries with the id
+     */
+    public int countById(String id) {
+        int count = 0;
+        for (Node<E> node = null==ids ? null : ids.get(id); null!=node; node = node.nextSameId) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Pops the top-most entry with the id, like {@link #popBackstackEntryIf(Predicate)}
+     *
+     * @param id the entry id
+     * @return an {@link Optional} containing the popped entry or an empty {@link Optional} if not found
+     */
+    public Optional<E> popById(String id) {
+        Node<E> node = null==ids ? null : ids.get(id);
+        return null==node ? Optional.empty() : Optional.of(popNode(node));
+    }
+
+    /**
+     * Pops the entries from the top up to the top-most entry with the id, like
+     * {@link #popBackstackEntriesUpTo(Predicate, boolean)}. Nothing is popped if no entry has the id.
+     *
+     * @param id the target entry id
+     * @param inclusive if {@literal true} then target entry is popped, if {@literal false} target entry is not popped
+     * @return non-null {@link List} of popped entries, top first
+     */
+    public List<E> popUpToId(String id, boolean inclusive) {
+        Node<E> node = null==ids ? null : ids.get(id);
+        return null==node ? Collections.emptyList() : popUpTo(node,inclusive);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void dispose() {
+        if (disposed) {
+            // it's already disposed
+            return;
+        }
+        dispatcher.clear();
+        forEach(Disposable::dispose);
+        clear();
+        nodes = null;
+        ids = null;
+        disposed = true;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ","[","]");
+        forEach(entry->joiner.add(String.valueOf(entry)));
+        return joiner.toString();
+    }
+
+    /////////////////////////////////////////////////////////////
+    //                    Private Methods                     //
+    ///////////////////////////////////////////////////////////
+
+    private void checkNewEntry(E entry) {
+        if (null==entry) {
+            throw new NullPointerException("can not add null entry to backstack");
+        }
+        if (nodes.containsKey(entry)) {
+            throw new IllegalStateException("entry is already in backstack");
+        }
+    }
+
+    private E popNode(Node<E> node) {
+        final E oldTop = top.entry;
+        unlink(node);
+        publishSnapshot();
+        dispatcher.onPoppedSingle(this,node.entry);
+        if (!isEmpty() && oldTop!=top.entry) {
+            dispatcher.onBackstackTopChanged(this,top.entry);
+        }
+        return node.entry;
+    }
+
+    private List<E> popUpTo(Node<E> target, boolean inclusive) {
+        final E oldTop = top.entry;
+        Node<E> end = inclusive ? target.below : target;
+        List<E> popentries = new ArrayList<>();
+        while (top!=end) {
+            popentries.add(top.entry);
+            unlink(top);
+        }
+        if (popentries.isEmpty()) {
+            return popentries;
+        }
+        publishSnapshot();
+        dispatcher.onPoppedMultiple(this,Collections.unmodifiableList(popentries));
+        if (!isEmpty() && oldTop!=top.entry) {
+            dispatcher.onBackstackTopChanged(this,top.entry);
+        }
+        return popentries;
+    }
+
+    private Node<E> nodeAt(int indexFromTop) {
+        int size = size();
+        // deprecated index based methods count from the bottom
+        int index = size-1-indexFromTop;
+        if (index<0 || index>=size) {
+            throw new IndexOutOfBoundsException("popping entry at "+indexFromTop+" from a stack of size "+size);
+        }
+        Node<E> node = top;
+        for (int i=0; i<index; i++) {
+            node = node.below;
+        }
+        return node;
+    }
+
+    private void linkTop(E entry) {
+        Node<E> node = new Node<>(entry,idFunction.apply(entry),++snapshotKey);
+        recordChange(-1,entry);
+        snapshotRoot = BackstackSnapshot.push(snapshotRoot,entry,node.key);
+        node.below = top;
+        if (null!=top) {
+            top.above = node;
+        }
+        top = node;
+        // the new node is the top-most of its id
+        Node<E> sameId = ids.put(node.id,node);
+        node.nextSameId = sameId;
+        if (null!=sameId) {
+            sameId.prevSameId = node;
+        }
+        nodes.put(entry,node);
+    }
+
+    private void unlink(Node<E> node) {
+        if (null!=listChanges) {
+            recordChange(BackstackSnapshot.indexOfKey(snapshotRoot,node.key),node.entry);
+        }
+        if (null!=node.above) {
+            node.above.below = node.below;
+        }
+        else {
+            top = node.below;
+        }
+        if (null!=node.below) {
+            node.below.above = node.above;
+        }
+        if (null!=node.prevSameId) {
+            node.prevSameId.nextSameId = node.nextSameId;
+        }
+        else if (null!=node.nextSameId) {
+            ids.put(node.id,node.nextSameId);
+        }
+        else {
+            ids.remove(node.id);
+        }
+        if (null!=node.nextSameId) {
+            node.nextSameId.prevSameId = node.prevSameId;
+        }
+        node.above = node.below = node.prevSameId = node.nextSameId = null;
+        nodes.remove(node.entry);
+        snapshotRoot = BackstackSnapshot.removeKey(snapshotRoot,node.key);
+    }
+
+    // same as unlink and linkTop, without allocating a node
+    private void moveToTop(Node<E> node) {
+        if (null!=listChanges) {
+            recordChange(BackstackSnapshot.indexOfKey(snapshotRoot,node.key),node.entry);
+            recordChange(-1,node.entry);
+        }
+        // the node is not the top, so it has a node above
+        node.above.below = node.below;
+        if (null!=node.below) {
+            node.below.above = node.above;
+        }
+        node.above = null;
+        node.below = top;
+        top.above = node;
+        top = node;
+        if (null!=node.prevSameId) {
+            // the node becomes the top-most of its id, replacing the value of the id allocates nothing
+            node.prevSameId.nextSameId = node.nextSameId;
+            if (null!=node.nextSameId) {
+                node.nextSameId.prevSameId = node.prevSameId;
+            }
+            Node<E> sameId = ids.put(node.id,node);
+            node.prevSameId = null;
+            node.nextSameId = sameId;
+            sameId.prevSameId = node;
+        }
+        long key = ++snapshotKey;
+        snapshotRoot = BackstackSnapshot.push(BackstackSnapshot.removeKey(snapshotRoot,node.key),node.entry,key);
+        node.key = key;
+    }
+
+    private static class Node<E> {
+
+        final E entry;
+
+        final String id;
+
+        // key of the entry in the snapshot, a greater key is nearer to the top
+        long key;
+
+        Node<E> above;
+
+        Node<E> below;
+
+        // entries with the same id, top first
+        Node<E> prevSameId;
+
+        Node<E> nextSameId;
+
+        Node(E entry, String id, long key) {
+            this.entry = entry;
+            this.id = id;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package rahulstech.jfx.routing.cache;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * The {@code EvictionPolicy} decides which entry of a full {@link ViewCache} is removed to make room
+ * for a new entry. Three policies are provided: {@link #LRU}, {@link #LFU} and {@link #COST_AWARE}.
+ * Implement this interface to provide a custom policy.
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ */
+public interface EvictionPolicy {
+
+    /**
+     * Evicts the least recently cached entry
+     */
+    EvictionPolicy LRU = of(Comparator.comparingLong(ViewCache.Entry::getLastAccess));
+
+    /**
+     * Evicts the entry whose key is least frequently revived. Ties are broken by recency.
+     */
+    EvictionPolicy LFU = of(Comparator.<ViewCache.Entry<?>>comparingInt(ViewCache.Entry::getFrequency)
+            .thenComparingLong(ViewCache.Entry::getLastAccess));
+
+    /**
+     * Evicts the entry which is cheapest to rebuild compared to the memory it holds. Cost of an entry
+     * is its measured load time per node, so a large view that loads fast is evicted before a small
+     * view that loads slow. Ties are broken by recency.
+     */
+    EvictionPolicy COST_AWARE = of(Comparator.<ViewCache.Entry<?>>comparingDouble(
+            entry -> (double) entry.getLoadTime()/Math.max(1,entry.getNodeCount()))
+            .thenComparingLong(ViewCache.Entry::getLastAccess));
+
+    /**
+     * Selects the entry to evict
+     *
+     * @param entries non-empty collection of cached entries
+     * @param <V> type of the cached value
+     * @return the entry to evict, must be one of the {@code entries}
+     */
+    <V> ViewCache.Entry<V> selectVictim(Collection<ViewCache.Entry<V>> entries);
+
+    /**
+     * Creates an {@code EvictionPolicy} which evicts the minimum entry according to the comparator
+     *
+     * @param comparator the {@link Comparator} to order entries
+     * @return new {@code EvictionPolicy} instance
+     */
+    static EvictionPolicy of(Comparator<ViewCache.Entry<?>> comparator) {
+        return new EvictionPolicy() {
+            @Override
+            public <V> ViewCache.Entry<V> selectVictim(Collection<ViewCache.Entry<V>> entries) {
+                ViewCache.Entry<V> victim = null;
+                for (ViewCache.Entry<V> entry : entries) {
+                    if (null==victim || comparator.compare(entry,victim)<0) {
+                        victim = entry;
+                    }
+                }
+                return victim;
+            }
+        };
+    }
+
+    /**
+     * Returns {@code EvictionPolicy} for the name. Names are case-insensitive, and
+     * one of {@code lru}, {@code lfu} and {@code cost_aware}.
+     *
+     * @param name the policy name
+     * @return the {@code EvictionPolicy}
+     * @throws IllegalArgumentException if name is unknown
+     */
+    static EvictionPolicy forName(String name) {
+        switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "lru": return LRU;
+            case "lfu": return LFU;
+            case "cost_aware": return COST_AWARE;
+            default: throw new IllegalArgumentException("unknown eviction policy '"+name+"'");
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package rahulstech.jfx.routing.cache;
+
+import rahulstech.jfx.routing.util.Disposable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The {@code ViewCache} holds views of destinations which are popped from backstack, so that a later navigation
+ * to the same destination can revive the view instead of building it again. Views are keyed by destination id
+ * and at most one view is kept per id. The number of cached views is bounded by {@link #getLimit() limit}. When
+ * the cache is full, the {@link EvictionPolicy} selects the view to remove.
+ *
+ * <p>{@code ViewCache} is not thread safe, it must be used from the JavaFx application thread.</p>
+ *
+ * @param <V> type of the cached view
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ */
+public class ViewCache<V> implements Disposable {
+
+    /**
+     * The default maximum number of cached views
+     */
+    public static final int DEFAULT_LIMIT = 3;
+
+    private Map<String,Entry<V>> entries = new HashMap<>();
+
+    private Map<String,Integer> frequencies = new HashMap<>();
+
+    private EvictionPolicy policy;
+
+    private int limit;
+
+    private long clock = 0;
+
+    private long hitCount = 0;
+
+    private long missCount = 0;
+
+    private Consumer<V> onEvicted;
+
+    private boolean disposed = false;
+
+    /**
+     * Creates new {@code ViewCache} with {@link #DEFAULT_LIMIT default limit} and {@link EvictionPolicy#LRU LRU} policy
+     */
+    public ViewCache() {
+        this(DEFAULT_LIMIT,EvictionPolicy.LRU);
+    }
+
+    /**
+     * Creates new {@code ViewCache} with limit and {@link EvictionPolicy}
+     *
+     * @param limit maximum number of cached views, {@code 0} disables caching
+     * @param policy non-null {@code EvictionPolicy}
+     * @throws IllegalArgumentException if limit is negative
+     * @throws NullPointerException if policy is null
+     */
+    public ViewCache(int limit, EvictionPolicy policy) {
+        setLimit(limit);
+        setEvictionPolicy(policy);
+    }
+
+    /**
+     * Sets the maximum number of cached views. If more views are cached then extra views are evicted.
+     *
+     * @param limit maximum number of cached views, {@code 0} disables caching
+     * @throws IllegalArgumentException if limit is negative
+     */
+    public void setLimit(int limit) {
+        if (limit<0) {
+            throw new IllegalArgumentException("limit can not be negative");
+        }
+        this.limit = limit;
+        if (!disposed) {
+            trim(limit);
+        }
+    }
+
+    /**
+     * Returns the maximum number of cached views
+     *
+     * @return the limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Sets the {@link EvictionPolicy}
+     *
+     * @param policy non-null {@code EvictionPolicy}
+     * @throws NullPointerException if policy is null
+     */
+    public void setEvictionPolicy(EvictionPolicy policy) {
+        if (null==policy) {
+            throw new NullPointerException("eviction policy is null");
+        }
+        this.policy = policy;
+    }
+
+    /**
+     * Returns the {@link EvictionPolicy}
+     *
+     * @return non-null {@code EvictionPolicy}
+     */
+    public EvictionPolicy getEvictionPolicy() {
+        return policy;
+    }
+
+    /**
+     * Sets a {@link Consumer} to call with every evicted view
+     *
+     * @param onEvicted nullable {@code Consumer}
+     */
+    public void setOnEvicted(Consumer<V> onEvicted) {
+        this.onEvicted = onEvicted;
+    }
+
+    /**
+     * Caches the view for key. If a view is already cached for the key, the old view is evicted.
+     * If the cache is full then a view is evicted as selected by the {@link EvictionPolicy}.
+     *
+     * @param key the destination id
+     * @param view non-null view to cache
+     * @param loadTime time in nanoseconds taken to build the view
+     * @param nodeCount number of nodes in the view
+     * @return {@code true} if cached, {@code false} if caching is disabled
+     */
+    public boolean put(String key, V view, long loadTime, int nodeCount) {
+        if (disposed || 0==limit) {
+            return false;
+        }
+        if (null==view) {
+            throw new NullPointerException("view is null");
+        }
+        Entry<V> old = entries.remove(key);
+        if (null!=old) {
+            evicted(old);
+        }
+        trim(limit-1);
+        entries.put(key,new Entry<>(key,view,loadTime,nodeCount,++clock,frequencies.getOrDefault(key,0)));
+        return true;
+    }
+
+    /**
+     * Removes and returns the cached view for key
+     *
+     * @param key the destination id
+     * @return the cached view or {@code null}
+     */
+    public V take(String key) {
+        if (disposed) {
+            return null;
+        }
+        frequencies.merge(key,1,Integer::sum);
+        Entry<V> entry = entries.remove(key);
+        if (null==entry) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.getView();
+    }
+
+    /**
+     * Checks whether a view is cached for the key
+     *
+     * @param key the destination id
+     * @return {@code true} if cached, {@code false} otherwise
+     */
+    public boolean contains(String key) {
+        return !disposed && entries.containsKey(key);
+    }
+
+    /**
+     * Returns the number of cached views
+     *
+     * @return number of cached views
+     */
+    public int size() {
+        return disposed ? 0 : entries.size();
+    }
+
+    /**
+     * Returns the total number of nodes held by the cached views
+     *
+     * @return total number of nodes
+     */
+    public int getNodeCount() {
+        if (disposed) {
+            return 0;
+        }
+        int count = 0;
+        for (Entry<V> entry : entries.values()) {
+            count += entry.getNodeCount();
+        }
+        return count;
+    }
+
+    /**
+     * Returns number of revived views
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns number of lookups which found nothing to revive
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Evicts views until at most {@code size} views are cached
+     *
+     * @param size the number of views to keep
+     * @return number of evicted views
+     */
+    public int trim(int size) {
+        if (disposed) {
+            return 0;
+        }
+        int count = 0;
+        while (entries.size()>Math.max(0,size)) {
+            Entry<V> victim = policy.selectVictim(entries.values());
+            entries.remove(victim.getKey());
+            evicted(victim);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Evicts all the cached views
+     */
+    public void clear() {
+        trim(0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        clear();
+        entries = null;
+        frequencies = null;
+        onEvicted = null;
+        disposed = true;
+    }
+
+    private void evicted(Entry<V> entry) {
+        if (null!=onEvicted) {
+            onEvicted.accept(entry.getView());
+        }
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    //                       Declared Sub Classes                         //
+    ///////////////////////////////////////////////////////////////////////
+
+    /**
+     * An {@code Entry} holds a cached view with the information used by {@link EvictionPolicy}
+     *
+     * @param <V> type of the cached view
+     */
+    public static class Entry<V> {
+
+        private final String key;
+
+        private final V view;
+
+        private final long loadTime;
+
+        private final int nodeCount;
+
+        private final long lastAccess;
+
+        private final int frequency;
+
+        Entry(String key, V view, long loadTime, int nodeCount, long lastAccess, int frequency) {
+            this.key = key;
+            this.view = view;
+            this.loadTime = loadTime;
+            this.nodeCount = nodeCount;
+            this.lastAccess = lastAccess;
+            this.frequency = frequency;
+        }
+
+        /**
+         * @return the destination id
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * @return the cached view
+         */
+        public V getView() {
+            return view;
+        }
+
+        /**
+         * @return time in nanoseconds taken to build the view
+         */
+        public long getLoadTime() {
+            return loadTime;
+        }
+
+        /**
+         * @return number of nodes in the view
+         */
+        public int getNodeCount() {
+            return nodeCount;
+        }
+
+        /**
+         * @return logical time when the view is cached, larger is more recent
+         */
+        public long getLastAccess() {
+            return lastAccess;
+        }
+
+        /**
+         * @return number of times a view for the key is requested
+         */
+        public int getFrequency() {
+            return frequency;
+        }
+
+        @Override
+        public String toString() {
+            return "Entry{" +
+                    "key='" + key + '\'' +
+                    ", loadTime=" + loadTime +
+                    ", nodeCount=" + nodeCount +
+                    ", lastAccess=" + lastAccess +
+                    ", frequency=" + frequency +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package rahulstech.jfx.routing.element;
+
+import rahulstech.jfx.routing.util.StringUtil;
+
+/**
+ * The {@code ArgKey} is a typed key of a {@link RouterArgument}. A key created by
+ * {@link ArgumentSchema#key(String, Class)} holds the slot of the argument in the schema, so the
+ * arguments of that schema are read and written by index. A key created by {@link #of(String, Class)}
+ * or used with the arguments of another schema finds the argument by name.
+ *
+ * <pre>{@code
+ * ArgKey<Integer> USER_ID = router.getArgument("user_args").getSchema().key("userId",Integer.class);
+ *
+ * int userId = router.getCurrentData().getInt(USER_ID,-1);
+ * }</pre>
+ *
+ * @param <T> type of the value
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ */
+public final class ArgKey<T> {
+
+    private final String name;
+
+    private final Class<T> type;
+
+    /**
+     * The schema the key is created for or {@code null}
+     */
+    final ArgumentSchema schema;
+
+    /**
+     * The slot of the argument in the schema or {@code -1}
+     */
+    final int slot;
+
+    ArgKey(String name, Class<T> type, ArgumentSchema schema, int slot) {
+        this.name = name;
+        this.type = type;
+        this.schema = schema;
+        this.slot = slot;
+    }
+
+    /**
+     * Creates a new {@code ArgKey} not bound to any schema
+     *
+     * @param name the argument name
+     * @param type the value type
+     * @param <T> type of the value
+     * @return non-null {@code ArgKey}
+     * @throws IllegalArgumentException if name is empty
+     * @throws NullPointerException if type is null
+     */
+    public static <T> ArgKey<T> of(String name, Class<T> type) {
+        if (StringUtil.isEmpty(name)) {
+            throw new IllegalArgumentException("empty name");
+        }
+        if (null==type) {
+            throw new NullPointerException("null type provided");
+        }
+        return new ArgKey<>(name,type,null,-1);
+    }
+
+    /**
+     * Returns the argument name
+     *
+     * @return non-null name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the value type
+     *
+     * @return non-null {@link Class} of the value
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    T cast(Object value) {
+        if (type.isPrimitive()) {
+            // a key of a primitive class returns the boxed value
+            @SuppressWarnings("unchecked")
+            T boxed = (T) value;
+            return boxed;
+        }
+        return type.cast(value);
+    }
+
+    @Override
+    public String toString() {
+        return name+":"+type.getSimpleName();
+    }
+}
@@ -0,0 +1,278 @@
+package rahulstech.jfx.routing.element;
+
+import rahulstech.jfx.routing.element.RouterArgument.NameValue;
+import rahulstech.jfx.routing.element.RouterArgument.Type;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@code ArgumentSchema} is the immutable list of the declared arguments of a {@link RouterArgument},
+ * i.e. their names, types and required flags. Each argument has a slot, the arguments sharing a schema
+ * keep their values in arrays by slot. Arguments of type {@code int}, {@code long}, {@code double} and
+ * {@code boolean} are kept unboxed.
+ *
+ * <p>A schema is compiled once from the {@code <arguments>} of the router configuration, or from the
+ * {@link NameValue}s added to a {@link RouterArgument}, see {@link RouterArgument#getSchema()}. The
+ * arguments of every navigation to a destination share the schema of the destination, along with its
+ * validator, i.e. the slots of the required arguments to check and of the typed arguments to check
+ * when {@link RouterArgument#accept(boolean) strict}.</p>
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ */
+public final class ArgumentSchema {
+
+    /**
+     * The schema without any argument
+     */
+    public static final ArgumentSchema EMPTY = new ArgumentSchema(new NameValue[0]);
+
+    static final byte KIND_OBJECT = 0;
+
+    static final byte KIND_INT = 1;
+
+    static final byte KIND_LONG = 2;
+
+    static final byte KIND_DOUBLE = 3;
+
+    static final byte KIND_BOOLEAN = 4;
+
+    private final String[] names;
+
+    private final Type[] types;
+
+    private final boolean[] required;
+
+    private final Map<String,Integer> slots;
+
+    /**
+     * How the value of each slot is stored, one of the {@code KIND_*} constants
+     */
+    final byte[] kinds;
+
+    /**
+     * The slots of the required arguments with a type other than {@link Type#ANY}
+     */
+    final int[] validated;
+
+    /**
+     * The slots of the arguments with a type other than {@link Type#ANY}, whose values are type checked
+     * by the strict {@link RouterArgument#accept(boolean)}
+     */
+    final int[] typed;
+
+    /**
+     * {@code true} if any slot keeps its value unboxed
+     */
+    final boolean primitive;
+
+    ArgumentSchema(NameValue[] declarations) {
+        int size = declarations.length;
+        this.names = new String[size];
+        this.types = new Type[size];
+        this.required = new boolean[size];
+        this.kinds = new byte[size];
+        this.slots = new HashMap<>();
+        int[] validated = new int[size];
+        int[] typed = new int[size];
+        int count = 0;
+        int typedCount = 0;
+        boolean primitive = false;
+        for (int slot=0; slot<size; slot++) {
+            NameValue nv = declarations[slot];
+            names[slot] = nv.getName();
+            types[slot] = nv.getType();
+            required[slot] = nv.isRequired();
+            kinds[slot] = kindOf(nv.getType());
+            primitive |= KIND_OBJECT!=kinds[slot];
+            if (!Type.ANY.equals(types[slot])) {
+                typed[typedCount++] = slot;
+                if (required[slot]) {
+                    validated[count++] = slot;
+                }
+            }
+            slots.put(names[slot],slot);
+        }
+        this.validated = Arrays.copyOf(validated,count);
+        this.typed = Arrays.copyOf(typed,typedCount);
+        this.primitive = primitive;
+    }
+
+    /**
+     * Creates a new schema of the declared arguments. Values of the {@code NameValue}s are ignored.
+     *
+     * @param declarations the declared arguments
+     * @return non-null {@code ArgumentSchema}
+     * @throws NullPointerException if declarations is null
+     * @throws IllegalArgumentException if an argument is declared more than once
+     */
+    public static ArgumentSchema of(Collection<NameValue> declarations) {
+        if (null==declarations) {
+            throw new NullPointerException("null declarations provided");
+        }
+        if (declarations.isEmpty()) {
+            return EMPTY;
+        }
+        ArgumentSchema schema = new ArgumentSchema(declarations.toArray(new NameValue[0]));
+        if (schema.slots.size()!=schema.size()) {
+            throw new IllegalArgumentException("argument declared more than once");
+        }
+        return schema;
+    }
+
+    /**
+     * Returns a schema with the arguments of this schema followed by the new arguments
+     *
+     * @param declarations the new arguments, none of them declared in this schema
+     * @return non-null {@code ArgumentSchema}
+     */
+    ArgumentSchema extend(Collection<NameValue> declarations) {
+        if (declarations.isEmpty()) {
+            return this;
+        }
+        NameValue[] all = new NameValue[size()+declarations.size()];
+        for (int slot=0; slot<size(); slot++) {
+            all[slot] = new NameValue(names[slot],types[slot],required[slot],null);
+        }
+        int slot = size();
+        for (NameValue nv : declarations) {
+            all[slot++] = nv;
+        }
+        return new ArgumentSchema(all);
+    }
+
+    /**
+     * Returns a schema like this one, except the declaration of the argument at the slot
+     *
+     * @param slot the slot of the argument declared again
+     * @param declaration the new declaration of the argument, with the same name
+     * @return non-null {@code ArgumentSchema}
+     */
+    ArgumentSchema redeclare(int slot, NameValue declaration) {
+        NameValue[] all = new NameValue[size()];
+        for (int i=0; i<size(); i++) {
+            all[i] = i==slot ? declaration : new NameValue(names[i],types[i],required[i],null);
+        }
+        return new ArgumentSchema(all);
+    }
+
+    /**
+     * Returns the number of arguments
+     *
+     * @return the number of arguments
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Returns the slot of the argument
+     *
+     * @param name the argument name
+     * @return the slot or {@code -1} if not declared
+     */
+    public int indexOf(String name) {
+        Integer slot = null==name ? null : slots.get(name);
+        return null==slot ? -1 : slot;
+    }
+
+    /**
+     * Returns the name of the argument at the slot
+     *
+     * @param slot the slot
+     * @return non-null name
+     * @throws IndexOutOfBoundsException if slot is not valid
+     */
+    public String getName(int slot) {
+        return names[slot];
+    }
+
+    /**
+     * Returns the type of the argument at the slot
+     *
+     * @param slot the slot
+     * @return non-null {@link Type}
+     * @throws IndexOutOfBoundsException if slot is not valid
+     */
+    public Type getType(int slot) {
+        return types[slot];
+    }
+
+    /**
+     * Returns whether the argument at the slot is required
+     *
+     * @param slot the slot
+     * @return {@code true} if required, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if slot is not valid
+     */
+    public boolean isRequired(int slot) {
+        return required[slot];
+    }
+
+    /**
+     * Returns the typed key of the argument
+     *
+     * @param name the argument name
+     * @param type the value type
+     * @param <T> type of the value
+     * @return non-null {@link ArgKey}
+     * @throws NullPointerException if type is null
+     * @throws IllegalArgumentException if the argument is not declared or its type does not accept the value type
+     */
+    public <T> ArgKey<T> key(String name, Class<T> type) {
+        if (null==type) {
+            throw new NullPointerException("null type provided");
+        }
+        int slot = indexOf(name);
+        if (slot<0) {
+            throw new IllegalArgumentException("argument '"+name+"' not declared");
+        }
+        if (!accepts(types[slot],type)) {
+            throw new IllegalArgumentException("argument '"+name+"' of type '"+types[slot]+"' does not accept "+type.getName());
+        }
+        return new ArgKey<>(name,type,this,slot);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int slot=0; slot<size(); slot++) {
+            if (slot>0) {
+                builder.append(", ");
+            }
+            builder.append(names[slot]).append(':').append(types[slot]);
+            if (required[slot]) {
+                builder.append('!');
+            }
+        }
+        return builder.append(']').toString();
+    }
+
+    private static boolean accepts(Type declared, Class<?> type) {
+        for (Class<?> accepted : declared.getTypes()) {
+            if (accepted==Object.class || accepted.isAssignableFrom(type) || type.isAssignableFrom(accepted)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte kindOf(Type type) {
+        if (Type.INT.equals(type)) {
+            return KIND_INT;
+        }
+        if (Type.LONG.equals(type)) {
+            return KIND_LONG;
+        }
+        if (Type.DOUBLE.equals(type)) {
+            return KIND_DOUBLE;
+        }
+        if (Type.BOOLEAN.equals(type)) {
+            return KIND_BOOLEAN;
+        }
+        return KIND_OBJECT;
+    }
+}
@@ -30,7 +30,8 @@ import rahulstech.jfx.routing.util.StringUtil;
  *                     controllerClass="com.example.controller.MyController"
  *                     executor="com.example.executor.MyExecutor"
  *                     title="This is Screen0"
- *                     arguments="args0"/>
+ *                     arguments="args0"
+ *                     preload="idle"/>
  *     or
  *
  *    <destination id="screen0"
@@ -108,6 +109,10 @@ public class Destination {
     private String arguments;
     private boolean singleTop;
     private boolean removeHistory;
+    private PreloadMode preload = PreloadMode.LAZY;
+    private boolean reusable;
+    private HideMode hideMode = HideMode.DEFAULT;
+    private String path;
 
     /**
      * Constructor used by the Builder pattern to create a {@code Destination} instance.
@@ -123,6 +128,10 @@ public class Destination {
         arguments = builder.arguments;
         singleTop = builder.singleTop;
         removeHistory = builder.removeHistory;
+        preload = builder.preload;
+        reusable = builder.reusable;
+        hideMode = builder.hideMode;
+        path = builder.path;
     }
 
     /**
@@ -172,6 +181,22 @@ public class Destination {
                         removeHistory = attr.getAsBoolean();
                     }
                     break;
+                    case Attribute.PRELOAD: {
+                        preload = attr.getAsEnum(PreloadMode.class);
+                    }
+                    break;
+                    case Attribute.REUSABLE: {
+                        reusable = attr.getAsBoolean();
+                    }
+                    break;
+                    case Attribute.HIDE_MODE: {
+                        hideMode = attr.getAsEnum(HideMode.class);
+                    }
+                    break;
+                    case Attribute.PATH: {
+                        path = attr.getValue();
+                    }
+                    break;
                 }
             }
         }
@@ -255,6 +280,51 @@ public class Destination {
         return removeHistory;
     }
 
+    /**
+     * Returns when the view of this destination is prepared in background
+     *
+     * @return non-null {@link PreloadMode}
+     * @see Attribute#PRELOAD
+     * @since 2.1.0
+     */
+    public PreloadMode getPreload() {
+        return preload;
+    }
+
+    /**
+     * Returns whether the view of this destination is cached for reuse after it is popped
+     *
+     * @return {@code true} means reusable, {@code false} otherwise
+     * @see Attribute#REUSABLE
+     * @since 2.1.0
+     */
+    public boolean isReusable() {
+        return reusable;
+    }
+
+    /**
+     * Returns how the view of this destination is treated while hidden
+     *
+     * @return non-null {@link HideMode}
+     * @see Attribute#HIDE_MODE
+     * @see Router#getHideModeFor(Destination)
+     * @since 2.1.0
+     */
+    public HideMode getHideMode() {
+        return hideMode;
+    }
+
+    /**
+     * Returns the path pattern of this destination
+     *
+     * @return the path pattern or {@code null}
+     * @see Attribute#PATH
+     * @since 2.1.0
+     */
+    public String getPath() {
+        return path;
+    }
+
     @Override
     public String toString() {
         return "Destination{" +
@@ -266,6 +336,10 @@ public class Destination {
                 ", arguments='" + arguments + '\'' +
                 ", singleTop=" + singleTop +
                 ", removeHistory=" + removeHistory +
+                ", preload=" + preload +
+                ", reusable=" + reusable +
+                ", hideMode=" + hideMode +
+                ", path='" + path + '\'' +
                 '}';
     }
 
@@ -281,6 +355,10 @@ public class Destination {
         String arguments;
         boolean singleTop;
         boolean removeHistory;
+        PreloadMode preload = PreloadMode.LAZY;
+        boolean reusable;
+        HideMode hideMode = HideMode.DEFAULT;
+        String path;
 
         /**
          * Constructs a new Builder for a {@code Destination}.
@@ -374,6 +452,66 @@ public class Destination {
             return this;
         }
 
+        /**
+         * Sets when the view of the destination is prepared in background
+         *
+         * @param preload non-null {@link PreloadMode}
+         * @return this {@code Builder} instance
+         * @throws NullPointerException if preload is null
+         * @since 2.1.0
+         * @see Attribute#PRELOAD
+         */
+        public Builder setPreload(PreloadMode preload) {
+            if (null==preload) {
+                throw new NullPointerException("preload mode is null");
+            }
+            this.preload = preload;
+            return this;
+        }
+
+        /**
+         * Sets whether the view of the destination is cached for reuse after it is popped
+         *
+         * @param reusable {@code true} means reusable, {@code false} otherwise
+         * @return this {@code Builder} instance
+         * @since 2.1.0
+         * @see Attribute#REUSABLE
+         */
+        public Builder setReusable(boolean reusable) {
+            this.reusable = reusable;
+            return this;
+        }
+
+        /**
+         * Sets how the view of the destination is treated while hidden
+         *
+         * @param hideMode non-null {@link HideMode}
+         * @return this {@code Builder} instance
+         * @throws NullPointerException if hideMode is null
+         * @since 2.1.0
+         * @see Attribute#HIDE_MODE
+         */
+        public Builder setHideMode(HideMode hideMode) {
+            if (null==hideMode) {
+                throw new NullPointerException("hide mode is null");
+            }
+            this.hideMode = hideMode;
+            return this;
+        }
+
+        /**
+         * Sets the path pattern of the destination like {@code /customer/{id}/order/{orderId}}
+         *
+         * @param path the path pattern or {@code null}
+         * @return this {@code Builder} instance
+         * @since 2.1.0
+         * @see Attribute#PATH
+         */
+        public Builder setPath(String path) {
+            this.path = path;
+            return this;
+        }
+
         /**
          * Builds and returns a {@code Destination} instance.
          *
@@ -383,4 +521,52 @@ public class Destination {
             return new Destination(this);
         }
     }
+
+    /**
+     * The {@code PreloadMode} enum defines when the view of a destination is prepared
+     * in background before navigating to it.
+     *
+     * @since 2.1.0
+     */
+    public enum PreloadMode {
+        /**
+         * Start preparing as soon as the router begins, in parallel with the home destination.
+         */
+        EAGER,
+
+        /**
+         * Start preparing after the home destination is shown.
+         */
+        IDLE,
+
+        /**
+         * Prepare only when requested by {@link Router#preload(String)} .
+         */
+        LAZY,
+    }
+
+    /**
+     * The {@code HideMode} enum defines how the view of a destination is treated while
+     * it is hidden in the backstack.
+     *
+     * @since 2.1.0
+     */
+    public enum HideMode {
+        /**
+         * Use the hide mode of the {@link Router}.
+         */
+        DEFAULT,
+
+        /**
+         * Remove the view from the content pane. Showing it again re-applies css on the whole view.
+         */
+        DETACH,
+
+        /**
+         * Keep the view in the content pane as invisible and unmanaged up to the
+         * {@link Router#getKeepAttachedDepth() keep attached depth} of the backstack.
+         * Deeper views are detached.
+         */
+        KEEP_ATTACHED,
+    }
 }
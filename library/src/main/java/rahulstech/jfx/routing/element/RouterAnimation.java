@@ -1,11 +1,11 @@
 package rahulstech.jfx.routing.element;
 
-import javafx.application.Platform;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.scene.Node;
 import javafx.util.Duration;
+import rahulstech.jfx.routing.RouterDispatcher;
 import rahulstech.jfx.routing.parser.Attribute;
 import rahulstech.jfx.routing.parser.AttributeSet;
 
@@ -170,6 +170,8 @@ public abstract class RouterAnimation {
 
     private Node target;
 
+    private RouterDispatcher dispatcher = RouterDispatcher.fx();
+
     RouterAnimation nextAnimation;
 
     /**
@@ -495,11 +497,36 @@ public abstract class RouterAnimation {
      */
     protected abstract void animate();
 
+    /**
+     * Sets the {@link RouterDispatcher} running the animation on {@link #play()}
+     *
+     * @param dispatcher non-null {@code RouterDispatcher}
+     * @throws NullPointerException if dispatcher is null
+     * @since 2.1.0
+     */
+    public void setDispatcher(RouterDispatcher dispatcher) {
+        if (null==dispatcher) {
+            throw new NullPointerException("dispatcher is null");
+        }
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Returns the {@link RouterDispatcher} running the animation on {@link #play()},
+     * {@link RouterDispatcher#fx()} by default
+     *
+     * @return non-null {@code RouterDispatcher}
+     * @since 2.1.0
+     */
+    public RouterDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
     /**
      * start the animation from the beginning
      */
     public void play() {
-        Platform.runLater(this::animate);
+        dispatcher.dispatch(this::animate);
     }
 
     /**
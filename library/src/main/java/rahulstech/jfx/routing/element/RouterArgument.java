@@ -18,6 +18,13 @@ import java.util.*;
  * copying arguments without their values, and accepting the arguments based on
  * predefined constraints.</p>
  *
+ * <p>The arguments declared in the {@link ArgumentSchema} of a {@code RouterArgument} keep their values
+ * in arrays by slot, the values of {@code int}, {@code long}, {@code double} and {@code boolean}
+ * arguments unboxed. {@link #copyWithoutValue()} shares the schema instead of copying the declarations,
+ * and {@link #merge(RouterArgument)} shares the values of another {@code RouterArgument} of the same
+ * schema until either of them changes. Typed {@link ArgKey}s read and write the values by slot.
+ * Arguments added by name which are not declared in the schema are kept as {@code NameValue}s.</p>
+ *
  * <p>Example usage:</p>
  * <pre>{@code
  * RouterArgument args = new RouterArgument();
@@ -31,13 +38,50 @@ import java.util.*;
  */
 public class RouterArgument {
 
+    /**
+     * Marks a slot whose value is kept in the primitive values
+     */
+    private static final Object PRIMITIVE = new Object();
+
+    private ArgumentSchema schema = ArgumentSchema.EMPTY;
+
+    // values by slot, null if not set
+    private Object[] objects;
+
+    // unboxed values by slot, only the slots marked PRIMITIVE are set
+    private long[] primitives;
+
+    // values are shared with another RouterArgument of the same schema until changed
+    private boolean shared;
+
+    // arguments not declared in the schema
     private Map<String,NameValue> map;
 
+    // schema of the declared and the added arguments
+    private ArgumentSchema compiled;
+
+    // NameValues of the slots, created on first use
+    private SlotNameValue[] slotValues;
+
     /**
      * Creates new instance of {@code RouterArgument}
      */
     public RouterArgument() {}
 
+    /**
+     * Creates new instance of {@code RouterArgument} without any value for the declared arguments
+     *
+     * @param schema the declared arguments
+     * @throws NullPointerException if schema is null
+     * @since 2.1.0
+     */
+    public RouterArgument(ArgumentSchema schema) {
+        if (null==schema) {
+            throw new NullPointerException("null schema provided");
+        }
+        this.schema = schema;
+    }
+
     /**
      * Adds or updates an argument with the specified name and value.
      *
@@ -45,7 +89,12 @@ public class RouterArgument {
      * @param value the value of the argument
      */
     public void addArgument(String name, Object value) {
-        NameValue nv = getArgument(name);
+        int slot = schema.indexOf(name);
+        if (slot>=0) {
+            setSlot(slot,value);
+            return;
+        }
+        NameValue nv = null==map ? null : map.get(name);
         if (null==nv) {
             addArgument(new NameValue(name,value));
         }
@@ -55,7 +104,10 @@ public class RouterArgument {
     }
 
     /**
-     * Adds a {@link NameValue} argument to this {@code RouterArgument}.
+     * Adds a {@link NameValue} argument to this {@code RouterArgument}. If the argument is declared
+     * in the schema, its value is set to the value of the {@code NameValue} and its type and required
+     * flag are replaced by those of the {@code NameValue}. The {@code NameValue} itself is not kept then,
+     * i.e. changing its value later does not change this {@code RouterArgument}.
      *
      * @param nv the {@link NameValue} instance to add
      * @throws NullPointerException if the {@code NameValue} instance is {@code null}
@@ -64,8 +116,17 @@ public class RouterArgument {
         if (null==nv) {
             throw new NullPointerException("NameValue must be non null");
         }
+        int slot = schema.indexOf(nv.getName());
+        if (slot>=0) {
+            if (!nv.getType().equals(schema.getType(slot)) || nv.isRequired()!=schema.isRequired(slot)) {
+                redeclare(slot,nv);
+            }
+            setSlot(slot,nv.value());
+            return;
+        }
         createStorage();
         map.put(nv.getName(),nv);
+        compiled = null;
     }
 
     /**
@@ -75,7 +136,7 @@ public class RouterArgument {
      * @return {@code true} if the argument exists, {@code false} otherwise
      */
     public boolean contains(String name) {
-        return null!=map && map.containsKey(name);
+        return schema.indexOf(name)>=0 || (null!=map && map.containsKey(name));
     }
 
     /**
@@ -85,6 +146,18 @@ public class RouterArgument {
      * @return the {@link NameValue} instance, or {@code null} if it does not exist
      */
     public NameValue getArgument(String name) {
+        int slot = schema.indexOf(name);
+        if (slot>=0) {
+            if (null==slotValues) {
+                slotValues = new SlotNameValue[schema.size()];
+            }
+            SlotNameValue nv = slotValues[slot];
+            if (null==nv) {
+                nv = new SlotNameValue(this,slot);
+                slotValues[slot] = nv;
+            }
+            return nv;
+        }
         if (null==map) {
             return null;
         }
@@ -99,8 +172,13 @@ public class RouterArgument {
      * @param name the name of the argument to retrieve the value for
      * @return the value associated with the argument, or {@code null} if it does not exist
      */
+    @SuppressWarnings("unchecked")
     public <T> T getValue(String name) {
-        NameValue nv = getArgument(name);
+        int slot = schema.indexOf(name);
+        if (slot>=0) {
+            return (T) getSlot(slot);
+        }
+        NameValue nv = null==map ? null : map.get(name);
         if (null==nv) {
             return null;
         }
@@ -108,32 +186,264 @@ public class RouterArgument {
     }
 
     /**
-     * Removes the argument with the specified name.
+     * Returns the value of the typed key
+     *
+     * @param key the key
+     * @param <T> type of the value
+     * @return the value or {@code null}
+     * @throws NullPointerException if key is null
+     * @throws ClassCastException if the value is not of the type of the key
+     * @since 2.1.0
+     */
+    public <T> T get(ArgKey<T> key) {
+        int slot = slotOf(key);
+        return key.cast(slot>=0 ? getSlot(slot) : getValue(key.getName()));
+    }
+
+    /**
+     * Sets the value of the typed key
+     *
+     * @param key the key
+     * @param value the value
+     * @param <T> type of the value
+     * @throws NullPointerException if key is null
+     * @since 2.1.0
+     */
+    public <T> void set(ArgKey<T> key, T value) {
+        int slot = slotOf(key);
+        if (slot>=0) {
+            setSlot(slot,value);
+        }
+        else {
+            addArgument(key.getName(),value);
+        }
+    }
+
+    /**
+     * Returns the {@code int} value of the typed key without boxing
+     *
+     * @param key the key
+     * @param defaultValue the value to return if not set
+     * @return the value or the default value
+     * @throws NullPointerException if key is null
+     * @throws ClassCastException if the value is not a {@link Number}
+     * @since 2.1.0
+     */
+    public int getInt(ArgKey<Integer> key, int defaultValue) {
+        int slot = slotOf(key);
+        if (slot>=0 && isPrimitive(slot)) {
+            return (int) primitives[slot];
+        }
+        Number value = get(key);
+        return null==value ? defaultValue : value.intValue();
+    }
+
+    /**
+     * Sets the {@code int} value of the typed key without boxing
+     *
+     * @param key the key
+     * @param value the value
+     * @throws NullPointerException if key is null
+     * @since 2.1.0
+     */
+    public void setInt(ArgKey<Integer> key, int value) {
+        int slot = slotOf(key);
+        if (slot>=0 && ArgumentSchema.KIND_INT==schema.kinds[slot]) {
+            setPrimitive(slot,value);
+        }
+        else {
+            set(key,value);
+        }
+    }
+
+    /**
+     * Returns the {@code long} value of the typed key without boxing
+     *
+     * @param key the key
+     * @param defaultValue the value to return if not set
+     * @return the value or the default value
+     * @throws NullPointerException if key is null
+     * @throws ClassCastException if the value is not a {@link Number}
+     * @since 2.1.0
+     */
+    public long getLong(ArgKey<Long> key, long defaultValue) {
+        int slot = slotOf(key);
+        if (slot>=0 && isPrimitive(slot)) {
+            return primitives[slot];
+        }
+        Number value = get(key);
+        return null==value ? defaultValue : value.longValue();
+    }
+
+    /**
+     * Sets the {@code long} value of the typed key without boxing
+     *
+     * @param key the key
+     * @param value the value
+     * @throws NullPointerException if key is null
+     * @since 2.1.0
+     */
+    public void setLong(ArgKey<Long> key, long value) {
+        int slot = slotOf(key);
+        if (slot>=0 && ArgumentSchema.KIND_LONG==schema.kinds[slot]) {
+            setPrimitive(slot,value);
+        }
+        else {
+            set(key,value);
+        }
+    }
+
+    /**
+     * Returns the {@code double} value of the typed key without boxing
+     *
+     * @param key the key
+     * @param defaultValue the value to return if not set
+     * @return the value or the default value
+     * @throws NullPointerException if key is null
+     * @throws ClassCastException if the value is not a {@link Number}
+     * @since 2.1.0
+     */
+    public double getDouble(ArgKey<Double> key, double defaultValue) {
+        int slot = slotOf(key);
+        if (slot>=0 && isPrimitive(slot)) {
+            return Double.longBitsToDouble(primitives[slot]);
+        }
+        Number value = get(key);
+        return null==value ? defaultValue : value.doubleValue();
+    }
+
+    /**
+     * Sets the {@code double} value of the typed key without boxing
+     *
+     * @param key the key
+     * @param value the value
+     * @throws NullPointerException if key is null
+     * @since 2.1.0
+     */
+    public void setDouble(ArgKey<Double> key, double value) {
+        int slot = slotOf(key);
+        if (slot>=0 && ArgumentSchema.KIND_DOUBLE==schema.kinds[slot]) {
+            setPrimitive(slot,Double.doubleToRawLongBits(value));
+        }
+        else {
+            set(key,value);
+        }
+    }
+
+    /**
+     * Returns the {@code boolean} value of the typed key without boxing
+     *
+     * @param key the key
+     * @param defaultValue the value to return if not set
+     * @return the value or the default value
+     * @throws NullPointerException if key is null
+     * @throws ClassCastException if the value is not a {@link Boolean}
+     * @since 2.1.0
+     */
+    public boolean getBoolean(ArgKey<Boolean> key, boolean defaultValue) {
+        int slot = slotOf(key);
+        if (slot>=0 && isPrimitive(slot)) {
+            return 0!=primitives[slot];
+        }
+        Boolean value = get(key);
+        return null==value ? defaultValue : value;
+    }
+
+    /**
+     * Sets the {@code boolean} value of the typed key without boxing
+     *
+     * @param key the key
+     * @param value the value
+     * @throws NullPointerException if key is null
+     * @since 2.1.0
+     */
+    public void setBoolean(ArgKey<Boolean> key, boolean value) {
+        int slot = slotOf(key);
+        if (slot>=0 && ArgumentSchema.KIND_BOOLEAN==schema.kinds[slot]) {
+            setPrimitive(slot,value ? 1 : 0);
+        }
+        else {
+            set(key,value);
+        }
+    }
+
+    /**
+     * Removes the argument with the specified name. An argument declared in the schema
+     * stays declared, only its value is removed.
      *
      * @param name the name of the argument to remove
      * @return the removed {@link NameValue} instance, or {@code null} if it did not exist
      */
     public NameValue removeArgument(String name) {
+        int slot = schema.indexOf(name);
+        if (slot>=0) {
+            NameValue removed = new NameValue(name,schema.getType(slot),schema.isRequired(slot),getSlot(slot));
+            if (null!=objects && null!=objects[slot]) {
+                ensureWritable();
+                objects[slot] = null;
+            }
+            return removed;
+        }
         if (null==map) {
             return null;
         }
-        return map.remove(name);
+        NameValue removed = map.remove(name);
+        if (null!=removed) {
+            compiled = null;
+        }
+        return removed;
     }
 
     /**
      * Validates and accepts all the arguments in this {@code RouterArgument}.
      * If an argument is required but has no value, or if its value does not match
-     * the expected type, an exception is thrown.
+     * the expected type, an exception is thrown. Only the required arguments of the
+     * schema are checked and the unboxed values need no type check.
      *
      * @throws NullPointerException if a required argument has no value
      * @throws IllegalArgumentException if an argument's value does not match the expected type
      * @see NameValue#accept()
+     * @see #accept(boolean)
      */
     public void accept() {
+        accept(false);
+    }
+
+    /**
+     * Validates and accepts all the arguments in this {@code RouterArgument} like {@link #accept()}.
+     * If strict, the value of an optional argument is type checked too, when it has a value.
+     *
+     * @param strict {@code true} to type check the optional arguments, {@code false} to check the required ones only
+     * @throws NullPointerException if a required argument has no value
+     * @throws IllegalArgumentException if an argument's value does not match the expected type
+     * @since 2.1.0
+     */
+    public void accept(boolean strict) {
+        for (int slot : schema.validated) {
+            if (null==objects || null==objects[slot]) {
+                throw new NullPointerException("argument '"+schema.getName(slot)+"' is required");
+            }
+        }
+        if (null!=objects) {
+            for (int slot : strict ? schema.typed : schema.validated) {
+                Object value = objects[slot];
+                if (null!=value && PRIMITIVE!=value && !schema.getType(slot).check(value)) {
+                    throw new IllegalArgumentException(schema.getName(slot)+" requires type '"+schema.getType(slot)
+                            +"' but found "+value.getClass().getName());
+                }
+            }
+        }
         if (null!=map) {
             Collection<NameValue> nvs = map.values();
             for (NameValue nv : nvs) {
                 nv.accept();
+                if (strict && !nv.isRequired()) {
+                    Object value = nv.value();
+                    if (null!=value && !nv.getType().check(value)) {
+                        throw new IllegalArgumentException(nv.getName()+" requires type '"+nv.getType()
+                                +"' but found "+value.getClass().getName());
+                    }
+                }
             }
         }
     }
@@ -141,48 +451,238 @@ public class RouterArgument {
     /**
      * Merges the arguments from another {@code RouterArgument} into this one.
      * If an argument with the same name exists in both instances, the value from
-     * the other instance is used.
+     * the other instance is used. If both share the same schema and this one has no
+     * value yet, the values are shared until either of them changes.
      *
      * @param other the {@code RouterArgument} to merge from
      */
     public void merge(RouterArgument other) {
+        if (this==other) {
+            return;
+        }
+        if (null!=other.objects) {
+            if (other.schema==schema && null==objects) {
+                objects = other.objects;
+                primitives = other.primitives;
+                shared = true;
+                other.shared = true;
+            }
+            else {
+                for (int slot=0; slot<other.objects.length; slot++) {
+                    if (null!=other.objects[slot]) {
+                        mergeSlot(other,slot);
+                    }
+                }
+            }
+        }
         Map<String,NameValue> omap = other.map;
         if (null==omap) {
             return;
         }
-        createStorage();
-        map.forEach((k,v)->{
-            NameValue nv = omap.get(k);
-            if (null!=nv) {
-                v.setValue(nv.getValue());
+        omap.forEach((k,v)->{
+            int slot = schema.indexOf(k);
+            if (slot>=0) {
+                setSlot(slot,v.getValue());
+            }
+            else {
+                createStorage();
+                if (null==map.put(k,v)) {
+                    compiled = null;
+                }
             }
         });
-        map.putAll(omap);
     }
 
     /**
      * Creates a copy of this {@code RouterArgument} without including the values
-     * of the arguments.
+     * of the arguments. The copy shares the {@link #getSchema() schema} of this one.
      *
      * @return a new {@code RouterArgument} instance with the same argument names but without values
      */
     public RouterArgument copyWithoutValue() {
-        RouterArgument args = new RouterArgument();
-        if (map!=null) {
-            args.map = new HashMap<>();
-            map.forEach((k,v)-> args.map.put(k,v.copyWithoutValue()));
+        return new RouterArgument(getSchema());
+    }
+
+    /**
+     * Returns the schema of all the arguments of this {@code RouterArgument}. The schema is compiled
+     * once and compiled again only if an argument is added or removed.
+     *
+     * @return non-null {@link ArgumentSchema}
+     * @since 2.1.0
+     */
+    public ArgumentSchema getSchema() {
+        if (null==map || map.isEmpty()) {
+            return schema;
         }
-        return args;
+        if (null==compiled) {
+            compiled = schema.extend(map.values());
+        }
+        return compiled;
     }
 
     @Override
     public String toString() {
-        return null==map ? "[]" : "["+map+"]";
+        Map<String,NameValue> all = new LinkedHashMap<>();
+        for (int slot=0; slot<schema.size(); slot++) {
+            all.put(schema.getName(slot),new NameValue(schema.getName(slot),schema.getType(slot),schema.isRequired(slot),getSlot(slot)));
+        }
+        if (null!=map) {
+            all.putAll(map);
+        }
+        return all.isEmpty() ? "[]" : "["+all+"]";
     }
 
     private void createStorage() {
         if (null==map) {
-            map = new HashMap<>();
+            // keeps the order of declaration for the slots of the schema
+            map = new LinkedHashMap<>();
+        }
+    }
+
+    private int slotOf(ArgKey<?> key) {
+        if (null==key) {
+            throw new NullPointerException("null key provided");
+        }
+        return key.schema==schema ? key.slot : schema.indexOf(key.getName());
+    }
+
+    private boolean isPrimitive(int slot) {
+        return null!=objects && PRIMITIVE==objects[slot];
+    }
+
+    private Object getSlot(int slot) {
+        Object value = null==objects ? null : objects[slot];
+        if (PRIMITIVE!=value) {
+            return value;
+        }
+        long bits = primitives[slot];
+        switch (schema.kinds[slot]) {
+            case ArgumentSchema.KIND_INT: return (int) bits;
+            case ArgumentSchema.KIND_DOUBLE: return Double.longBitsToDouble(bits);
+            case ArgumentSchema.KIND_BOOLEAN: return 0!=bits;
+            default: return bits;
+        }
+    }
+
+    private void setSlot(int slot, Object value) {
+        switch (schema.kinds[slot]) {
+            case ArgumentSchema.KIND_INT: {
+                if (value instanceof Integer) {
+                    setPrimitive(slot,(Integer) value);
+                    return;
+                }
+                break;
+            }
+            case ArgumentSchema.KIND_LONG: {
+                if (value instanceof Long) {
+                    setPrimitive(slot,(Long) value);
+                    return;
+                }
+                break;
+            }
+            case ArgumentSchema.KIND_DOUBLE: {
+                if (value instanceof Double) {
+                    setPrimitive(slot,Double.doubleToRawLongBits((Double) value));
+                    return;
+                }
+                break;
+            }
+            case ArgumentSchema.KIND_BOOLEAN: {
+                if (value instanceof Boolean) {
+                    setPrimitive(slot,(Boolean) value ? 1 : 0);
+                    return;
+                }
+                break;
+            }
+        }
+        // a value not matching the declared type is kept as is and rejected by accept()
+        ensureWritable();
+        objects[slot] = value;
+    }
+
+    private void setPrimitive(int slot, long bits) {
+        ensureWritable();
+        objects[slot] = PRIMITIVE;
+        primitives[slot] = bits;
+    }
+
+    private void mergeSlot(RouterArgument other, int slot) {
+        String name = other.schema.getName(slot);
+        int target = schema.indexOf(name);
+        if (target<0) {
+            createStorage();
+            map.put(name,new NameValue(name,other.schema.getType(slot),other.schema.isRequired(slot),other.getSlot(slot)));
+            compiled = null;
+        }
+        else if (other.isPrimitive(slot) && schema.kinds[target]==other.schema.kinds[slot]) {
+            setPrimitive(target,other.primitives[slot]);
+        }
+        else {
+            setSlot(target,other.getSlot(slot));
+        }
+    }
+
+    private void ensureWritable() {
+        if (null==objects) {
+            objects = new Object[schema.size()];
+            primitives = schema.primitive ? new long[schema.size()] : null;
+        }
+        else if (shared) {
+            objects = objects.clone();
+            primitives = null==primitives ? null : primitives.clone();
+            shared = false;
+        }
+    }
+
+    /**
+     * Replaces the declaration of the argument at the slot and clears its value. The values of
+     * the other arguments are kept.
+     */
+    private void redeclare(int slot, NameValue declaration) {
+        ArgumentSchema declared = schema.redeclare(slot,declaration);
+        if (null!=objects) {
+            Object[] values = new Object[declared.size()];
+            long[] bits = declared.primitive ? new long[declared.size()] : null;
+            for (int i=0; i<values.length; i++) {
+                if (i!=slot && null!=objects[i]) {
+                    values[i] = objects[i];
+                    if (PRIMITIVE==objects[i]) {
+                        bits[i] = primitives[i];
+                    }
+                }
+            }
+            objects = values;
+            primitives = bits;
+            shared = false;
+        }
+        schema = declared;
+        compiled = null;
+        if (null!=slotValues) {
+            slotValues[slot] = null;
+        }
+    }
+
+    /**
+     * The {@code NameValue} of an argument declared in the schema, reads and writes the value of the
+     * {@code RouterArgument}
+     */
+    private static final class SlotNameValue extends NameValue {
+
+        private final RouterArgument owner;
+
+        SlotNameValue(RouterArgument owner, int slot) {
+            super(owner.schema.getName(slot),owner.schema.getType(slot),owner.schema.isRequired(slot),null);
+            this.owner = owner;
+        }
+
+        @Override
+        Object value() {
+            return owner.getValue(getName());
+        }
+
+        @Override
+        public void setValue(Object value) {
+            owner.addArgument(getName(),value);
         }
     }
 
@@ -305,6 +805,10 @@ public class RouterArgument {
             this.value = value;
         }
 
+        Object value() {
+            return value;
+        }
+
         /**
          * Returns the value of the parameter or attribute cast to the specified type.
          *
@@ -313,7 +817,7 @@ public class RouterArgument {
          */
         @SuppressWarnings("unchecked")
         public <T> T getValue() {
-            return (T) value;
+            return (T) value();
         }
 
         /**
@@ -322,7 +826,7 @@ public class RouterArgument {
          * @return the value as a {@code char}
          */
         public char getAsChar() {
-            return (char) value;
+            return (char) value();
         }
 
         /**
@@ -331,7 +835,7 @@ public class RouterArgument {
          * @return the value as a {@code char[]}
          */
         public char[] getAsCharArray() {
-            return (char[]) value;
+            return (char[]) value();
         }
 
         /**
@@ -340,7 +844,7 @@ public class RouterArgument {
          * @return the value as a {@code Character}
          */
         public Character getAsCharacter() {
-            return (Character) value;
+            return (Character) value();
         }
 
         /**
@@ -349,7 +853,7 @@ public class RouterArgument {
          * @return the value as a {@code Character[]}
          */
         public Character[] getAsCharacterArray() {
-            return (Character[]) value;
+            return (Character[]) value();
         }
 
         /**
@@ -358,7 +862,7 @@ public class RouterArgument {
          * @return the value as a {@code boolean}
          */
         public boolean getAsBoolean() {
-            return (Boolean) value;
+            return (Boolean) value();
         }
 
         /**
@@ -367,7 +871,7 @@ public class RouterArgument {
          * @return the value as a {@code boolean[]}
          */
         public boolean[] getAsBooleanArray() {
-            return (boolean[]) value;
+            return (boolean[]) value();
         }
 
         /**
@@ -376,7 +880,7 @@ public class RouterArgument {
          * @return the value as a {@code Boolean}
          */
         public Boolean getAsBooleanObject() {
-            return (Boolean) value;
+            return (Boolean) value();
         }
 
         /**
@@ -385,7 +889,7 @@ public class RouterArgument {
          * @return the value as a {@code Boolean[]}
          */
         public Boolean[] getAsBooleanObjectArray() {
-            return (Boolean[]) value;
+            return (Boolean[]) value();
         }
 
         /**
@@ -394,7 +898,7 @@ public class RouterArgument {
          * @return the value as a {@code short}
          */
         public short getAsShort() {
-            return ((Number) value).shortValue();
+            return ((Number) value()).shortValue();
         }
 
         /**
@@ -403,7 +907,7 @@ public class RouterArgument {
          * @return the value as a {@code short[]}
          */
         public short[] getAsShortArray() {
-            return (short[]) value;
+            return (short[]) value();
         }
 
         /**
@@ -412,7 +916,7 @@ public class RouterArgument {
          * @return the value as a {@code Short}
          */
         public Short getAsShortObject() {
-            return (Short) value;
+            return (Short) value();
         }
 
         /**
@@ -421,7 +925,7 @@ public class RouterArgument {
          * @return the value as a {@code Short[]}
          */
         public Short[] getAsShortObjectArray() {
-            return (Short[]) value;
+            return (Short[]) value();
         }
 
         /**
@@ -430,7 +934,7 @@ public class RouterArgument {
          * @return the value as an {@code int}
          */
         public int getAsInt() {
-            return ((Number) value).intValue();
+            return ((Number) value()).intValue();
         }
 
         /**
@@ -439,7 +943,7 @@ public class RouterArgument {
          * @return the value as an {@code int[]}
          */
         public int[] getAsIntArray() {
-            return (int[]) value;
+            return (int[]) value();
         }
 
         /**
@@ -448,7 +952,7 @@ public class RouterArgument {
          * @return the value as an {@code Integer}
          */
         public Integer getAsInteger() {
-            return (Integer) value;
+            return (Integer) value();
         }
 
         /**
@@ -457,7 +961,7 @@ public class RouterArgument {
          * @return the value as an {@code Integer[]}
          */
         public Integer[] getAsIntegerArray() {
-            return (Integer[]) value;
+            return (Integer[]) value();
         }
 
         /**
@@ -466,7 +970,7 @@ public class RouterArgument {
          * @return the value as a {@code long}
          */
         public long getAsLong() {
-            return ((Number) value).longValue();
+            return ((Number) value()).longValue();
         }
 
         /**
@@ -475,7 +979,7 @@ public class RouterArgument {
          * @return the value as a {@code long[]}
          */
         public long[] getAsLongArray() {
-            return (long[]) value;
+            return (long[]) value();
         }
 
         /**
@@ -484,7 +988,7 @@ public class RouterArgument {
          * @return the value as a {@code Long}
          */
         public long getAsLongObject() {
-            return (Long) value;
+            return (Long) value();
         }
 
         /**
@@ -493,7 +997,7 @@ public class RouterArgument {
          * @return the value as a {@code Long[]}
          */
         public Long[] getAsLongObjectArray() {
-            return (Long[]) value;
+            return (Long[]) value();
         }
 
         /**
@@ -502,7 +1006,7 @@ public class RouterArgument {
          * @return the value as a {@code float}
          */
         public float getAsFloat() {
-            return ((Number) value).floatValue();
+            return ((Number) value()).floatValue();
         }
 
         /**
@@ -511,7 +1015,7 @@ public class RouterArgument {
          * @return the value as a {@code float[]}
          */
         public float[] getAsFloatArray() {
-            return (float[]) value;
+            return (float[]) value();
         }
 
         /**
@@ -520,7 +1024,7 @@ public class RouterArgument {
          * @return the value as a {@code Float}
          */
         public Float getAsFloatObject() {
-            return (Float) value;
+            return (Float) value();
         }
 
         /**
@@ -529,7 +1033,7 @@ public class RouterArgument {
          * @return the value as a {@code Float[]}
          */
         public Float[] getAsFloatObjectArray() {
-            return (Float[]) value;
+            return (Float[]) value();
         }
 
         /**
@@ -538,7 +1042,7 @@ public class RouterArgument {
          * @return the value as a {@code double}
          */
         public double getAsDouble() {
-            return ((Number) value).doubleValue();
+            return ((Number) value()).doubleValue();
         }
 
         /**
@@ -547,7 +1051,7 @@ public class RouterArgument {
          * @return the value as a {@code double[]}
          */
         public double[] getAsDoubleArray() {
-            return (double[]) value;
+            return (double[]) value();
         }
 
         /**
@@ -556,7 +1060,7 @@ public class RouterArgument {
          * @return the value as a {@code Double}
          */
         public double getAsDoubleObject() {
-            return (Double) value;
+            return (Double) value();
         }
 
         /**
@@ -565,7 +1069,7 @@ public class RouterArgument {
          * @return the value as a {@code Double[]}
          */
         public Double[] getAsDoubleObjectArray() {
-            return (Double[]) value;
+            return (Double[]) value();
         }
 
         /**
@@ -574,7 +1078,7 @@ public class RouterArgument {
          * @return the value as a {@code Number}
          */
         public Number getAsNumber() {
-            return (Number) value;
+            return (Number) value();
         }
 
         /**
@@ -583,7 +1087,7 @@ public class RouterArgument {
          * @return the value as a {@code String}
          */
         public String getAsString() {
-            return (String) value;
+            return (String) value();
         }
 
         /**
@@ -592,7 +1096,7 @@ public class RouterArgument {
          * @return the value as a {@code String[]}
          */
         public String[] getAsStringArray() {
-            return (String[]) value;
+            return (String[]) value();
         }
 
         /**
@@ -601,7 +1105,7 @@ public class RouterArgument {
          * @return {@code true} if the value matches the type; {@code false} otherwise
          */
         public boolean checkType() {
-            return type.check(value);
+            return type.check(value());
         }
 
         /**
@@ -624,12 +1128,13 @@ public class RouterArgument {
             if (type.equals(Type.ANY) || !required) {
                 return;
             }
+            Object value = value();
             if (null==value) {
                 throw new NullPointerException("argument '"+name+"' is required");
             }
 
-            if (!checkType()) {
-                throw new IllegalArgumentException(name+" requires type '"+type.name+"' but found "+(null==value ? "null" : value.getClass().getName()));
+            if (!type.check(value)) {
+                throw new IllegalArgumentException(name+" requires type '"+type.name+"' but found "+value.getClass().getName());
             }
         }
 
@@ -639,7 +1144,7 @@ public class RouterArgument {
                     "name='" + name + '\'' +
                     ", type=" + type +
                     ", required=" + required +
-                    ", value=" + value +
+                    ", value=" + value() +
                     '}';
         }
     }
@@ -2,6 +2,7 @@ package rahulstech.jfx.routing.lifecycle;
 
 import javafx.scene.Node;
 import rahulstech.jfx.routing.Router;
+import rahulstech.jfx.routing.element.RouterArgument;
 
 /**
  * The {@code LifecycleAwareController} interface defines a contract for controllers
@@ -82,4 +83,37 @@ public interface LifecycleAwareController {
      * resource here. For example: close db connection and any open stream.
      */
     void onLifecycleDestroy();
+
+    /**
+     * Called when a destroyed controller is reused for a new visit of its destination,
+     * in place of {@link #onLifecycleCreate()}. It is called only for destinations
+     * which are marked {@link rahulstech.jfx.routing.parser.Attribute#REUSABLE reusable}.
+     * The root node is the same as before destroy. Acquire again the resources released
+     * in {@link #onLifecycleDestroy()} here. The default implementation does nothing.
+     *
+     * @since 2.1.0
+     */
+    default void onLifecycleRevive() {}
+
+    /**
+     * Called before this controller is released to reclaim memory while its destination is hidden deep
+     * in the backstack. Put everything required to restore the current state, for example the scroll
+     * position or the text typed by the user, into {@code state}. {@link #onLifecycleDestroy()} is called
+     * right after this method. The default implementation does nothing.
+     *
+     * @param state non-null {@link RouterArgument} to save the state into
+     * @see rahulstech.jfx.routing.memory.DehydrationPolicy
+     * @since 2.1.0
+     */
+    default void onLifecycleSaveState(RouterArgument state) {}
+
+    /**
+     * Called on a new controller which replaces a released one, right after {@link #onLifecycleCreate()}.
+     * Restore the state saved by {@link #onLifecycleSaveState(RouterArgument)} here. The default
+     * implementation does nothing.
+     *
+     * @param state non-null {@link RouterArgument} with the saved state
+     * @since 2.1.0
+     */
+    default void onLifecycleRestoreState(RouterArgument state) {}
 }
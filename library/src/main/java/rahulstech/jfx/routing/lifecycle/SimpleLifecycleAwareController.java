@@ -2,6 +2,7 @@ package rahulstech.jfx.routing.lifecycle;
 
 import javafx.scene.Node;
 import rahulstech.jfx.routing.Router;
+import rahulstech.jfx.routing.element.RouterArgument;
 
 /**
  * A simple implementation of {@link LifecycleAwareController}
@@ -63,4 +64,16 @@ public abstract class SimpleLifecycleAwareController implements LifecycleAwareCo
     /** {@inheritDoc} */
     @Override
     public void onLifecycleDestroy() {}
+
+    /** {@inheritDoc} */
+    @Override
+    public void onLifecycleRevive() {}
+
+    /** {@inheritDoc} */
+    @Override
+    public void onLifecycleSaveState(RouterArgument state) {}
+
+    /** {@inheritDoc} */
+    @Override
+    public void onLifecycleRestoreState(RouterArgument state) {}
 }
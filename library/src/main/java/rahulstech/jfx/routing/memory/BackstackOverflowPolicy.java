@@ -0,0 +1,52 @@
+package rahulstech.jfx.routing.memory;
+
+import java.util.Locale;
+
+/**
+ * The {@code BackstackOverflowPolicy} decides what a {@link rahulstech.jfx.routing.Router Router} does when its
+ * backstack grows deeper than its {@link rahulstech.jfx.routing.Router#getMaxBackstack() max backstack}.
+ * The backstack top is never dropped or dehydrated.
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ * @see rahulstech.jfx.routing.parser.Attribute#BACKSTACK_OVERFLOW
+ */
+public enum BackstackOverflowPolicy {
+
+    /**
+     * Drops the entries nearest to the backstack bottom, except the bottom-most entry of the
+     * home destination
+     */
+    DROP_OLDEST,
+
+    /**
+     * Drops the older entries of the destinations with more than one entry, deepest first. Falls back
+     * to {@link #DROP_OLDEST} if the backstack is still too deep.
+     */
+    COLLAPSE_DUPLICATES,
+
+    /**
+     * Keeps all entries, but dehydrates the hidden entries beyond the max backstack. A dehydrated entry
+     * keeps only its destination, data and saved state.
+     *
+     * @see DehydrationPolicy
+     */
+    DEHYDRATE;
+
+    /**
+     * Returns {@code BackstackOverflowPolicy} for the name. Names are case-insensitive, and
+     * one of {@code drop_oldest}, {@code collapse_duplicates} and {@code dehydrate}.
+     *
+     * @param name the policy name
+     * @return the {@code BackstackOverflowPolicy}
+     * @throws IllegalArgumentException if name is unknown
+     */
+    public static BackstackOverflowPolicy forName(String name) {
+        switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "drop_oldest": return DROP_OLDEST;
+            case "collapse_duplicates": return COLLAPSE_DUPLICATES;
+            case "dehydrate": return DEHYDRATE;
+            default: throw new IllegalArgumentException("unknown backstack overflow policy '"+name+"'");
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package rahulstech.jfx.routing.memory;
+
+/**
+ * The {@code DehydrationPolicy} decides which hidden backstack entries are dehydrated. A dehydrated entry
+ * keeps only its destination and data. Its controller state is saved, and its controller and node are
+ * released. The entry is rehydrated transparently when it is shown again.
+ *
+ * <p>An entry is dehydrated when it is deeper in the backstack than {@link #getMaxDepth() max depth}
+ * or hidden for longer than {@link #getMaxHiddenMillis() max hidden time}. The backstack top is at depth
+ * {@code 0} and is never dehydrated.</p>
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ * @see rahulstech.jfx.routing.lifecycle.LifecycleAwareController#onLifecycleSaveState(rahulstech.jfx.routing.element.RouterArgument)
+ */
+public final class DehydrationPolicy {
+
+    /**
+     * A policy that never dehydrates
+     */
+    public static final DehydrationPolicy NEVER = new DehydrationPolicy(0,0);
+
+    private final int maxDepth;
+
+    private final long maxHiddenMillis;
+
+    /**
+     * Creates new {@code DehydrationPolicy}
+     *
+     * @param maxDepth entries deeper than this are dehydrated, {@code 0} means no depth limit
+     * @param maxHiddenMillis entries hidden longer than this are dehydrated, {@code 0} means no time limit
+     * @throws IllegalArgumentException if any of the values is negative
+     */
+    public DehydrationPolicy(int maxDepth, long maxHiddenMillis) {
+        if (maxDepth<0) {
+            throw new IllegalArgumentException("max depth can not be negative");
+        }
+        if (maxHiddenMillis<0) {
+            throw new IllegalArgumentException("max hidden time can not be negative");
+        }
+        this.maxDepth = maxDepth;
+        this.maxHiddenMillis = maxHiddenMillis;
+    }
+
+    /**
+     * Returns the depth beyond which entries are dehydrated
+     *
+     * @return the max depth, {@code 0} means no depth limit
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Returns the time in milliseconds after which hidden entries are dehydrated
+     *
+     * @return the max hidden time, {@code 0} means no time limit
+     */
+    public long getMaxHiddenMillis() {
+        return maxHiddenMillis;
+    }
+
+    /**
+     * Checks whether this policy dehydrates anything
+     *
+     * @return {@code true} if any limit is set, {@code false} otherwise
+     */
+    public boolean isEnabled() {
+        return maxDepth>0 || maxHiddenMillis>0;
+    }
+
+    /**
+     * Checks whether the entry must be dehydrated
+     *
+     * @param depth depth of the entry in the backstack, top is at {@code 0}
+     * @param hiddenMillis time in milliseconds since the entry is hidden
+     * @return {@code true} to dehydrate, {@code false} otherwise
+     */
+    public boolean shouldDehydrate(int depth, long hiddenMillis) {
+        if (depth<=0) {
+            return false;
+        }
+        return (maxDepth>0 && depth>maxDepth) || (maxHiddenMillis>0 && hiddenMillis>=maxHiddenMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "DehydrationPolicy{" +
+                "maxDepth=" + maxDepth +
+                ", maxHiddenMillis=" + maxHiddenMillis +
+                '}';
+    }
+}
@@ -0,0 +1,393 @@
+package rahulstech.jfx.routing.memory;
+
+import rahulstech.jfx.routing.Router;
+import rahulstech.jfx.routing.RouterDispatcher;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The {@code MemoryManager} reclaims memory held by every live {@link Router}, including nested routers,
+ * when memory is low. Memory is reclaimed in the priority order of {@link TrimLevel}, i.e. the work cheapest
+ * to redo is released first.
+ *
+ * <p>Memory is reclaimed when</p>
+ * <ol>
+ *     <li>the heap usage crosses the {@link #setUsageThreshold(double) usage threshold}, once
+ *     {@link #start() started}. It listens for the usage threshold notifications of the heap
+ *     {@link MemoryPoolMXBean memory pools}. All the levels of all the routers are trimmed, each on the
+ *     dispatch thread of its {@link RouterDispatcher}.</li>
+ *     <li>a router shows more nodes than its {@link Router#setNodeBudget(int) node budget}. Only that
+ *     router is trimmed level by level until it is within budget.</li>
+ *     <li>{@link #trim()} is called explicitly.</li>
+ * </ol>
+ *
+ * <p>Every {@code Router} registers itself when created and unregisters when disposed. Routers are
+ * referenced weakly, so a router never disposed does not leak. Each trim is reported to the registered
+ * {@link TrimListener}s.</p>
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ */
+public final class MemoryManager {
+
+    /**
+     * Defines what to release while trimming, in the order of priority
+     *
+     * @since 2.1.0
+     */
+    public enum TrimLevel {
+
+        /**
+         * Speculatively prepared views i.e. prefetched or hinted views
+         */
+        SPECULATIVE,
+
+        /**
+         * Caches like the view cache and the snapshot buffers
+         */
+        CACHES,
+
+        /**
+         * Hidden backstack entries, they are dehydrated
+         *
+         * @see DehydrationPolicy
+         */
+        BACKSTACK
+    }
+
+    /**
+     * Defines why trimming is done
+     *
+     * @since 2.1.0
+     */
+    public enum TrimReason {
+
+        /**
+         * Heap usage crossed the usage threshold
+         */
+        HEAP_PRESSURE,
+
+        /**
+         * A router crossed its node budget
+         */
+        NODE_BUDGET,
+
+        /**
+         * Trimming is requested explicitly
+         */
+        EXPLICIT
+    }
+
+    /**
+     * Default fraction of the maximum heap pool size to start trimming at
+     */
+    public static final double DEFAULT_USAGE_THRESHOLD = 0.8;
+
+    private static MemoryManager instance;
+
+    private final List<WeakReference<Router>> routers = new ArrayList<>();
+
+    private final List<TrimListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final List<MemoryPoolMXBean> watchedPools = new ArrayList<>();
+
+    private final Set<RouterDispatcher> trimPending = ConcurrentHashMap.newKeySet();
+
+    private final NotificationListener heapListener = (notification,handback)->{
+        String type = notification.getType();
+        if (MemoryNotificationInfo.MEMORY_THRESHOLD_EXCEEDED.equals(type)
+                || MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(type)) {
+            onHeapPressure();
+        }
+    };
+
+    private double usageThreshold = DEFAULT_USAGE_THRESHOLD;
+
+    private boolean started = false;
+
+    private MemoryManager() {}
+
+    /**
+     * Returns the shared {@code MemoryManager} instance
+     *
+     * @return non-null {@code MemoryManager}
+     */
+    public static synchronized MemoryManager getInstance() {
+        if (null==instance) {
+            instance = new MemoryManager();
+        }
+        return instance;
+    }
+
+    /////////////////////////////////////////////////////////////
+    //                  Heap Usage Threshold                  //
+    ///////////////////////////////////////////////////////////
+
+    /**
+     * Starts listening for the heap usage. Nothing happens if already started.
+     */
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        applyUsageThreshold();
+        ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).addNotificationListener(heapListener,null,null);
+        started = true;
+    }
+
+    /**
+     * Stops listening for the heap usage and resets the thresholds set by this manager.
+     * Nothing happens if not started.
+     */
+    public synchronized void stop() {
+        if (!started) {
+            return;
+        }
+        try {
+            ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).removeNotificationListener(heapListener);
+        }
+        catch (ListenerNotFoundException ignore) {}
+        resetUsageThreshold();
+        started = false;
+    }
+
+    /**
+     * Returns whether listening for the heap usage
+     *
+     * @return {@code true} if started, {@code false} otherwise
+     */
+    public synchronized boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * Sets the fraction of the maximum size of a heap memory pool to start trimming at
+     *
+     * @param fraction the fraction, greater than {@code 0} and at most {@code 1}
+     * @throws IllegalArgumentException if fraction is out of range
+     */
+    public synchronized void setUsageThreshold(double fraction) {
+        if (!(fraction>0 && fraction<=1)) {
+            throw new IllegalArgumentException("usage threshold must be in (0,1] but found "+fraction);
+        }
+        this.usageThreshold = fraction;
+        if (started) {
+            resetUsageThreshold();
+            applyUsageThreshold();
+        }
+    }
+
+    /**
+     * Returns the fraction of the maximum size of a heap memory pool to start trimming at
+     *
+     * @return the usage threshold fraction
+     */
+    public synchronized double getUsageThreshold() {
+        return usageThreshold;
+    }
+
+    /////////////////////////////////////////////////////////////
+    //                   Router Registration                  //
+    ///////////////////////////////////////////////////////////
+
+    /**
+     * Registers the {@link Router} to trim. Called by {@code Router} when created.
+     *
+     * @param router the router to register
+     * @throws NullPointerException if router is null
+     */
+    public synchronized void register(Router router) {
+        if (null==router) {
+            throw new NullPointerException("router is null");
+        }
+        routers.add(new WeakReference<>(router));
+    }
+
+    /**
+     * Unregisters the {@link Router}. Called by {@code Router} when disposed.
+     *
+     * @param router the router to unregister
+     */
+    public synchronized void unregister(Router router) {
+        routers.removeIf(ref->{
+            Router registered = ref.get();
+            return null==registered || registered==router;
+        });
+    }
+
+    /**
+     * Returns the registered live routers
+     *
+     * @return non-null list of routers
+     */
+    public synchronized List<Router> getRouters() {
+        List<Router> live = new ArrayList<>(routers.size());
+        Iterator<WeakReference<Router>> iterator = routers.iterator();
+        while (iterator.hasNext()) {
+            Router router = iterator.next().get();
+            if (null==router) {
+                // router is garbage collected without dispose
+                iterator.remove();
+            }
+            else {
+                live.add(router);
+            }
+        }
+        return live;
+    }
+
+    /////////////////////////////////////////////////////////////
+    //                       Trimming                         //
+    ///////////////////////////////////////////////////////////
+
+    /**
+     * Adds a {@link TrimListener}
+     *
+     * @param listener the listener to add
+     * @throws NullPointerException if listener is null
+     */
+    public void addTrimListener(TrimListener listener) {
+        if (null==listener) {
+            throw new NullPointerException("trim listener is null");
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes the {@link TrimListener}
+     *
+     * @param listener the listener to remove
+     */
+    public void removeTrimListener(TrimListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Trims all the levels of all the registered routers. Must be called on the JavaFx application thread.
+     *
+     * @return total number of released items
+     */
+    public int trim() {
+        return trim(TrimReason.EXPLICIT);
+    }
+
+    /**
+     * Trims the {@link Router} level by level until the number of its nodes is within its
+     * {@link Router#getNodeBudget() node budget}. Nothing happens if the router has no budget.
+     * Called by {@code Router} when a destination is shown.
+     *
+     * @param router the router to trim
+     * @return total number of released items
+     */
+    public int trimToBudget(Router router) {
+        int budget = router.getNodeBudget();
+        if (budget<=0) {
+            return 0;
+        }
+        int total = 0;
+        for (TrimLevel level : TrimLevel.values()) {
+            if (router.getNodeCount()<=budget) {
+                break;
+            }
+            total += trim(router,level,TrimReason.NODE_BUDGET);
+        }
+        return total;
+    }
+
+    private int trim(TrimReason reason) {
+        return trim(getRouters(),reason);
+    }
+
+    private int trim(List<Router> live, TrimReason reason) {
+        int total = 0;
+        for (TrimLevel level : TrimLevel.values()) {
+            // release the cheaper level of every router before the costlier one
+            for (Router router : live) {
+                total += trim(router,level,reason);
+            }
+        }
+        return total;
+    }
+
+    private int trim(Router router, TrimLevel level, TrimReason reason) {
+        int reclaimed = router.trimMemory(level);
+        if (reclaimed>0) {
+            for (TrimListener listener : listeners) {
+                listener.onTrim(router,level,reason,reclaimed);
+            }
+        }
+        return reclaimed;
+    }
+
+    private void onHeapPressure() {
+        // notifications arrive on a jmx thread, coalesce them into one trim per dispatcher
+        Set<RouterDispatcher> dispatchers = new LinkedHashSet<>();
+        for (Router router : getRouters()) {
+            dispatchers.add(router.getContext().getDispatcher());
+        }
+        for (RouterDispatcher dispatcher : dispatchers) {
+            if (trimPending.add(dispatcher)) {
+                dispatcher.dispatch(()->{
+                    trimPending.remove(dispatcher);
+                    trim(getRouters(dispatcher),TrimReason.HEAP_PRESSURE);
+                });
+            }
+        }
+    }
+
+    private List<Router> getRouters(RouterDispatcher dispatcher) {
+        List<Router> routers = getRouters();
+        // a router is trimmed on the thread it runs on
+        routers.removeIf(router->router.getContext().getDispatcher()!=dispatcher);
+        return routers;
+    }
+
+    private void applyUsageThreshold() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            long max = pool.getUsage().getMax();
+            if (pool.getType()!=MemoryType.HEAP || max<=0) {
+                continue;
+            }
+            long threshold = (long) (max*usageThreshold);
+            boolean watched = false;
+            if (pool.isUsageThresholdSupported()) {
+                pool.setUsageThreshold(threshold);
+                watched = true;
+            }
+            if (pool.isCollectionUsageThresholdSupported()) {
+                // usage after gc tells the memory actually retained
+                pool.setCollectionUsageThreshold(threshold);
+                watched = true;
+            }
+            if (watched) {
+                watchedPools.add(pool);
+            }
+        }
+    }
+
+    private void resetUsageThreshold() {
+        for (MemoryPoolMXBean pool : watchedPools) {
+            if (pool.isUsageThresholdSupported()) {
+                pool.setUsageThreshold(0);
+            }
+            if (pool.isCollectionUsageThresholdSupported()) {
+                pool.setCollectionUsageThreshold(0);
+            }
+        }
+        watchedPools.clear();
+    }
+}
@@ -0,0 +1,25 @@
+package rahulstech.jfx.routing.memory;
+
+import rahulstech.jfx.routing.Router;
+
+/**
+ * This interface defines the callback to get notified about the memory reclaimed by {@link MemoryManager}.
+ * It is called on the JavaFx application thread once for each {@link Router} and {@link MemoryManager.TrimLevel}
+ * which reclaimed something.
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ * @see MemoryManager#addTrimListener(TrimListener)
+ */
+public interface TrimListener {
+
+    /**
+     * Called after the {@link Router} is trimmed
+     *
+     * @param router the trimmed router
+     * @param level the trimmed level
+     * @param reason the reason of trimming
+     * @param reclaimed number of released items, i.e. views, snapshot buffers or backstack entries
+     */
+    void onTrim(Router router, MemoryManager.TrimLevel level, MemoryManager.TrimReason reason, int reclaimed);
+}
@@ -6,6 +6,7 @@ import rahulstech.jfx.routing.element.RouterArgument;
 import rahulstech.jfx.routing.parser.converter.*;
 import rahulstech.jfx.routing.util.Size;
 
+import java.util.Locale;
 import java.util.Objects;
 
 /**
@@ -202,6 +203,142 @@ public class Attribute {
      */
     public static final String REMOVE_HISTORY = "removeHistory";
 
+    /**
+     * Set when the view of the {@link rahulstech.jfx.routing.element.Destination Destination} is prepared in background.
+     * Possible values are {@code eager}, {@code idle} and {@code lazy}. By default, this value is {@code lazy}.
+     *
+     * @see rahulstech.jfx.routing.element.Destination.PreloadMode
+     * @since 2.1.0
+     */
+    public static final String PRELOAD = "preload";
+
+    /**
+     * This attribute of {@link rahulstech.jfx.routing.element.Destination Destination} when set to {@code true}, the view of the
+     * {@code Destination} is cached when popped from backstack and revived on the next visit. The controller must be able to
+     * survive a destroy and revive cycle. By default, this value is {@code false}.
+     *
+     * @see rahulstech.jfx.routing.lifecycle.LifecycleAwareController#onLifecycleRevive()
+     * @since 2.1.0
+     */
+    public static final String REUSABLE = "reusable";
+
+    /**
+     * Set the path pattern of a {@link rahulstech.jfx.routing.element.Destination Destination} like
+     * {@code /customer/{id}/order/{orderId}}. A segment in braces is a path parameter, its value is set to the
+     * destination argument of the same name, converted to the type of the argument. The path must be unique in
+     * {@link rahulstech.jfx.routing.Router Router}.
+     *
+     * @see rahulstech.jfx.routing.Router#matchPath(String)
+     * @since 2.1.0
+     */
+    public static final String PATH = "path";
+
+    /**
+     * Set the maximum number of popped views kept by a {@link rahulstech.jfx.routing.Router Router} for reuse.
+     * {@code 0} disables caching.
+     *
+     * @see rahulstech.jfx.routing.cache.ViewCache
+     * @since 2.1.0
+     */
+    public static final String VIEW_CACHE_SIZE = "viewCacheSize";
+
+    /**
+     * Set the eviction policy of the view cache of a {@link rahulstech.jfx.routing.Router Router}.
+     * Possible values are {@code lru}, {@code lfu} and {@code cost_aware}. By default, this value is {@code lru}.
+     *
+     * @see rahulstech.jfx.routing.cache.EvictionPolicy
+     * @since 2.1.0
+     */
+    public static final String VIEW_CACHE_POLICY = "viewCachePolicy";
+
+    /**
+     * Set how the view of a hidden destination is treated. Possible values are {@code detach} and {@code keep_attached}.
+     * {@code detach} removes the view from the content pane. {@code keep_attached} keeps the view in the content pane as
+     * invisible and unmanaged, so showing it again does not re-apply css. Set on a {@link rahulstech.jfx.routing.Router Router}
+     * to change the default for all destinations, or on a {@link rahulstech.jfx.routing.element.Destination Destination}
+     * to override the router default. By default, this value is {@code detach}.
+     *
+     * @see rahulstech.jfx.routing.element.Destination.HideMode
+     * @since 2.1.0
+     */
+    public static final String HIDE_MODE = "hideMode";
+
+    /**
+     * Set the maximum number of hidden views a {@link rahulstech.jfx.routing.Router Router} keeps attached to the content
+     * pane for destinations with {@code keep_attached} {@link #HIDE_MODE hide mode}. Views deeper in the backstack are
+     * detached. By default, this value is {@code 2}.
+     *
+     * @since 2.1.0
+     */
+    public static final String KEEP_ATTACHED_DEPTH = "keepAttachedDepth";
+
+    /**
+     * Set the depth of the backstack of a {@link rahulstech.jfx.routing.Router Router} beyond which the hidden entries
+     * are dehydrated, i.e. their controller state is saved and their view is released. The backstack top is at depth
+     * {@code 0}. {@code 0} disables dehydration by depth. By default, this value is {@code 0}.
+     *
+     * @see rahulstech.jfx.routing.memory.DehydrationPolicy
+     * @since 2.1.0
+     */
+    public static final String DEHYDRATE_DEPTH = "dehydrateDepth";
+
+    /**
+     * Set the duration a backstack entry of a {@link rahulstech.jfx.routing.Router Router} may stay hidden before it
+     * is dehydrated. For example: {@code 300s}. By default, entries are not dehydrated by hidden time.
+     *
+     * @see rahulstech.jfx.routing.memory.DehydrationPolicy
+     * @since 2.1.0
+     */
+    public static final String DEHYDRATE_AFTER = "dehydrateAfter";
+
+    /**
+     * Set the maximum number of nodes the views of a {@link rahulstech.jfx.routing.Router Router} may hold. The
+     * router is trimmed when it holds more. By default, there is no budget.
+     *
+     * @see rahulstech.jfx.routing.memory.MemoryManager
+     * @since 2.1.0
+     */
+    public static final String NODE_BUDGET = "nodeBudget";
+
+    /**
+     * Set the maximum number of entries in the backstack of a {@link rahulstech.jfx.routing.Router Router}.
+     * When a navigation makes the backstack deeper, the {@link #BACKSTACK_OVERFLOW overflow policy} is applied.
+     * {@code 0} means no limit. By default, this value is {@code 0}.
+     *
+     * @see rahulstech.jfx.routing.Router#setMaxBackstack(int)
+     * @since 2.1.0
+     */
+    public static final String MAX_BACKSTACK = "maxBackstack";
+
+    /**
+     * Set what a {@link rahulstech.jfx.routing.Router Router} does when its backstack is deeper than the
+     * {@link #MAX_BACKSTACK max backstack}. Possible values are {@code drop_oldest}, {@code collapse_duplicates}
+     * and {@code dehydrate}. By default, this value is {@code drop_oldest}.
+     *
+     * @see rahulstech.jfx.routing.memory.BackstackOverflowPolicy
+     * @since 2.1.0
+     */
+    public static final String BACKSTACK_OVERFLOW = "backstackOverflow";
+
+    /**
+     * Set the window a {@link rahulstech.jfx.routing.Router Router} waits to coalesce navigation requests, for
+     * example: {@code 50ms}. {@code 0ms} coalesces requests within the same pulse. By default, navigation
+     * requests are not coalesced.
+     *
+     * @see rahulstech.jfx.routing.NavigationDispatcher
+     * @since 2.1.0
+     */
+    public static final String COALESCE_WINDOW = "coalesceWindow";
+
+    /**
+     * Set the number of most likely next destinations a {@link rahulstech.jfx.routing.Router Router} prepares speculatively
+     * after a destination is shown. {@code 0} disables speculative preparation. By default, this value is {@code 0}.
+     *
+     * @see rahulstech.jfx.routing.preload.NavigationPredictor
+     * @since 2.1.0
+     */
+    public static final String PREFETCH = "prefetch";
+
     // attribute for argument
 
     /**
@@ -374,6 +511,26 @@ public class Attribute {
         return BooleanConverter.getInstance().convert(this);
     }
 
+    /**
+     * Converts the attribute value to a constant of the enum. The value is case-insensitive.
+     *
+     * @param type the enum class
+     * @param <E> the enum type
+     * @return the attribute value as the enum constant
+     * @throws ConverterException if the value is not the name of a constant, the message names this attribute
+     * @since 2.1.0
+     */
+    public <E extends Enum<E>> E getAsEnum(Class<E> type) {
+        String name = null==value ? "" : value.trim().toUpperCase(Locale.ROOT);
+        try {
+            return Enum.valueOf(type,name);
+        }
+        catch (IllegalArgumentException ex) {
+            throw new ConverterException("can not convert '"+value+"' of attribute '"+this.name+"' to "
+                    +type.getSimpleName(),ex);
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -66,7 +66,8 @@ import java.util.*;
  *
  *     <destination id="screen2"
  *                  fxml="screen_two.fxml"
- *                  arguments="args_global"/>
+ *                  arguments="args_global"
+ *                  preload="idle"/>
  *
  * </router>
  * }
@@ -0,0 +1,96 @@
+package rahulstech.jfx.routing.preload;
+
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.scene.input.MouseEvent;
+import rahulstech.jfx.routing.Router;
+
+/**
+ * The {@code NavigationIntent} attaches to a {@link Node}, typically a button or a link, that navigates
+ * to a destination. When the pointer enters the node or a press starts on it, the destination is hinted
+ * to the {@link Router} using {@link Router#hintIntent(String)}. So the destination is prepared during
+ * the short gap before the click lands.
+ *
+ * <pre>
+ *     NavigationIntent.install(btnSettings,router,"settings");
+ *     btnSettings.setOnAction(e-&gt;router.moveto("settings"));
+ * </pre>
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ */
+public class NavigationIntent {
+
+    private final Node node;
+
+    private final Router router;
+
+    private final String destinationId;
+
+    private final EventHandler<MouseEvent> handler;
+
+    private boolean installed = false;
+
+    private NavigationIntent(Node node, Router router, String destinationId) {
+        this.node = node;
+        this.router = router;
+        this.destinationId = destinationId;
+        this.handler = e->router.hintIntent(destinationId);
+    }
+
+    /**
+     * Attaches a {@code NavigationIntent} to the node. Existing event handlers of the node are not affected.
+     *
+     * @param node the node which navigates to the destination
+     * @param router the {@link Router} to navigate with
+     * @param destinationId id of the destination
+     * @return the installed {@code NavigationIntent}, use it to {@link #uninstall()}
+     * @throws NullPointerException if any of the arguments is null
+     */
+    public static NavigationIntent install(Node node, Router router, String destinationId) {
+        if (null==node) {
+            throw new NullPointerException("node is null");
+        }
+        if (null==router) {
+            throw new NullPointerException("router is null");
+        }
+        if (null==destinationId) {
+            throw new NullPointerException("destination id is null");
+        }
+        NavigationIntent intent = new NavigationIntent(node,router,destinationId);
+        intent.node.addEventHandler(MouseEvent.MOUSE_ENTERED,intent.handler);
+        intent.node.addEventHandler(MouseEvent.MOUSE_PRESSED,intent.handler);
+        intent.installed = true;
+        return intent;
+    }
+
+    /**
+     * Detaches this {@code NavigationIntent} from the node
+     */
+    public void uninstall() {
+        if (!installed) {
+            return;
+        }
+        node.removeEventHandler(MouseEvent.MOUSE_ENTERED,handler);
+        node.removeEventHandler(MouseEvent.MOUSE_PRESSED,handler);
+        installed = false;
+    }
+
+    /**
+     * Returns the node this {@code NavigationIntent} attaches to
+     *
+     * @return the node
+     */
+    public Node getNode() {
+        return node;
+    }
+
+    /**
+     * Returns the id of the hinted destination
+     *
+     * @return the destination id
+     */
+    public String getDestinationId() {
+        return destinationId;
+    }
+}
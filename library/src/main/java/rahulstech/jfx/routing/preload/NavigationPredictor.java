@@ -0,0 +1,225 @@
+package rahulstech.jfx.routing.preload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.*;
+
+/**
+ * The {@code NavigationPredictor} keeps a compact transition-frequency model of the navigation. It counts how many
+ * times the user navigated from one destination to another and predicts the most likely next destinations. At most
+ * {@link #MAX_TARGETS_PER_SOURCE} targets are remembered per source destination, the least frequent target is
+ * forgotten to make room for a new one. The new target takes over the count of the forgotten one plus its own,
+ * so it is not the next one forgotten and can build up its history. The counts of a source are halved every
+ * {@link #DECAY_INTERVAL} recorded navigations from it, so old habits fade and new routes can compete.
+ *
+ * <p>The model can be persisted between runs using {@link #save(OutputStream)} and {@link #load(InputStream)}.</p>
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ */
+public class NavigationPredictor {
+
+    /**
+     * Maximum number of target destinations remembered for a source destination
+     */
+    public static final int MAX_TARGETS_PER_SOURCE = 8;
+
+    /**
+     * Number of navigations recorded from a source destination after which its counts are halved
+     */
+    public static final int DECAY_INTERVAL = 1024;
+
+    private static final String SEPARATOR = "->";
+
+    private final Map<String,Targets> transitions = new HashMap<>();
+
+    /**
+     * Creates new empty {@code NavigationPredictor}
+     */
+    public NavigationPredictor() {}
+
+    /**
+     * Records a navigation from one destination to another
+     *
+     * @param from the source destination id
+     * @param to the target destination id
+     */
+    public synchronized void record(String from, String to) {
+        add(from,to,1,true);
+    }
+
+    /**
+     * Returns how many times navigated from one destination to another
+     *
+     * @param from the source destination id
+     * @param to the target destination id
+     * @return the count
+     */
+    public synchronized int getCount(String from, String to) {
+        Targets targets = transitions.get(from);
+        if (null==targets) {
+            return 0;
+        }
+        int index = targets.indexOf(to);
+        return index<0 ? 0 : targets.counts[index];
+    }
+
+    /**
+     * Returns most likely next destinations from the source destination
+     *
+     * @param from the source destination id
+     * @param count maximum number of destinations to predict
+     * @return non-null list of destination ids, most likely first
+     */
+    public synchronized List<String> predict(String from, int count) {
+        Targets targets = transitions.get(from);
+        if (null==targets || count<=0) {
+            return Collections.emptyList();
+        }
+        int size = Math.min(count,targets.size);
+        List<String> predicted = new ArrayList<>(size);
+        boolean[] taken = new boolean[targets.size];
+        for (int i=0; i<size; i++) {
+            // at most MAX_TARGETS_PER_SOURCE targets, selecting is cheaper than sorting
+            int best = -1;
+            for (int j=0; j<targets.size; j++) {
+                if (!taken[j] && (best<0 || targets.counts[j]>targets.counts[best])) {
+                    best = j;
+                }
+            }
+            taken[best] = true;
+            predicted.add(targets.ids[best]);
+        }
+        return predicted;
+    }
+
+    /**
+     * Forgets all the recorded navigations
+     */
+    public synchronized void clear() {
+        transitions.clear();
+    }
+
+    /**
+     * Writes the model to the output stream in {@link Properties} format
+     *
+     * @param out the output stream
+     * @throws IOException if writing fails
+     */
+    public synchronized void save(OutputStream out) throws IOException {
+        Properties properties = new Properties();
+        transitions.forEach((from,targets)->{
+            for (int i=0; i<targets.size; i++) {
+                properties.setProperty(from+SEPARATOR+targets.ids[i],String.valueOf(targets.counts[i]));
+            }
+        });
+        properties.store(out,"navigation transitions");
+    }
+
+    /**
+     * Reads the model from the input stream written by {@link #save(OutputStream)}. Loaded counts
+     * are added to the existing counts. Malformed entries are ignored.
+     *
+     * @param in the input stream
+     * @throws IOException if reading fails
+     */
+    public synchronized void load(InputStream in) throws IOException {
+        Properties properties = new Properties();
+        properties.load(in);
+        for (String key : properties.stringPropertyNames()) {
+            int separator = key.indexOf(SEPARATOR);
+            if (separator<=0) {
+                continue;
+            }
+            String from = key.substring(0,separator);
+            String to = key.substring(separator+SEPARATOR.length());
+            int count;
+            try {
+                count = Integer.parseInt(properties.getProperty(key).trim());
+            }
+            catch (NumberFormatException ignore) {
+                continue;
+            }
+            add(from,to,count,false);
+        }
+    }
+
+    private void add(String from, String to, int count, boolean recorded) {
+        if (null==from || null==to || from.equals(to) || count<=0) {
+            return;
+        }
+        transitions.computeIfAbsent(from,key->new Targets()).add(to,count,recorded);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "NavigationPredictor{" +
+                "transitions=" + transitions +
+                '}';
+    }
+
+    /**
+     * The targets of a source destination and their counts
+     */
+    private static class Targets {
+
+        final String[] ids = new String[MAX_TARGETS_PER_SOURCE];
+
+        final int[] counts = new int[MAX_TARGETS_PER_SOURCE];
+
+        int size = 0;
+
+        // navigations recorded since the counts were halved
+        int recorded = 0;
+
+        int indexOf(String id) {
+            for (int i=0; i<size; i++) {
+                if (ids[i].equals(id)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        void add(String id, int count, boolean recorded) {
+            int index = indexOf(id);
+            if (index<0) {
+                if (size<MAX_TARGETS_PER_SOURCE) {
+                    index = size++;
+                    counts[index] = 0;
+                }
+                else {
+                    // the new target takes over the count of the least frequent one
+                    index = 0;
+                    for (int i=1; i<size; i++) {
+                        if (counts[i]<counts[index]) {
+                            index = i;
+                        }
+                    }
+                }
+                ids[index] = id;
+            }
+            counts[index] = (int) Math.min(Integer.MAX_VALUE,(long) counts[index]+count);
+            // loaded counts are history already, only new navigations age the counts
+            if (recorded && ++this.recorded>=DECAY_INTERVAL) {
+                for (int i=0; i<size; i++) {
+                    counts[i] >>= 1;
+                }
+                this.recorded = 0;
+            }
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder("{");
+            for (int i=0; i<size; i++) {
+                if (i>0) {
+                    builder.append(", ");
+                }
+                builder.append(ids[i]).append('=').append(counts[i]);
+            }
+            return builder.append('}').toString();
+        }
+    }
+}
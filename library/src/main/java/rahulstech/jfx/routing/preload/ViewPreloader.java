@@ -0,0 +1,503 @@
+package rahulstech.jfx.routing.preload;
+
+import rahulstech.jfx.routing.RouterDispatcher;
+import rahulstech.jfx.routing.util.Disposable;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * The {@code ViewPreloader} prepares views of destinations ahead of navigation. The expensive
+ * part of the preparation, for example loading the fxml and constructing the controller, is
+ * performed on a background worker. Once loaded, an optional warm-up step is performed on the
+ * dispatch thread of its {@link RouterDispatcher}, the JavaFx application thread by default. The
+ * prepared view is kept by destination id until it is consumed by {@link #take(String)} or discarded
+ * by {@link #cancel(String)}.
+ *
+ * <p>Each {@link rahulstech.jfx.routing.Router Router} owns a {@code ViewPreloader}. What is prepared and
+ * how it is consumed is decided by the {@link rahulstech.jfx.routing.RouterExecutor RouterExecutor} handling
+ * the destination.</p>
+ *
+ * <p>A preload can be speculative, i.e. started by prediction rather than by request. Speculative
+ * preloads are limited by a time budget, discarded by {@link #cancelSpeculative(String)} when the user
+ * navigates elsewhere and counted as hits or misses.</p>
+ *
+ * <p>All methods except the loader callable must be called from the dispatch thread.</p>
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ */
+public class ViewPreloader implements Disposable {
+
+    /**
+     * Default time in milliseconds speculative preloads may spend within {@link #SPECULATION_WINDOW}
+     */
+    public static final long DEFAULT_SPECULATION_BUDGET = 1000;
+
+    /**
+     * Length of the window in milliseconds the speculation budget applies to
+     */
+    public static final long SPECULATION_WINDOW = 60_000;
+
+    private static Executor defaultExecutor;
+
+    private final Executor worker;
+
+    private final RouterDispatcher dispatcher;
+
+    private Map<String,PreloadTask<?>> tasks;
+
+    private volatile long speculationBudget = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SPECULATION_BUDGET);
+
+    private final ArrayDeque<long[]> speculationCosts = new ArrayDeque<>();
+
+    private long hitCount = 0;
+
+    private long missCount = 0;
+
+    private boolean disposed = false;
+
+    /**
+     * Creates new {@code ViewPreloader} which loads views using the given {@link Executor}
+     * and warms them up on the JavaFx application thread
+     *
+     * @param worker the background {@code Executor}
+     * @throws NullPointerException if worker is null
+     */
+    public ViewPreloader(Executor worker) {
+        this(worker,RouterDispatcher.fx());
+    }
+
+    /**
+     * Creates new {@code ViewPreloader} which loads views using the given {@link Executor}
+     * and warms them up on the dispatch thread of the given {@link RouterDispatcher}
+     *
+     * @param worker the background {@code Executor}
+     * @param dispatcher the {@code RouterDispatcher} to warm up on
+     * @throws NullPointerException if worker or dispatcher is null
+     */
+    public ViewPreloader(Executor worker, RouterDispatcher dispatcher) {
+        if (null==worker) {
+            throw new NullPointerException("worker is null");
+        }
+        if (null==dispatcher) {
+            throw new NullPointerException("dispatcher is null");
+        }
+        this.worker = worker;
+        this.dispatcher = dispatcher;
+        this.tasks = new HashMap<>();
+    }
+
+    /**
+     * Returns the shared background {@link Executor} used for preloading. The executor
+     * uses daemon threads, so it never prevents the application from exiting.
+     *
+     * @return non-null shared {@code Executor}
+     */
+    public static synchronized Executor getDefaultExecutor() {
+        if (null==defaultExecutor) {
+            AtomicInteger count = new AtomicInteger();
+            int threads = Math.max(1,Runtime.getRuntime().availableProcessors()/2);
+            defaultExecutor = Executors.newFixedThreadPool(threads,runnable->{
+                Thread thread = new Thread(runnable,"router-preloader-"+count.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setPriority(Thread.NORM_PRIORITY-1);
+                return thread;
+            });
+        }
+        return defaultExecutor;
+    }
+
+    /**
+     * Starts preparing the view for the given id. The {@code loader} is called on the background
+     * worker. When the loader completes successfully, {@code warmUp} is called on the dispatch
+     * thread with the loaded value. If a view is already prepared or being prepared
+     * for the id then nothing happens.
+     *
+     * @param id the destination id
+     * @param loader non-null {@link Callable} that loads the view
+     * @param warmUp nullable {@link Consumer} to call on the dispatch thread after loading
+     * @param <T> type of the prepared view
+     * @return {@code true} if a new preload is started, {@code false} otherwise
+     */
+    public <T> boolean preload(String id, Callable<T> loader, Consumer<T> warmUp) {
+        PreloadTask<?> existing = null==tasks ? null : tasks.get(id);
+        if (null!=existing) {
+            // requested explicitly, so it is no longer a guess
+            existing.speculative = false;
+            return false;
+        }
+        return submit(id,loader,warmUp,false);
+    }
+
+    /**
+     * Starts preparing the view for the given id speculatively. It works like
+     * {@link #preload(String, Callable, Consumer)}, except nothing is started if the
+     * {@link #setSpeculationBudget(long) speculation budget} is spent.
+     *
+     * @param id the destination id
+     * @param loader non-null {@link Callable} that loads the view
+     * @param warmUp nullable {@link Consumer} to call on the dispatch thread after loading
+     * @param <T> type of the prepared view
+     * @return {@code true} if a new preload is started, {@code false} otherwise
+     */
+    public <T> boolean prefetch(String id, Callable<T> loader, Consumer<T> warmUp) {
+        if (disposed || tasks.containsKey(id) || !hasSpeculationBudget()) {
+            return false;
+        }
+        return submit(id,loader,warmUp,true);
+    }
+
+    /**
+     * Starts preparing the view for the given id because the user signalled the intent to navigate
+     * there, for example by hovering over a button. It works like {@link #prefetch(String, Callable, Consumer)},
+     * except the {@link #setSpeculationBudget(long) speculation budget} is not checked, because an intent
+     * is a much stronger signal than a prediction. The cost is still counted in the budget.
+     *
+     * @param id the destination id
+     * @param loader non-null {@link Callable} that loads the view
+     * @param warmUp nullable {@link Consumer} to call on the dispatch thread after loading
+     * @param <T> type of the prepared view
+     * @return {@code true} if a new preload is started, {@code false} otherwise
+     */
+    public <T> boolean hint(String id, Callable<T> loader, Consumer<T> warmUp) {
+        if (disposed || tasks.containsKey(id)) {
+            return false;
+        }
+        return submit(id,loader,warmUp,true);
+    }
+
+    /**
+     * Sets the time in milliseconds speculative preloads may spend within {@link #SPECULATION_WINDOW}.
+     * {@code 0} disables speculative preloading.
+     *
+     * @param millis the budget in milliseconds
+     * @throws IllegalArgumentException if millis is negative
+     */
+    public void setSpeculationBudget(long millis) {
+        if (millis<0) {
+            throw new IllegalArgumentException("speculation budget can not be negative");
+        }
+        speculationBudget = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * Returns the time in milliseconds speculative preloads may spend within {@link #SPECULATION_WINDOW}
+     *
+     * @return the budget in milliseconds
+     */
+    public long getSpeculationBudget() {
+        return TimeUnit.NANOSECONDS.toMillis(speculationBudget);
+    }
+
+    /**
+     * Checks whether speculative preloads spent less than the budget in the current window
+     *
+     * @return {@code true} if budget remains, {@code false} otherwise
+     */
+    public boolean hasSpeculationBudget() {
+        synchronized (speculationCosts) {
+            long windowStart = System.nanoTime()-TimeUnit.MILLISECONDS.toNanos(SPECULATION_WINDOW);
+            long spent = 0;
+            Iterator<long[]> iterator = speculationCosts.iterator();
+            while (iterator.hasNext()) {
+                long[] cost = iterator.next();
+                if (cost[0]-windowStart<0) {
+                    iterator.remove();
+                }
+                else {
+                    spent += cost[1];
+                }
+            }
+            return spent<speculationBudget;
+        }
+    }
+
+    /**
+     * Returns the number of speculatively prepared views consumed by navigation
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of speculatively prepared views discarded without use
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Discards all the speculatively prepared views except for the given id. Loading in progress is interrupted.
+     *
+     * @param keepId nullable id of the view to keep
+     * @return number of discarded views
+     */
+    public int cancelSpeculative(String keepId) {
+        if (disposed || tasks.isEmpty()) {
+            // called on every navigation, nothing to iterate mostly
+            return 0;
+        }
+        int count = 0;
+        Iterator<Map.Entry<String,PreloadTask<?>>> iterator = tasks.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String,PreloadTask<?>> entry = iterator.next();
+            PreloadTask<?> task = entry.getValue();
+            if (task.speculative && !entry.getKey().equals(keepId)) {
+                iterator.remove();
+                discard(task);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Discards the view for the id only if it is prepared speculatively. Loading in progress is interrupted.
+     *
+     * @param id the destination id
+     * @return {@code true} if discarded, {@code false} otherwise
+     */
+    public boolean discardSpeculative(String id) {
+        if (disposed) {
+            return false;
+        }
+        PreloadTask<?> task = tasks.get(id);
+        if (null==task || !task.speculative) {
+            return false;
+        }
+        tasks.remove(id);
+        discard(task);
+        return true;
+    }
+
+    /**
+     * Checks whether a view is prepared or being prepared for the id
+     *
+     * @param id the destination id
+     * @return {@code true} if a view prepared or being prepared, {@code false} otherwise
+     */
+    public boolean contains(String id) {
+        return !disposed && tasks.containsKey(id);
+    }
+
+    /**
+     * Returns a {@link CompletableFuture} which completes on the dispatch thread when the view for
+     * the id is loaded and warmed up. It completes exceptionally with the loading failure, or is canceled if
+     * the preload is canceled. If nothing is prepared for the id then a completed future is returned.
+     *
+     * @param id the destination id
+     * @return non-null {@code CompletableFuture}
+     * @since 2.1.0
+     */
+    public CompletableFuture<Void> whenReady(String id) {
+        PreloadTask<?> task = disposed ? null : tasks.get(id);
+        if (null==task) {
+            return CompletableFuture.completedFuture(null);
+        }
+        // callers must not complete the future of the task
+        return task.ready.copy();
+    }
+
+    /**
+     * Checks whether the view for the id is completely loaded and warmed up
+     *
+     * @param id the destination id
+     * @return {@code true} if loaded and warmed up successfully, {@code false} otherwise
+     */
+    public boolean isReady(String id) {
+        if (disposed) {
+            return false;
+        }
+        PreloadTask<?> task = tasks.get(id);
+        return null!=task && task.isReady();
+    }
+
+    /**
+     * Removes and returns the prepared view for the id. Only a view loaded and warmed up is handed out. It
+     * never waits for a load, if the view is not ready yet then {@code null} is returned, so the caller can
+     * load the view itself. A loading in progress is kept, use {@link #whenReady(String)} to wait for it
+     * without blocking.
+     *
+     * @param id the destination id
+     * @param <T> type of the prepared view
+     * @return the prepared view or {@code null} if not prepared, still loading or loading failed
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T take(String id) {
+        if (disposed) {
+            return null;
+        }
+        PreloadTask<T> task = (PreloadTask<T>) tasks.get(id);
+        if (null==task || !task.ready.isDone()) {
+            // blocking here would freeze the caller, usually the JavaFx application thread
+            return null;
+        }
+        tasks.remove(id);
+        if (!task.isReady()) {
+            // loading failed, the caller will load the view again
+            // and the actual exception will surface there
+            return null;
+        }
+        if (task.speculative) {
+            hitCount++;
+        }
+        try {
+            return task.get();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        catch (CancellationException|ExecutionException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Discards the prepared view for the id. Loading is canceled if not started yet.
+     *
+     * @param id the destination id
+     */
+    public void cancel(String id) {
+        if (disposed) {
+            return;
+        }
+        PreloadTask<?> task = tasks.remove(id);
+        if (null!=task) {
+            discard(task);
+        }
+    }
+
+    /**
+     * Discards all prepared views
+     */
+    public void clear() {
+        if (disposed) {
+            return;
+        }
+        tasks.values().forEach(this::discard);
+        tasks.clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        clear();
+        tasks = null;
+        disposed = true;
+    }
+
+    private <T> boolean submit(String id, Callable<T> loader, Consumer<T> warmUp, boolean speculative) {
+        if (disposed) {
+            return false;
+        }
+        PreloadTask<T> task = new PreloadTask<>(loader,warmUp,dispatcher,speculative ? this::addSpeculationCost : null);
+        task.speculative = speculative;
+        tasks.put(id,task);
+        worker.execute(task);
+        return true;
+    }
+
+    private void discard(PreloadTask<?> task) {
+        if (task.speculative) {
+            missCount++;
+            task.cancel(true);
+        }
+        else {
+            task.cancel(false);
+        }
+    }
+
+    private void addSpeculationCost(long nanos) {
+        synchronized (speculationCosts) {
+            speculationCosts.addLast(new long[]{System.nanoTime(),nanos});
+        }
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    //                       Declared Sub Classes                         //
+    ///////////////////////////////////////////////////////////////////////
+
+    private static class PreloadTask<T> extends FutureTask<T> {
+
+        private final Consumer<T> warmUp;
+
+        private final RouterDispatcher dispatcher;
+
+        private final LongConsumer costConsumer;
+
+        private final CompletableFuture<Void> ready = new CompletableFuture<>();
+
+        volatile boolean speculative = false;
+
+        PreloadTask(Callable<T> loader, Consumer<T> warmUp, RouterDispatcher dispatcher, LongConsumer costConsumer) {
+            super(loader);
+            this.warmUp = warmUp;
+            this.dispatcher = dispatcher;
+            this.costConsumer = costConsumer;
+        }
+
+        boolean isReady() {
+            return ready.isDone() && !ready.isCompletedExceptionally();
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            super.run();
+            if (null!=costConsumer) {
+                costConsumer.accept(System.nanoTime()-start);
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                ready.cancel(false);
+                return;
+            }
+            dispatcher.dispatch(()->{
+                if (isCancelled()) {
+                    ready.cancel(false);
+                    return;
+                }
+                T value;
+                try {
+                    value = get();
+                }
+                catch (ExecutionException ex) {
+                    // nothing to warm up for a failed load
+                    ready.completeExceptionally(ex.getCause());
+                    return;
+                }
+                catch (Exception ex) {
+                    ready.completeExceptionally(ex);
+                    return;
+                }
+                if (null!=warmUp) {
+                    try {
+                        warmUp.accept(value);
+                    }
+                    catch (Exception ignore) {
+                        // the view is usable without warm up
+                    }
+                }
+                ready.complete(null);
+            });
+        }
+    }
+}
@@ -1,16 +1,24 @@
 package rahulstech.jfx.routing.routerexecutor;
 
 import javafx.fxml.FXMLLoader;
+import javafx.scene.Group;
 import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
 import rahulstech.jfx.routing.*;
 import rahulstech.jfx.routing.element.Destination;
 import rahulstech.jfx.routing.element.RouterAnimation;
+import rahulstech.jfx.routing.element.RouterArgument;
 import rahulstech.jfx.routing.lifecycle.LifecycleAwareController;
+import rahulstech.jfx.routing.memory.MemoryManager;
+import rahulstech.jfx.routing.preload.ViewPreloader;
+import rahulstech.jfx.routing.util.NodeUtil;
 import rahulstech.jfx.routing.transaction.SingleSceneTransaction;
 
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
-import java.util.function.Supplier;
 
 /**
  * The {@code SingleSceneScreenExecutor} class is a concrete implementation of {@link RouterExecutor}
@@ -31,6 +39,13 @@ public class SingleSceneScreenExecutor extends RouterExecutor {
 
     private final SingleSceneTransaction transaction;
 
+    // created once, so showing and hiding allocate no callbacks
+    private final Consumer<SingleSceneTransaction.SingleSceneTarget> onShown
+            = target->notifyShown(target.getTag());
+
+    private final Consumer<SingleSceneTransaction.SingleSceneTarget> onHidden
+            = target->transaction.detachHiddenBeyond(getRouter().getKeepAttachedDepth());
+
     /**
      * Constructs a new {@code SingleSceneScreenExecutor} with the given {@link Router} and {@link SingleSceneTransaction}.
      *
@@ -57,20 +72,32 @@ public class SingleSceneScreenExecutor extends RouterExecutor {
      * @param destination the destination to be shown
      * @param options the options containing routing configurations
      * @see SingleSceneTransaction#show(SingleSceneTransaction.SingleSceneTarget, RouterOptions)
-     * @see SingleSceneTransaction#showSingleTop(String, Supplier, RouterOptions)
+     * @see SingleSceneTransaction#showSingleTop(SingleSceneTransaction.SingleSceneTarget, RouterOptions, Consumer)
      * @see SingleSceneTransaction#popShow(String, RouterOptions)
      */
     @Override
     public void show(Destination destination, RouterOptions options) {
-        if (options.getPopBackStack()) {
-            transaction.popShow(destination.getId(),options);
+        SingleSceneTransaction.SingleSceneTarget existing = null;
+        if (options.getPopBackStack() || destination.isSingleTop()) {
+            // the entry shown again owns its target
+            existing = findTarget(destination,0);
+            if (null!=existing && existing.isDehydrated()) {
+                rehydrateTarget(existing,destination,options);
+            }
         }
-        else if (destination.isSingleTop()) {
-            transaction.showSingleTop(destination.getId(),()->createTarget(destination,options),options);
+        if (options.getPopBackStack()) {
+            transaction.popShow(destination.getId(),options,onShown);
+            attachTarget(existing);
         }
         else {
-            SingleSceneTransaction.SingleSceneTarget target = createTarget(destination,options);
-            transaction.show(target,options);
+            SingleSceneTransaction.SingleSceneTarget target = null!=existing ? existing : createTarget(destination,options);
+            if (destination.isSingleTop()) {
+                transaction.showSingleTop(target,options,onShown);
+            }
+            else {
+                transaction.show(target,options,onShown);
+            }
+            attachTarget(target);
         }
     }
 
@@ -85,40 +112,226 @@ public class SingleSceneScreenExecutor extends RouterExecutor {
      */
     @Override
     public void popBackstack(Destination destination, RouterOptions options) {
-        transaction.popHide(destination.getId(),options);
+        if (destination.isReusable()) {
+            transaction.popHide(destination.getId(),options,this::recycleTarget);
+        }
+        else {
+            transaction.popHide(destination.getId(),options);
+        }
     }
 
     /** {@inheritDoc} */
     @Override
     public void doLifecycleShow(Destination destination) {
-        String id = destination.getId();
-        transaction.getBackstack()
-                .findFirst(target -> id.equals(target.getTag()))
-                .ifPresent(transaction::doForcedShow);
+        SingleSceneTransaction.SingleSceneTarget target = findTarget(destination,0);
+        if (null!=target) {
+            transaction.doForcedShow(target);
+        }
     }
 
     /** {@inheritDoc} */
     @Override
     public void doLifecycleHide(Destination destination) {
-        String id = destination.getId();
-        transaction.getBackstack()
-                .findFirst(target -> id.equals(target.getTag()))
-                .ifPresent(transaction::doForcedHide);
+        SingleSceneTransaction.SingleSceneTarget target = findTarget(destination,0);
+        if (null!=target) {
+            transaction.doForcedHide(target);
+        }
     }
 
     /** {@inheritDoc} */
     @Override
     public void doLifecycleDestroy(Destination destination) {
-        String id = destination.getId();
-        transaction.getBackstack()
-                .findFirst(target -> id.equals(target.getTag()))
-                .ifPresent(transaction::doForcedDestroy);
+        SingleSceneTransaction.SingleSceneTarget target = findTarget(destination,0);
+        if (null!=target) {
+            transaction.doForcedDestroy(target);
+        }
+    }
+
+    /**
+     * Removes the target of the destination from the backstack and from the content pane, if kept attached,
+     * and destroys it
+     *
+     * @param destination the destination of the entry
+     * @param index index of the entry among the entries of the destination, from top
+     * @see SingleSceneTransaction#doForcedDestroy(Transaction.Target)
+     * @since 2.1.0
+     */
+    @Override
+    public void doLifecycleDestroy(Destination destination, int index) {
+        SingleSceneTransaction.SingleSceneTarget target = findTarget(destination,index);
+        if (null!=target) {
+            // removed now, so the indexes of the later navigations match the router backstack
+            transaction.getBackstack().remove(target);
+            target.detachFromContent(transaction.getContent());
+            transaction.doForcedDestroy(target);
+        }
     }
 
     /** {@inheritDoc} */
     @Override
     public void hide(Destination destination, RouterOptions options) {
-        transaction.hide(destination.getId(),options);
+        String id = destination.getId();
+        Router router = getRouter();
+        int depth = router.getKeepAttachedDepth();
+        boolean keepAttached = depth>0 && router.getHideModeFor(destination)==Destination.HideMode.KEEP_ATTACHED;
+        SingleSceneTransaction.SingleSceneTarget target = findTarget(destination,0);
+        if (null!=target) {
+            target.setKeepAttached(keepAttached);
+        }
+        transaction.hide(id,options,onHidden);
+    }
+
+    /**
+     * Dehydrates the hidden target of the destination. The target is rehydrated when shown again
+     * by a pop or by a single-top navigation, using the preloaded controller if available.
+     *
+     * @param destination the destination of the entry
+     * @param index index of the entry among the entries of the destination, from top
+     * @return {@code true} if dehydrated, {@code false} otherwise
+     * @see SingleSceneTransaction#dehydrate(SingleSceneTransaction.SingleSceneTarget)
+     * @since 2.1.0
+     */
+    @Override
+    public boolean dehydrate(Destination destination, int index) {
+        SingleSceneTransaction.SingleSceneTarget target = findTarget(destination,index);
+        return null!=target && transaction.dehydrate(target);
+    }
+
+    /**
+     * Pushes a dehydrated target for the destination without building its view. Single-top
+     * destinations are not deferred, because their existing target is reused.
+     *
+     * @param destination the destination to add
+     * @param options the options containing routing configurations
+     * @return {@code true} if deferred, {@code false} otherwise
+     * @see SingleSceneTransaction#pushDehydrated(SingleSceneTransaction.SingleSceneTarget)
+     * @since 2.1.0
+     */
+    @Override
+    public boolean deferShow(Destination destination, RouterOptions options) {
+        if (destination.isSingleTop()) {
+            return false;
+        }
+        SingleSceneTransaction.SingleSceneTarget target = new LifecycleAwareControllerTarget(destination.getId());
+        transaction.pushDehydrated(target);
+        attachTarget(target);
+        return true;
+    }
+
+    /**
+     * Loads the view of the destination on a background thread like {@link #preload(Destination)}. Nothing
+     * is loaded if the view is cached, exists in backstack or needs custom resources.
+     *
+     * @param destination the destination to prepare
+     * @param options the options containing routing configurations
+     * @return non-null {@link CompletableFuture} which completes on the JavaFx application thread
+     * @see ViewPreloader#whenReady(String)
+     * @since 2.1.0
+     */
+    @Override
+    public CompletableFuture<Void> prepareAsync(Destination destination, RouterOptions options) {
+        Router router = getRouter();
+        String id = destination.getId();
+        boolean reused = options.getPopBackStack() || destination.isSingleTop();
+        SingleSceneTransaction.SingleSceneTarget existing = reused ? findTarget(destination,0) : null;
+        if ((null!=existing && !existing.isDehydrated()) || hasCustomResources(options)
+                || (destination.isReusable() && router.getViewCache().contains(id))) {
+            return CompletableFuture.completedFuture(null);
+        }
+        ViewPreloader preloader = router.getPreloader();
+        preload(destination);
+        return preloader.whenReady(id).whenComplete((ignore,error)->{
+            if (null!=error) {
+                // drop the failed load, so a later navigation loads again
+                preloader.cancel(id);
+            }
+        });
+    }
+
+    /**
+     * Drops the idle snapshot buffers for {@link MemoryManager.TrimLevel#CACHES CACHES}
+     *
+     * @param level the level to trim
+     * @return number of dropped buffers
+     * @see SingleSceneTransaction#getSnapshotPool()
+     * @since 2.1.0
+     */
+    @Override
+    public int trimMemory(MemoryManager.TrimLevel level) {
+        if (level==MemoryManager.TrimLevel.CACHES) {
+            return transaction.getSnapshotPool().clear();
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the number of nodes in the views of the targets in backstack. Dehydrated targets have no view.
+     *
+     * @return the number of nodes
+     * @since 2.1.0
+     */
+    @Override
+    public int getNodeCount() {
+        int[] count = {0};
+        transaction.getBackstack().forEach(target->{
+            Node node = ((SingleSceneTransaction.SingleSceneTarget) target).getNode();
+            if (null!=node) {
+                count[0] += NodeUtil.countNodes(node);
+            }
+        });
+        return count[0];
+    }
+
+    /**
+     * Loads the fxml and constructs the controller of the destination on a background thread.
+     * The loaded view is then warmed up in an offscreen {@link Scene} on the JavaFx application
+     * thread. The prepared view is consumed by {@link #createTarget(Destination, RouterOptions)}.
+     *
+     * @param destination the destination to prepare
+     * @see ViewPreloader
+     * @since 2.1.0
+     */
+    @Override
+    public void preload(Destination destination) {
+        getRouter().getPreloader().preload(destination.getId(),newPreloadedControllerLoader(destination),
+                preloaded->doWarmUp(preloaded.controller));
+    }
+
+    /**
+     * Prepares the destination like {@link #preload(Destination)}, but speculatively. Nothing is
+     * prepared for a destination whose view is already cached for reuse.
+     *
+     * @param destination the destination to prepare
+     * @see ViewPreloader#prefetch(String, java.util.concurrent.Callable, Consumer)
+     * @since 2.1.0
+     */
+    @Override
+    public void prefetch(Destination destination) {
+        Router router = getRouter();
+        String id = destination.getId();
+        if (destination.isReusable() && router.getViewCache().contains(id)) {
+            return;
+        }
+        router.getPreloader().prefetch(id,newPreloadedControllerLoader(destination),
+                preloaded->doWarmUp(preloaded.controller));
+    }
+
+    /**
+     * Prepares the destination like {@link #prefetch(Destination)}, but ignoring the speculation budget.
+     *
+     * @param destination the destination to prepare
+     * @see ViewPreloader#hint(String, java.util.concurrent.Callable, Consumer)
+     * @since 2.1.0
+     */
+    @Override
+    public void hintIntent(Destination destination) {
+        Router router = getRouter();
+        String id = destination.getId();
+        if (destination.isReusable() && router.getViewCache().contains(id)) {
+            return;
+        }
+        router.getPreloader().hint(id,newPreloadedControllerLoader(destination),
+                preloaded->doWarmUp(preloaded.controller));
     }
 
     /**
@@ -145,22 +358,86 @@ public class SingleSceneScreenExecutor extends RouterExecutor {
      * @return a new {@link SingleSceneTransaction.SingleSceneTarget} instance
      */
     protected SingleSceneTransaction.SingleSceneTarget createTarget(Destination destination, RouterOptions options) {
-        Class<?> controllerClass = destination.getControllerClass();
-        String fxml = destination.getFXML();
+        SingleSceneTransaction.SingleSceneTarget revived = reviveTarget(destination,options);
+        if (null!=revived) {
+            return revived;
+        }
+        long start = System.nanoTime();
+        long loadTime = 0;
         LifecycleAwareController controller;
-        if (null!=fxml) {
-            controller = doCreateFromFxml(fxml,controllerClass,options);
+        PreloadedController preloaded = takePreloadedController(destination,options);
+        if (null!=preloaded) {
+            controller = preloaded.controller;
+            loadTime = preloaded.loadTime;
         }
         else {
-            controller = doCreateFromClass(controllerClass,options);
+            controller = createController(destination,options);
         }
         SingleSceneTransaction.SingleSceneTarget target
                 = new LifecycleAwareControllerTarget(destination.getId(),controller);
         target.setSingleTop(destination.isSingleTop());
         target.onCreate();
+        target.setLoadTime(loadTime+System.nanoTime()-start);
         return target;
     }
 
+    /**
+     * Puts the destroyed target of a {@link Destination#isReusable() reusable} destination into
+     * the {@link Router#getViewCache() view cache}, so it can be revived on the next visit.
+     *
+     * @param target the destroyed target
+     * @since 2.1.0
+     */
+    protected void recycleTarget(SingleSceneTransaction.SingleSceneTarget target) {
+        Node node = target.getNode();
+        if (null==node || null!=node.getParent()) {
+            // a node still attached to any parent is not safe to reuse
+            return;
+        }
+        getRouter().getViewCache().put(target.getTag(),target,target.getLoadTime(),NodeUtil.countNodes(node));
+    }
+
+    /**
+     * Creates a new {@link LifecycleAwareController} for the specified destination. This method may be called
+     * from a background thread while preloading the destination.
+     *
+     * @param destination the destination for which to create the controller
+     * @param options the options containing configuration details
+     * @return a new {@link LifecycleAwareController} instance
+     * @since 2.1.0
+     */
+    protected LifecycleAwareController createController(Destination destination, RouterOptions options) {
+        Class<?> controllerClass = destination.getControllerClass();
+        String fxml = destination.getFXML();
+        if (null!=fxml) {
+            return doCreateFromFxml(fxml,controllerClass,options);
+        }
+        return doCreateFromClass(controllerClass,options);
+    }
+
+    /**
+     * Warms up the root of a preloaded controller. CSS and layout are applied in an offscreen
+     * {@link Scene}, so stylesheets, images and skins are ready before the view is shown.
+     * It is called on the JavaFx application thread.
+     *
+     * @param controller the preloaded controller
+     * @since 2.1.0
+     */
+    protected void doWarmUp(LifecycleAwareController controller) {
+        Node root = controller.getRoot();
+        if (!(root instanceof Parent) || null!=root.getScene() || null!=root.getParent()) {
+            // either the root is created later by the controller
+            // or the view is already in use
+            return;
+        }
+        Parent parent = (Parent) root;
+        Scene offscreen = new Scene(parent);
+        parent.applyCss();
+        parent.layout();
+        // release the root so that it can be added to the content later
+        offscreen.setRoot(new Group());
+    }
+
     /**
      * Creates a new {@link LifecycleAwareController} by loading it from the specified FXML file.
      *
@@ -200,6 +477,72 @@ public class SingleSceneScreenExecutor extends RouterExecutor {
         return controller;
     }
 
+    private Callable<PreloadedController> newPreloadedControllerLoader(Destination destination) {
+        RouterOptions options = new RouterOptions();
+        return ()->{
+            long start = System.nanoTime();
+            LifecycleAwareController controller = createController(destination,options);
+            return new PreloadedController(controller,System.nanoTime()-start);
+        };
+    }
+
+    private PreloadedController takePreloadedController(Destination destination, RouterOptions options) {
+        ViewPreloader preloader = getRouter().getPreloader();
+        String id = destination.getId();
+        if (hasCustomResources(options)) {
+            // preloaded view is loaded with default resource bundle and charset
+            preloader.cancel(id);
+            return null;
+        }
+        return preloader.take(id);
+    }
+
+    private SingleSceneTransaction.SingleSceneTarget reviveTarget(Destination destination, RouterOptions options) {
+        if (!destination.isReusable() || hasCustomResources(options)) {
+            return null;
+        }
+        Transaction.Target cached = getRouter().getViewCache().take(destination.getId());
+        if (!(cached instanceof SingleSceneTransaction.SingleSceneTarget)) {
+            return null;
+        }
+        SingleSceneTransaction.SingleSceneTarget target = (SingleSceneTransaction.SingleSceneTarget) cached;
+        target.setSingleTop(destination.isSingleTop());
+        target.onRevive();
+        return target;
+    }
+
+    /**
+     * Returns the target owned by the router backstack entry. Every target shown or deferred by this
+     * executor is attached to its entry, so the backstack of the transaction is never searched.
+     */
+    private SingleSceneTransaction.SingleSceneTarget findTarget(Destination destination, int index) {
+        Transaction.Target attached = getAttachedTarget(destination,index);
+        if (attached instanceof SingleSceneTransaction.SingleSceneTarget) {
+            return (SingleSceneTransaction.SingleSceneTarget) attached;
+        }
+        return null;
+    }
+
+    private void rehydrateTarget(SingleSceneTransaction.SingleSceneTarget target, Destination destination, RouterOptions options) {
+        long start = System.nanoTime();
+        long loadTime = 0;
+        LifecycleAwareController controller;
+        PreloadedController preloaded = takePreloadedController(destination,options);
+        if (null!=preloaded) {
+            controller = preloaded.controller;
+            loadTime = preloaded.loadTime;
+        }
+        else {
+            controller = createController(destination,options);
+        }
+        target.rehydrate(controller);
+        target.setLoadTime(loadTime+System.nanoTime()-start);
+    }
+
+    private boolean hasCustomResources(RouterOptions options) {
+        return null!=options.getBundle() || null!=options.getCharset();
+    }
+
     /////////////////////////////////////////////////////////////////////////
     //                       Declared Sub Classes                         //
     ///////////////////////////////////////////////////////////////////////
@@ -221,6 +564,16 @@ public class SingleSceneScreenExecutor extends RouterExecutor {
             super(tag,controller);
         }
 
+        /**
+         * Constructs a new dehydrated {@code LifecycleAwareControllerTarget} with the given tag.
+         *
+         * @param tag the tag identifying this target
+         * @since 2.1.0
+         */
+        public LifecycleAwareControllerTarget(String tag) {
+            super(tag);
+        }
+
         /**
          * @return the {@link LifecycleAwareController} instance
          */
@@ -233,7 +586,8 @@ public class SingleSceneScreenExecutor extends RouterExecutor {
          * @return the root {@link Node} of the controller
          */
         public Node getNode() {
-            return getController().getRoot();
+            LifecycleAwareController controller = getController();
+            return null==controller ? null : controller.getRoot();
         }
 
         /** {@inheritDoc} */
@@ -266,6 +620,24 @@ public class SingleSceneScreenExecutor extends RouterExecutor {
             callOnLifecycleAwareController(LifecycleAwareController::onLifecycleDestroy);
         }
 
+        /** {@inheritDoc} */
+        @Override
+        public void onRevive() {
+            callOnLifecycleAwareController(LifecycleAwareController::onLifecycleRevive);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void onSaveState(RouterArgument state) {
+            callOnLifecycleAwareController(controller->controller.onLifecycleSaveState(state));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void onRestoreState(RouterArgument state) {
+            callOnLifecycleAwareController(controller->controller.onLifecycleRestoreState(state));
+        }
+
         private void callOnLifecycleAwareController(Consumer<LifecycleAwareController> consumer) {
             LifecycleAwareController controller = getController();
             if (null!=controller) {
@@ -273,4 +645,16 @@ public class SingleSceneScreenExecutor extends RouterExecutor {
             }
         }
     }
+
+    private static class PreloadedController {
+
+        final LifecycleAwareController controller;
+
+        final long loadTime;
+
+        PreloadedController(LifecycleAwareController controller, long loadTime) {
+            this.controller = controller;
+            this.loadTime = loadTime;
+        }
+    }
 }
@@ -1,19 +1,20 @@
 package rahulstech.jfx.routing.transaction;
 
-import javafx.application.Platform;
 import javafx.scene.Node;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
+import rahulstech.jfx.routing.OptionKey;
 import rahulstech.jfx.routing.RouterContext;
+import rahulstech.jfx.routing.RouterDispatcher;
 import rahulstech.jfx.routing.RouterOptions;
 import rahulstech.jfx.routing.Transaction;
 import rahulstech.jfx.routing.backstack.BackstackEntry;
 import rahulstech.jfx.routing.element.RouterAnimation;
+import rahulstech.jfx.routing.element.RouterArgument;
 import rahulstech.jfx.routing.util.StringUtil;
 
 import java.util.Objects;
-import java.util.Optional;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 /**
@@ -26,8 +27,29 @@ import java.util.function.Supplier;
  */
 public class SingleSceneTransaction extends BaseGenericOperationTransaction<SingleSceneTransaction.SingleSceneTarget> {
 
+    /**
+     * Key of {@link RouterOptions} to override the {@link TransitionMode} for a single navigation
+     *
+     * @since 2.1.0
+     */
+    public static final String OPTION_TRANSITION_MODE = "rahulstech.jfx.routing.transaction.TRANSITION_MODE";
+
+    /**
+     * Typed key of {@link #OPTION_TRANSITION_MODE}
+     *
+     * @since 2.1.0
+     */
+    public static final OptionKey<TransitionMode> TRANSITION_MODE = OptionKey.of(OPTION_TRANSITION_MODE,TransitionMode.class);
+
     private final Pane content;
 
+    private final SnapshotPool snapshotPool = new SnapshotPool();
+
+    private TransitionMode transitionMode = TransitionMode.LIVE;
+
+    // reused by detachHiddenBeyond, so hiding allocates no callback
+    private final HiddenTargetDetacher detacher = new HiddenTargetDetacher();
+
     private boolean inTransaction = false;
 
     /**
@@ -150,8 +172,21 @@ public class SingleSceneTransaction extends BaseGenericOperationTransaction<Sing
      */
     @Override
     public void show(SingleSceneTarget target, RouterOptions options) {
-        RouterAnimation animation = getAnimation(options.getEnterAnimation());
-        target.showInContent(getContent(),animation,null);
+        show(target,options,null);
+    }
+
+    /**
+     * Shows the {@code target} like {@link #show(SingleSceneTarget, RouterOptions)}
+     * and calls {@code OnShown} when the target is completely shown.
+     *
+     * @param target  non-null subclass of {@link rahulstech.jfx.routing.Transaction.Target} to display.
+     * @param options non-null {@link RouterOptions} for extra configuration .
+     * @param OnShown nullable {@link Consumer} to call when target is shown
+     * @since 2.1.0
+     */
+    public void show(SingleSceneTarget target, RouterOptions options, Consumer<SingleSceneTarget> OnShown) {
+        RouterAnimation animation = getTransitionAnimation(target,options.getEnterAnimation());
+        target.showInContent(getContent(),animation,OnShown,getEnterSnapshots(options,animation));
         getBackstack().pushBackstackEntry(target);
     }
 
@@ -172,20 +207,52 @@ public class SingleSceneTransaction extends BaseGenericOperationTransaction<Sing
      */
     @Override
     public void showSingleTop(String tag, Supplier<SingleSceneTarget> supplier, RouterOptions options) {
-        RouterAnimation animation = getAnimation(options.getEnterAnimation());
-        Optional<Target> optional = getBackstack().findFirst(e->e.getTag().equals(tag));
-        if (optional.isPresent()) {
-            SingleSceneTarget target = (SingleSceneTarget) optional.get();
-            target.showInContent(getContent(),animation,null);
-            getBackstack().bringToTop(target);
+        showSingleTop(tag,supplier,options,null);
+    }
+
+    /**
+     * Shows the single-top target with tag like {@link #showSingleTop(String, Supplier, RouterOptions)}
+     * and calls {@code OnShown} when the target is completely shown.
+     *
+     * @param tag      the unique tag identifying the target.
+     * @param supplier a non-null {@link Supplier} that provides the target instance if it does not exist.
+     * @param options  non-null {@code RouterOptions} for extra configuration
+     * @param OnShown nullable {@link Consumer} to call when target is shown
+     * @since 2.1.0
+     */
+    public void showSingleTop(String tag, Supplier<SingleSceneTarget> supplier, RouterOptions options,
+                              Consumer<SingleSceneTarget> OnShown) {
+        SingleSceneTarget existing = (SingleSceneTarget) getBackstack().getById(tag);
+        if (null!=existing) {
+            RouterAnimation animation = getTransitionAnimation(existing,options.getEnterAnimation());
+            existing.showInContent(getContent(),animation,OnShown,getEnterSnapshots(options,animation));
+            getBackstack().bringToTop(existing);
         }
         else {
             SingleSceneTarget target = supplier.get();
-            target.showInContent(getContent(),animation,null);
+            RouterAnimation animation = getTransitionAnimation(target,options.getEnterAnimation());
+            target.showInContent(getContent(),animation,OnShown,getEnterSnapshots(options,animation));
             getBackstack().pushBackstackEntry(target);
         }
     }
 
+    /**
+     * Shows the single-top {@code target} like {@link #showSingleTop(String, Supplier, RouterOptions, Consumer)},
+     * for a caller which already has the target. The target is brought to the backstack top if it is in
+     * the backstack, otherwise it is pushed.
+     *
+     * @param target  non-null target to show
+     * @param options non-null {@code RouterOptions} for extra configuration
+     * @param OnShown nullable {@link Consumer} to call when target is shown
+     * @since 2.1.0
+     * @see rahulstech.jfx.routing.backstack.Backstack#bringToTop(BackstackEntry)
+     */
+    public void showSingleTop(SingleSceneTarget target, RouterOptions options, Consumer<SingleSceneTarget> OnShown) {
+        RouterAnimation animation = getTransitionAnimation(target,options.getEnterAnimation());
+        target.showInContent(getContent(),animation,OnShown,getEnterSnapshots(options,animation));
+        getBackstack().bringToTop(target);
+    }
+
     /**
      * Shows the single-top target with tag in the content pane returned by {@link #getContent()}
      * using the optional pop enter animation passed via options.
@@ -195,16 +262,28 @@ public class SingleSceneTransaction extends BaseGenericOperationTransaction<Sing
      * @param tag     the unique tag identifying the target to display.
      * @param options non-null {@code RouterOptions} for extra configuration
      * @since 2.0
-     * @see rahulstech.jfx.routing.backstack.Backstack#findFirst(Predicate)
+     * @see rahulstech.jfx.routing.backstack.IndexedBackstack#findById(String)
      */
     @Override
     public void popShow(String tag, RouterOptions options) {
-        getBackstack().findFirst(entry->entry.getTag().equals(tag))
-                .ifPresent(entry->{
-                    RouterAnimation animation = getAnimation(options.getPopEnterAnimation());
-                    SingleSceneTarget target = (SingleSceneTarget) entry;
-                    target.showInContent(getContent(),animation,null);
-                });
+        popShow(tag,options,null);
+    }
+
+    /**
+     * Shows the target with tag like {@link #popShow(String, RouterOptions)}
+     * and calls {@code OnShown} when the target is completely shown.
+     *
+     * @param tag     the unique tag identifying the target to display.
+     * @param options non-null {@code RouterOptions} for extra configuration
+     * @param OnShown nullable {@link Consumer} to call when target is shown
+     * @since 2.1.0
+     */
+    public void popShow(String tag, RouterOptions options, Consumer<SingleSceneTarget> OnShown) {
+        SingleSceneTarget target = (SingleSceneTarget) getBackstack().getById(tag);
+        if (null!=target) {
+            RouterAnimation animation = getTransitionAnimation(target,options.getPopEnterAnimation());
+            target.showInContent(getContent(),animation,OnShown,getEnterSnapshots(options,animation));
+        }
     }
 
     /**
@@ -216,17 +295,85 @@ public class SingleSceneTransaction extends BaseGenericOperationTransaction<Sing
      * @param tag     the unique tag identifying the target to hide.
      * @param options non-null {@code RouterOptions} for extra configuration
      * @since 2.0
-     * @see rahulstech.jfx.routing.backstack.Backstack#findFirst(Predicate)
+     * @see rahulstech.jfx.routing.backstack.IndexedBackstack#findById(String)
      */
     @Override
     public void hide(String tag, RouterOptions options) {
-        getBackstack()
-                .findFirst(entry->entry.getTag().equals(tag))
-                .ifPresent(entry->{
-                    RouterAnimation animation = getAnimation(options.getExitAnimation());
-                    SingleSceneTarget target = (SingleSceneTarget) entry;
-                    target.hideFromContent(getContent(),animation,null);
-                });
+        hide(tag,options,null);
+    }
+
+    /**
+     * Hides the target with tag like {@link #hide(String, RouterOptions)} and calls {@code OnHide}
+     * when the target is completely hidden.
+     *
+     * @param tag     the unique tag identifying the target to hide.
+     * @param options non-null {@code RouterOptions} for extra configuration
+     * @param OnHide nullable {@link Consumer} to call when target is hidden
+     * @since 2.1.0
+     * @see SingleSceneTarget#setKeepAttached(boolean)
+     */
+    public void hide(String tag, RouterOptions options, Consumer<SingleSceneTarget> OnHide) {
+        SingleSceneTarget target = (SingleSceneTarget) getBackstack().getById(tag);
+        if (null!=target) {
+            RouterAnimation animation = getTransitionAnimation(target,options.getExitAnimation());
+            target.hideFromContent(getContent(),animation,OnHide,getExitSnapshots(options,animation));
+        }
+    }
+
+    /**
+     * Pushes the dehydrated target to backstack without showing it. It is used for a target which
+     * would be hidden right after shown, so its screen is built only when it is shown again.
+     *
+     * @param target the dehydrated target
+     * @throws IllegalArgumentException if the target is not dehydrated
+     * @since 2.1.0
+     * @see SingleSceneTarget#SingleSceneTarget(String)
+     */
+    public void pushDehydrated(SingleSceneTarget target) {
+        if (!target.isDehydrated()) {
+            throw new IllegalArgumentException("target '"+target.getTag()+"' is not dehydrated");
+        }
+        getBackstack().pushBackstackEntry(target);
+    }
+
+    /**
+     * Dehydrates the target, if it is not the backstack top
+     *
+     * @param target the target to dehydrate
+     * @return {@code true} if dehydrated, {@code false} otherwise
+     * @since 2.1.0
+     * @see SingleSceneTarget#dehydrate(Pane)
+     */
+    public boolean dehydrate(SingleSceneTarget target) {
+        if (target.isDehydrated() || getBackstack().isEmpty() || getBackstack().peekBackstackEntry()==target) {
+            return false;
+        }
+        Node node = target.getNode();
+        if (null!=node && RouterAnimation.hasPendingAnimation(node)) {
+            // still animating out
+            return false;
+        }
+        target.dehydrate(getContent());
+        return true;
+    }
+
+    /**
+     * Detaches the hidden targets kept attached to the content pane, except the {@code depth}
+     * targets nearest to the backstack top.
+     *
+     * @param depth number of hidden targets to keep attached
+     * @return number of detached targets
+     * @since 2.1.0
+     * @see SingleSceneTarget#setKeepAttached(boolean)
+     */
+    public int detachHiddenBeyond(int depth) {
+        detacher.content = getContent();
+        detacher.depth = depth;
+        detacher.kept = 0;
+        detacher.detached = 0;
+        getBackstack().forEach(detacher);
+        detacher.content = null;
+        return detacher.detached;
     }
 
     /**
@@ -238,18 +385,35 @@ public class SingleSceneTransaction extends BaseGenericOperationTransaction<Sing
      * @param tag     the unique tag identifying the target to hide.
      * @param options nullable {@code RouterOptions} for extra configuration
      * @since 2.0
-     * @see rahulstech.jfx.routing.backstack.Backstack#findFirst(Predicate)
+     * @see rahulstech.jfx.routing.backstack.IndexedBackstack#findById(String)
      */
     @Override
     public void popHide(String tag, RouterOptions options) {
+        popHide(tag,options,null);
+    }
+
+    /**
+     * Hides the target with tag from the content pane returned by {@link #getContent()}
+     * using optional pop exit animation returned by {@code options} and destroys. The
+     * {@code OnDestroy} is called after the target is destroyed and removed from content.
+     * <p>
+     * It hides the target if and only if a target with tag is found.
+     *
+     * @param tag     the unique tag identifying the target to hide.
+     * @param options nullable {@code RouterOptions} for extra configuration
+     * @param OnDestroy nullable {@link Consumer} to call on target destroyed
+     * @since 2.1.0
+     * @see #popHide(String, RouterOptions)
+     */
+    public void popHide(String tag, RouterOptions options, Consumer<SingleSceneTarget> OnDestroy) {
         if (getBackstack().isEmpty()) {
             return;
         }
-        getBackstack().popBackstackEntryIf(entry->entry.getTag().equals(tag))
+        getBackstack().popById(tag)
                 .ifPresent(entry->{
-                    RouterAnimation animation = getAnimation(options.getPopExitAnimation());
                     SingleSceneTarget target = (SingleSceneTarget) entry;
-                    target.doDestroy(getContent(),animation,null);
+                    RouterAnimation animation = getTransitionAnimation(target,options.getPopExitAnimation());
+                    target.doDestroy(getContent(),animation,OnDestroy,getExitSnapshots(options,animation));
                 });
     }
 
@@ -274,6 +438,79 @@ public class SingleSceneTransaction extends BaseGenericOperationTransaction<Sing
         return animation;
     }
 
+    /**
+     * Sets how screens are animated during transitions
+     *
+     * @param mode non-null {@link TransitionMode}
+     * @throws NullPointerException if mode is null
+     * @since 2.1.0
+     * @see #OPTION_TRANSITION_MODE
+     */
+    public void setTransitionMode(TransitionMode mode) {
+        if (null==mode) {
+            throw new NullPointerException("transition mode is null");
+        }
+        this.transitionMode = mode;
+    }
+
+    /**
+     * Returns how screens are animated during transitions
+     *
+     * @return non-null {@link TransitionMode}
+     * @since 2.1.0
+     */
+    public TransitionMode getTransitionMode() {
+        return transitionMode;
+    }
+
+    /**
+     * Returns the {@link SnapshotPool} used for snapshot transitions
+     *
+     * @return non-null {@code SnapshotPool}
+     * @since 2.1.0
+     */
+    public SnapshotPool getSnapshotPool() {
+        return snapshotPool;
+    }
+
+    /**
+     * Returns the animation for a transition of the target, or {@code null} for a transition without animation
+     * on the dispatch thread. For a {@code null} animation the target dispatches its reused lifecycle completion
+     * instead, so the lifecycle methods still run after the navigation returns as with the
+     * {@link RouterAnimation#NO_OP NO_OP} animation, but nothing is allocated for it.
+     */
+    private RouterAnimation getTransitionAnimation(SingleSceneTarget target, String nameOrId) {
+        RouterDispatcher dispatcher = getDispatcher();
+        target.dispatcher = dispatcher;
+        if ((StringUtil.isEmpty(nameOrId) || RouterAnimation.NO_OP.equals(nameOrId)) && dispatcher.isDispatchThread()) {
+            return null;
+        }
+        return getAnimation(nameOrId);
+    }
+
+    private TransitionMode getTransitionMode(RouterOptions options) {
+        return null==options ? transitionMode : options.get(TRANSITION_MODE,transitionMode);
+    }
+
+    private SnapshotPool getEnterSnapshots(RouterOptions options, RouterAnimation animation) {
+        if (getTransitionMode(options)!=TransitionMode.SNAPSHOT_ALL || isNoOp(animation)) {
+            return null;
+        }
+        return snapshotPool;
+    }
+
+    private SnapshotPool getExitSnapshots(RouterOptions options, RouterAnimation animation) {
+        if (getTransitionMode(options)==TransitionMode.LIVE || isNoOp(animation)) {
+            return null;
+        }
+        return snapshotPool;
+    }
+
+    private static boolean isNoOp(RouterAnimation animation) {
+        // nothing is animated, so a snapshot only costs
+        return null==animation || RouterAnimation.NO_OP.equals(animation.getName());
+    }
+
     ////////////////////////////////////////////////////////////////////////
     //                       Lifecycle Methods                           //
     //////////////////////////////////////////////////////////////////////
@@ -296,7 +533,7 @@ public class SingleSceneTransaction extends BaseGenericOperationTransaction<Sing
             animation.stop();
         }
 
-        Platform.runLater(sst::onHide);
+        getDispatcher().dispatch(sst::onHide);
     }
 
     /** {@inheritDoc} */
@@ -309,13 +546,18 @@ public class SingleSceneTransaction extends BaseGenericOperationTransaction<Sing
             pending.stop();
         }
 
-        Platform.runLater(()->{
+        getDispatcher().dispatch(()->{
             target.onDestroy();
             getBackstack().remove(target);
 
         });
     }
 
+    private RouterDispatcher getDispatcher() {
+        RouterContext context = getRouterContext();
+        return null==context ? RouterDispatcher.fx() : context.getDispatcher();
+    }
+
     ////////////////////////////////////////////////////////////////////////
     //                          Public Methods                           //
     //////////////////////////////////////////////////////////////////////
@@ -329,10 +571,66 @@ public class SingleSceneTransaction extends BaseGenericOperationTransaction<Sing
         return content;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void dispose() {
+        super.dispose();
+        snapshotPool.clear();
+    }
+
     /////////////////////////////////////////////////////////////////////////
     //                       Declared Sub Classes                         //
     ///////////////////////////////////////////////////////////////////////
 
+    private static class HiddenTargetDetacher implements Consumer<Target> {
+
+        Pane content;
+
+        int depth;
+
+        int kept;
+
+        int detached;
+
+        @Override
+        public void accept(Target entry) {
+            SingleSceneTarget target = (SingleSceneTarget) entry;
+            if (!target.isHiddenInContent()) {
+                return;
+            }
+            if (kept<depth) {
+                kept++;
+            }
+            else {
+                target.detachFromContent(content);
+                detached++;
+            }
+        }
+    }
+
+    /**
+     * The {@code TransitionMode} enum defines what is animated during a transition
+     *
+     * @since 2.1.0
+     */
+    public enum TransitionMode {
+        /**
+         * Animate the live screen nodes.
+         */
+        LIVE,
+
+        /**
+         * Animate a snapshot of the exiting screen and the live entering screen.
+         */
+        SNAPSHOT_EXIT,
+
+        /**
+         * Animate snapshots of both exiting and entering screens. The entering screen is
+         * shown when its animation finishes.
+         */
+        SNAPSHOT_ALL,
+    }
+
     /**
      * The {@code SingleSceneTarget} class represents a target in the single scene transaction.
      * It provides methods to manage the lifecycle, including showing, hiding, and destroying.
@@ -343,12 +641,26 @@ public class SingleSceneTransaction extends BaseGenericOperationTransaction<Sing
      */
     public static abstract class SingleSceneTarget extends Target {
 
-        private final Object controller;
+        private Object controller;
 
         private boolean singleTop;
 
         private RouterAnimation cachedAnimation;
 
+        private long loadTime;
+
+        private boolean keepAttached;
+
+        private boolean hiddenInContent;
+
+        private RouterArgument savedState;
+
+        private RouterDispatcher dispatcher = RouterDispatcher.fx();
+
+        private Completion showCompletion;
+
+        private Completion hideCompletion;
+
         /**
          * Create new {@code SingleSceneTarget} instance with {@code tag} and
          * {@code controller} instance
@@ -361,15 +673,83 @@ public class SingleSceneTransaction extends BaseGenericOperationTransaction<Sing
             this.controller = Objects.requireNonNull(controller, "controller is null");
         }
 
+        /**
+         * Create new {@code SingleSceneTarget} instance with {@code tag} whose screen is not built yet,
+         * i.e. the target is {@link #isDehydrated() dehydrated}. It must be {@link #rehydrate(Object) rehydrated}
+         * before it is shown.
+         *
+         * @param tag uniquely identify a target in backstack by tag
+         * @since 2.1.0
+         * @see SingleSceneTransaction#pushDehydrated(SingleSceneTarget)
+         */
+        public SingleSceneTarget(String tag) {
+            super(tag);
+        }
+
         /**
          * Returns the controller instance associated with the screen
          *
-         * @return the controller instance
+         * @return the controller instance or {@code null} if {@link #isDehydrated() dehydrated}
          */
         public Object getController() {
             return controller;
         }
 
+        /**
+         * Returns whether the controller and the node of this target are released
+         *
+         * @return {@code true} if dehydrated, {@code false} otherwise
+         * @since 2.1.0
+         * @see #dehydrate(Pane)
+         */
+        public boolean isDehydrated() {
+            return null==controller;
+        }
+
+        /**
+         * Saves the state of this target, destroys it and releases its controller and node.
+         * Only the tag and the saved state are kept. A dehydrated target must be
+         * {@link #rehydrate(Object) rehydrated} before it is shown again.
+         *
+         * @param content the parent {@link Pane}
+         * @since 2.1.0
+         */
+        public void dehydrate(Pane content) {
+            if (isDehydrated()) {
+                return;
+            }
+            keepAttached = false;
+            detachFromContent(content);
+            RouterArgument state = new RouterArgument();
+            onSaveState(state);
+            onDestroy();
+            savedState = state;
+            setCachedAnimation(null);
+            controller = null;
+        }
+
+        /**
+         * Sets a new controller for a dehydrated target, creates it and restores the saved state
+         *
+         * @param controller the new controller instance
+         * @throws IllegalStateException if this target is not dehydrated
+         * @throws NullPointerException if controller is null
+         * @since 2.1.0
+         */
+        public void rehydrate(Object controller) {
+            if (!isDehydrated()) {
+                throw new IllegalStateException("target '"+getTag()+"' is not dehydrated");
+            }
+            this.controller = Objects.requireNonNull(controller, "controller is null");
+            RouterArgument state = savedState;
+            savedState = null;
+            onCreate();
+            if (null!=state) {
+                // a target created dehydrated has no saved state
+                onRestoreState(state);
+            }
+        }
+
         /**
          * Sets whether this target is single-top. For a single-top target, backstack will hold at most one instance.
          *
@@ -395,11 +775,62 @@ public class SingleSceneTransaction extends BaseGenericOperationTransaction<Sing
          */
         public abstract Node getNode();
 
+        /**
+         * Sets the time taken to build the screen
+         *
+         * @param loadTime time in nanoseconds
+         * @since 2.1.0
+         */
+        public void setLoadTime(long loadTime) {
+            this.loadTime = loadTime;
+        }
+
+        /**
+         * Returns the time taken to build the screen
+         *
+         * @return time in nanoseconds
+         * @since 2.1.0
+         */
+        public long getLoadTime() {
+            return loadTime;
+        }
+
+        /**
+         * Sets whether the screen node is kept in the content pane when hidden. A kept node is
+         * invisible and unmanaged, so showing it again neither re-adds it nor re-applies css.
+         *
+         * @param keepAttached {@code true} to keep attached, {@code false} to remove on hide
+         * @since 2.1.0
+         */
+        public void setKeepAttached(boolean keepAttached) {
+            this.keepAttached = keepAttached;
+        }
+
+        /**
+         * Returns whether the screen node is kept in the content pane when hidden
+         *
+         * @return {@code true} if kept attached, {@code false} otherwise
+         * @since 2.1.0
+         */
+        public boolean isKeepAttached() {
+            return keepAttached;
+        }
+
+        /**
+         * Returns whether the screen node is hidden but still in the content pane
+         *
+         * @return {@code true} if hidden and attached, {@code false} otherwise
+         * @since 2.1.0
+         */
+        public boolean isHiddenInContent() {
+            return hiddenInContent;
+        }
+
         /**
          * Returns the last used {@link RouterAnimation}.
          * For example: the hide or show animation
          *
-         * @return last used animation for the screen
+         * @return last used animation for the screen or {@code null} if shown or hidden without animation
          */
         public RouterAnimation getCachedAnimation() {
             return cachedAnimation;
@@ -419,10 +850,27 @@ public class SingleSceneTransaction extends BaseGenericOperationTransaction<Sing
          * Adds screen node to the content screen as child, performs animations, handles lifecycle methods
          *
          * @param content instance of {@link Pane} to add the screen node as child
-         * @param enter_animation no null instance of {@link RouterAnimation}
+         * @param enter_animation {@link RouterAnimation} instance or {@code null} to show without animation
          * @param OnShown {@link Consumer} to be called when screen is shown
          */
         public void showInContent(Pane content, RouterAnimation enter_animation, Consumer<SingleSceneTarget> OnShown) {
+            showInContent(content,enter_animation,OnShown,null);
+        }
+
+        /**
+         * Adds screen node to the content screen like {@link #showInContent(Pane, RouterAnimation, Consumer)}.
+         * If {@code snapshots} is non-null then the animation runs on a snapshot of the screen node, and the
+         * real node is shown when the animation finishes. If {@code enter_animation} is {@code null} then the
+         * screen is shown at once and its lifecycle methods are called later on the dispatch thread.
+         *
+         * @param content instance of {@link Pane} to add the screen node as child
+         * @param enter_animation {@link RouterAnimation} instance or {@code null} to show without animation
+         * @param OnShown {@link Consumer} to be called when screen is shown
+         * @param snapshots nullable {@link SnapshotPool} to take the snapshot
+         * @since 2.1.0
+         */
+        public void showInContent(Pane content, RouterAnimation enter_animation, Consumer<SingleSceneTarget> OnShown,
+                                  SnapshotPool snapshots) {
             Node front = getNode();
 
             RouterAnimation pending = RouterAnimation.removePendingAnimation(front);
@@ -430,12 +878,20 @@ public class SingleSceneTransaction extends BaseGenericOperationTransaction<Sing
                 pending.stop();
             }
 
-            if (!isInContent(content,front)) {
+            if (hiddenInContent) {
+                revealInContent(content,front);
+            }
+            else if (!isInContent(content,front)) {
                 addToContent(content,front);
             }
 
             setCachedAnimation(enter_animation);
-            enter_animation.setTarget(front);
+            if (null==enter_animation) {
+                showCompletion = complete(showCompletion,true,OnShown);
+                return;
+            }
+            ImageView standIn = putStandIn(content,front,snapshots);
+            enter_animation.setTarget(null==standIn ? front : standIn);
             enter_animation.addRouterAnimationCallback(new RouterAnimation.SimpleRouterAnimationCallback(){
                 @Override
                 public void start(RouterAnimation animation) {
@@ -445,6 +901,7 @@ public class SingleSceneTransaction extends BaseGenericOperationTransaction<Sing
                 @Override
                 public void finish(RouterAnimation animation) {
                     RouterAnimation.removePendingAnimation(front,animation);
+                    removeStandIn(content,front,standIn,snapshots);
                     onShow();
                     if (null!=OnShown) {
                         OnShown.accept(SingleSceneTarget.this);
@@ -459,13 +916,30 @@ public class SingleSceneTransaction extends BaseGenericOperationTransaction<Sing
          * Removes screen node from the content screen, performs animation, handles lifecycle hide
          *
          * @param content {@link Pane} to remove the screen node
-         * @param exit_animation non-null instance of {@link RouterAnimation}
+         * @param exit_animation {@link RouterAnimation} instance or {@code null} to hide without animation
          * @param OnHide nullable {@link Consumer} to call on screen hides
          */
         public void hideFromContent(Pane content, RouterAnimation exit_animation, Consumer<SingleSceneTarget> OnHide) {
+            hideFromContent(content,exit_animation,OnHide,null);
+        }
+
+        /**
+         * Removes screen node from the content screen like {@link #hideFromContent(Pane, RouterAnimation, Consumer)}.
+         * If {@code snapshots} is non-null then the animation runs on a snapshot of the screen node, and the
+         * real node is hidden immediately. If {@code exit_animation} is {@code null} then the screen is hidden
+         * at once and its lifecycle methods are called later on the dispatch thread.
+         *
+         * @param content {@link Pane} to remove the screen node
+         * @param exit_animation {@link RouterAnimation} instance or {@code null} to hide without animation
+         * @param OnHide nullable {@link Consumer} to call on screen hides
+         * @param snapshots nullable {@link SnapshotPool} to take the snapshot
+         * @since 2.1.0
+         */
+        public void hideFromContent(Pane content, RouterAnimation exit_animation, Consumer<SingleSceneTarget> OnHide,
+                                    SnapshotPool snapshots) {
             Node front = getNode();
 
-            if (!isInContent(content,front)) {
+            if (hiddenInContent || !isInContent(content,front)) {
                 return;
             }
 
@@ -475,13 +949,30 @@ public class SingleSceneTransaction extends BaseGenericOperationTransaction<Sing
             }
 
             setCachedAnimation(exit_animation);
-            exit_animation.setTarget(front);
+            if (null==exit_animation) {
+                if (keepAttached) {
+                    concealInContent(content,front);
+                }
+                else {
+                    removeFromContent(content,front);
+                }
+                hideCompletion = complete(hideCompletion,false,OnHide);
+                return;
+            }
+            ImageView standIn = putStandIn(content,front,snapshots);
+            exit_animation.setTarget(null==standIn ? front : standIn);
             exit_animation.setAutoReset(true);
             exit_animation.addRouterAnimationCallback(new RouterAnimation.SimpleRouterAnimationCallback(){
                 @Override
                 public void finish(RouterAnimation animation) {
                     RouterAnimation.removePendingAnimation(front,animation);
-                    removeFromContent(content,front);
+                    removeStandIn(content,front,standIn,snapshots);
+                    if (keepAttached) {
+                        concealInContent(content,front);
+                    }
+                    else {
+                        removeFromContent(content,front);
+                    }
                     onHide();
                     if (null!=OnHide) {
                         OnHide.accept(SingleSceneTarget.this);
@@ -496,16 +987,56 @@ public class SingleSceneTransaction extends BaseGenericOperationTransaction<Sing
          * Removes the screen node from the content screen, performs animation, and finally does destroy the lifecycle
          *
          * @param content {@link Pane} to remove the screen node
-         * @param exit_animation non-null instance of {@link RouterAnimation}
+         * @param exit_animation {@link RouterAnimation} instance or {@code null} to destroy without animation
          * @param OnDestroy nullable {@link Consumer} to call on screen destroys
          */
         public void doDestroy(Pane content, RouterAnimation exit_animation, Consumer<SingleSceneTarget> OnDestroy) {
+            doDestroy(content,exit_animation,OnDestroy,null);
+        }
+
+        /**
+         * Removes the screen node from the content screen like {@link #doDestroy(Pane, RouterAnimation, Consumer)}.
+         * If {@code snapshots} is non-null then the animation runs on a snapshot of the screen node.
+         *
+         * @param content {@link Pane} to remove the screen node
+         * @param exit_animation {@link RouterAnimation} instance or {@code null} to destroy without animation
+         * @param OnDestroy nullable {@link Consumer} to call on screen destroys
+         * @param snapshots nullable {@link SnapshotPool} to take the snapshot
+         * @since 2.1.0
+         */
+        public void doDestroy(Pane content, RouterAnimation exit_animation, Consumer<SingleSceneTarget> OnDestroy,
+                              SnapshotPool snapshots) {
+            // a destroyed node must not stay in the content
+            keepAttached = false;
+            if (hiddenInContent) {
+                // already hidden, nothing to animate
+                detachFromContent(content);
+                onDestroy();
+                if (null!=OnDestroy) {
+                    OnDestroy.accept(this);
+                }
+                return;
+            }
             hideFromContent(content,exit_animation,target->{
                 target.onDestroy();
                 if (null!=OnDestroy) {
                     OnDestroy.accept(target);
                 }
-            });
+            },snapshots);
+        }
+
+        /**
+         * Dispatches the lifecycle of a show or hide without animation, reusing the completion unless it
+         * is still pending
+         */
+        private Completion complete(Completion completion, boolean show, Consumer<SingleSceneTarget> callback) {
+            if (null==completion || completion.pending) {
+                completion = new Completion(show);
+            }
+            completion.callback = callback;
+            completion.pending = true;
+            dispatcher.dispatch(completion);
+            return completion;
         }
 
         /**
@@ -524,6 +1055,79 @@ public class SingleSceneTransaction extends BaseGenericOperationTransaction<Sing
             content.layout();
         }
 
+        /**
+         * Removes the screen node from the content pane if it is hidden but still attached
+         *
+         * @param content the parent {@link Pane}
+         * @since 2.1.0
+         */
+        public void detachFromContent(Pane content) {
+            if (!hiddenInContent) {
+                return;
+            }
+            Node front = getNode();
+            hiddenInContent = false;
+            removeFromContent(content,front);
+            front.setManaged(true);
+            front.setVisible(true);
+        }
+
+        /**
+         * Hides the node without removing it from the parent
+         *
+         * @param content the parent {@link Pane}
+         * @param child the child {@link Node}
+         * @since 2.1.0
+         */
+        protected void concealInContent(Pane content, Node child) {
+            child.setVisible(false);
+            child.setManaged(false);
+            hiddenInContent = true;
+        }
+
+        /**
+         * Shows the node hidden by {@link #concealInContent(Pane, Node)} again. The node is moved
+         * to the front, as a newly added node would be.
+         *
+         * @param content the parent {@link Pane}
+         * @param child the child {@link Node}
+         * @since 2.1.0
+         */
+        protected void revealInContent(Pane content, Node child) {
+            hiddenInContent = false;
+            child.setManaged(true);
+            child.setVisible(true);
+            if (content.getChildren().indexOf(child)!=content.getChildren().size()-1) {
+                // reordering is a permutation for the parent, css is not re-applied
+                child.toFront();
+            }
+            // same as addToContent, layout bounds are required by animations
+            content.layout();
+        }
+
+        private ImageView putStandIn(Pane content, Node front, SnapshotPool snapshots) {
+            if (null==snapshots) {
+                return null;
+            }
+            ImageView standIn = snapshots.snapshot(front);
+            if (null==standIn) {
+                return null;
+            }
+            // keep the z-order of the real node
+            content.getChildren().add(content.getChildren().indexOf(front)+1,standIn);
+            front.setVisible(false);
+            return standIn;
+        }
+
+        private void removeStandIn(Pane content, Node front, ImageView standIn, SnapshotPool snapshots) {
+            if (null==standIn) {
+                return;
+            }
+            content.getChildren().remove(standIn);
+            snapshots.release(standIn);
+            front.setVisible(true);
+        }
+
         /**
          * Removes the node from the parent
          *
@@ -544,5 +1148,38 @@ public class SingleSceneTransaction extends BaseGenericOperationTransaction<Sing
         public boolean isInContent(Pane content, Node child) {
             return content.getChildren().contains(child);
         }
+
+        /**
+         * Runs the lifecycle of a show or hide without animation, like the finish of an animation would
+         */
+        private final class Completion implements Runnable {
+
+            private final boolean show;
+
+            private Consumer<SingleSceneTarget> callback;
+
+            private boolean pending = false;
+
+            Completion(boolean show) {
+                this.show = show;
+            }
+
+            @Override
+            public void run() {
+                Consumer<SingleSceneTarget> callback = this.callback;
+                this.callback = null;
+                pending = false;
+                if (show) {
+                    onBeforeShow();
+                    onShow();
+                }
+                else {
+                    onHide();
+                }
+                if (null!=callback) {
+                    callback.accept(SingleSceneTarget.this);
+                }
+            }
+        }
     }
 }
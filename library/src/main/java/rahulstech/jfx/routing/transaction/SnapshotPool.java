@@ -0,0 +1,190 @@
+package rahulstech.jfx.routing.transaction;
+
+import javafx.geometry.Bounds;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.transform.Transform;
+import javafx.stage.Window;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code SnapshotPool} rasterizes screen nodes into lightweight {@link ImageView} stand-ins, so that
+ * a transition animates a single image instead of the live node graph. The snapshot is taken at the output
+ * scale of the window, so the stand-in is as sharp as the real node on HiDPI screens. Image buffers are
+ * reused between transitions: a buffer returned by {@link #release(ImageView)} is used again for any
+ * snapshot not larger than the buffer.
+ *
+ * <p>{@code SnapshotPool} must be used from the JavaFx application thread.</p>
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ */
+public class SnapshotPool {
+
+    /**
+     * The default maximum number of idle buffers kept for reuse
+     */
+    public static final int DEFAULT_CAPACITY = 2;
+
+    private final List<WritableImage> buffers = new ArrayList<>();
+
+    private int capacity;
+
+    /**
+     * Creates new {@code SnapshotPool} with {@link #DEFAULT_CAPACITY default capacity}
+     */
+    public SnapshotPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates new {@code SnapshotPool} with capacity
+     *
+     * @param capacity maximum number of idle buffers kept for reuse
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public SnapshotPool(int capacity) {
+        setCapacity(capacity);
+    }
+
+    /**
+     * Sets the maximum number of idle buffers kept for reuse. Extra buffers are dropped.
+     *
+     * @param capacity maximum number of idle buffers, {@code 0} means no reuse
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public void setCapacity(int capacity) {
+        if (capacity<0) {
+            throw new IllegalArgumentException("capacity can not be negative");
+        }
+        this.capacity = capacity;
+        trim();
+    }
+
+    /**
+     * Returns the maximum number of idle buffers kept for reuse
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of idle buffers
+     *
+     * @return number of idle buffers
+     */
+    public int size() {
+        return buffers.size();
+    }
+
+    /**
+     * Rasterizes the node into a stand-in {@link ImageView}. The stand-in is unmanaged and placed
+     * exactly over the node when added to the parent of the node.
+     *
+     * @param node the node to rasterize, must be laid out
+     * @return the stand-in or {@code null} if the node has no visible area
+     */
+    public ImageView snapshot(Node node) {
+        Bounds bounds = node.getLayoutBounds();
+        double width = bounds.getWidth();
+        double height = bounds.getHeight();
+        double scaleX = 1;
+        double scaleY = 1;
+        Scene scene = node.getScene();
+        Window window = null==scene ? null : scene.getWindow();
+        if (null!=window) {
+            scaleX = window.getOutputScaleX();
+            scaleY = window.getOutputScaleY();
+        }
+        int pixelWidth = (int) Math.ceil(width*scaleX);
+        int pixelHeight = (int) Math.ceil(height*scaleY);
+        if (pixelWidth<=0 || pixelHeight<=0) {
+            return null;
+        }
+
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+        params.setTransform(Transform.scale(scaleX,scaleY));
+        params.setViewport(new Rectangle2D(bounds.getMinX()*scaleX,bounds.getMinY()*scaleY,pixelWidth,pixelHeight));
+        WritableImage image = node.snapshot(params,acquire(pixelWidth,pixelHeight));
+
+        ImageView standIn = new ImageView(image);
+        // a reused buffer may be larger than the snapshot
+        standIn.setViewport(new Rectangle2D(0,0,pixelWidth,pixelHeight));
+        standIn.setFitWidth(width);
+        standIn.setFitHeight(height);
+        standIn.setManaged(false);
+        standIn.setMouseTransparent(true);
+        standIn.relocate(node.getLayoutX()+bounds.getMinX(),node.getLayoutY()+bounds.getMinY());
+        return standIn;
+    }
+
+    /**
+     * Returns the buffer of the stand-in to the pool. The stand-in must not be used afterwards.
+     *
+     * @param standIn the stand-in created by {@link #snapshot(Node)}
+     */
+    public void release(ImageView standIn) {
+        if (null==standIn) {
+            return;
+        }
+        Image image = standIn.getImage();
+        standIn.setImage(null);
+        if (image instanceof WritableImage && !buffers.contains(image)) {
+            buffers.add((WritableImage) image);
+            trim();
+        }
+    }
+
+    /**
+     * Drops all the idle buffers
+     *
+     * @return number of dropped buffers
+     */
+    public int clear() {
+        int count = buffers.size();
+        buffers.clear();
+        return count;
+    }
+
+    private WritableImage acquire(int width, int height) {
+        WritableImage best = null;
+        for (WritableImage buffer : buffers) {
+            if (buffer.getWidth()>=width && buffer.getHeight()>=height
+                    && (null==best || area(buffer)<area(best))) {
+                best = buffer;
+            }
+        }
+        if (null!=best) {
+            buffers.remove(best);
+            return best;
+        }
+        return new WritableImage(width,height);
+    }
+
+    private void trim() {
+        while (buffers.size()>capacity) {
+            WritableImage smallest = buffers.get(0);
+            for (WritableImage buffer : buffers) {
+                if (area(buffer)<area(smallest)) {
+                    smallest = buffer;
+                }
+            }
+            buffers.remove(smallest);
+        }
+    }
+
+    private static double area(Image image) {
+        return image.getWidth()*image.getHeight();
+    }
+}
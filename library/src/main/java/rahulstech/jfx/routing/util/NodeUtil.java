@@ -0,0 +1,42 @@
+package rahulstech.jfx.routing.util;
+
+import javafx.scene.Node;
+import javafx.scene.Parent;
+
+import java.util.ArrayDeque;
+
+/**
+ * A utility class for working with JavaFx {@link Node}s.
+ *
+ * @author Rahul Bagchi
+ * @since 2.1.0
+ */
+public class NodeUtil {
+
+    private NodeUtil() {}
+
+    /**
+     * Counts the nodes in the scene graph rooted at the given node, including the root itself.
+     *
+     * @param root the root node
+     * @return number of nodes, or {@code 0} if root is {@code null}
+     */
+    public static int countNodes(Node root) {
+        if (null==root) {
+            return 0;
+        }
+        int count = 0;
+        ArrayDeque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            count++;
+            if (node instanceof Parent) {
+                for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                    pending.push(child);
+                }
+            }
+        }
+        return count;
+    }
+}
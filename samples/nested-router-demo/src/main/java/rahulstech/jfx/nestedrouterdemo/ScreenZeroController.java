@@ -17,7 +17,10 @@ public class ScreenZeroController extends SimpleLifecycleAwareController {
         Button button0 = new Button("Go To Screen With Own Router");
         button0.setOnAction(e->handleButton0Click());
 
-        VBox root = new VBox(message,button0);
+        Button button1 = new Button("Open Sub Screen2 Directly");
+        button1.setOnAction(e->handleButton1Click());
+
+        VBox root = new VBox(message,button0,button1);
         root.setBackground(Utils.colorFillBackground(Utils.getRandomColor()));
         root.setSpacing(12);
         root.setPadding(new Insets(12,12,12,12));
@@ -29,4 +32,10 @@ public class ScreenZeroController extends SimpleLifecycleAwareController {
         getRouter().moveto("screen1");
     }
 
+    private void handleButton1Click() {
+        // opens sub_screen2 inside screen1 in one call, sub_screen0 is added below it
+        // and created only when navigated back to
+        getRouter().navigate("screen1/sub_screen2");
+    }
+
 }
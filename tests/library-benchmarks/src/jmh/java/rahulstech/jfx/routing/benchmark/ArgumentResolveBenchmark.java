@@ -0,0 +1,66 @@
+package rahulstech.jfx.routing.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import rahulstech.jfx.routing.element.ArgKey;
+import rahulstech.jfx.routing.element.RouterArgument;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what a {@link rahulstech.jfx.routing.Router Router} does with the arguments of each navigation:
+ * copies the registered arguments of the target, merges the navigation data and accepts the result. The
+ * registered arguments declare {@code int}, {@code long}, {@code double}, {@code boolean} and {@code string}
+ * arguments. Reading a value by typed key is measured against reading it by name.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ArgumentResolveBenchmark {
+
+    RouterArgument declared;
+
+    RouterArgument data;
+
+    RouterArgument resolved;
+
+    ArgKey<Integer> orderId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        declared = new RouterArgument();
+        declared.addArgument(new RouterArgument.NameValue("orderId",RouterArgument.Type.INT,true));
+        declared.addArgument(new RouterArgument.NameValue("customerId",RouterArgument.Type.LONG,true));
+        declared.addArgument(new RouterArgument.NameValue("total",RouterArgument.Type.DOUBLE));
+        declared.addArgument(new RouterArgument.NameValue("paid",RouterArgument.Type.BOOLEAN));
+        declared.addArgument(new RouterArgument.NameValue("note",RouterArgument.Type.STRING));
+        declared.getSchema();
+
+        data = new RouterArgument();
+        data.addArgument("orderId",7);
+        data.addArgument("customerId",42L);
+        data.addArgument("total",99.5);
+        data.addArgument("paid",true);
+
+        resolved = resolve();
+        orderId = resolved.getSchema().key("orderId",Integer.class);
+    }
+
+    @Benchmark
+    public RouterArgument resolve() {
+        RouterArgument args = declared.copyWithoutValue();
+        args.merge(data);
+        args.accept();
+        return args;
+    }
+
+    @Benchmark
+    public int readByKey() {
+        return resolved.getInt(orderId,-1);
+    }
+
+    @Benchmark
+    public int readByName() {
+        Integer value = resolved.getValue("orderId");
+        return value;
+    }
+}
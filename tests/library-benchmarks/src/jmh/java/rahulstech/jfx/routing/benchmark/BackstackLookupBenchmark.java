@@ -0,0 +1,81 @@
+package rahulstech.jfx.routing.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import rahulstech.jfx.routing.backstack.Backstack;
+import rahulstech.jfx.routing.backstack.BackstackEntry;
+import rahulstech.jfx.routing.backstack.IndexedBackstack;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares id based lookups in the list backed {@link Backstack} with the {@link IndexedBackstack}.
+ * The looked up entry is always the deepest one, the worst case for a linear search. The time of
+ * {@code INDEXED} should stay flat as the depth grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class BackstackLookupBenchmark {
+
+    public enum Impl {
+        LINKED,
+        INDEXED
+    }
+
+    @Param({"10", "100", "10000"})
+    public int depth;
+
+    @Param({"LINKED", "INDEXED"})
+    public Impl impl;
+
+    Backstack<Entry> backstack;
+
+    Entry[] entries;
+
+    int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        FxBenchmarkSupport.startToolkit();
+        backstack = impl==Impl.INDEXED ? new IndexedBackstack<>(entry -> entry.id) : new Backstack<>();
+        entries = new Entry[depth];
+        for (int i=0; i<depth; i++) {
+            entries[i] = new Entry("e"+i);
+            backstack.pushBackstackEntry(entries[i]);
+        }
+        cursor = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        backstack.dispose();
+    }
+
+    @Benchmark
+    public Optional<Entry> findDeepest() {
+        String id = entries[0].id;
+        if (impl==Impl.INDEXED) {
+            return ((IndexedBackstack<Entry>) backstack).findById(id);
+        }
+        return backstack.findFirst(entry -> id.equals(entry.id));
+    }
+
+    @Benchmark
+    public Entry bringDeepestToTop() {
+        // entries are brought to top in push order, so the next one is always the deepest
+        Entry entry = entries[cursor];
+        cursor = (cursor+1)%depth;
+        backstack.bringToTop(entry);
+        return entry;
+    }
+
+    static class Entry implements BackstackEntry {
+
+        final String id;
+
+        Entry(String id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package rahulstech.jfx.routing.benchmark;
+
+import javafx.application.Platform;
+import javafx.scene.Parent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Starts the JavaFx toolkit once per benchmark fork and runs benchmark code on the JavaFx application thread
+ */
+final class FxBenchmarkSupport {
+
+    private static boolean started = false;
+
+    private FxBenchmarkSupport() {}
+
+    static synchronized void startToolkit() throws InterruptedException {
+        if (started) {
+            return;
+        }
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.startup(latch::countDown);
+        latch.await();
+        Platform.setImplicitExit(false);
+        started = true;
+    }
+
+    /**
+     * Runs the action on the JavaFx application thread and waits until the action and
+     * everything it posted with {@link Platform#runLater(Runnable)} are completed
+     */
+    static void runAndWait(Runnable action) {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.runLater(()->{
+            try {
+                action.run();
+            }
+            catch (Throwable ex) {
+                error.set(ex);
+            }
+            // posted after everything the action posted, so runs after them
+            Platform.runLater(latch::countDown);
+        });
+        try {
+            latch.await();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (null!=error.get()) {
+            throw new RuntimeException(error.get());
+        }
+    }
+
+    /**
+     * Performs what a pulse does for the scene graph: applies css and lays out
+     */
+    static void pulse(Parent root) {
+        root.applyCss();
+        root.layout();
+    }
+}
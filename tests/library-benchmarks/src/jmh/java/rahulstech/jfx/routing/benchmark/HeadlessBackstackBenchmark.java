@@ -0,0 +1,77 @@
+package rahulstech.jfx.routing.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import rahulstech.jfx.routing.RouterDispatcher;
+import rahulstech.jfx.routing.backstack.Backstack;
+import rahulstech.jfx.routing.backstack.BackstackEntry;
+import rahulstech.jfx.routing.backstack.IndexedBackstack;
+import rahulstech.jfx.routing.backstack.SimpleBackstackCallback;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures backstack operations with a registered callback without starting the JavaFx toolkit.
+ * The backstack uses {@link RouterDispatcher#direct()}, so every callback runs on the benchmark
+ * thread and no work is left queued for a pulse.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class HeadlessBackstackBenchmark {
+
+    Backstack<Entry> backstack;
+
+    SimpleBackstackCallback<Entry> callback;
+
+    Entry[] entries;
+
+    int cursor;
+
+    long changes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        backstack = new IndexedBackstack<>(entry -> entry.id);
+        backstack.setDispatcher(RouterDispatcher.direct());
+        callback = new SimpleBackstackCallback<Entry>() {
+            @Override
+            public void onBackstackTopChanged(Backstack<Entry> backstack, Entry entry) {
+                changes++;
+            }
+        };
+        backstack.registerBackstackCallback(callback);
+        entries = new Entry[16];
+        for (int i=0; i<entries.length; i++) {
+            entries[i] = new Entry("e"+i);
+            backstack.pushBackstackEntry(entries[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        backstack.dispose();
+    }
+
+    @Benchmark
+    public Entry pushPop() {
+        Entry entry = new Entry("top");
+        backstack.pushBackstackEntry(entry);
+        return backstack.popBackstackEntry();
+    }
+
+    @Benchmark
+    public long bringToTop() {
+        backstack.bringToTop(entries[cursor]);
+        cursor = (cursor+1)%entries.length;
+        return changes;
+    }
+
+    static class Entry implements BackstackEntry {
+
+        final String id;
+
+        Entry(String id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package rahulstech.jfx.routing.benchmark;
+
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+import rahulstech.jfx.routing.BaseRouterContext;
+import rahulstech.jfx.routing.Router;
+import rahulstech.jfx.routing.RouterDispatcher;
+import rahulstech.jfx.routing.element.Destination;
+import rahulstech.jfx.routing.element.RouterAnimation;
+import rahulstech.jfx.routing.lifecycle.SimpleLifecycleAwareController;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the steady state of a wizard like flow navigating back and forth between two single-top
+ * destinations with {@link RouterAnimation#NO_OP no_op} animations. Besides the time, it measures the
+ * bytes allocated on the JavaFx application thread per navigation. A navigation removes the exiting view
+ * from the content pane and adds the entering one, which allocates inside JavaFx, so the same swap is
+ * measured on a plain pane and subtracted. The iteration fails if the rest, allocated by the router,
+ * exceeds {@link #MAX_BYTES_PER_NAVIGATION}. The context uses {@link RouterDispatcher#direct()}, so all
+ * the work of a navigation is done, and counted, before the navigation returns.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class NoAnimationNavigationBenchmark {
+
+    /**
+     * Allocation budget of the router per navigation. In steady state a navigation between single-top
+     * destinations allocates only the published backstack snapshot, i.e. a few nodes of the persistent
+     * snapshot, and the published {@link rahulstech.jfx.routing.NavigationState NavigationState}.
+     */
+    static final long MAX_BYTES_PER_NAVIGATION = 256;
+
+    private static final int NAVIGATIONS_PER_OP = 1000;
+
+    private static final com.sun.management.ThreadMXBean THREADS
+            = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    Router router;
+
+    // the content pane swap of a navigation without the router
+    StackPane pane;
+
+    Label[] views;
+
+    long allocatedBytes;
+
+    long navigations;
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        FxBenchmarkSupport.startToolkit();
+        FxBenchmarkSupport.runAndWait(()->{
+            BenchmarkContext context = new BenchmarkContext();
+            context.setDispatcher(RouterDispatcher.direct());
+            router = new Router(context,new StackPane());
+            router.addDestination(new Destination.Builder("first").setControllerClass(StepController.class)
+                    .setSingleTop(true).build());
+            router.addDestination(new Destination.Builder("second").setControllerClass(StepController.class)
+                    .setSingleTop(true).build());
+            router.setDefaultAnimations(RouterAnimation.NO_OP,RouterAnimation.NO_OP,RouterAnimation.NO_OP,RouterAnimation.NO_OP);
+            // builds both views and compiles the plans, outside the measurement
+            for (int i=0; i<NAVIGATIONS_PER_OP; i++) {
+                step(i);
+            }
+            pane = new StackPane();
+            views = new Label[]{new Label("first"),new Label("second")};
+            pane.getChildren().add(views[1]);
+        });
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounters() {
+        allocatedBytes = 0;
+        navigations = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkAllocation(IterationParams params) {
+        if (params.getType()==IterationType.WARMUP) {
+            // allocations are not eliminated before the code is compiled
+            return;
+        }
+        long perNavigation = allocatedBytes/Math.max(1,navigations);
+        long perSwap = measureSwap();
+        long byRouter = perNavigation-perSwap;
+        if (byRouter>MAX_BYTES_PER_NAVIGATION) {
+            throw new IllegalStateException("navigation without animation allocated "+perNavigation
+                    +" bytes, "+byRouter+" bytes more than the content swap, over the budget of "
+                    +MAX_BYTES_PER_NAVIGATION+" bytes");
+        }
+    }
+
+    /**
+     * Returns the bytes allocated by the content pane changes of a navigation, i.e. removing the exiting
+     * view and adding the entering view with a layout, like the single scene transaction does
+     */
+    long measureSwap() {
+        long[] bytes = new long[1];
+        FxBenchmarkSupport.runAndWait(()->{
+            long threadId = Thread.currentThread().getId();
+            // the first rounds let the swap be compiled like the navigations measured before
+            for (int round=0; round<5; round++) {
+                long before = THREADS.getThreadAllocatedBytes(threadId);
+                for (int i=0; i<NAVIGATIONS_PER_OP; i++) {
+                    swap(i);
+                }
+                bytes[0] = THREADS.getThreadAllocatedBytes(threadId)-before;
+            }
+        });
+        return bytes[0]/NAVIGATIONS_PER_OP;
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        FxBenchmarkSupport.runAndWait(()->router.dispose());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NAVIGATIONS_PER_OP)
+    public void navigate() {
+        FxBenchmarkSupport.runAndWait(()->{
+            long threadId = Thread.currentThread().getId();
+            long before = THREADS.getThreadAllocatedBytes(threadId);
+            for (int i=0; i<NAVIGATIONS_PER_OP; i++) {
+                step(i);
+            }
+            allocatedBytes += THREADS.getThreadAllocatedBytes(threadId)-before;
+            navigations += NAVIGATIONS_PER_OP;
+        });
+    }
+
+    private void step(int i) {
+        router.moveto(i%2==0 ? "first" : "second");
+    }
+
+    private void swap(int i) {
+        pane.getChildren().remove(views[(i+1)%2]);
+        pane.getChildren().add(views[i%2]);
+        pane.layout();
+    }
+
+    public static class StepController extends SimpleLifecycleAwareController {
+
+        @Override
+        public void onLifecycleCreate() {
+            setRoot(new Label("step"));
+        }
+    }
+
+    static class BenchmarkContext extends BaseRouterContext {
+
+        @Override
+        public URL getResource(String name) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            return null;
+        }
+
+        @Override
+        public URL getResource(String name, String type) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name, String type) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package rahulstech.jfx.routing.benchmark;
+
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import org.openjdk.jmh.annotations.*;
+import rahulstech.jfx.routing.element.Destination;
+import rahulstech.jfx.routing.element.RouterAnimation;
+import rahulstech.jfx.routing.transaction.SingleSceneTransaction;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of navigating back to a screen with {@link Destination.HideMode#DETACH DETACH}
+ * and {@link Destination.HideMode#KEEP_ATTACHED KEEP_ATTACHED} hide modes. Each invocation navigates
+ * forward outside the measurement, then the measured part hides the top screen, shows the previous
+ * screen and runs css and layout the way the next pulse would.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class PopBackLatencyBenchmark {
+
+    @Param({"DETACH", "KEEP_ATTACHED"})
+    public Destination.HideMode hideMode;
+
+    @Param({"100", "1000"})
+    public int rows;
+
+    StackPane content;
+
+    ScreenTarget previous;
+
+    ScreenTarget current;
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        FxBenchmarkSupport.startToolkit();
+        FxBenchmarkSupport.runAndWait(()->{
+            content = new StackPane();
+            new Scene(content,800,600);
+            previous = new ScreenTarget("previous",createScreen(rows));
+            previous.setKeepAttached(hideMode==Destination.HideMode.KEEP_ATTACHED);
+            current = new ScreenTarget("current",createScreen(10));
+            previous.showInContent(content,RouterAnimation.getNoOpAnimation(),null);
+        });
+        FxBenchmarkSupport.runAndWait(()->FxBenchmarkSupport.pulse(content));
+    }
+
+    @Setup(Level.Invocation)
+    public void navigateForward() {
+        FxBenchmarkSupport.runAndWait(()->{
+            previous.hideFromContent(content,RouterAnimation.getNoOpAnimation(),null);
+            current.showInContent(content,RouterAnimation.getNoOpAnimation(),null);
+        });
+        FxBenchmarkSupport.runAndWait(()->FxBenchmarkSupport.pulse(content));
+    }
+
+    @Benchmark
+    public void popBack() {
+        FxBenchmarkSupport.runAndWait(()->{
+            current.hideFromContent(content,RouterAnimation.getNoOpAnimation(),null);
+            previous.showInContent(content,RouterAnimation.getNoOpAnimation(),null);
+        });
+        FxBenchmarkSupport.runAndWait(()->FxBenchmarkSupport.pulse(content));
+    }
+
+    static Node createScreen(int rows) {
+        VBox screen = new VBox();
+        screen.setStyle("-fx-padding: 8; -fx-spacing: 4;");
+        for (int i=0; i<rows; i++) {
+            Label label = new Label("row "+i);
+            label.setStyle("-fx-font-weight: bold;");
+            HBox row = new HBox(label,new Button("action "+i));
+            row.getStyleClass().add("row");
+            screen.getChildren().add(row);
+        }
+        return screen;
+    }
+
+    static class ScreenTarget extends SingleSceneTransaction.SingleSceneTarget {
+
+        private final Node node;
+
+        ScreenTarget(String tag, Node node) {
+            super(tag,new Object());
+            this.node = node;
+        }
+
+        @Override
+        public Node getNode() {
+            return node;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package rahulstech.jfx.routing.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import rahulstech.jfx.routing.BaseRouterContext;
+import rahulstech.jfx.routing.RouteMatch;
+import rahulstech.jfx.routing.Router;
+import rahulstech.jfx.routing.element.Destination;
+import rahulstech.jfx.routing.element.RouterArgument;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time {@link Router#matchPath(String)} takes to resolve a path with a large number of
+ * routes. Each route is like {@code /tenant{n}/customer/{id}/order/{orderId}} with typed {@code id} and
+ * {@code orderId} arguments, so the measured part also converts the path parameters. The time should
+ * stay flat as the number of routes grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class RouteMatchBenchmark {
+
+    @Param({"100", "10000"})
+    public int routes;
+
+    Router router;
+
+    String firstPath;
+
+    String lastPath;
+
+    String missingPath;
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        FxBenchmarkSupport.startToolkit();
+        router = new Router(new BenchmarkRouterContext());
+        RouterArgument args = new RouterArgument();
+        args.addArgument(new RouterArgument.NameValue("id",RouterArgument.Type.LONG));
+        args.addArgument(new RouterArgument.NameValue("orderId",RouterArgument.Type.INT));
+        router.addArgument("order_args",args);
+        for (int i=0; i<routes; i++) {
+            router.addDestination(new Destination.Builder("order"+i)
+                    .setPath("/tenant"+i+"/customer/{id}/order/{orderId}")
+                    .setArguments("order_args")
+                    .build());
+        }
+        firstPath = "/tenant0/customer/42/order/7";
+        lastPath = "/tenant"+(routes-1)+"/customer/42/order/7?tab=items";
+        missingPath = "/tenant"+routes+"/customer/42/order/7";
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        router.dispose();
+    }
+
+    @Benchmark
+    public RouteMatch matchFirst() {
+        return router.matchPath(firstPath);
+    }
+
+    @Benchmark
+    public RouteMatch matchLastWithQuery() {
+        return router.matchPath(lastPath);
+    }
+
+    @Benchmark
+    public RouteMatch matchMissing() {
+        return router.matchPath(missingPath);
+    }
+
+    static class BenchmarkRouterContext extends BaseRouterContext {
+
+        @Override
+        public URL getResource(String name) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            return null;
+        }
+
+        @Override
+        public URL getResource(String name, String type) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name, String type) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package rahulstech.jfx.routing.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import rahulstech.jfx.routing.backstack.BackstackEntry;
+import rahulstech.jfx.routing.backstack.IndexedBackstack;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the executor side bookkeeping of a navigation before and after the targets are attached to
+ * the router backstack entries. {@code PARALLEL} keeps a second backstack of targets and scans it for
+ * the n-th target of a destination, like the executors did. {@code UNIFIED} keeps the target in the
+ * router entry and walks only the entries of the destination.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TargetLookupBenchmark {
+
+    public enum Model {
+        PARALLEL,
+        UNIFIED
+    }
+
+    private static final int DESTINATIONS = 8;
+
+    @Param({"10", "100", "1000"})
+    public int depth;
+
+    @Param({"PARALLEL", "UNIFIED"})
+    public Model model;
+
+    IndexedBackstack<Entry> entries;
+
+    IndexedBackstack<Target> targets;
+
+    int deepest;
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        FxBenchmarkSupport.startToolkit();
+        entries = new IndexedBackstack<>(entry -> entry.id);
+        targets = new IndexedBackstack<>(target -> target.tag);
+        for (int i=0; i<depth; i++) {
+            push("d"+(i%DESTINATIONS));
+        }
+        deepest = entries.countById("d0")-1;
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        entries.dispose();
+        targets.dispose();
+    }
+
+    @Benchmark
+    public Target findDeepestOfDestination() {
+        // the deepest entry of d0 is the bottom-most entry, the worst case for the scan
+        if (model==Model.UNIFIED) {
+            return entries.findById("d0",deepest).map(entry -> entry.target).orElse(null);
+        }
+        return scan("d0",deepest);
+    }
+
+    @Benchmark
+    public Target pushAndPop() {
+        Target target = push("d0");
+        entries.popBackstackEntry();
+        if (model==Model.PARALLEL) {
+            targets.popBackstackEntry();
+        }
+        return target;
+    }
+
+    private Target push(String id) {
+        Entry entry = new Entry(id);
+        Target target = new Target(id);
+        entries.pushBackstackEntry(entry);
+        if (model==Model.UNIFIED) {
+            entry.target = target;
+        }
+        else {
+            targets.pushBackstackEntry(target);
+        }
+        return target;
+    }
+
+    private Target scan(String tag, int index) {
+        int[] remaining = {index};
+        Target[] found = {null};
+        targets.forEach(target -> {
+            if (null==found[0] && tag.equals(target.tag) && remaining[0]--==0) {
+                found[0] = target;
+            }
+        });
+        return found[0];
+    }
+
+    static class Entry implements BackstackEntry {
+
+        final String id;
+
+        Target target;
+
+        Entry(String id) {
+            this.id = id;
+        }
+    }
+
+    static class Target implements BackstackEntry {
+
+        final String tag;
+
+        Target(String tag) {
+            this.tag = tag;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package rahulstech.jfx.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import rahulstech.jfx.routing.element.Destination;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NavigationChannelTest {
+
+    ManualRouterDispatcher dispatcher;
+
+    Router router;
+
+    @BeforeEach
+    void setup() {
+        dispatcher = new ManualRouterDispatcher();
+        TestRouterContext context = new TestRouterContext();
+        context.setDispatcher(dispatcher);
+        router = new Router(context);
+        router.addDestination(new Destination.Builder("first").build());
+        router.addDestination(new Destination.Builder("second").build());
+    }
+
+    @AfterEach
+    void teardown() {
+        router.dispose();
+    }
+
+    @Test
+    void commandsOfOtherThreadRunOnDispatchThread() throws Exception {
+        AtomicReference<CompletableFuture<NavigationResult>> move = new AtomicReference<>();
+        AtomicReference<CompletableFuture<Boolean>> pop = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            move.set(router.getNavigationChannel().moveTo("unknown"));
+            pop.set(router.getNavigationChannel().popBackstackUpTo("first",true));
+        });
+        thread.start();
+        thread.join();
+
+        assertFalse(move.get().isDone(),"executed before drained");
+        assertEquals(2,router.getNavigationChannel().getPendingCount(),"pending commands");
+        assertEquals(1,dispatcher.getPendingCount(),"one drain scheduled");
+
+        dispatcher.runAll();
+
+        ExecutionException ex = assertThrows(ExecutionException.class,move.get()::get);
+        assertTrue(ex.getCause() instanceof NullPointerException,"unexpected failure");
+        assertEquals(Boolean.FALSE,pop.get().get(),"popped empty backstack");
+        assertEquals(0,router.getNavigationChannel().getPendingCount(),"pending commands after drain");
+    }
+
+    @Test
+    void commandOfDispatchThreadRunsImmediately() {
+        CompletableFuture<Boolean> pop = router.getNavigationChannel().popBackstackUpTo("first",true);
+
+        assertTrue(pop.isDone(),"not executed immediately");
+        assertEquals(0,dispatcher.getPendingCount(),"drain scheduled");
+    }
+
+    @Test
+    void disposeFailsPendingCommands() throws InterruptedException {
+        AtomicReference<CompletableFuture<NavigationResult>> move = new AtomicReference<>();
+        Thread thread = new Thread(() -> move.set(router.getNavigationChannel().moveTo("first")));
+        thread.start();
+        thread.join();
+
+        router.dispose();
+
+        ExecutionException ex = assertThrows(ExecutionException.class,move.get()::get);
+        assertTrue(ex.getCause() instanceof IllegalStateException,"unexpected failure");
+        assertTrue(router.getNavigationChannel().popBackstack().isCompletedExceptionally(),"command accepted after dispose");
+    }
+
+    @Test
+    void navigationState() {
+        NavigationState empty = router.getNavigationState();
+        assertNull(empty.getCurrentDestinationId(),"current destination of empty backstack");
+        assertEquals(0,empty.getDepth(),"depth of empty backstack");
+
+        router.getBackstack().pushBackstackEntry(new Router.RouterBackstackEntry(router.getDestination("first")));
+        router.getBackstack().pushBackstackEntry(new Router.RouterBackstackEntry(router.getDestination("second")));
+
+        NavigationState state = router.getNavigationState();
+        assertEquals("second",state.getCurrentDestinationId(),"current destination");
+        assertEquals(2,state.getDepth(),"depth");
+        assertEquals(Arrays.asList("second","first"),state.getDestinationIds(),"destination ids");
+        assertTrue(state.getVersion()>empty.getVersion(),"version not increased");
+        assertEquals(0,empty.getDepth(),"published snapshot changed");
+    }
+
+    private static class TestRouterContext extends BaseRouterContext {
+
+        @Override
+        public URL getResource(String name) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            return null;
+        }
+
+        @Override
+        public URL getResource(String name, String type) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name, String type) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package rahulstech.jfx.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+import rahulstech.jfx.routing.element.Destination;
+import rahulstech.jfx.routing.element.RouterArgument;
+
+import java.io.InputStream;
+import java.net.URL;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(ApplicationExtension.class)
+class NavigationDispatcherTest {
+
+    Router router;
+
+    NavigationDispatcher dispatcher;
+
+    Destination first = new Destination.Builder("first").build();
+
+    Destination second = new Destination.Builder("second").build();
+
+    @BeforeEach
+    void setup() {
+        router = new Router(new TestRouterContext());
+        dispatcher = router.getNavigationDispatcher();
+        // long enough to inspect the queue before flush
+        dispatcher.setWindow(60_000);
+        dispatcher.setEnabled(true);
+    }
+
+    @AfterEach
+    void teardown() {
+        router.dispose();
+        router = null;
+    }
+
+    @Test
+    public void testCoalesceSameDestination() {
+        dispatcher.enqueueMove(first,null,null,null,false);
+        dispatcher.enqueueMove(first,null,null,null,false);
+        dispatcher.enqueueMove(second,null,null,null,false);
+        dispatcher.enqueueMove(first,null,null,null,false);
+        assertEquals(3,dispatcher.getPendingCount(),"pending count");
+        assertEquals(1,dispatcher.getCoalescedCount(),"coalesced count");
+    }
+
+    @Test
+    public void testDropMoveThenPop() {
+        dispatcher.enqueueMove(first,null,null,null,false);
+        dispatcher.enqueueMove(second,null,null,null,false);
+        dispatcher.enqueuePop(null,true,null,null);
+        assertEquals(1,dispatcher.getPendingCount(),"pending count");
+        assertEquals(2,dispatcher.getDroppedCount(),"dropped count");
+    }
+
+    @Test
+    public void testKeepMoveThenPopAlteringHistory() {
+        Destination login = new Destination.Builder("login").setRemoveHistory(true).build();
+        dispatcher.enqueueMove(first,null,null,null,false);
+        dispatcher.enqueueMove(login,null,null,null,false);
+        // moving to second removes login from backstack, popping second does not bring it back
+        dispatcher.enqueueMove(second,null,null,null,false);
+        dispatcher.enqueuePop(null,true,null,null);
+        assertEquals(4,dispatcher.getPendingCount(),"move over remove history dropped");
+
+        // pops up to first before moving to second
+        dispatcher.enqueueMove(second,null,null,"first",false);
+        dispatcher.enqueuePop(null,true,null,null);
+        assertEquals(6,dispatcher.getPendingCount(),"move popping up to dropped");
+        assertEquals(0,dispatcher.getDroppedCount(),"dropped count");
+    }
+
+    @Test
+    public void testKeepPopWithResult() {
+        dispatcher.enqueueMove(first,null,null,null,false);
+        dispatcher.enqueuePop(null,true,new RouterArgument(),null);
+        assertEquals(2,dispatcher.getPendingCount(),"pop with result dropped");
+        assertEquals(0,dispatcher.getDroppedCount(),"dropped count");
+    }
+
+    @Test
+    public void testNegativeWindow() {
+        assertThrows(IllegalArgumentException.class,()->dispatcher.setWindow(-1),"negative window accepted");
+    }
+
+    private static class TestRouterContext extends BaseRouterContext {
+
+        @Override
+        public URL getResource(String name) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            return null;
+        }
+
+        @Override
+        public URL getResource(String name, String type) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name, String type) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package rahulstech.jfx.routing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+import rahulstech.jfx.routing.element.RouterArgument;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(ApplicationExtension.class)
+class NavigationPathTest {
+
+    @Test
+    public void testParseSegments() {
+        NavigationPath path = NavigationPath.parse("screen1/sub_screen2");
+        assertEquals(Arrays.asList("screen1","sub_screen2"),path.getSegments(),"incorrect segments");
+        assertFalse(path.isAbsolute(),"relative path parsed as absolute");
+        assertNull(path.getArguments(),"arguments without query");
+    }
+
+    @Test
+    public void testParseQuery() {
+        NavigationPath path = NavigationPath.parse("/screen1/sub_screen2?id=42&name=a%20b&flag");
+        RouterArgument args = path.getArguments();
+        assertTrue(path.isAbsolute(),"absolute path parsed as relative");
+        assertEquals("42",args.getValue("id"),"incorrect query value");
+        assertEquals("a b",args.getValue("name"),"query value not decoded");
+        assertEquals("",args.getValue("flag"),"incorrect value of query param without value");
+    }
+
+    @Test
+    public void testParseInvalid() {
+        assertThrows(NullPointerException.class,()->NavigationPath.parse(null),"null path parsed");
+        assertThrows(IllegalArgumentException.class,()->NavigationPath.parse("/"),"path without segment parsed");
+        assertThrows(IllegalArgumentException.class,()->NavigationPath.parse("screen1//sub_screen2"),"empty segment parsed");
+    }
+
+    @Test
+    public void testChildRouters() {
+        Router parent = new Router(new TestRouterContext());
+        Router child = new Router(new TestRouterContext());
+        child.setParentRouter(parent);
+        assertEquals(1,parent.getChildRouters().size(),"child router not added");
+        child.dispose();
+        assertTrue(parent.getChildRouters().isEmpty(),"disposed child router not removed");
+        parent.dispose();
+    }
+
+    private static class TestRouterContext extends BaseRouterContext {
+
+        @Override
+        public URL getResource(String name) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            return null;
+        }
+
+        @Override
+        public URL getResource(String name, String type) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name, String type) {
+            return null;
+        }
+    }
+}
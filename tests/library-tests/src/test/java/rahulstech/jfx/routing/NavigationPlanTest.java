@@ -0,0 +1,209 @@
+package rahulstech.jfx.routing;
+
+import javafx.scene.layout.StackPane;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.api.FxRobot;
+import org.testfx.framework.junit5.ApplicationExtension;
+import rahulstech.jfx.routing.element.Destination;
+import rahulstech.jfx.routing.parser.Attribute;
+import rahulstech.jfx.routing.parser.AttributeSet;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(ApplicationExtension.class)
+class NavigationPlanTest {
+
+    TestRouterContext context;
+
+    Router router;
+
+    Destination first;
+
+    Destination second;
+
+    @BeforeEach
+    void setup() {
+        context = new TestRouterContext();
+        router = new Router(context,new StackPane());
+        first = new Destination.Builder("first").build();
+        second = new Destination.Builder("second").setRemoveHistory(true).build();
+        router.addDestination(first);
+        router.addDestination(second);
+        router.setDefaultAnimations("enter","exit","popEnter","popExit");
+    }
+
+    @AfterEach
+    void teardown() {
+        router.dispose();
+        router = null;
+    }
+
+    @Test
+    public void testCompileAppliesDefaults() {
+        NavigationPlan plan = NavigationPlan.compile(router,second,first,null,null);
+        assertEquals("enter",plan.enterAnimation,"incorrect enter animation");
+        assertEquals("exit",plan.exitAnimation,"incorrect exit animation");
+        assertEquals("popExit",plan.popExitAnimation,"incorrect pop exit animation");
+        assertTrue(plan.popExiting,"remove history destination not popped");
+        assertSame(router.getRouterExecutorForNameOrDefault(null),plan.targetExecutor,"incorrect target executor");
+    }
+
+    @Test
+    public void testCompileAppliesOptions() {
+        RouterOptions options = new RouterOptions().setEnterAnimation("fade");
+        NavigationPlan plan = NavigationPlan.compile(router,null,first,options,null);
+        assertEquals("fade",plan.enterAnimation,"option not applied");
+        assertEquals("fade",plan.enterOptions.getEnterAnimation(),"enter options without enter animation");
+        assertEquals("exit",plan.exitOptions.getExitAnimation(),"exit options without default exit animation");
+        assertTrue(plan.enterOptions.isFrozen(),"derived enter options mutable");
+        assertNull(plan.exitingExecutor,"executor resolved for no exiting destination");
+        assertFalse(plan.popExiting,"popping without exiting destination");
+    }
+
+    @Test
+    public void testExecutorOptions() {
+        NavigationPlan plan = NavigationPlan.compile(router,null,first,new RouterOptions().setEnterAnimation("fade"),null);
+        RouterOptions options = plan.enterOptions.copyOnWrite();
+        assertFalse(options.isFrozen(),"executor options immutable");
+        assertEquals("fade",options.getEnterAnimation(),"executor options without enter animation");
+        assertSame(options,plan.enterOptions.copyOnWrite(),"unchanged executor options not reused");
+        options.add("custom","value");
+        options.setEnterAnimation("slide");
+        RouterOptions next = plan.enterOptions.copyOnWrite();
+        assertNotSame(options,next,"changed executor options reused");
+        assertNull(next.get("custom"),"executor change kept by plan");
+        assertEquals("fade",next.getEnterAnimation(),"executor change of well-known option kept by plan");
+        assertEquals("fade",plan.enterOptions.getEnterAnimation(),"plan options changed by executor");
+        assertEquals("value",options.get("custom"),"executor options changed by plan");
+    }
+
+    @Test
+    public void testExecutorChangesOptions(FxRobot robot) {
+        MutatingRouterExecutor executor = new MutatingRouterExecutor(router);
+        context.cacheRouterExecutor(Router.KEY_DEFAULT_ROUTER_EXECUTOR,executor);
+        robot.interact(()->{
+            router.moveto("first");
+            router.moveto("first");
+            router.moveto("first");
+            router.popBackstack(null);
+        });
+        assertEquals(4,executor.shown.size(),"executor not called for each navigation");
+        for (RouterOptions options : executor.shown) {
+            assertEquals("value",options.get("custom"),"option not added by executor");
+            assertNull(options.getEnterAnimation(),"option not removed by executor");
+        }
+        assertNotSame(executor.shown.get(1),executor.shown.get(2),"changed options passed to next navigation");
+    }
+
+    @Test
+    public void testMatches() {
+        RouterOptions options = new RouterOptions().setEnterAnimation("fade");
+        NavigationPlan plan = NavigationPlan.compile(router,first,second,options,null);
+        assertTrue(plan.matches(first,second,new RouterOptions().setEnterAnimation("fade")),"same shape not matched");
+        assertFalse(plan.matches(first,second,null),"different options matched");
+        assertFalse(plan.matches(second,second,options),"different exiting destination matched");
+        assertFalse(plan.matches(first,first,options),"different target matched");
+    }
+
+    @Test
+    public void testPlanCached() {
+        NavigationPlan plan = router.getNavigationPlan(first,second,null);
+        assertSame(plan,router.getNavigationPlan(first,second,null),"plan compiled again");
+        router.addDestination(new Destination.Builder("third").build());
+        assertNotSame(plan,router.getNavigationPlan(first,second,null),"plan kept after destination added");
+    }
+
+    @Test
+    public void testExecutorChangeInvalidatesPlan() {
+        NavigationPlan plan = router.getNavigationPlan(first,second,null);
+        RouterExecutor executor = new NoOpRouterExecutor(router);
+        context.cacheRouterExecutor(Router.KEY_DEFAULT_ROUTER_EXECUTOR,executor);
+        NavigationPlan swapped = router.getNavigationPlan(first,second,null);
+        assertNotSame(plan,swapped,"plan kept after executor changed");
+        assertSame(executor,swapped.targetExecutor,"new executor not used");
+        assertSame(executor,swapped.exitingExecutor,"new executor not used for exiting destination");
+    }
+
+    @Test
+    public void testAnimationChangeInvalidatesPlan() {
+        NavigationPlan plan = router.getNavigationPlan(first,second,null);
+        AttributeSet attrs = new AttributeSet();
+        attrs.add(new Attribute(Attribute.ID,"slide"));
+        attrs.add(new Attribute(Attribute.NAME,"slide_left"));
+        context.addAnimationAttributeSet(attrs);
+        assertNotSame(plan,router.getNavigationPlan(first,second,null),"plan kept after animation registered");
+    }
+
+    private static class NoOpRouterExecutor extends RouterExecutor {
+
+        NoOpRouterExecutor(Router router) {
+            super(router);
+        }
+
+        @Override
+        public void show(Destination destination, RouterOptions options) {}
+
+        @Override
+        public void hide(Destination destination, RouterOptions options) {}
+
+        @Override
+        public void popBackstack(Destination destination, RouterOptions options) {}
+
+        @Override
+        public void doLifecycleShow(Destination destination) {}
+
+        @Override
+        public void doLifecycleHide(Destination destination) {}
+
+        @Override
+        public void doLifecycleDestroy(Destination destination) {}
+    }
+
+    private static class MutatingRouterExecutor extends NoOpRouterExecutor {
+
+        final List<RouterOptions> shown = new ArrayList<>();
+
+        MutatingRouterExecutor(Router router) {
+            super(router);
+        }
+
+        @Override
+        public void show(Destination destination, RouterOptions options) {
+            assertNull(options.get("custom"),"option of previous navigation kept");
+            options.add("custom","value");
+            options.remove(RouterOptions.ENTER_ANIMATION.getName());
+            shown.add(options);
+        }
+    }
+
+    private static class TestRouterContext extends BaseRouterContext {
+
+        @Override
+        public URL getResource(String name) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            return null;
+        }
+
+        @Override
+        public URL getResource(String name, String type) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name, String type) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package rahulstech.jfx.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+import rahulstech.jfx.routing.element.Destination;
+
+import java.io.InputStream;
+import java.net.URL;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(ApplicationExtension.class)
+class NavigationTransactionTest {
+
+    Router router;
+
+    @BeforeEach
+    void setup() {
+        router = new Router(new TestRouterContext());
+        router.addDestination(new Destination.Builder("first").build());
+    }
+
+    @AfterEach
+    void teardown() {
+        router.dispose();
+        router = null;
+    }
+
+    @Test
+    public void testMoveToUnknownDestination() {
+        NavigationTransaction transaction = router.beginTransaction();
+        assertThrows(NullPointerException.class,()->transaction.moveto("unknown"),"unknown destination accepted");
+    }
+
+    @Test
+    public void testEmptyCommit() {
+        assertFalse(router.beginTransaction().commit(),"empty transaction changed backstack");
+    }
+
+    @Test
+    public void testCommitTwice() {
+        NavigationTransaction transaction = router.beginTransaction();
+        transaction.commit();
+        assertThrows(IllegalStateException.class,transaction::commit,"committed twice");
+        assertThrows(IllegalStateException.class,()->transaction.moveto("first"),"operation added after commit");
+    }
+
+    @Test
+    public void testBeginAfterDispose() {
+        router.dispose();
+        assertThrows(IllegalStateException.class,()->router.beginTransaction(),"transaction began on disposed router");
+    }
+
+    private static class TestRouterContext extends BaseRouterContext {
+
+        @Override
+        public URL getResource(String name) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            return null;
+        }
+
+        @Override
+        public URL getResource(String name, String type) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name, String type) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package rahulstech.jfx.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+import rahulstech.jfx.routing.element.Destination;
+import rahulstech.jfx.routing.element.RouterArgument;
+
+import java.io.InputStream;
+import java.net.URL;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(ApplicationExtension.class)
+class RouteTableTest {
+
+    Router router;
+
+    @BeforeEach
+    void setup() {
+        router = new Router(new TestRouterContext());
+        router.addDestination(new Destination.Builder("home").setPath("/").build());
+        router.addDestination(new Destination.Builder("customer").setPath("/customer/{id}").build());
+        router.addDestination(new Destination.Builder("new_customer").setPath("/customer/new").build());
+        router.addDestination(new Destination.Builder("order").setPath("/customer/{id}/order/{orderId}")
+                .setArguments("order_args").build());
+        RouterArgument args = new RouterArgument();
+        args.addArgument(new RouterArgument.NameValue("id",RouterArgument.Type.LONG));
+        args.addArgument(new RouterArgument.NameValue("orderId",RouterArgument.Type.INT,true));
+        args.addArgument(new RouterArgument.NameValue("tab",RouterArgument.Type.STRING));
+        router.addArgument("order_args",args);
+    }
+
+    @AfterEach
+    void teardown() {
+        router.dispose();
+        router = null;
+    }
+
+    @Test
+    public void testMatchTypedParameters() {
+        RouteMatch match = router.matchPath("/customer/42/order/7?tab=items");
+        assertNotNull(match,"path not matched");
+        assertEquals("order",match.getDestination().getId(),"incorrect destination");
+        RouterArgument args = match.getArguments();
+        assertEquals(Long.valueOf(42),args.getValue("id"),"path parameter not converted to long");
+        assertEquals(Integer.valueOf(7),args.getValue("orderId"),"path parameter not converted to int");
+        assertEquals("items",args.getValue("tab"),"query parameter not set");
+        assertEquals(7,args.getInt(args.getSchema().key("orderId",Integer.class),-1),"path parameter not set to slot");
+    }
+
+    @Test
+    public void testMatchReusesSlots() {
+        RouterArgument first = router.matchPath("/customer/42/order/7").getArguments();
+        RouterArgument second = router.matchPath("/customer/43/order/8").getArguments();
+        assertSame(first.getSchema(),second.getSchema(),"schema not shared between matches");
+        assertEquals(Long.valueOf(43),second.getValue("id"),"path parameter of second match not set");
+        assertEquals(Long.valueOf(42),first.getValue("id"),"path parameter of first match changed");
+    }
+
+    @Test
+    public void testStaticSegmentPreferred() {
+        assertEquals("new_customer",router.matchPath("customer/new/").getDestination().getId(),"static segment not preferred");
+        assertEquals("customer",router.matchPath("/customer/new1").getDestination().getId(),"parameter segment not matched");
+        assertEquals("home",router.matchPath("/").getDestination().getId(),"root path not matched");
+    }
+
+    @Test
+    public void testNoMatch() {
+        assertNull(router.matchPath("/customer/42/order"),"partial path matched");
+        assertNull(router.matchPath("/product/1"),"unknown path matched");
+    }
+
+    @Test
+    public void testInvalidParameterValue() {
+        assertThrows(IllegalArgumentException.class,()->router.matchPath("/customer/42/order/seven"),"invalid int accepted");
+    }
+
+    @Test
+    public void testDuplicatePath() {
+        Destination duplicate = new Destination.Builder("client").setPath("/customer/{clientId}").build();
+        assertThrows(IllegalStateException.class,()->router.addDestination(duplicate),"duplicate path added");
+    }
+
+    private static class TestRouterContext extends BaseRouterContext {
+
+        @Override
+        public URL getResource(String name) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            return null;
+        }
+
+        @Override
+        public URL getResource(String name, String type) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name, String type) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package rahulstech.jfx.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouterAsyncNavigationTest {
+
+    @Test
+    public void testMoveToUnknownDestination() {
+        Router router = new Router(new TestRouterContext());
+        try {
+            CompletableFuture<NavigationResult> future = router.moveToAsync("unknown");
+            assertTrue(future.isCompletedExceptionally(),"navigation to unknown destination not failed");
+            ExecutionException ex = assertThrows(ExecutionException.class,future::get);
+            assertTrue(ex.getCause() instanceof NullPointerException,"unexpected failure");
+        }
+        finally {
+            router.dispose();
+        }
+    }
+
+    @Test
+    public void testPopEmptyBackstack() {
+        Router router = new Router(new TestRouterContext());
+        try {
+            CompletableFuture<NavigationResult> future = router.popBackstackAsync();
+            ExecutionException ex = assertThrows(ExecutionException.class,future::get);
+            assertTrue(ex.getCause() instanceof IllegalStateException,"unexpected failure");
+        }
+        finally {
+            router.dispose();
+        }
+    }
+
+    @Test
+    public void testNavigateDisposedRouter() {
+        Router router = new Router(new TestRouterContext());
+        router.dispose();
+        assertTrue(router.moveToAsync("any").isCompletedExceptionally(),"disposed router navigated");
+        assertTrue(router.popBackstackAsync().isCompletedExceptionally(),"disposed router popped");
+    }
+
+    private static class TestRouterContext extends BaseRouterContext {
+
+        @Override
+        public URL getResource(String name) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            return null;
+        }
+
+        @Override
+        public URL getResource(String name, String type) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name, String type) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package rahulstech.jfx.routing;
+
+import org.junit.jupiter.api.Test;
+import rahulstech.jfx.routing.backstack.Backstack;
+import rahulstech.jfx.routing.backstack.BackstackEntry;
+import rahulstech.jfx.routing.backstack.SimpleBackstackCallback;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouterDispatcherTest {
+
+    static class DummyEntry implements BackstackEntry {}
+
+    @Test
+    void directRunsImmediately() {
+        List<String> calls = new ArrayList<>();
+        RouterDispatcher dispatcher = RouterDispatcher.direct();
+
+        dispatcher.dispatch(() -> calls.add("dispatch"));
+        dispatcher.execute(() -> calls.add("execute"));
+
+        assertTrue(dispatcher.isDispatchThread(),"dispatch thread");
+        assertEquals(Arrays.asList("dispatch","execute"),calls,"calls");
+    }
+
+    @Test
+    void manualRunsInOrder() {
+        List<String> calls = new ArrayList<>();
+        ManualRouterDispatcher dispatcher = new ManualRouterDispatcher();
+
+        dispatcher.dispatch(() -> {
+            calls.add("first");
+            dispatcher.dispatch(() -> calls.add("nested"));
+        });
+        dispatcher.dispatch(() -> calls.add("second"));
+        dispatcher.execute(() -> calls.add("execute"));
+
+        assertEquals(Collections.singletonList("execute"),calls,"calls before run");
+        assertEquals(2,dispatcher.getPendingCount(),"pending");
+
+        assertTrue(dispatcher.runNext(),"run next");
+        assertEquals(Arrays.asList("execute","first"),calls,"calls after run next");
+
+        assertEquals(2,dispatcher.runAll(),"run all");
+        assertEquals(Arrays.asList("execute","first","second","nested"),calls,"calls after run all");
+        assertFalse(dispatcher.runNext(),"run next when empty");
+    }
+
+    @Test
+    void manualScheduleFollowsVirtualClock() {
+        List<String> calls = new ArrayList<>();
+        ManualRouterDispatcher dispatcher = new ManualRouterDispatcher();
+
+        dispatcher.schedule(() -> calls.add("late"),200);
+        dispatcher.schedule(() -> calls.add("early"),100);
+        RouterDispatcher.Scheduled cancelled = dispatcher.schedule(() -> calls.add("cancelled"),100);
+        cancelled.cancel();
+
+        assertEquals(2,dispatcher.getScheduledCount(),"scheduled");
+        assertEquals(0,dispatcher.advance(50),"due after 50ms");
+        assertEquals(1,dispatcher.advance(50),"due after 100ms");
+        assertTrue(calls.isEmpty(),"due actions are only queued");
+
+        dispatcher.runAll();
+        assertEquals(Collections.singletonList("early"),calls,"calls after 100ms");
+
+        assertEquals(1,dispatcher.advance(100),"due after 200ms");
+        dispatcher.runAll();
+        assertEquals(Arrays.asList("early","late"),calls,"calls after 200ms");
+        assertEquals(0,dispatcher.getScheduledCount(),"scheduled after all due");
+    }
+
+    @Test
+    void scheduledCancelledAfterQueuedDoesNotRun() {
+        List<String> calls = new ArrayList<>();
+        ManualRouterDispatcher dispatcher = new ManualRouterDispatcher();
+
+        RouterDispatcher.Scheduled scheduled = dispatcher.schedule(() -> calls.add("action"),10);
+        dispatcher.advance(10);
+        scheduled.cancel();
+        dispatcher.runAll();
+
+        assertTrue(calls.isEmpty(),"cancelled action run");
+    }
+
+    @Test
+    void manualRunOnOtherThread() throws InterruptedException {
+        ManualRouterDispatcher dispatcher = new ManualRouterDispatcher();
+        Throwable[] errors = new Throwable[1];
+        Thread thread = new Thread(() -> {
+            try {
+                dispatcher.runAll();
+            }
+            catch (Throwable error) {
+                errors[0] = error;
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertTrue(errors[0] instanceof IllegalStateException,"run on other thread");
+    }
+
+    @Test
+    void backstackCallbacksUseDispatcher() throws InterruptedException {
+        ManualRouterDispatcher dispatcher = new ManualRouterDispatcher();
+        Backstack<DummyEntry> backstack = new Backstack<>();
+        backstack.setDispatcher(dispatcher);
+        List<DummyEntry> tops = Collections.synchronizedList(new ArrayList<>());
+        SimpleBackstackCallback<DummyEntry> callback = new SimpleBackstackCallback<DummyEntry>() {
+            @Override
+            public void onBackstackTopChanged(Backstack<DummyEntry> backstack, DummyEntry entry) {
+                tops.add(entry);
+            }
+        };
+        backstack.registerBackstackCallback(callback);
+
+        DummyEntry entry1 = new DummyEntry();
+        backstack.pushBackstackEntry(entry1);
+        assertEquals(Collections.singletonList(entry1),tops,"callback on dispatch thread");
+
+        DummyEntry entry2 = new DummyEntry();
+        DummyEntry entry3 = new DummyEntry();
+        Thread thread = new Thread(() -> {
+            backstack.pushBackstackEntry(entry2);
+            backstack.pushBackstackEntry(entry3);
+        });
+        thread.start();
+        thread.join();
+
+        assertEquals(1,tops.size(),"callbacks before run");
+        assertEquals(1,dispatcher.getPendingCount(),"one batch pending");
+
+        dispatcher.runAll();
+
+        assertEquals(Arrays.asList(entry1,entry2,entry3),tops,"callbacks after run");
+        backstack.dispose();
+    }
+}
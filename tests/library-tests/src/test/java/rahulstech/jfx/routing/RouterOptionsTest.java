@@ -0,0 +1,95 @@
+package rahulstech.jfx.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouterOptionsTest {
+
+    static final OptionKey<Integer> DELAY = OptionKey.of("test.DELAY",Integer.class);
+
+    @Test
+    public void testBuilder() {
+        RouterOptions options = new RouterOptions()
+                .setEnterAnimation("fade")
+                .setCharset(StandardCharsets.UTF_8)
+                .add("custom","value");
+        assertEquals("fade",options.getEnterAnimation(),"incorrect enter animation");
+        assertEquals("fade",options.get(RouterOptions.ENTER_ANIMATION),"typed key not mapped to well-known option");
+        assertEquals(StandardCharsets.UTF_8,options.getCharset(),"incorrect charset");
+        assertEquals("value",options.get("custom"),"incorrect custom option");
+        assertEquals("default",options.get("missing","default"),"default not returned");
+        assertFalse(options.getPopBackStack(),"pop backstack set");
+        assertEquals("value",options.remove("custom"),"incorrect removed value");
+        assertNull(options.get("custom"),"custom option not removed");
+    }
+
+    @Test
+    public void testTypedKey() {
+        RouterOptions options = new RouterOptions().set(DELAY,200);
+        assertEquals(200,options.get(DELAY),"incorrect typed value");
+        assertEquals(200,(Integer) options.get("test.DELAY"),"typed value not found by name");
+        assertEquals(100,options.get(OptionKey.of("test.OTHER",Integer.class),100),"default not returned");
+        assertThrows(IllegalArgumentException.class,()->OptionKey.of(RouterOptions.ENTER_ANIMATION.getName(),Integer.class));
+    }
+
+    @Test
+    public void testFreeze() {
+        RouterOptions options = new RouterOptions().setExitAnimation("slide");
+        RouterOptions frozen = options.freeze();
+        assertTrue(frozen.isFrozen(),"not frozen");
+        assertSame(frozen,frozen.freeze(),"frozen options copied again");
+        assertEquals(options,frozen,"frozen options not equal");
+        assertThrows(UnsupportedOperationException.class,()->frozen.setExitAnimation("fade"));
+        options.setExitAnimation("fade");
+        assertEquals("slide",frozen.getExitAnimation(),"frozen options changed by source");
+        assertSame(RouterOptions.EMPTY,RouterOptions.of(null),"null options not empty");
+    }
+
+    @Test
+    public void testWith() {
+        RouterOptions source = new RouterOptions().add("custom","value").freeze();
+        RouterOptions derived = source.with(RouterOptions.POP_BACKSTACK,true);
+        assertNotSame(source,derived,"source options changed");
+        assertFalse(source.getPopBackStack(),"source options changed");
+        assertTrue(derived.getPopBackStack(),"option not set");
+        assertEquals("value",derived.get("custom"),"custom option not shared");
+        assertSame(derived,derived.with(RouterOptions.POP_BACKSTACK,true),"unchanged options copied");
+
+        RouterOptions builder = new RouterOptions(derived).add("custom","other");
+        assertEquals("other",builder.get("custom"),"custom option not changed");
+        assertEquals("value",derived.get("custom"),"shared custom option changed");
+    }
+
+    @Test
+    public void testAddConvertsWellKnownOptions() {
+        RouterOptions options = new RouterOptions()
+                .add(RouterOptions.POP_BACKSTACK.getName(),"true")
+                .add(RouterOptions.CHARSET.getName(),"UTF-8")
+                .add(RouterOptions.ENTER_ANIMATION.getName(),new StringBuilder("fade"));
+        assertTrue(options.getPopBackStack(),"pop backstack not converted");
+        assertEquals(StandardCharsets.UTF_8,options.getCharset(),"charset not converted");
+        assertEquals("fade",options.getEnterAnimation(),"enter animation not converted");
+        options.add(RouterOptions.CHARSET.getName(),"no-such-charset");
+        options.add(RouterOptions.BUNDLE.getName(),42);
+        assertEquals(StandardCharsets.UTF_8,options.getCharset(),"unknown charset not ignored");
+        assertNull(options.getBundle(),"bundle of wrong type not ignored");
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+        RouterOptions frozen = new RouterOptions().setEnterAnimation("fade").add("custom","value").freeze();
+        RouterOptions view = frozen.copyOnWrite();
+        assertFalse(view.isFrozen(),"view immutable");
+        assertEquals(frozen,view,"view not equal");
+        assertSame(view,frozen.copyOnWrite(),"unchanged view not reused");
+        view.setEnterAnimation("slide").add("custom","other");
+        assertEquals("fade",frozen.getEnterAnimation(),"frozen options changed by view");
+        assertEquals("value",frozen.get("custom"),"frozen custom option changed by view");
+        assertNotSame(view,frozen.copyOnWrite(),"changed view reused");
+        RouterOptions mutable = new RouterOptions();
+        assertSame(mutable,mutable.copyOnWrite(),"mutable options copied");
+    }
+}
@@ -0,0 +1,177 @@
+package rahulstech.jfx.routing.backstack;
+
+import javafx.application.Platform;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.util.WaitForAsyncUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(ApplicationExtension.class)
+class BackstackCallbackDispatcherTest {
+
+    static class DummyEntry implements BackstackEntry {
+
+        final String name;
+
+        DummyEntry(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    static class RecordingCallback implements BackstackCallback<DummyEntry> {
+
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+        boolean offFxThread = false;
+
+        @Override
+        public void onBackstackTopChanged(Backstack<DummyEntry> backstack, DummyEntry entry) {
+            record("top:"+entry);
+        }
+
+        @Override
+        public void onPushedMultiple(Backstack<DummyEntry> backstack, List<DummyEntry> entries) {
+            record("pushed:"+entries);
+        }
+
+        @Override
+        public void onPoppedMultiple(Backstack<DummyEntry> backstack, List<DummyEntry> entries) {
+            record("popped:"+entries);
+        }
+
+        @Override
+        public void onPoppedSingle(Backstack<DummyEntry> backstack, DummyEntry entry) {
+            record("popped:"+entry);
+        }
+
+        void record(String event) {
+            if (!Platform.isFxApplicationThread()) {
+                offFxThread = true;
+            }
+            events.add(event);
+        }
+    }
+
+    Backstack<DummyEntry> backstack;
+
+    DummyEntry entry1 = new DummyEntry("entry1");
+
+    DummyEntry entry2 = new DummyEntry("entry2");
+
+    DummyEntry entry3 = new DummyEntry("entry3");
+
+    @BeforeEach
+    void setup() {
+        backstack = new Backstack<>();
+        backstack.backstack.add(entry1); // backstack top
+        backstack.backstack.add(entry2);
+        backstack.backstack.add(entry3);
+    }
+
+    @AfterEach
+    void teardown() {
+        backstack.dispose();
+        backstack = null;
+    }
+
+    @Test
+    void eventsOfOtherThreadDeliveredInOrderOnFxThread() {
+        RecordingCallback callback = new RecordingCallback();
+        backstack.registerBackstackCallback(callback);
+
+        backstack.popBackstackEntriesUpTo(e -> e == entry2,false);
+        backstack.popBackstackEntry();
+
+        WaitForAsyncUtils.waitForFxEvents();
+
+        assertEquals(Arrays.asList("popped:[entry1]","top:entry2","popped:entry2","top:entry3"),callback.events,"events");
+        assertFalse(callback.offFxThread,"delivered off fx thread");
+    }
+
+    @Test
+    void eventsOfFxThreadDeliveredImmediately() throws Exception {
+        RecordingCallback callback = new RecordingCallback();
+        backstack.registerBackstackCallback(callback);
+
+        List<String> delivered = WaitForAsyncUtils.asyncFx(() -> {
+            backstack.popBackstackEntry();
+            return new ArrayList<>(callback.events);
+        }).get();
+
+        assertEquals(Arrays.asList("popped:entry1","top:entry2"),delivered,"events before return");
+    }
+
+    @Test
+    void registerForEvents() {
+        RecordingCallback callback = new RecordingCallback();
+        backstack.registerBackstackCallback(callback,BackstackCallback.Event.POPPED_SINGLE);
+
+        backstack.pushBackstackEntry(new DummyEntry("entry0"));
+        backstack.popBackstackEntry();
+        backstack.remove(entry3);
+
+        WaitForAsyncUtils.waitForFxEvents();
+
+        assertEquals(Arrays.asList("popped:entry0","popped:entry3"),callback.events,"events");
+    }
+
+    @Test
+    void registerForNoEvent() {
+        assertThrows(IllegalArgumentException.class,
+                () -> backstack.registerBackstackCallback(new RecordingCallback(),new BackstackCallback.Event[0]));
+    }
+
+    @Test
+    void unregister() {
+        RecordingCallback callback = new RecordingCallback();
+        backstack.registerBackstackCallback(callback);
+        backstack.unregisterBackstackCallback(callback);
+
+        backstack.popBackstackEntry();
+
+        WaitForAsyncUtils.waitForFxEvents();
+
+        assertTrue(callback.events.isEmpty(),"events after unregister");
+        assertEquals(0,backstack.dispatcher.getSubscriptionCount(),"subscriptions");
+    }
+
+    @Test
+    void registerTwice() {
+        RecordingCallback callback = new RecordingCallback();
+        backstack.registerBackstackCallback(callback);
+        backstack.registerBackstackCallback(callback,BackstackCallback.Event.TOP_CHANGED);
+
+        backstack.popBackstackEntry();
+
+        WaitForAsyncUtils.waitForFxEvents();
+
+        assertEquals(Collections.singletonList("top:entry2"),callback.events,"events");
+        assertEquals(1,backstack.dispatcher.getSubscriptionCount(),"subscriptions");
+    }
+
+    @Test
+    void purgeCollectedCallback() throws InterruptedException {
+        backstack.registerBackstackCallback(new RecordingCallback());
+
+        for (int i=0; i<20 && backstack.dispatcher.getSubscriptionCount()>0; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertEquals(0,backstack.dispatcher.getSubscriptionCount(),"subscriptions");
+    }
+}
@@ -0,0 +1,195 @@
+package rahulstech.jfx.routing.backstack;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import rahulstech.jfx.routing.ManualRouterDispatcher;
+import rahulstech.jfx.routing.RouterDispatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackstackObservableListTest {
+
+    static class DummyEntry implements BackstackEntry {
+
+        final String id;
+
+        DummyEntry(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public String toString() {
+            return id;
+        }
+    }
+
+    // records each change as "+from..to", "-from[removed]" or "~from..to"
+    static class RecordingListener implements ListChangeListener<DummyEntry> {
+
+        final List<List<String>> changes = new ArrayList<>();
+
+        @Override
+        public void onChanged(Change<? extends DummyEntry> c) {
+            List<String> parts = new ArrayList<>();
+            while (c.next()) {
+                if (c.wasPermutated()) {
+                    parts.add("~"+c.getFrom()+".."+c.getTo());
+                }
+                else {
+                    if (c.wasRemoved()) {
+                        parts.add("-"+c.getFrom()+c.getRemoved());
+                    }
+                    if (c.wasAdded()) {
+                        parts.add("+"+c.getFrom()+".."+c.getTo());
+                    }
+                }
+            }
+            changes.add(parts);
+        }
+    }
+
+    DummyEntry a, b, c, d;
+
+    @BeforeEach
+    void setUp() {
+        a = new DummyEntry("a");
+        b = new DummyEntry("b");
+        c = new DummyEntry("c");
+        d = new DummyEntry("d");
+    }
+
+    Backstack<DummyEntry> newBackstack(boolean indexed) {
+        Backstack<DummyEntry> backstack = indexed ? new IndexedBackstack<>(e -> e.id) : new Backstack<>();
+        backstack.setDispatcher(RouterDispatcher.direct());
+        return backstack;
+    }
+
+    @Test
+    void pushAndPop() {
+        for (boolean indexed : new boolean[]{false,true}) {
+            Backstack<DummyEntry> backstack = newBackstack(indexed);
+            ObservableList<DummyEntry> list = backstack.asObservableList();
+            RecordingListener listener = new RecordingListener();
+            list.addListener(listener);
+
+            backstack.pushBackstackEntry(a);
+            backstack.pushBackstackEntry(b);
+            backstack.popBackstackEntry();
+
+            assertEquals(Collections.singletonList(a),list,"list");
+            assertEquals(Arrays.asList(
+                    Collections.singletonList("+0..1"),
+                    Collections.singletonList("+0..1"),
+                    Collections.singletonList("-0[b]")),listener.changes,"changes");
+        }
+    }
+
+    @Test
+    void popUpToFiresOneChange() {
+        for (boolean indexed : new boolean[]{false,true}) {
+            Backstack<DummyEntry> backstack = newBackstack(indexed);
+            Arrays.asList(a,b,c,d).forEach(backstack::pushBackstackEntry);
+            ObservableList<DummyEntry> list = backstack.asObservableList();
+            RecordingListener listener = new RecordingListener();
+            list.addListener(listener);
+
+            backstack.popBackstackEntriesUpTo(e -> e==b,false);
+
+            assertEquals(Arrays.asList(b,a),list,"list");
+            assertEquals(Collections.singletonList(Collections.singletonList("-0[d, c]")),listener.changes,"changes");
+        }
+    }
+
+    @Test
+    void bringToTopFiresPermutation() {
+        for (boolean indexed : new boolean[]{false,true}) {
+            Backstack<DummyEntry> backstack = newBackstack(indexed);
+            Arrays.asList(a,b,c,d).forEach(backstack::pushBackstackEntry);
+            ObservableList<DummyEntry> list = backstack.asObservableList();
+            RecordingListener listener = new RecordingListener();
+            list.addListener(listener);
+
+            backstack.bringToTop(b);
+            backstack.bringToTop(b);
+
+            assertEquals(Arrays.asList(b,d,c,a),list,"list");
+            assertEquals(Collections.singletonList(Collections.singletonList("~0..3")),listener.changes,"changes");
+        }
+    }
+
+    @Test
+    void popAndPushFiresOneChange() {
+        for (boolean indexed : new boolean[]{false,true}) {
+            Backstack<DummyEntry> backstack = newBackstack(indexed);
+            Arrays.asList(a,b,c).forEach(backstack::pushBackstackEntry);
+            ObservableList<DummyEntry> list = backstack.asObservableList();
+            RecordingListener listener = new RecordingListener();
+            list.addListener(listener);
+
+            backstack.popAndPushEntries(2,Arrays.asList(d,new DummyEntry("e")));
+
+            assertEquals("[e, d, a]",list.toString(),"list");
+            assertEquals(Collections.singletonList(Arrays.asList("-0[c, b]","+0..2")),listener.changes,"changes");
+        }
+    }
+
+    @Test
+    void removeFromMiddle() {
+        for (boolean indexed : new boolean[]{false,true}) {
+            Backstack<DummyEntry> backstack = newBackstack(indexed);
+            Arrays.asList(a,b,c,d).forEach(backstack::pushBackstackEntry);
+            ObservableList<DummyEntry> list = backstack.asObservableList();
+            RecordingListener listener = new RecordingListener();
+            list.addListener(listener);
+
+            backstack.remove(b);
+            backstack.clear();
+
+            assertTrue(list.isEmpty(),"list not empty");
+            assertEquals(Arrays.asList(
+                    Collections.singletonList("-2[b]"),
+                    Collections.singletonList("-0[d, c, a]")),listener.changes,"changes");
+        }
+    }
+
+    @Test
+    void changesOffDispatchThreadDeliveredInOrder() throws InterruptedException {
+        ManualRouterDispatcher dispatcher = new ManualRouterDispatcher();
+        Backstack<DummyEntry> backstack = new Backstack<>();
+        backstack.setDispatcher(dispatcher);
+        ObservableList<DummyEntry> list = backstack.asObservableList();
+        RecordingListener listener = new RecordingListener();
+        list.addListener(listener);
+
+        Thread worker = new Thread(() -> {
+            backstack.pushBackstackEntry(a);
+            backstack.pushBackstackEntry(b);
+        });
+        worker.start();
+        worker.join();
+
+        assertTrue(list.isEmpty(),"list changed before dispatch");
+        assertEquals(1,dispatcher.getPendingCount(),"pending");
+
+        dispatcher.runAll();
+
+        assertEquals(Arrays.asList(b,a),list,"list");
+        assertEquals(Arrays.asList(
+                Collections.singletonList("+0..1"),
+                Collections.singletonList("+0..1")),listener.changes,"changes");
+    }
+
+    @Test
+    void readOnly() {
+        Backstack<DummyEntry> backstack = newBackstack(false);
+        ObservableList<DummyEntry> list = backstack.asObservableList();
+        assertThrows(UnsupportedOperationException.class,()->list.add(a),"list modified");
+    }
+}
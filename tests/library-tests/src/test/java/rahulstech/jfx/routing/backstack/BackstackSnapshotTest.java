@@ -0,0 +1,106 @@
+package rahulstech.jfx.routing.backstack;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackstackSnapshotTest {
+
+    static class DummyEntry implements BackstackEntry {
+
+        final String id;
+
+        DummyEntry(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public String toString() {
+            return id;
+        }
+    }
+
+    @Test
+    void snapshotIsImmutable() {
+        Backstack<DummyEntry> backstack = new Backstack<>();
+        DummyEntry a = new DummyEntry("a");
+        DummyEntry b = new DummyEntry("b");
+        backstack.pushBackstackEntry(a);
+        backstack.pushBackstackEntry(b);
+
+        BackstackSnapshot<DummyEntry> snapshot = backstack.snapshot();
+        backstack.popBackstackEntry();
+        backstack.pushBackstackEntry(new DummyEntry("c"));
+
+        assertEquals(Arrays.asList(b,a),snapshot,"old snapshot changed");
+        assertTrue(backstack.snapshot().getVersion()>snapshot.getVersion(),"version not increased");
+        assertThrows(UnsupportedOperationException.class,()->snapshot.add(a),"snapshot modified");
+    }
+
+    @Test
+    void snapshotUnchangedWithoutChange() {
+        Backstack<DummyEntry> backstack = new Backstack<>();
+        DummyEntry a = new DummyEntry("a");
+        backstack.pushBackstackEntry(a);
+        BackstackSnapshot<DummyEntry> snapshot = backstack.snapshot();
+
+        backstack.popBackstackEntriesUpTo(e -> false,true);
+        backstack.remove(new DummyEntry("unknown"));
+
+        assertSame(snapshot,backstack.snapshot(),"snapshot published without change");
+    }
+
+    @Test
+    void snapshotFollowsBackstack() {
+        checkSnapshot(new Backstack<>());
+    }
+
+    @Test
+    void snapshotFollowsIndexedBackstack() {
+        checkSnapshot(new IndexedBackstack<>(entry -> entry.id));
+    }
+
+    private void checkSnapshot(Backstack<DummyEntry> backstack) {
+        Random random = new Random(42);
+        List<DummyEntry> all = new ArrayList<>();
+        for (int i=0; i<2000; i++) {
+            int size = backstack.size();
+            int op = size<3 ? 0 : random.nextInt(6);
+            switch (op) {
+                case 0: {
+                    DummyEntry entry = new DummyEntry("e"+i);
+                    all.add(entry);
+                    backstack.pushBackstackEntry(entry);
+                }
+                break;
+                case 1: backstack.popBackstackEntry();
+                break;
+                case 2: backstack.bringToTop(backstack.snapshot().get(random.nextInt(size)));
+                break;
+                case 3: backstack.remove(backstack.snapshot().get(random.nextInt(size)));
+                break;
+                case 4: {
+                    DummyEntry target = backstack.snapshot().get(random.nextInt(size));
+                    backstack.popBackstackEntriesUpTo(e -> e == target,random.nextBoolean());
+                }
+                break;
+                default: {
+                    DummyEntry entry = new DummyEntry("p"+i);
+                    backstack.popAndPushEntries(random.nextInt(Math.min(size,3)+1),Collections.singletonList(entry));
+                }
+            }
+            List<DummyEntry> live = new ArrayList<>();
+            backstack.forEach(live::add);
+            assertEquals(live,backstack.snapshot(),"snapshot differs after operation "+i);
+            assertEquals(live.size(),backstack.snapshot().size(),"size differs after operation "+i);
+        }
+        backstack.clear();
+        assertTrue(backstack.snapshot().isEmpty(),"snapshot not empty after clear");
+    }
+}
@@ -109,6 +109,33 @@ class BackstackTest {
         },"non-inclusive entry popped");
     }
 
+    @Test
+    void testPopAndPushEntries() {
+        DummyEntry four = new DummyEntry(4);
+        DummyEntry five = new DummyEntry(5);
+        List<DummyEntry> popentries = backstack.popAndPushEntries(2,List.of(four,five));
+        assertEquals(2,popentries.size(),"correct no of entries not popped");
+        assertEquals(3,popentries.get(0).getValue(),"popped entries not top first");
+        assertEquals(3,backstack.size(),"incorrect backstack size");
+        assertSame(five,backstack.peekBackstackEntry(),"last pushed entry is not top");
+    }
+
+    @Test
+    void testPopAndPushEntriesInvalidCount() {
+        assertThrows(IndexOutOfBoundsException.class,()->backstack.popAndPushEntries(4,List.of()),"popped more than size");
+        assertEquals(3,backstack.size(),"backstack changed on invalid count");
+    }
+
+    @Test
+    void testRemoveAll() {
+        DummyEntry one = entries.get(2);
+        DummyEntry three = entries.get(0);
+        List<DummyEntry> removed = backstack.removeAll(List.of(one,three,new DummyEntry(4)));
+        assertEquals(List.of(three,one),removed,"removed entries not top first");
+        assertEquals(1,backstack.size(),"incorrect backstack size");
+        assertEquals(2,backstack.peekBackstackEntry().getValue(),"incorrect remaining entry");
+    }
+
     static class DummyEntry implements BackstackEntry {
 
         final int value;
@@ -0,0 +1,165 @@
+package rahulstech.jfx.routing.backstack;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(ApplicationExtension.class)
+class IndexedBackstackTest {
+
+    IndexedBackstack<DummyEntry> backstack;
+
+    DummyEntry a1 = new DummyEntry("a");
+
+    DummyEntry b = new DummyEntry("b");
+
+    DummyEntry a2 = new DummyEntry("a");
+
+    DummyEntry c = new DummyEntry("c");
+
+    @BeforeEach
+    void start() {
+        backstack = new IndexedBackstack<>(DummyEntry::getId);
+        // bottom to top: a1, b, a2, c
+        backstack.pushBackstackEntry(a1);
+        backstack.pushBackstackEntry(b);
+        backstack.pushBackstackEntry(a2);
+        backstack.pushBackstackEntry(c);
+    }
+
+    @AfterEach
+    void end() {
+        backstack.dispose();
+    }
+
+    @Test
+    void testFindById() {
+        assertSame(a2,backstack.findById("a").orElse(null),"top-most entry of id not found");
+        assertEquals(2,backstack.countById("a"),"incorrect count of id");
+        assertFalse(backstack.findById("d").isPresent(),"non-existing id found");
+    }
+
+    @Test
+    void testFindByIdAtIndex() {
+        assertSame(a2,backstack.findById("a",0).orElse(null),"top-most entry of id not found");
+        assertSame(a1,backstack.findById("a",1).orElse(null),"deeper entry of id not found");
+        assertFalse(backstack.findById("a",2).isPresent(),"entry found beyond count of id");
+        assertFalse(backstack.findById("a",-1).isPresent(),"entry found for negative index");
+    }
+
+    @Test
+    void testBringToTop() {
+        backstack.bringToTop(a1);
+        assertSame(a1,backstack.peekBackstackEntry(),"entry not brought to top");
+        assertSame(a1,backstack.findById("a").orElse(null),"id index not updated");
+        assertEquals(Arrays.asList(a1,c,a2,b),toList(),"incorrect order");
+    }
+
+    @Test
+    void testGetById() {
+        assertSame(a2,backstack.getById("a"),"top-most entry of id not found");
+        assertSame(a1,backstack.getById("a",1),"deeper entry of id not found");
+        assertNull(backstack.getById("a",2),"entry found beyond count of id");
+        assertNull(backstack.getById("d"),"non-existing id found");
+    }
+
+    @Test
+    void testBringToTopKeepsIdOrder() {
+        backstack.bringToTop(a1);
+        assertSame(a2,backstack.getById("a",1),"entries of id not reordered");
+        backstack.bringToTop(a2);
+        assertSame(a2,backstack.getById("a"),"id index not updated");
+        assertSame(a1,backstack.getById("a",1),"entries of id not reordered");
+        assertEquals(2,backstack.countById("a"),"incorrect count of id");
+        assertEquals(Arrays.asList(a2,a1,c,b),toList(),"incorrect order");
+        assertEquals(Arrays.asList(c,b),backstack.removeAll(Arrays.asList(b,c)),"removed entries not top first");
+    }
+
+    @Test
+    void testSnapshotPublishedOnBringToTop() {
+        BackstackSnapshot<DummyEntry> snapshot = backstack.snapshot();
+        assertSame(snapshot,backstack.snapshot(),"snapshot published again without change");
+        backstack.bringToTop(b);
+        backstack.bringToTop(a1);
+        BackstackSnapshot<DummyEntry> changed = backstack.snapshot();
+        assertEquals(Arrays.asList(a1,b,c,a2),changed,"snapshot not updated");
+        assertEquals(Arrays.asList(c,a2,b,a1),snapshot,"old snapshot changed");
+        assertTrue(changed.getVersion()>snapshot.getVersion(),"version not increased");
+    }
+
+    @Test
+    void testRemove() {
+        backstack.remove(a2);
+        assertFalse(backstack.contains(a2),"removed entry still contained");
+        assertSame(a1,backstack.findById("a").orElse(null),"id index not updated");
+        assertEquals(Arrays.asList(c,b,a1),toList(),"incorrect order");
+    }
+
+    @Test
+    void testPopById() {
+        Optional<DummyEntry> entry = backstack.popById("a");
+        assertSame(a2,entry.orElse(null),"top-most entry of id not popped");
+        assertEquals(3,backstack.size(),"incorrect size");
+    }
+
+    @Test
+    void testPopUpToId() {
+        List<DummyEntry> popentries = backstack.popUpToId("b",false);
+        assertEquals(Arrays.asList(c,a2),popentries,"incorrect popped entries");
+        assertSame(b,backstack.peekBackstackEntry(),"non-inclusive entry popped");
+        assertTrue(backstack.popUpToId("d",true).isEmpty(),"popped for non-existing id");
+    }
+
+    @Test
+    void testPushExistingEntry() {
+        assertThrows(IllegalStateException.class,()->backstack.pushBackstackEntry(b),"entry added twice");
+    }
+
+    @Test
+    void testPopAndPushEntries() {
+        DummyEntry d = new DummyEntry("d");
+        // pop c and a2, push a2 again then d
+        List<DummyEntry> popentries = backstack.popAndPushEntries(2,Arrays.asList(a2,d));
+        assertEquals(Arrays.asList(c,a2),popentries,"incorrect popped entries");
+        assertEquals(Arrays.asList(d,a2,b,a1),toList(),"incorrect order");
+        assertThrows(IllegalStateException.class,()->backstack.popAndPushEntries(0,Arrays.asList(b)),"entry added twice");
+        assertEquals(4,backstack.size(),"backstack changed on invalid entries");
+    }
+
+    @Test
+    void testRemoveAll() {
+        List<DummyEntry> removed = backstack.removeAll(Arrays.asList(a1,a2,new DummyEntry("d")));
+        assertEquals(Arrays.asList(a2,a1),removed,"incorrect removed entries");
+        assertEquals(Arrays.asList(c,b),toList(),"incorrect order");
+        assertFalse(backstack.containsId("a"),"id index not updated");
+        assertEquals(Arrays.asList(c,b),backstack.snapshot(),"snapshot not updated");
+    }
+
+    private List<DummyEntry> toList() {
+        List<DummyEntry> entries = new ArrayList<>();
+        backstack.forEach(entries::add);
+        return entries;
+    }
+
+    static class DummyEntry implements BackstackEntry {
+
+        final String id;
+
+        DummyEntry(String id) {
+            this.id = id;
+        }
+
+        String getId() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package rahulstech.jfx.routing.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ViewCacheTest {
+
+    ViewCache<String> cache;
+    List<String> evicted;
+
+    @BeforeEach
+    void start() {
+        cache = new ViewCache<>(2,EvictionPolicy.LRU);
+        evicted = new ArrayList<>();
+        cache.setOnEvicted(evicted::add);
+    }
+
+    @Test
+    public void testTakeRemovesView() {
+        cache.put("screen0","view0",10,10);
+        assertEquals("view0",cache.take("screen0"),"cached view not returned");
+        assertNull(cache.take("screen0"),"view returned twice");
+        assertEquals(1,cache.getHitCount(),"incorrect hit count");
+        assertEquals(1,cache.getMissCount(),"incorrect miss count");
+    }
+
+    @Test
+    public void testPutSameKeyEvictsOld() {
+        cache.put("screen0","view0",10,10);
+        cache.put("screen0","view1",10,10);
+        assertEquals(1,cache.size(),"more than one view cached for same key");
+        assertEquals(List.of("view0"),evicted,"old view not evicted");
+    }
+
+    @Test
+    public void testLruEviction() {
+        cache.put("screen0","view0",10,10);
+        cache.put("screen1","view1",10,10);
+        cache.put("screen2","view2",10,10);
+        assertEquals(List.of("view0"),evicted,"least recently cached view not evicted");
+        assertFalse(cache.contains("screen0"),"evicted view still cached");
+    }
+
+    @Test
+    public void testLfuEviction() {
+        cache.setEvictionPolicy(EvictionPolicy.LFU);
+        cache.take("screen0");
+        cache.take("screen0");
+        cache.put("screen0","view0",10,10);
+        cache.put("screen1","view1",10,10);
+        cache.put("screen2","view2",10,10);
+        assertEquals(List.of("view1"),evicted,"least frequently requested view not evicted");
+    }
+
+    @Test
+    public void testCostAwareEviction() {
+        cache.setEvictionPolicy(EvictionPolicy.COST_AWARE);
+        // slow to load and small
+        cache.put("screen0","view0",1_000_000,10);
+        // fast to load and large
+        cache.put("screen1","view1",1_000,1000);
+        cache.put("screen2","view2",500_000,100);
+        assertEquals(List.of("view1"),evicted,"cheapest view per node not evicted");
+    }
+
+    @Test
+    public void testSetLimitTrims() {
+        cache.put("screen0","view0",10,10);
+        cache.put("screen1","view1",10,10);
+        cache.setLimit(0);
+        assertEquals(0,cache.size(),"views not evicted on reducing limit");
+        assertFalse(cache.put("screen2","view2",10,10),"view cached while caching disabled");
+    }
+
+    @Test
+    public void testNodeCount() {
+        cache.put("screen0","view0",10,10);
+        cache.put("screen1","view1",10,15);
+        assertEquals(25,cache.getNodeCount(),"incorrect total node count");
+    }
+
+    @Test
+    public void testDispose() {
+        cache.put("screen0","view0",10,10);
+        cache.dispose();
+        assertEquals(List.of("view0"),evicted,"cached view not evicted on dispose");
+        assertNull(cache.take("screen0"),"view returned after dispose");
+    }
+}
@@ -60,6 +60,129 @@ class RouterArgumentTest {
         assertEquals(RouterArgument.Type.STRING,arg.getType(),"name-value type mismatch");
     }
 
+    @Test
+    public void schemaTest() {
+        RouterArgument declared = declaredArguments();
+        ArgumentSchema schema = declared.getSchema();
+
+        assertSame(schema,declared.getSchema(),"schema compiled again");
+        assertEquals(4,schema.size(),"schema size mismatch");
+        assertEquals("id",schema.getName(0),"declaration order not kept");
+        assertTrue(schema.isRequired(schema.indexOf("name")),"required flag mismatch");
+        assertSame(schema,declared.copyWithoutValue().getSchema(),"copy does not share schema");
+        assertThrows(IllegalArgumentException.class,()->schema.key("id",String.class));
+        assertThrows(IllegalArgumentException.class,()->schema.key("missing",String.class));
+    }
+
+    @Test
+    public void typedKeyTest() {
+        RouterArgument args = declaredArguments().copyWithoutValue();
+        ArgumentSchema schema = args.getSchema();
+        ArgKey<Integer> id = schema.key("id",Integer.class);
+        ArgKey<Double> ratio = schema.key("ratio",Double.class);
+        ArgKey<Boolean> flag = schema.key("flag",Boolean.class);
+
+        assertEquals(-1,args.getInt(id,-1),"default not returned");
+        args.setInt(id,42);
+        args.setDouble(ratio,1.5);
+        args.setBoolean(flag,true);
+        args.addArgument("name","user");
+
+        assertEquals(42,args.getInt(id,-1),"int value mismatch");
+        assertEquals(42,(Integer) args.getValue("id"),"int value not boxed by name");
+        assertEquals(1.5,args.getDouble(ratio,0),"double value mismatch");
+        assertTrue(args.get(flag),"boolean value mismatch");
+        assertEquals("user",args.get(ArgKey.of("name",String.class)),"unbound key value mismatch");
+        assertEquals(42,args.getArgument("id").getAsInt(),"name-value of slot mismatch");
+        assertSame(args.getArgument("id"),args.getArgument("id"),"name-value of slot created again");
+        assertDoesNotThrow(args::accept);
+    }
+
+    @Test
+    public void mergeTest() {
+        RouterArgument declared = declaredArguments();
+        RouterArgument args = declared.copyWithoutValue();
+        RouterArgument data = new RouterArgument();
+        data.addArgument("id",7);
+        data.addArgument("name","user");
+        data.addArgument("extra","value");
+        args.merge(data);
+
+        assertEquals(7,(Integer) args.getValue("id"),"merged value mismatch");
+        assertEquals("value",args.getValue("extra"),"undeclared argument not merged");
+        assertDoesNotThrow(args::accept);
+
+        // values are shared until changed
+        ArgKey<Integer> id = args.getSchema().key("id",Integer.class);
+        RouterArgument copy = declared.copyWithoutValue();
+        copy.merge(args);
+        copy.setInt(id,9);
+        assertEquals(7,args.getInt(id,-1),"shared value changed");
+        assertEquals(9,copy.getInt(id,-1),"copied value not changed");
+    }
+
+    @Test
+    public void schemaAcceptTest() {
+        RouterArgument args = declaredArguments().copyWithoutValue();
+        assertThrows(NullPointerException.class,args::accept,"missing required argument accepted");
+        args.addArgument("id","42");
+        args.addArgument("name","user");
+        assertThrows(IllegalArgumentException.class,args::accept,"wrong type accepted");
+        args.addArgument("id",42);
+        assertDoesNotThrow(args::accept);
+        args.addArgument("ratio","1.5");
+        assertDoesNotThrow(args::accept,"type of optional argument checked");
+        assertThrows(IllegalArgumentException.class,()->args.accept(true),"wrong type of optional argument accepted when strict");
+        args.addArgument("ratio",null);
+        assertDoesNotThrow(()->args.accept(true),"optional argument without value rejected when strict");
+    }
+
+    @Test
+    public void removeDeclaredArgumentTest() {
+        RouterArgument args = declaredArguments().copyWithoutValue();
+        ArgumentSchema schema = args.getSchema();
+        args.addArgument("id",42);
+        args.addArgument("ratio",1.5);
+        RouterArgument.NameValue removed = args.removeArgument("ratio");
+        assertEquals(1.5,removed.getAsDouble(),"removed value mismatch");
+        assertNull(args.getValue("ratio"),"value not removed");
+        assertTrue(args.contains("ratio"),"declaration removed");
+        assertEquals(42,(Integer) args.getValue("id"),"value lost on remove");
+        assertSame(schema,args.getSchema(),"schema changed on remove");
+    }
+
+    @Test
+    public void redeclareArgumentTest() {
+        RouterArgument args = declaredArguments().copyWithoutValue();
+        ArgumentSchema schema = args.getSchema();
+        args.addArgument("id",42);
+        RouterArgument.NameValue flag = new RouterArgument.NameValue("flag",RouterArgument.Type.BOOLEAN);
+        flag.setValue(true);
+        args.addArgument(flag);
+        assertSame(schema,args.getSchema(),"schema changed on same declaration");
+        assertTrue(args.get(schema.key("flag",Boolean.class)),"value of same declaration not set");
+
+        RouterArgument.NameValue ratio = new RouterArgument.NameValue("ratio",RouterArgument.Type.STRING,true);
+        ratio.setValue("high");
+        args.addArgument(ratio);
+        ArgumentSchema redeclared = args.getSchema();
+        assertEquals(schema.size(),redeclared.size(),"redeclared argument added again");
+        assertEquals(RouterArgument.Type.STRING,redeclared.getType(redeclared.indexOf("ratio")),"type not redeclared");
+        assertTrue(args.getArgument("ratio").isRequired(),"required flag not redeclared");
+        assertEquals("high",args.getValue("ratio"),"redeclared value mismatch");
+        assertEquals(42,args.getInt(redeclared.key("id",Integer.class),-1),"value of other argument lost");
+        assertTrue(args.getBoolean(redeclared.key("flag",Boolean.class),false),"value of other argument lost");
+    }
+
+    private static RouterArgument declaredArguments() {
+        RouterArgument args = new RouterArgument();
+        args.addArgument(new RouterArgument.NameValue("id",RouterArgument.Type.INT,true));
+        args.addArgument(new RouterArgument.NameValue("name",RouterArgument.Type.STRING,true));
+        args.addArgument(new RouterArgument.NameValue("ratio",RouterArgument.Type.DOUBLE));
+        args.addArgument(new RouterArgument.NameValue("flag",RouterArgument.Type.BOOLEAN));
+        return args;
+    }
+
     static class TypeTestArgumentProvider implements ArgumentsProvider {
 
         @Override
@@ -0,0 +1,35 @@
+package rahulstech.jfx.routing.memory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackstackOverflowPolicyTest {
+
+    @Test
+    public void testForName() {
+        assertSame(BackstackOverflowPolicy.DROP_OLDEST,BackstackOverflowPolicy.forName("drop_oldest"),"incorrect policy");
+        assertSame(BackstackOverflowPolicy.COLLAPSE_DUPLICATES,BackstackOverflowPolicy.forName(" Collapse_Duplicates "),"incorrect policy");
+        assertSame(BackstackOverflowPolicy.DEHYDRATE,BackstackOverflowPolicy.forName("DEHYDRATE"),"incorrect policy");
+    }
+
+    @Test
+    public void testForNameIgnoresDefaultLocale() {
+        Locale locale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr","TR"));
+        try {
+            assertSame(BackstackOverflowPolicy.COLLAPSE_DUPLICATES,BackstackOverflowPolicy.forName("COLLAPSE_DUPLICATES"),
+                    "policy not matched in turkish locale");
+        }
+        finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    @Test
+    public void testUnknownName() {
+        assertThrows(IllegalArgumentException.class,()->BackstackOverflowPolicy.forName("lru"),"unknown policy accepted");
+    }
+}
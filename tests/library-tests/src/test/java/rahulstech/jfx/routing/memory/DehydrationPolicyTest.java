@@ -0,0 +1,40 @@
+package rahulstech.jfx.routing.memory;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DehydrationPolicyTest {
+
+    @Test
+    public void testNeverDehydrates() {
+        assertFalse(DehydrationPolicy.NEVER.isEnabled(),"NEVER policy is enabled");
+        assertFalse(DehydrationPolicy.NEVER.shouldDehydrate(100,Long.MAX_VALUE),"NEVER policy dehydrates");
+    }
+
+    @Test
+    public void testTopNeverDehydrated() {
+        DehydrationPolicy policy = new DehydrationPolicy(1,1);
+        assertFalse(policy.shouldDehydrate(0,Long.MAX_VALUE),"backstack top dehydrated");
+    }
+
+    @Test
+    public void testDehydrateByDepth() {
+        DehydrationPolicy policy = new DehydrationPolicy(2,0);
+        assertFalse(policy.shouldDehydrate(2,Long.MAX_VALUE),"entry at max depth dehydrated");
+        assertTrue(policy.shouldDehydrate(3,0),"entry beyond max depth not dehydrated");
+    }
+
+    @Test
+    public void testDehydrateByHiddenTime() {
+        DehydrationPolicy policy = new DehydrationPolicy(0,1000);
+        assertFalse(policy.shouldDehydrate(50,999),"entry dehydrated before max hidden time");
+        assertTrue(policy.shouldDehydrate(1,1000),"entry not dehydrated after max hidden time");
+    }
+
+    @Test
+    public void testNegativeValues() {
+        assertThrows(IllegalArgumentException.class,()->new DehydrationPolicy(-1,0),"negative depth accepted");
+        assertThrows(IllegalArgumentException.class,()->new DehydrationPolicy(0,-1),"negative hidden time accepted");
+    }
+}
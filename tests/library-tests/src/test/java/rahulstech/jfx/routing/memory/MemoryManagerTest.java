@@ -0,0 +1,103 @@
+package rahulstech.jfx.routing.memory;
+
+import org.junit.jupiter.api.Test;
+import rahulstech.jfx.routing.BaseRouterContext;
+import rahulstech.jfx.routing.Router;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryManagerTest {
+
+    @Test
+    public void testRouterRegistration() {
+        MemoryManager manager = MemoryManager.getInstance();
+        Router router = new Router(new TestRouterContext());
+        assertTrue(manager.getRouters().contains(router),"new router not registered");
+        router.dispose();
+        assertFalse(manager.getRouters().contains(router),"disposed router still registered");
+    }
+
+    @Test
+    public void testTrimReportsOnlyReclaimed() {
+        MemoryManager manager = MemoryManager.getInstance();
+        Router router = new Router(new TestRouterContext());
+        List<MemoryManager.TrimLevel> trimmed = new ArrayList<>();
+        TrimListener listener = (r,level,reason,reclaimed)->trimmed.add(level);
+        manager.addTrimListener(listener);
+        try {
+            assertEquals(0,manager.trim(),"empty router reclaimed memory");
+            assertTrue(trimmed.isEmpty(),"listener notified without reclaiming");
+        }
+        finally {
+            manager.removeTrimListener(listener);
+            router.dispose();
+        }
+    }
+
+    @Test
+    public void testTrimToBudgetWithoutBudget() {
+        Router router = new Router(new TestRouterContext());
+        try {
+            assertEquals(0,router.getNodeBudget(),"router has budget by default");
+            assertEquals(0,MemoryManager.getInstance().trimToBudget(router),"router without budget trimmed");
+        }
+        finally {
+            router.dispose();
+        }
+    }
+
+    @Test
+    public void testStartStop() {
+        MemoryManager manager = MemoryManager.getInstance();
+        manager.start();
+        try {
+            assertTrue(manager.isStarted(),"manager not started");
+        }
+        finally {
+            manager.stop();
+        }
+        assertFalse(manager.isStarted(),"manager not stopped");
+    }
+
+    @Test
+    public void testUsageThresholdRange() {
+        MemoryManager manager = MemoryManager.getInstance();
+        assertThrows(IllegalArgumentException.class,()->manager.setUsageThreshold(0),"zero threshold accepted");
+        assertThrows(IllegalArgumentException.class,()->manager.setUsageThreshold(1.5),"threshold above 1 accepted");
+        Router router = new Router(new TestRouterContext());
+        try {
+            assertThrows(IllegalArgumentException.class,()->router.setNodeBudget(-1),"negative budget accepted");
+        }
+        finally {
+            router.dispose();
+        }
+    }
+
+    private static class TestRouterContext extends BaseRouterContext {
+
+        @Override
+        public URL getResource(String name) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            return null;
+        }
+
+        @Override
+        public URL getResource(String name, String type) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name, String type) {
+            return null;
+        }
+    }
+}
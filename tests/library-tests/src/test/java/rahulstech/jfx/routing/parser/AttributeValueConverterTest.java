@@ -1,5 +1,6 @@
 package rahulstech.jfx.routing.parser;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -8,11 +9,13 @@ import org.junit.jupiter.params.provider.ArgumentsSource;
 import rahulstech.jfx.routing.parser.converter.BooleanConverter;
 import rahulstech.jfx.routing.parser.converter.DurationConverter;
 import rahulstech.jfx.routing.parser.converter.NumberConverter;
+import rahulstech.jfx.routing.element.Destination;
 import rahulstech.jfx.routing.parser.converter.SizeConverter;
 
+import java.util.Locale;
 import java.util.stream.Stream;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 class AttributeValueConverterTest {
 
@@ -22,6 +25,25 @@ class AttributeValueConverterTest {
         assertEquals(expected,converter.check(value),"converter="+converter.getClass()+" value="+value+" expected="+expected);
     }
 
+    @Test
+    public void enumTest() {
+        Locale locale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr","TR"));
+        try {
+            assertEquals(Destination.PreloadMode.IDLE,new Attribute("preload"," idle ").getAsEnum(Destination.PreloadMode.class),
+                    "enum not converted in turkish locale");
+        }
+        finally {
+            Locale.setDefault(locale);
+        }
+        ConverterException ex = assertThrows(ConverterException.class,
+                ()->new Attribute("preload","eagr").getAsEnum(Destination.PreloadMode.class));
+        assertTrue(ex.getMessage().contains("preload"),"attribute not named in error");
+        assertEquals(Destination.HideMode.DETACH,new Attribute(Attribute.HIDE_MODE,"Detach").getAsEnum(Destination.HideMode.class),
+                "hide mode not converted");
+        assertThrows(ConverterException.class,()->new Attribute(Attribute.HIDE_MODE,"remove").getAsEnum(Destination.HideMode.class));
+    }
+
     static class CheckTestArgumentProvider implements ArgumentsProvider {
 
         @Override
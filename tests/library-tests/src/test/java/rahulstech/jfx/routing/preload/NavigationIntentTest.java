@@ -0,0 +1,176 @@
+package rahulstech.jfx.routing.preload;
+
+import javafx.event.Event;
+import javafx.event.EventType;
+import javafx.scene.control.Button;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.StackPane;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.api.FxRobot;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.util.WaitForAsyncUtils;
+import rahulstech.jfx.routing.BaseRouterContext;
+import rahulstech.jfx.routing.Router;
+import rahulstech.jfx.routing.RouterExecutor;
+import rahulstech.jfx.routing.RouterOptions;
+import rahulstech.jfx.routing.element.Destination;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(ApplicationExtension.class)
+class NavigationIntentTest {
+
+    // runnables submitted to the background executor, never run
+    List<Runnable> queued;
+
+    Router router;
+
+    RecordingExecutor recording;
+
+    Button button;
+
+    @BeforeEach
+    void setup() {
+        queued = new ArrayList<>();
+        TestRouterContext context = new TestRouterContext(queued::add);
+        router = new Router(context,new StackPane());
+        recording = new RecordingExecutor(router);
+        context.cacheRouterExecutor("recording",recording);
+        router.addDestination(new Destination.Builder("settings").setExecutor("recording").build());
+        router.addDestination(new Destination.Builder("profile").build());
+        button = new Button();
+    }
+
+    @AfterEach
+    void teardown() {
+        router.dispose();
+        router = null;
+    }
+
+    @Test
+    public void testInstall(FxRobot robot) {
+        robot.interact(()->{
+            NavigationIntent intent = NavigationIntent.install(button,router,"settings");
+            assertSame(button,intent.getNode(),"incorrect node");
+            assertEquals("settings",intent.getDestinationId(),"incorrect destination id");
+            fire(MouseEvent.MOUSE_ENTERED);
+            assertEquals(List.of("settings"),recording.hinted,"mouse entered not hinted");
+            fire(MouseEvent.MOUSE_PRESSED);
+            fire(MouseEvent.MOUSE_ENTERED);
+            assertEquals(List.of("settings"),recording.hinted,"pending intent hinted again");
+        });
+    }
+
+    @Test
+    public void testUninstall(FxRobot robot) {
+        robot.interact(()->{
+            NavigationIntent intent = NavigationIntent.install(button,router,"settings");
+            intent.uninstall();
+            intent.uninstall();
+            fire(MouseEvent.MOUSE_ENTERED);
+            fire(MouseEvent.MOUSE_PRESSED);
+            assertTrue(recording.hinted.isEmpty(),"uninstalled intent hinted");
+        });
+    }
+
+    @Test
+    public void testHintPreloads(FxRobot robot) throws Exception {
+        router.setIntentTimeout(50);
+        robot.interact(()->{
+            NavigationIntent.install(button,router,"profile");
+            fire(MouseEvent.MOUSE_PRESSED);
+            assertTrue(router.getPreloader().contains("profile"),"hinted destination not preloading");
+        });
+        // no navigation follows, the prepared work is discarded after the intent timeout
+        WaitForAsyncUtils.waitFor(5,TimeUnit.SECONDS,()->!router.getPreloader().contains("profile"));
+    }
+
+    @Test
+    public void testInstallNullArguments() {
+        assertThrows(NullPointerException.class,()->NavigationIntent.install(null,router,"settings"),"null node accepted");
+        assertThrows(NullPointerException.class,()->NavigationIntent.install(button,null,"settings"),"null router accepted");
+        assertThrows(NullPointerException.class,()->NavigationIntent.install(button,router,null),"null destination id accepted");
+    }
+
+    private void fire(EventType<MouseEvent> type) {
+        Event.fireEvent(button,new MouseEvent(type,0,0,0,0,MouseButton.PRIMARY,1,
+                false,false,false,false,true,false,false,false,false,false,null));
+    }
+
+    private static class RecordingExecutor extends RouterExecutor {
+
+        final List<String> hinted = new ArrayList<>();
+
+        RecordingExecutor(Router router) {
+            super(router);
+        }
+
+        @Override
+        public void hintIntent(Destination destination) {
+            hinted.add(destination.getId());
+        }
+
+        @Override
+        public void show(Destination destination, RouterOptions options) {}
+
+        @Override
+        public void hide(Destination destination, RouterOptions options) {}
+
+        @Override
+        public void popBackstack(Destination destination, RouterOptions options) {}
+
+        @Override
+        public void doLifecycleShow(Destination destination) {}
+
+        @Override
+        public void doLifecycleHide(Destination destination) {}
+
+        @Override
+        public void doLifecycleDestroy(Destination destination) {}
+    }
+
+    private static class TestRouterContext extends BaseRouterContext {
+
+        private final Executor background;
+
+        TestRouterContext(Executor background) {
+            this.background = background;
+        }
+
+        @Override
+        public Executor getBackgroundExecutor() {
+            return background;
+        }
+
+        @Override
+        public URL getResource(String name) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            return null;
+        }
+
+        @Override
+        public URL getResource(String name, String type) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name, String type) {
+            return null;
+        }
+    }
+}
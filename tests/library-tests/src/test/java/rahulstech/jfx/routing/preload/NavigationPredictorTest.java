@@ -0,0 +1,82 @@
+package rahulstech.jfx.routing.preload;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NavigationPredictorTest {
+
+    NavigationPredictor predictor;
+
+    @BeforeEach
+    void start() {
+        predictor = new NavigationPredictor();
+    }
+
+    @Test
+    public void testPredictMostFrequentFirst() {
+        predictor.record("screen0","screen1");
+        predictor.record("screen0","screen2");
+        predictor.record("screen0","screen2");
+        assertEquals(List.of("screen2","screen1"),predictor.predict("screen0",2),"incorrect prediction order");
+        assertEquals(List.of("screen2"),predictor.predict("screen0",1),"prediction count not limited");
+        assertTrue(predictor.predict("screen1",2).isEmpty(),"prediction for unknown source");
+    }
+
+    @Test
+    public void testSelfTransitionIgnored() {
+        predictor.record("screen0","screen0");
+        assertEquals(0,predictor.getCount("screen0","screen0"),"self transition recorded");
+    }
+
+    @Test
+    public void testLeastFrequentTargetForgotten() {
+        predictor.record("screen0","frequent");
+        predictor.record("screen0","frequent");
+        for (int i=0; i<NavigationPredictor.MAX_TARGETS_PER_SOURCE; i++) {
+            predictor.record("screen0","target"+i);
+        }
+        assertEquals(2,predictor.getCount("screen0","frequent"),"frequent target forgotten");
+        assertEquals(NavigationPredictor.MAX_TARGETS_PER_SOURCE,
+                predictor.predict("screen0",Integer.MAX_VALUE).size(),"targets per source not bounded");
+    }
+
+    @Test
+    public void testNewTargetCanCompete() {
+        for (int i=0; i<NavigationPredictor.MAX_TARGETS_PER_SOURCE; i++) {
+            predictor.record("screen0","target"+i);
+        }
+        predictor.record("screen0","new0");
+        predictor.record("screen0","new1");
+        assertTrue(predictor.getCount("screen0","new0")>0,"new target forgotten by next new target");
+        assertTrue(predictor.getCount("screen0","new1")>0,"new target not recorded");
+        predictor.record("screen0","new0");
+        assertEquals("new0",predictor.predict("screen0",1).get(0),"repeated new target not predicted");
+    }
+
+    @Test
+    public void testCountsDecay() {
+        for (int i=0; i<NavigationPredictor.DECAY_INTERVAL; i++) {
+            predictor.record("screen0","screen1");
+        }
+        assertEquals(NavigationPredictor.DECAY_INTERVAL/2,predictor.getCount("screen0","screen1"),"counts not halved");
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        predictor.record("screen0","screen1");
+        predictor.record("screen0","screen1");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        predictor.save(out);
+
+        NavigationPredictor loaded = new NavigationPredictor();
+        loaded.load(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(2,loaded.getCount("screen0","screen1"),"count not restored");
+    }
+}
@@ -0,0 +1,115 @@
+package rahulstech.jfx.routing.preload;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+import rahulstech.jfx.routing.ManualRouterDispatcher;
+import rahulstech.jfx.routing.RouterDispatcher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(ApplicationExtension.class)
+class ViewPreloaderTest {
+
+    // runnables submitted to the worker, run by the test
+    List<Runnable> queued;
+
+    // runs the warm-ups when the test decides
+    ManualRouterDispatcher dispatcher;
+
+    ViewPreloader preloader;
+
+    @BeforeEach
+    void setup() {
+        queued = new ArrayList<>();
+        dispatcher = new ManualRouterDispatcher();
+        preloader = new ViewPreloader(queued::add,dispatcher);
+    }
+
+    @AfterEach
+    void teardown() {
+        preloader.dispose();
+    }
+
+    @Test
+    public void testTakeHit() {
+        assertTrue(preloader.prefetch("screen0",()->"view",null),"prefetch not started");
+        queued.forEach(Runnable::run);
+        dispatcher.runAll();
+        assertTrue(preloader.isReady("screen0"),"loaded view not ready");
+        assertEquals("view",preloader.take("screen0"),"prepared view not returned");
+        assertEquals(1,preloader.getHitCount(),"hit not counted");
+        assertFalse(preloader.contains("screen0"),"taken view still kept");
+    }
+
+    @Test
+    public void testTakeBeforeWarmUp() {
+        List<String> warmed = new ArrayList<>();
+        preloader.preload("screen0",()->"view",warmed::add);
+        queued.forEach(Runnable::run);
+        assertFalse(preloader.isReady("screen0"),"view ready before warm up");
+        assertNull(preloader.take("screen0"),"view returned before warm up");
+        assertTrue(preloader.contains("screen0"),"view dropped before warm up");
+
+        dispatcher.runAll();
+        assertEquals(1,warmed.size(),"view not warmed up");
+        assertEquals("view",preloader.take("screen0"),"warmed up view not returned");
+    }
+
+    @Test
+    public void testTakeMiss() {
+        assertNull(preloader.take("screen0"),"view returned without preload");
+        preloader.prefetch("screen0",()->"view",null);
+        preloader.prefetch("screen1",()->"view",null);
+        assertEquals(1,preloader.cancelSpeculative("screen1"),"incorrect discarded count");
+        assertEquals(1,preloader.getMissCount(),"miss not counted");
+        assertFalse(preloader.contains("screen0"),"discarded view still kept");
+        assertTrue(preloader.contains("screen1"),"kept view discarded");
+    }
+
+    @Test
+    public void testTakeInFlightDoesNotBlock() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ViewPreloader background = new ViewPreloader(runnable->new Thread(runnable).start(),RouterDispatcher.direct());
+        try {
+            background.preload("screen0",()->{
+                started.countDown();
+                release.await();
+                return "view";
+            },null);
+            assertTrue(started.await(5,TimeUnit.SECONDS),"loading not started");
+            assertTimeout(Duration.ofSeconds(1),()->assertNull(background.take("screen0"),"in-flight view returned"));
+            assertTrue(background.contains("screen0"),"in-flight view dropped");
+
+            release.countDown();
+            background.whenReady("screen0").get(5,TimeUnit.SECONDS);
+            assertEquals("view",background.take("screen0"),"loaded view not returned");
+        }
+        finally {
+            release.countDown();
+            background.dispose();
+        }
+    }
+
+    @Test
+    public void testCancel() {
+        AtomicInteger loaded = new AtomicInteger();
+        preloader.preload("screen0",()->loaded.incrementAndGet(),null);
+        preloader.cancel("screen0");
+        assertFalse(preloader.contains("screen0"),"canceled view still kept");
+        assertTrue(preloader.whenReady("screen0").isDone(),"future of canceled view not done");
+        queued.forEach(Runnable::run);
+        assertEquals(0,loaded.get(),"canceled view loaded");
+        assertNull(preloader.take("screen0"),"canceled view returned");
+    }
+}
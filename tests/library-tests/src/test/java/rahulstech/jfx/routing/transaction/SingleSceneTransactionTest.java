@@ -0,0 +1,133 @@
+package rahulstech.jfx.routing.transaction;
+
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.api.FxRobot;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.util.WaitForAsyncUtils;
+import rahulstech.jfx.routing.BaseRouterContext;
+import rahulstech.jfx.routing.RouterOptions;
+import rahulstech.jfx.routing.element.RouterAnimation;
+import rahulstech.jfx.routing.transaction.SingleSceneTransaction.SingleSceneTarget;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(ApplicationExtension.class)
+class SingleSceneTransactionTest {
+
+    Pane content;
+
+    SingleSceneTransaction transaction;
+
+    List<String> calls;
+
+    @BeforeEach
+    void setup() {
+        content = new Pane();
+        transaction = new SingleSceneTransaction(new TestRouterContext(),content);
+        calls = new ArrayList<>();
+    }
+
+    @Test
+    public void testShowSingleTopReusesTarget(FxRobot robot) {
+        robot.interact(()->{
+            TestTarget first = new TestTarget("first");
+            TestTarget second = new TestTarget("second");
+            RouterOptions options = new RouterOptions().setEnterAnimation(RouterAnimation.NO_OP)
+                    .setExitAnimation(RouterAnimation.NO_OP);
+            transaction.showSingleTop(first,options,null);
+            transaction.showSingleTop(second,options,null);
+            transaction.hide("second",options);
+            transaction.showSingleTop(first,options,null);
+            assertEquals(2,transaction.getBackstack().size(),"single-top target pushed again");
+            assertSame(first,transaction.getBackstack().peekBackstackEntry(),"target not brought to top");
+            assertEquals(List.of(first.node),content.getChildren(),"incorrect content");
+        });
+    }
+
+    @Test
+    public void testPopHiddenKeepAttachedTargetDestroys(FxRobot robot) throws Exception {
+        TestTarget target = new TestTarget("first");
+        RouterOptions options = new RouterOptions().setEnterAnimation(RouterAnimation.NO_OP)
+                .setExitAnimation(RouterAnimation.NO_OP).setPopExitAnimation(RouterAnimation.NO_OP);
+        robot.interact(()->{
+            target.setKeepAttached(true);
+            transaction.show(target,options,null);
+            transaction.hide("first",options);
+        });
+        WaitForAsyncUtils.waitFor(5,TimeUnit.SECONDS,target::isHiddenInContent);
+        robot.interact(()->{
+            calls.clear();
+            transaction.popHide("first",options,destroyed->calls.add("destroyed"));
+            assertEquals(List.of("destroy","destroyed"),calls,"hidden target not destroyed");
+            assertFalse(content.getChildren().contains(target.node),"destroyed node kept in content");
+        });
+    }
+
+    private class TestTarget extends SingleSceneTarget {
+
+        final Node node = new Region();
+
+        TestTarget(String tag) {
+            super(tag,new Object());
+        }
+
+        @Override
+        public Node getNode() {
+            return node;
+        }
+
+        @Override
+        public void onBeforeShow() {
+            calls.add("beforeShow");
+        }
+
+        @Override
+        public void onShow() {
+            calls.add("show");
+        }
+
+        @Override
+        public void onHide() {
+            calls.add("hide");
+        }
+
+        @Override
+        public void onDestroy() {
+            calls.add("destroy");
+        }
+    }
+
+    private static class TestRouterContext extends BaseRouterContext {
+
+        @Override
+        public URL getResource(String name) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            return null;
+        }
+
+        @Override
+        public URL getResource(String name, String type) {
+            return null;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name, String type) {
+            return null;
+        }
+    }
+}
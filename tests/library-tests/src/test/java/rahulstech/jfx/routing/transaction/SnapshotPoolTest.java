@@ -0,0 +1,180 @@
+package rahulstech.jfx.routing.transaction;
+
+import javafx.scene.Node;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.api.FxRobot;
+import org.testfx.framework.junit5.ApplicationExtension;
+import rahulstech.jfx.routing.element.RouterAnimation;
+import rahulstech.jfx.routing.transaction.SingleSceneTransaction.SingleSceneTarget;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(ApplicationExtension.class)
+class SnapshotPoolTest {
+
+    SnapshotPool pool;
+
+    @BeforeEach
+    void setup() {
+        pool = new SnapshotPool();
+    }
+
+    @Test
+    public void testSnapshot(FxRobot robot) {
+        robot.interact(()->{
+            Region node = newNode(100,50);
+            ImageView standIn = pool.snapshot(node);
+            assertNotNull(standIn,"no stand-in for visible node");
+            assertEquals(100,standIn.getFitWidth(),"incorrect stand-in width");
+            assertEquals(50,standIn.getFitHeight(),"incorrect stand-in height");
+            assertEquals(100,standIn.getViewport().getWidth(),"incorrect viewport width");
+            assertFalse(standIn.isManaged(),"stand-in managed");
+            assertTrue(standIn.isMouseTransparent(),"stand-in receives mouse events");
+            assertNull(pool.snapshot(newNode(0,50)),"stand-in for node without area");
+        });
+    }
+
+    @Test
+    public void testReleaseReusesBuffer(FxRobot robot) {
+        robot.interact(()->{
+            ImageView standIn = pool.snapshot(newNode(100,50));
+            Image buffer = standIn.getImage();
+            pool.release(standIn);
+            assertNull(standIn.getImage(),"released stand-in keeps buffer");
+            assertEquals(1,pool.size(),"buffer not returned");
+            pool.release(standIn);
+            assertEquals(1,pool.size(),"buffer returned twice");
+
+            ImageView smaller = pool.snapshot(newNode(80,40));
+            assertSame(buffer,smaller.getImage(),"buffer not reused for smaller snapshot");
+            assertEquals(0,pool.size(),"reused buffer still idle");
+            assertEquals(80,smaller.getViewport().getWidth(),"viewport not cropped to snapshot");
+            pool.release(smaller);
+
+            ImageView larger = pool.snapshot(newNode(200,50));
+            assertNotSame(buffer,larger.getImage(),"small buffer used for larger snapshot");
+            assertEquals(1,pool.size(),"unused buffer dropped");
+        });
+    }
+
+    @Test
+    public void testCapacity(FxRobot robot) {
+        robot.interact(()->{
+            pool.setCapacity(1);
+            ImageView small = pool.snapshot(newNode(10,10));
+            ImageView large = pool.snapshot(newNode(100,100));
+            Image buffer = large.getImage();
+            pool.release(small);
+            pool.release(large);
+            assertEquals(1,pool.size(),"buffers beyond capacity kept");
+            assertSame(buffer,pool.snapshot(newNode(10,10)).getImage(),"larger buffer not kept");
+            pool.release(pool.snapshot(newNode(10,10)));
+            assertEquals(1,pool.clear(),"incorrect cleared count");
+            assertEquals(0,pool.size(),"buffers kept after clear");
+        });
+        assertThrows(IllegalArgumentException.class,()->pool.setCapacity(-1),"negative capacity accepted");
+    }
+
+    @Test
+    public void testSnapshotTransition(FxRobot robot) {
+        robot.interact(()->{
+            Pane content = new Pane();
+            Region node = newNode(100,50);
+            TestTarget target = new TestTarget(node);
+
+            ManualAnimation enter = new ManualAnimation();
+            target.showInContent(content,enter,null,pool);
+            Node standIn = enter.getTarget();
+            assertInstanceOf(ImageView.class,standIn,"animation not running on stand-in");
+            assertEquals(content.getChildren().indexOf(node)+1,content.getChildren().indexOf(standIn),
+                    "stand-in not placed over node");
+            assertFalse(node.isVisible(),"node visible while stand-in animates");
+            Image buffer = ((ImageView) standIn).getImage();
+            enter.finish();
+            assertFalse(content.getChildren().contains(standIn),"stand-in not removed");
+            assertTrue(node.isVisible(),"node not shown after animation");
+            assertEquals(1,pool.size(),"stand-in buffer not released");
+
+            ManualAnimation exit = new ManualAnimation();
+            target.hideFromContent(content,exit,null,pool);
+            assertSame(buffer,((ImageView) exit.getTarget()).getImage(),"released buffer not reused");
+            exit.finish();
+            assertFalse(content.getChildren().contains(node),"node not removed after animation");
+            assertTrue(content.getChildren().isEmpty(),"stand-in left behind");
+            assertEquals(1,pool.size(),"stand-in buffer not released");
+        });
+    }
+
+    @Test
+    public void testLiveTransition(FxRobot robot) {
+        robot.interact(()->{
+            Pane content = new Pane();
+            Region node = newNode(100,50);
+            TestTarget target = new TestTarget(node);
+
+            ManualAnimation enter = new ManualAnimation();
+            target.showInContent(content,enter,null,null);
+            assertSame(node,enter.getTarget(),"live transition not running on node");
+            assertEquals(1,content.getChildren().size(),"stand-in added for live transition");
+            enter.finish();
+            assertEquals(0,pool.size(),"snapshot taken for live transition");
+        });
+    }
+
+    private static Region newNode(double width, double height) {
+        Region node = new Region();
+        // a parent pane resizes the node to its preferred size
+        node.setPrefSize(width,height);
+        node.resize(width,height);
+        return node;
+    }
+
+    private static class TestTarget extends SingleSceneTarget {
+
+        private final Node node;
+
+        TestTarget(Node node) {
+            super("target",new Object());
+            this.node = node;
+        }
+
+        @Override
+        public Node getNode() {
+            return node;
+        }
+    }
+
+    private static class ManualAnimation extends RouterAnimation {
+
+        ManualAnimation() {
+            super("manual");
+        }
+
+        @Override
+        public void play() {
+            // started right away, finished by the test
+            animate();
+        }
+
+        @Override
+        protected void animate() {
+            runOnStart();
+        }
+
+        void finish() {
+            runOnFinish();
+        }
+
+        @Override
+        protected void doReset() {}
+
+        @Override
+        public void stop() {}
+    }
+}